@@ -0,0 +1,101 @@
+package com.example.orderservice.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares order totals and price comparisons done on {@link BigDecimal} with
+ * the same work done on {@link Money} cents.
+ *
+ * Each benchmark walks the same order lines: a unit price and a quantity. The
+ * prices are converted to cents once, in setup, as they are when orders are
+ * loaded, so only the arithmetic is measured. Run with
+ * {@code mvn -pl orderservice -Pbenchmark test-compile exec:exec}; add
+ * {@code -prof gc} to {@code jmh.args} to see the allocation rate.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"10000"})
+    private int lines;
+
+    private BigDecimal[] prices;
+    private long[] priceCents;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new BigDecimal[lines];
+        priceCents = new long[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = BigDecimal.valueOf(1 + random.nextInt(99_999_99), Money.SCALE);
+            priceCents[i] = Money.toCents(prices[i]);
+            quantities[i] = 1 + random.nextInt(10);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal revenueBigDecimal() {
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            revenue = revenue.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public long revenueCents() {
+        long revenue = 0;
+        for (int i = 0; i < lines; i++) {
+            revenue = Money.plus(revenue, Money.times(priceCents[i], quantities[i]));
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public int positiveAboveThresholdBigDecimal() {
+        BigDecimal threshold = new BigDecimal("500.00");
+        int count = 0;
+        for (BigDecimal price : prices) {
+            if (price.compareTo(BigDecimal.ZERO) > 0 && price.compareTo(threshold) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int positiveAboveThresholdCents() {
+        long threshold = 500_00L;
+        int count = 0;
+        for (long cents : priceCents) {
+            if (cents > 0 && cents > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
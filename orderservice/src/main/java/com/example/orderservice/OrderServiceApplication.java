@@ -1,5 +1,6 @@
 package com.example.orderservice;
 
+import com.example.orderservice.cache.ProductDictionary;
 import com.example.orderservice.entity.Order;
 import com.example.orderservice.repository.OrderRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Main application class for OrderService.
@@ -24,6 +26,9 @@ public class OrderServiceApplication {
     @Autowired(required = false)
     private OrderRepository orderRepository;
 
+    @Autowired(required = false)
+    private ProductDictionary productDictionary;
+
     public static void main(String[] args) {
         SpringApplication.run(OrderServiceApplication.class, args);
     }
@@ -34,9 +39,12 @@ public class OrderServiceApplication {
     @Bean
     public CommandLineRunner sampleData() {
         return args -> {
-            if (orderRepository != null) {
+            if (orderRepository != null && productDictionary != null) {
                 log.info("Populating database with sample data...");
                 
+                // Products are resolved before saving; the product converter only consults memory.
+                List.of("Laptop", "Mouse", "Keyboard").forEach(productDictionary::idOf);
+                
                 // Create sample orders
                 Order order1 = new Order();
                 order1.setUserId(1L);
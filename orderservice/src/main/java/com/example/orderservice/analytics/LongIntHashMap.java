@@ -0,0 +1,135 @@
+package com.example.orderservice.analytics;
+
+/**
+ * Map from {@code long} keys to {@code int} values without boxing either.
+ *
+ * Open addressing with linear probing over parallel arrays, kept at most half
+ * full; removal shifts the following entries back instead of leaving
+ * tombstones. Not thread-safe.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+final class LongIntHashMap {
+
+    /** Returned by {@link #get} and {@link #remove} for a key that is not present. */
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    LongIntHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * The value of a key.
+     *
+     * @param key the key
+     * @return the value, or {@link #MISSING}
+     */
+    int get(long key) {
+        int slot = find(key);
+        return slot < 0 ? MISSING : values[slot];
+    }
+
+    /**
+     * Associate a value with a key, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the value; must not be {@link #MISSING}
+     */
+    void put(long key, int value) {
+        int slot = index(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key
+     * @return the value it had, or {@link #MISSING}
+     */
+    int remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return MISSING;
+        }
+        int value = values[slot];
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            // An entry may only move back into the gap if the gap lies between its home slot and where it is now.
+            if (((next - index(keys[next])) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        size--;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private int find(long key) {
+        int slot = index(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+}
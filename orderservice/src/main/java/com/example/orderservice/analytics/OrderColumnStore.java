@@ -0,0 +1,401 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.dto.OrderChangeResponse;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.money.Money;
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar, in-memory copy of the order fields that reports aggregate.
+ *
+ * Each field is a primitive array indexed by row: user IDs, product IDs,
+ * quantities, prices in cents and creation times in epoch milliseconds. A scan
+ * touches only these arrays, with no entities or BigDecimal arithmetic (amounts
+ * are summed as {@link Money} cents), and finds its group in a primitive-keyed
+ * map, so only the first row of each group boxes its key. It is split across a
+ * fork/join pool in chunks of {@code orders.analytics.chunk-size} rows whose
+ * partial results are merged. Rows are found by order ID the same way.
+ *
+ * The store follows the {@link OrderChangeLog}. It is loaded from the database
+ * on first use; after that, every commit that adds changes schedules a catch-up
+ * on a background thread, so changes are applied as they happen rather than
+ * piling up until the next report. Each query also applies whatever has not been
+ * applied yet, so it sees every write made through the services. The store is
+ * only reloaded if it has fallen so far behind that the log no longer holds the
+ * changes it missed. Rows of deleted orders are reused for new ones.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderColumnStore {
+
+    private static final int CATCH_UP_BATCH = 1000;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    private final OrderRepository orderRepository;
+    private final OrderChangeLog orderChangeLog;
+    private final ProductDictionary productDictionary;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.analytics.parallelism:0}")
+    private int parallelism;
+
+    @Value("${orders.analytics.chunk-size:16384}")
+    private int chunkSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+    private ForkJoinPool pool;
+    private ExecutorService catchUpExecutor;
+
+    private long[] orderIds = new long[0];
+    private long[] userIds = new long[0];
+    private int[] productIds = new int[0];
+    private int[] quantities = new int[0];
+    private long[] priceCents = new long[0];
+    private long[] createdAt = new long[0];
+    private int rows;
+    private final LongIntHashMap rowsByOrderId = new LongIntHashMap();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private volatile boolean loaded;
+    private long position;
+
+    /**
+     * What to group rows by.
+     */
+    public enum Dimension {
+        USER,
+        PRODUCT,
+        HOUR,
+        DAY
+    }
+
+    /**
+     * Which rows to aggregate and how to group them.
+     *
+     * @param groupBy the grouping
+     * @param from earliest creation time in epoch milliseconds, inclusive
+     * @param to latest creation time in epoch milliseconds, exclusive
+     * @param userId only orders of this user, or null for all
+     * @param productId only orders of this product, or null for all
+     */
+    public record Query(Dimension groupBy, long from, long to, Long userId, Integer productId) {
+    }
+
+    /**
+     * Running totals of one group.
+     */
+    public static final class Totals {
+
+        private long orders;
+        private long quantity;
+        private long revenueCents;
+
+        public Totals() {
+        }
+
+        public Totals(long orders, long quantity, long revenueCents) {
+            this.orders = orders;
+            this.quantity = quantity;
+            this.revenueCents = revenueCents;
+        }
+
+        public long orders() {
+            return orders;
+        }
+
+        public long quantity() {
+            return quantity;
+        }
+
+        /**
+         * Sum of quantity times unit price, in cents.
+         *
+         * @return the revenue
+         */
+        public long revenueCents() {
+            return revenueCents;
+        }
+
+        void add(int rowQuantity, long rowPriceCents) {
+            orders++;
+            quantity += rowQuantity;
+            revenueCents = Money.plus(revenueCents, Money.times(rowPriceCents, rowQuantity));
+        }
+
+        /**
+         * Add another group's totals to these.
+         *
+         * @param other the totals to add
+         */
+        public void merge(Totals other) {
+            orders += other.orders;
+            quantity += other.quantity;
+            revenueCents = Money.plus(revenueCents, other.revenueCents);
+        }
+    }
+
+    /**
+     * Start the scan pool, follow the change log and register the store's metrics.
+     */
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        catchUpExecutor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("order-analytics-catch-up").factory());
+        orderChangeLog.addListener(this::scheduleCatchUp);
+        Gauge.builder("orders.analytics.rows", this, OrderColumnStore::size)
+                .description("Orders held in the analytics column store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop the scan pool and the background catch-up.
+     */
+    @PreDestroy
+    public void stop() {
+        catchUpExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Aggregate the matching orders per group, bringing the store up to date first.
+     *
+     * @param query the rows to aggregate and the grouping
+     * @return the totals per group key: user ID, product ID, or the epoch millisecond a time bucket starts at
+     */
+    public Map<Long, Totals> aggregate(Query query) {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            return rows == 0 ? new HashMap<>() : pool.invoke(new ScanTask(query, 0, rows));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of orders held.
+     *
+     * @return the number of orders
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsByOrderId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scheduleCatchUp() {
+        // Until the first report loads the store there is nothing to keep current.
+        if (loaded && catchUpScheduled.compareAndSet(false, true)) {
+            catchUpExecutor.execute(this::catchUpInBackground);
+        }
+    }
+
+    private void catchUpInBackground() {
+        catchUpScheduled.set(false);
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Background catch-up of the analytics store failed, the next report retries: {}", e.getMessage());
+        }
+    }
+
+    private void catchUp() {
+        // Most reports find nothing new; checking under the read lock lets them run side by side.
+        lock.readLock().lock();
+        try {
+            if (loaded && position == orderChangeLog.watermark()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                reload();
+            }
+            OrderChangeLog.Page page;
+            do {
+                page = orderChangeLog.read(position, CATCH_UP_BATCH);
+                if (page.reset()) {
+                    log.info("Analytics store fell behind the order change log; reloading");
+                    reload();
+                    return;
+                }
+                page.items().forEach(this::apply);
+                position = page.next();
+            } while (page.hasMore());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reload() {
+        // Changes up to the watermark are committed, so the load below sees them; later ones are applied after it.
+        long start = orderChangeLog.watermark();
+        clear();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> {
+            try (Stream<Object[]> columns = orderRepository.streamAnalyticsColumns()) {
+                columns.forEach(row -> put((Long) row[0], (Long) row[1], (Integer) row[2], (Integer) row[3],
+                        (BigDecimal) row[4], (Instant) row[5]));
+            }
+        });
+        position = start;
+        loaded = true;
+        log.info("Loaded {} orders into the analytics store", rowsByOrderId.size());
+    }
+
+    private void clear() {
+        Arrays.fill(orderIds, 0, rows, 0L);
+        rows = 0;
+        rowsByOrderId.clear();
+        freeRows.clear();
+    }
+
+    private void apply(OrderChangeResponse change) {
+        // Changes are upserts and deletes by ID, so replaying one the load already saw is harmless.
+        if (change.getType() == OrderChange.Type.DELETED) {
+            int row = rowsByOrderId.remove(change.getOrderId());
+            if (row != LongIntHashMap.MISSING) {
+                orderIds[row] = 0L;
+                freeRows.push(row);
+            }
+            return;
+        }
+        OrderResponse order = change.getOrder();
+        put(order.getId(), order.getUserId(), productDictionary.idOf(order.getProduct()), order.getQuantity(),
+                order.getPrice(), order.getCreatedAt());
+    }
+
+    private void put(long orderId, long userId, int productId, int quantity, BigDecimal price, Instant created) {
+        int row = rowsByOrderId.get(orderId);
+        if (row == LongIntHashMap.MISSING) {
+            row = freeRows.isEmpty() ? rows++ : freeRows.pop();
+            if (row == orderIds.length) {
+                grow();
+            }
+            rowsByOrderId.put(orderId, row);
+        }
+        orderIds[row] = orderId;
+        userIds[row] = userId;
+        productIds[row] = productId;
+        quantities[row] = quantity;
+        priceCents[row] = Money.toCents(price);
+        createdAt[row] = created.toEpochMilli();
+    }
+
+    private void grow() {
+        int capacity = Math.max(1024, orderIds.length * 2);
+        orderIds = Arrays.copyOf(orderIds, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        productIds = Arrays.copyOf(productIds, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+    }
+
+    /**
+     * Aggregates a range of rows, splitting it in halves until a half fits in one chunk.
+     */
+    private final class ScanTask extends RecursiveTask<Map<Long, Totals>> {
+
+        private final Query query;
+        private final int from;
+        private final int to;
+
+        ScanTask(Query query, int from, int to) {
+            this.query = query;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, Totals> compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                ScanTask right = new ScanTask(query, middle, to);
+                right.fork();
+                Map<Long, Totals> totals = new ScanTask(query, from, middle).compute();
+                right.join().forEach((key, other) -> totals.merge(key, other, (mine, theirs) -> {
+                    mine.merge(theirs);
+                    return mine;
+                }));
+                return totals;
+            }
+            return scan();
+        }
+
+        private Map<Long, Totals> scan() {
+            Map<Long, Totals> totals = new HashMap<>();
+            // Keyed by primitive, so a row only boxes its key when it starts a new group.
+            LongIntHashMap groups = new LongIntHashMap();
+            List<Totals> groupTotals = new ArrayList<>();
+            long userId = query.userId() != null ? query.userId() : 0L;
+            int productId = query.productId() != null ? query.productId() : 0;
+            for (int row = from; row < to; row++) {
+                if (orderIds[row] == 0L || createdAt[row] < query.from() || createdAt[row] >= query.to()
+                        || (query.userId() != null && userIds[row] != userId)
+                        || (query.productId() != null && productIds[row] != productId)) {
+                    continue;
+                }
+                long key = switch (query.groupBy()) {
+                    case USER -> userIds[row];
+                    case PRODUCT -> productIds[row];
+                    case HOUR -> Math.floorDiv(createdAt[row], HOUR_MILLIS) * HOUR_MILLIS;
+                    case DAY -> Math.floorDiv(createdAt[row], DAY_MILLIS) * DAY_MILLIS;
+                };
+                int group = groups.get(key);
+                if (group == LongIntHashMap.MISSING) {
+                    group = groupTotals.size();
+                    groups.put(key, group);
+                    groupTotals.add(new Totals());
+                    totals.put(key, groupTotals.get(group));
+                }
+                groupTotals.get(group).add(quantities[row], priceCents[row]);
+            }
+            return totals;
+        }
+    }
+}
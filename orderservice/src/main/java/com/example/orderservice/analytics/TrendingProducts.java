@@ -0,0 +1,252 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.cache.ProductDictionary;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate counts of the most ordered products over the last minutes.
+ *
+ * Orders are counted per product in one-minute slices, each a space-saving
+ * summary with a fixed number of counters: a product without a counter takes
+ * over the smallest one and inherits its count as possible overcount. Memory
+ * is therefore fixed at {@code orders.trending.counters} per minute of
+ * {@code orders.trending.max-window-minutes}, however many products exist.
+ * Estimates never undercount, each comes with how much it may overcount, and
+ * only products too rarely ordered to hold a counter can be left out.
+ *
+ * Products are spread over {@code orders.trending.stripes} independent stripes,
+ * each with its own slices and lock, so concurrent orders of different
+ * products rarely contend and a product is only ever counted in one stripe. A
+ * query merges the slices of the window, which touches at most the counters of
+ * those minutes and never the database.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingProducts {
+
+    private static final long SLICE_MILLIS = 60_000L;
+
+    private final ProductDictionary productDictionary;
+
+    @Value("${orders.trending.max-window-minutes:60}")
+    private int maxWindowMinutes;
+
+    @Value("${orders.trending.counters:256}")
+    private int counters;
+
+    @Value("${orders.trending.stripes:16}")
+    private int stripes;
+
+    private Clock clock = Clock.systemUTC();
+    private Stripe[] stripeArray;
+
+    /**
+     * An estimated order count of a product.
+     *
+     * @param productId the product
+     * @param orders estimated orders in the window; never fewer than the true count
+     * @param error by how much the estimate may exceed the true count
+     */
+    public record Count(int productId, long orders, long error) {
+    }
+
+    /**
+     * Allocate the counters.
+     */
+    @PostConstruct
+    public void init() {
+        int perStripe = Math.max(1, counters / stripes);
+        stripeArray = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            stripeArray[i] = new Stripe(maxWindowMinutes, perStripe);
+        }
+        log.info("Trending products keep {} counters per minute for {} minutes", perStripe * stripes, maxWindowMinutes);
+    }
+
+    /**
+     * Count orders of products once the current transaction commits, or right away without one.
+     *
+     * @param products the product name of each order
+     */
+    public void recordAfterCommit(Collection<String> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        // Resolved now: the orders were just saved, so the names are already in the dictionary.
+        int[] productIds = products.stream().mapToInt(productDictionary::idOf).toArray();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(productIds);
+                }
+            });
+        } else {
+            record(productIds);
+        }
+    }
+
+    /**
+     * The most ordered products of the last minutes.
+     *
+     * @param windowMinutes how many minutes to look back, including the current one
+     * @param k maximum number of products
+     * @return the products with the highest estimated counts, highest first
+     */
+    public List<Count> top(int windowMinutes, int k) {
+        long now = slice();
+        Map<Integer, long[]> merged = new HashMap<>();
+        for (Stripe stripe : stripeArray) {
+            stripe.collect(now - windowMinutes + 1, now, merged);
+        }
+        return merged.entrySet().stream()
+                .map(entry -> new Count(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(Count::orders).reversed().thenComparingInt(Count::productId))
+                .limit(k)
+                .toList();
+    }
+
+    /**
+     * The longest window that can be asked for.
+     *
+     * @return the window in minutes
+     */
+    public int maxWindowMinutes() {
+        return maxWindowMinutes;
+    }
+
+    private void record(int[] productIds) {
+        long now = slice();
+        for (int productId : productIds) {
+            stripeArray[Math.floorMod(productId * 0x9E3779B9, stripes)].offer(now, productId);
+        }
+    }
+
+    private long slice() {
+        return clock.millis() / SLICE_MILLIS;
+    }
+
+    /**
+     * The slices of the products that hash to one stripe, in a ring indexed by minute.
+     */
+    private static final class Stripe {
+
+        private final Summary[] ring;
+
+        Stripe(int slices, int capacity) {
+            ring = new Summary[slices];
+            for (int i = 0; i < slices; i++) {
+                ring[i] = new Summary(capacity);
+            }
+        }
+
+        synchronized void offer(long slice, int productId) {
+            Summary summary = ring[(int) (slice % ring.length)];
+            if (summary.slice != slice) {
+                // The slot still holds a minute that has left every window.
+                summary.reset(slice);
+            }
+            summary.offer(productId);
+        }
+
+        synchronized void collect(long from, long to, Map<Integer, long[]> merged) {
+            long missing = floors(from, to);
+            for (Summary summary : ring) {
+                if (summary.slice >= from && summary.slice <= to) {
+                    long floor = summary.floor();
+                    for (int i = 0; i < summary.size; i++) {
+                        long[] totals = merged.computeIfAbsent(summary.keys[i], ignored -> new long[]{missing, missing});
+                        totals[0] += summary.counts[i] - floor;
+                        totals[1] += summary.errors[i] - floor;
+                    }
+                }
+            }
+        }
+
+        private long floors(long from, long to) {
+            // A product missing from a full summary may have had up to its smallest count there.
+            long floors = 0;
+            for (Summary summary : ring) {
+                if (summary.slice >= from && summary.slice <= to) {
+                    floors += summary.floor();
+                }
+            }
+            return floors;
+        }
+    }
+
+    /**
+     * A space-saving summary of one minute: at most {@code capacity} products with their counts.
+     */
+    private static final class Summary {
+
+        private final int[] keys;
+        private final long[] counts;
+        private final long[] errors;
+        private int size;
+        private long slice = -1;
+
+        Summary(int capacity) {
+            keys = new int[capacity];
+            counts = new long[capacity];
+            errors = new long[capacity];
+        }
+
+        void reset(long newSlice) {
+            slice = newSlice;
+            size = 0;
+        }
+
+        long floor() {
+            if (size < keys.length) {
+                return 0;
+            }
+            long floor = counts[0];
+            for (int i = 1; i < size; i++) {
+                floor = Math.min(floor, counts[i]);
+            }
+            return floor;
+        }
+
+        void offer(int productId) {
+            int smallest = 0;
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == productId) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[smallest]) {
+                    smallest = i;
+                }
+            }
+            if (size < keys.length) {
+                keys[size] = productId;
+                counts[size] = 1;
+                errors[size] = 0;
+                size++;
+                return;
+            }
+            // Evict the smallest counter; the newcomer may have been counted there before.
+            keys[smallest] = productId;
+            errors[smallest] = counts[smallest];
+            counts[smallest]++;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.entity.Product;
+import com.example.orderservice.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, two-way dictionary of product names and their integer IDs.
+ *
+ * Orders store only the product ID. Names are resolved to IDs with a hash
+ * lookup and IDs back to names with an array index; no query is needed for
+ * any product already known. Every order of a product shares this
+ * dictionary's single copy of its name, so loading many orders does not
+ * allocate the same string over and over.
+ *
+ * Products are registered automatically: a name seen for the first time is
+ * added to the products table, there is no fixed catalog to validate it
+ * against. The products are loaded on first use, and a name or ID that is not
+ * known yet is looked up in the caller's transaction. A new product is
+ * inserted in a transaction of its own, so the dictionary never holds an ID
+ * whose row could still be rolled back, even when the order that introduced it
+ * is. Products are never removed, so entries never go stale.
+ *
+ * The services resolve every product through {@link #idOf} before they save an
+ * order. The {@link com.example.orderservice.entity.ProductNameConverter} runs
+ * while Hibernate flushes and hydrates, so it only uses {@link #knownId} and
+ * {@link #knownName}, which never touch the database.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductDictionary {
+
+    // Provided lazily: the dictionary is needed while the entity manager factory is still being built.
+    private final ObjectProvider<ProductRepository> productRepository;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Product names indexed by ID. Grown by doubling, so loading or adding products
+     * costs amortized constant time; a slot is filled before the array is
+     * republished through this field, and is never changed after that.
+     */
+    private volatile String[] names = new String[0];
+    private volatile boolean loaded;
+
+    /**
+     * The ID of a product, adding the product if it is new.
+     *
+     * @param name the product name
+     * @return the product ID
+     */
+    public int idOf(String name) {
+        Integer id = find(name);
+        return id != null ? id : add(name);
+    }
+
+    /**
+     * The ID of a product, without adding it.
+     *
+     * @param name the product name
+     * @return the product ID, or null if there is no such product
+     */
+    public Integer find(String name) {
+        load();
+        Integer id = ids.get(name);
+        if (id == null) {
+            // Another instance may have added it.
+            id = productRepository.getObject().findByName(name).map(this::put).orElse(null);
+        }
+        return id;
+    }
+
+    /**
+     * The ID of a product this instance already knows, from memory only.
+     *
+     * @param name the product name
+     * @return the product ID, or null if it has not been resolved yet
+     */
+    public Integer knownId(String name) {
+        return ids.get(name);
+    }
+
+    /**
+     * The name of a product this instance already knows, from memory only.
+     *
+     * @param id the product ID
+     * @return the product name, or null if it has not been resolved yet
+     */
+    public String knownName(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * The name of a product.
+     *
+     * @param id the product ID
+     * @return the product name
+     * @throws IllegalStateException if there is no product with this ID
+     */
+    public String nameOf(int id) {
+        load();
+        String name = knownName(id);
+        if (name != null) {
+            return name;
+        }
+        Product product = productRepository.getObject().findById(id).orElse(null);
+        if (product == null) {
+            throw new IllegalStateException("Unknown product ID: " + id);
+        }
+        put(product);
+        return product.getName();
+    }
+
+    /**
+     * Number of products known to this instance.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    private void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    productRepository.getObject().findAll().forEach(this::put);
+                    loaded = true;
+                    log.info("Loaded {} products into the product dictionary", ids.size());
+                }
+            }
+        }
+    }
+
+    private int add(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Product product;
+        try {
+            product = inNewTransaction(() -> productRepository.getObject().saveAndFlush(new Product(null, name)));
+            log.debug("Added product {} as ID {}", name, product.getId());
+        } catch (DataIntegrityViolationException e) {
+            // Another request or instance added it first; the unique name decides, no lock is needed.
+            product = inNewTransaction(() -> productRepository.getObject().findByName(name).orElseThrow(() -> e));
+        }
+        return put(product);
+    }
+
+    private synchronized int put(Product product) {
+        String[] current = names;
+        if (product.getId() >= current.length) {
+            current = Arrays.copyOf(current, Math.max(product.getId() + 1, current.length * 2));
+        }
+        current[product.getId()] = product.getName();
+        names = current;
+        ids.put(product.getName(), product.getId());
+        return product.getId();
+    }
+
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager.getObject());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of mapped order lists keyed by user ID.
+ *
+ * Misses are loaded through the cache, so concurrent readers of the same user
+ * wait for a single loader instead of each querying the database. Writers evict
+ * the affected users once their transaction has committed; evicting earlier
+ * would let a concurrent reader re-cache the pre-commit state.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrdersCache {
+
+    static final String CACHE_NAME = "user-orders";
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.user-cache.max-users:10000}")
+    private long maxUsers;
+
+    @Value("${orders.user-cache.ttl:10m}")
+    private Duration ttl;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private Cache<Long, List<OrderResponse>> cache;
+
+    /**
+     * Build the cache and register its metrics, including the hit ratio.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Fraction of user order list lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached orders of a user, loading them on a miss.
+     *
+     * @param userId the user ID
+     * @param loader loads the user's orders; runs at most once per key at a time
+     * @return the user's orders
+     */
+    public List<OrderResponse> get(Long userId, Function<Long, List<OrderResponse>> loader) {
+        return cache.get(userId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    /**
+     * Return the cached orders of several users, loading all misses in one call.
+     *
+     * Unlike {@link #get}, concurrent misses on the same user are not coalesced. A
+     * user evicted while the bulk load runs is returned but not cached, since the
+     * load may have read the state from before the eviction's commit.
+     *
+     * @param userIds the user IDs
+     * @param loader loads the orders of the users that were not cached; users it omits have no orders
+     * @return the orders of every requested user, keyed by user ID
+     */
+    public Map<Long, List<OrderResponse>> getAll(Collection<Long> userIds,
+                                                 Function<Set<Long>, Map<Long, List<OrderResponse>>> loader) {
+        Map<Long, List<OrderResponse>> result = new HashMap<>(cache.getAllPresent(userIds));
+        Map<Long, Long> missing = new HashMap<>();
+        for (Long userId : userIds) {
+            if (!result.containsKey(userId)) {
+                missing.put(userId, generations.get(stripe(userId)));
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<OrderResponse>> loaded = loader.apply(Set.copyOf(missing.keySet()));
+        missing.forEach((userId, generation) -> {
+            List<OrderResponse> orders = List.copyOf(loaded.getOrDefault(userId, List.of()));
+            result.put(userId, orders);
+            // An eviction bumps the generation before invalidating, and the invalidation waits for this compute.
+            cache.asMap().compute(userId, (id, current) ->
+                    current != null || generations.get(stripe(id)) != generation ? current : orders);
+        });
+        return result;
+    }
+
+    /**
+     * Evict the given users, after the current transaction commits if one is active.
+     *
+     * @param userIds the users whose orders changed
+     */
+    public void evictAfterCommit(Collection<Long> userIds) {
+        Set<Long> keys = Set.copyOf(userIds);
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(keys);
+                }
+            });
+        } else {
+            evict(keys);
+        }
+    }
+
+    private void evict(Set<Long> userIds) {
+        userIds.forEach(userId -> generations.incrementAndGet(stripe(userId)));
+        cache.invalidateAll(userIds);
+        log.debug("Evicted cached orders for users {}", userIds);
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.orderservice.client;
 
+import com.example.orderservice.dto.UserResponse;
+
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Client interface for UserService communication.
  * 
@@ -15,4 +20,13 @@ public interface UserServiceClient {
      * @return true if user exists, false otherwise
      */
     boolean userExists(Long userId);
+
+    /**
+     * Fetch several users by ID, in as few requests as the batch size allows.
+     * 
+     * @param userIds the user IDs
+     * @return the users found, keyed by ID; IDs that do not exist are absent
+     * @throws InvalidUserException if UserService cannot be reached or fails
+     */
+    Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds);
 }
@@ -1,22 +1,32 @@
 package com.example.orderservice.client.impl;
 
+import com.example.common.dto.MultiGetResponse;
 import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.UserResponse;
 import com.example.common.exception.InvalidUserException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of UserServiceClient interface.
  * 
  * This class provides HTTP communication with UserService
- * for user validation operations.
+ * for user validation and lookup operations.
  * 
  * @author Naveen Vusa
  * @version 1.0.0
@@ -26,6 +36,10 @@ import java.time.Duration;
 @Slf4j
 public class UserServiceClientImpl implements UserServiceClient {
 
+    private static final ParameterizedTypeReference<MultiGetResponse<UserResponse>> USERS_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final WebClient webClient;
 
     @Value("${user-service.base-url}")
@@ -34,6 +48,9 @@ public class UserServiceClientImpl implements UserServiceClient {
     @Value("${user-service.timeout:5000}")
     private int timeout;
 
+    @Value("${user-service.multi-get.batch-size:100}")
+    private int batchSize;
+
     @Override
     public boolean userExists(Long userId) {
         log.debug("Checking if user exists with ID: {}", userId);
@@ -62,4 +79,37 @@ public class UserServiceClientImpl implements UserServiceClient {
             throw new InvalidUserException("Error validating user: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        log.debug("Fetching {} users by ID", userIds.size());
+
+        List<Long> ids = List.copyOf(userIds);
+        List<String> batches = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            batches.add(ids.subList(start, Math.min(start + batchSize, ids.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+
+        try {
+            // One GET /users?ids= per batch, all in flight at once.
+            List<UserResponse> users = Flux.fromIterable(batches)
+                    .flatMap(batch -> webClient.get()
+                            .uri(userServiceBaseUrl + "/users?ids={ids}", batch)
+                            .retrieve()
+                            .bodyToMono(USERS_TYPE)
+                            .timeout(Duration.ofMillis(timeout)))
+                    .flatMapIterable(MultiGetResponse::getItems)
+                    .collectList()
+                    .block();
+
+            log.debug("Fetched {} of {} users in {} requests", users.size(), ids.size(), batches.size());
+            return users.stream().collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+
+        } catch (Exception e) {
+            log.error("Error fetching users {}: {}", ids, e.getMessage());
+            throw new InvalidUserException("Error fetching users: " + e.getMessage(), e);
+        }
+    }
 }
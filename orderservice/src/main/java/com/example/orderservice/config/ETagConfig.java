@@ -0,0 +1,30 @@
+package com.example.orderservice.config;
+
+import com.example.common.web.ETagFilter;
+import com.example.common.web.VersionLookup;
+import com.example.orderservice.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * ETag and conditional request configuration for OrderService.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+public class ETagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ETagFilter> etagFilter(ObjectMapper objectMapper, OrderRepository orderRepository) {
+        VersionLookup lookup = orderRepository::findVersionById;
+        FilterRegistrationBean<ETagFilter> registration =
+                new FilterRegistrationBean<>(new ETagFilter(objectMapper, Map.of("/orders/{id}", lookup)));
+        registration.setOrder(ETagFilter.ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orderservice.config;
+
+import com.example.common.cache.ResponseCache;
+import com.example.common.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized-response cache configuration for OrderService.
+ * 
+ * Declares which GET routes are served from the cache and the tags their
+ * responses are invalidated by.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+    @Value("${response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${response-cache.max-size:16MB}")
+    private DataSize maxSize;
+
+    @Value("${response-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Bean
+    public ResponseCache responseCache(MeterRegistry meterRegistry) {
+        return new ResponseCache(maxSize.toBytes(), ttl, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache responseCache) {
+        Map<String, List<String>> routes = new LinkedHashMap<>();
+        // Numeric IDs only, so /orders/changes is never cached.
+        routes.put("/orders/{id:\\d+}", List.of("order:{id}"));
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache, routes));
+        registration.setEnabled(enabled);
+        registration.setOrder(ResponseCacheFilter.ORDER);
+        return registration;
+    }
+}
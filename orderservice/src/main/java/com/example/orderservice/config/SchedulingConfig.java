@@ -0,0 +1,15 @@
+package com.example.orderservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration for OrderService background jobs.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
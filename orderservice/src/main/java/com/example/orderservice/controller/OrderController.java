@@ -1,9 +1,28 @@
 package com.example.orderservice.controller;
 
 import com.example.common.dto.ErrorResponse;
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.ETagFilter;
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.dto.BulkDeleteResponse;
+import com.example.orderservice.dto.IngestionStatusResponse;
+import com.example.orderservice.dto.OrderAnalyticsRequest;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.OrderChangeFeedResponse;
+import com.example.orderservice.dto.OrderPatchRequest;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderSearchRequest;
+import com.example.orderservice.dto.TrendingProductsResponse;
+import com.example.orderservice.dto.UserOrdersResponse;
+import com.example.orderservice.service.IdempotencyService;
+import com.example.orderservice.service.OrderAnalyticsService;
+import com.example.orderservice.service.OrderChangeFeedService;
+import com.example.orderservice.service.OrderIngestionService;
+import com.example.orderservice.service.OrderPurgeService;
 import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.UserOrdersService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +34,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for Order management operations.
@@ -38,18 +62,34 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyService idempotencyService;
+    private final OrderPurgeService orderPurgeService;
+    private final OrderChangeFeedService orderChangeFeedService;
+    private final UserOrdersService userOrdersService;
+    private final OrderAnalyticsService orderAnalyticsService;
 
     /**
      * Create a new order.
      * 
+     * In write-behind ingestion mode the order is journaled and acknowledged
+     * with 202 Accepted and a tracking ID instead of being persisted inline.
+     * A repeated Idempotency-Key returns the original response without
+     * creating the order again.
+     * 
+     * @param idempotencyKey optional client-supplied idempotency key
      * @param orderRequest the order data
-     * @return the created order with 201 status
+     * @return the created order with 201 status, or the ingestion status with 202 status
      */
     @PostMapping
-    @Operation(summary = "1. Create order", description = "Creates a new order with the provided information. Validates user existence with UserService.")
+    @Operation(summary = "1. Create order", description = "Creates a new order with the provided information. Validates user existence with UserService. "
+            + "When write-behind ingestion is enabled the order is accepted asynchronously and 202 is returned with a tracking ID. "
+            + "Requests repeating an Idempotency-Key receive the original response.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Order created successfully",
             content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "202", description = "Order accepted for write-behind ingestion",
+            content = @Content(schema = @Schema(implementation = IngestionStatusResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data or User not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -59,6 +99,15 @@ public class OrderController {
                       "timestamp": "2025-08-07T21:00:00Z"
                     }
                     """))),
+        @ApiResponse(responseCode = "409", description = "Idempotency-Key reused with a different request",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Idempotency-Key was already used with a different request",
+                      "status": 409,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -69,10 +118,11 @@ public class OrderController {
                     }
                     """)))
     })
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<?> createOrder(@Parameter(description = "Optional key making retries of this request safe")
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                         @Valid @RequestBody OrderRequest orderRequest) {
         log.info("POST /orders - Creating order for user ID: {}", orderRequest.getUserId());
-        OrderResponse createdOrder = orderService.createOrder(orderRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        return idempotencyService.execute(idempotencyKey, orderRequest, () -> submitOrder(orderRequest));
     }
 
     /**
@@ -82,10 +132,20 @@ public class OrderController {
      * @return the order with 200 status
      */
     @GetMapping("/{id}")
-    @Operation(summary = "2. Get order by ID", description = "Retrieves an order by its unique identifier")
+    @Operation(summary = "2. Get order by ID", description = "Retrieves an order by its unique identifier. "
+            + "With fields, e.g. ?fields=price, only those fields (plus id) are read and returned.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Order found successfully",
             content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Unknown field 'cost', expected any of id, userId, product, quantity, price, version, createdAt",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
         @ApiResponse(responseCode = "404", description = "Order not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -105,22 +165,151 @@ public class OrderController {
                     }
                     """)))
     })
-    public ResponseEntity<OrderResponse> getOrderById(@Parameter(description = "Order ID") @PathVariable("id") Long id) {
-        log.info("GET /orders/{} - Retrieving order", id);
+    public ResponseEntity<?> getOrderById(@Parameter(description = "Order ID") @PathVariable("id") Long id,
+                                          @Parameter(description = "Comma-separated fields to return, e.g. id,price; all if absent") @RequestParam(value = "fields", required = false) String fields) {
+        log.info("GET /orders/{}?fields={} - Retrieving order", id, fields);
+        if (FieldSelection.isRequested(fields)) {
+            return ResponseEntity.ok(orderService.getOrderById(id, FieldSelection.parse(fields, OrderResponse.class)));
+        }
         OrderResponse order = orderService.getOrderById(id);
         return ResponseEntity.ok(order);
     }
 
+    /**
+     * Get the write-behind ingestion status of an accepted order.
+     * 
+     * @param trackingId the tracking ID returned when the order was accepted
+     * @return the ingestion status with 200 status
+     */
+    @GetMapping("/ingestion/{trackingId}")
+    @Operation(summary = "Extra: Get order ingestion status", description = "Retrieves the status of an order accepted for write-behind ingestion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ingestion status retrieved successfully",
+            content = @Content(schema = @Schema(implementation = IngestionStatusResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Tracking ID not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Ingestion not found with tracking ID: 3f2b8c1e-6d4a-4a57-9a43-2f0c8d1e7b55",
+                      "status": 404,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<IngestionStatusResponse> getIngestionStatus(@Parameter(description = "Ingestion tracking ID") @PathVariable("trackingId") String trackingId) {
+        log.info("GET /orders/ingestion/{} - Retrieving ingestion status", trackingId);
+        return ResponseEntity.ok(orderIngestionService.getStatus(trackingId));
+    }
+
+    /**
+     * Read the order change feed, optionally waiting for new changes.
+     * 
+     * @param since the cursor returned by the previous read
+     * @param limit maximum number of changes
+     * @param waitMs how long to wait when there are no new changes
+     * @return the changes and the next cursor with 200 status, once available
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Extra: Read order changes", description = "Returns order inserts, updates and deletes after the since cursor, in commit order. "
+            + "Pass nextCursor back as since for the next read. With waitMs, a read that finds no changes waits up to that long for one (long polling). "
+            + "When reset is true the cursor is no longer retained: reload the orders, then continue from nextCursor.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes after the cursor, possibly none",
+            content = @Content(schema = @Schema(implementation = OrderChangeFeedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor, or limit or wait out of range",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Limit must be between 1 and 1000",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "503", description = "Too many clients are waiting",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Too many clients are waiting for order changes, please retry",
+                      "status": 503,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public CompletableFuture<ResponseEntity<OrderChangeFeedResponse>> getChanges(@Parameter(description = "Cursor from the previous read") @RequestParam(value = "since", required = false) String since,
+                                                                                 @Parameter(description = "Maximum number of changes") @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                                                 @Parameter(description = "Milliseconds to wait for a change") @RequestParam(value = "waitMs", defaultValue = "0") long waitMs) {
+        log.info("GET /orders/changes?since={}&limit={}&waitMs={} - Reading order changes", since, limit, waitMs);
+        return orderChangeFeedService.getChanges(since, limit, waitMs).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Stream the order change feed as Server-Sent Events.
+     * 
+     * @param since the cursor to resume after
+     * @param lastEventId the ID of the last event received, sent by reconnecting clients
+     * @return the event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Extra: Stream order changes", description = "Server-Sent Events stream of order changes after the since cursor (or Last-Event-ID). "
+            + "Each change is an 'order-change' event whose ID is its cursor. A client that falls too far behind receives a 'reset' event and is disconnected.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor"),
+        @ApiResponse(responseCode = "503", description = "Too many clients are streaming")
+    })
+    public SseEmitter streamChanges(@Parameter(description = "Cursor to resume after") @RequestParam(value = "since", required = false) String since,
+                                    @Parameter(description = "Cursor of the last event received") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("GET /orders/changes (event stream) since={} - Streaming order changes", since != null ? since : lastEventId);
+        return orderChangeFeedService.subscribe(since != null ? since : lastEventId);
+    }
+
+    /**
+     * Get several orders by ID in one call.
+     * 
+     * @param ids the order IDs
+     * @return the orders found in request order and the missing IDs, with 200 status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Extra: Get orders by ID list", description = "Retrieves several orders with a single query, e.g. /orders?ids=1,2,3. "
+            + "Orders are returned in request order; IDs that do not exist are listed in missingIds.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MultiGetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Cannot fetch more than 100 orders at once",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<MultiGetResponse<OrderResponse>> getOrdersByIds(@Parameter(description = "Comma-separated order IDs") @RequestParam(value = "ids", required = false) List<Long> ids) {
+        log.info("GET /orders?ids={} - Retrieving orders by ID", ids);
+        return ResponseEntity.ok(orderService.getOrdersByIds(ids));
+    }
+
     /**
      * Get all orders.
      * 
      * @return list of all orders with 200 status
      */
     @GetMapping
-    @Operation(summary = "Extra: List all orders", description = "Retrieves a list of all orders")
+    @Operation(summary = "Extra: List all orders", description = "Retrieves a list of all orders. "
+            + "With fields, e.g. ?fields=id,price, only those fields (plus id) are read and returned.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Orders retrieved successfully",
             content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Unknown field 'cost', expected any of id, userId, product, quantity, price, version, createdAt",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -131,12 +320,102 @@ public class OrderController {
                     }
                     """)))
     })
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("GET /orders - Retrieving all orders");
+    public ResponseEntity<List<?>> getAllOrders(@Parameter(description = "Comma-separated fields to return, e.g. id,price; all if absent") @RequestParam(value = "fields", required = false) String fields) {
+        log.info("GET /orders?fields={} - Retrieving all orders", fields);
+        if (FieldSelection.isRequested(fields)) {
+            return ResponseEntity.ok(orderService.getAllOrders(FieldSelection.parse(fields, OrderResponse.class)));
+        }
         List<OrderResponse> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Search orders by any combination of filters.
+     * 
+     * @param request the filters, sort order, cursor and page size
+     * @return one page of matching orders and the next cursor with 200 status
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Extra: Search orders", description = "Finds orders by product, user, price range, quantity range and creation-time range, "
+            + "e.g. /orders/search?product=Laptop&minPrice=500&sort=-createdAt. All given filters must match. "
+            + "Sort by id, createdAt, price or quantity, with '-' for descending; pass nextCursor back as after for the next page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort order, cursor, range or limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Minimum price must not exceed maximum price",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<PageResponse<OrderResponse>> searchOrders(@ParameterObject OrderSearchRequest request) {
+        log.info("GET /orders/search - Searching orders with {}", request);
+        return ResponseEntity.ok(orderService.searchOrders(request));
+    }
+
+    /**
+     * Count orders and sum their quantities and revenue per user, product, hour or day.
+     * 
+     * @param request the grouping, filters and maximum number of groups
+     * @return the totals per group and overall with 200 status
+     */
+    @GetMapping("/analytics")
+    @Operation(summary = "Extra: Order analytics", description = "Counts orders and sums quantity and revenue (quantity times price) per user, product, hour or day, "
+            + "e.g. /orders/analytics?groupBy=day&product=Laptop. Optional filters narrow the orders by user, product and creation-time range. "
+            + "Computed from an in-memory column store that follows every order write.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totals computed successfully",
+            content = @Content(schema = @Schema(implementation = OrderAnalyticsResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid grouping, range or limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Invalid groupBy 'week', expected one of user, product, hour, day",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<OrderAnalyticsResponse> getAnalytics(@ParameterObject OrderAnalyticsRequest request) {
+        log.info("GET /orders/analytics - Aggregating orders with {}", request);
+        return ResponseEntity.ok(orderAnalyticsService.aggregate(request));
+    }
+
+    /**
+     * Get the most ordered products of the last minutes.
+     * 
+     * @param window how many minutes to look back, including the current one
+     * @param k maximum number of products
+     * @return the products with estimated order counts, most ordered first, with 200 status
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "Extra: Trending products", description = "Returns the k most ordered products of the last window minutes, "
+            + "e.g. /orders/trending?window=15&k=10. Counts are estimates from fixed-size in-memory counters: never below the true count, "
+            + "with error telling by how much they may exceed it.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trending products retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TrendingProductsResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Window or k out of range",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Window must be between 1 and 60 minutes",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<TrendingProductsResponse> getTrendingProducts(
+            @Parameter(description = "Minutes to look back, including the current one") @RequestParam(value = "window", defaultValue = "15") int window,
+            @Parameter(description = "Maximum number of products") @RequestParam(value = "k", defaultValue = "10") int k) {
+        log.info("GET /orders/trending?window={}&k={} - Retrieving trending products", window, k);
+        return ResponseEntity.ok(orderAnalyticsService.getTrendingProducts(window, k));
+    }
+
     /**
      * Get orders by user ID.
      * 
@@ -173,11 +452,67 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Get a user together with their orders.
+     * 
+     * @param userId the user ID
+     * @return the user and their orders with 200 status
+     */
+    @GetMapping(value = "/user/{userId}", params = "expand=user")
+    @Operation(summary = "Extra: Get user with orders", description = "Returns the user from UserService together with all of their orders, e.g. /orders/user/1?expand=user. "
+            + "The user and the orders are fetched concurrently.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User and orders retrieved successfully",
+            content = @Content(schema = @Schema(implementation = UserOrdersResponse.class))),
+        @ApiResponse(responseCode = "400", description = "User not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User not found with ID: 5",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<UserOrdersResponse> getUserWithOrders(@Parameter(description = "User ID") @PathVariable("userId") Long userId) {
+        log.info("GET /orders/user/{}?expand=user - Retrieving user with orders", userId);
+        return ResponseEntity.ok(userOrdersService.getUserWithOrders(userId));
+    }
+
+    /**
+     * Get several users together with their orders in one call.
+     * 
+     * @param ids the user IDs
+     * @return the users found with their orders in request order and the missing IDs, with 200 status
+     */
+    @GetMapping(value = "/user", params = {"ids", "expand=user"})
+    @Operation(summary = "Extra: Get users with orders by ID list", description = "Returns several users from UserService, each with all of their orders, "
+            + "e.g. /orders/user?ids=1,2,3&expand=user. The users are fetched with one batched UserService call, concurrently with the orders. "
+            + "Users that do not exist are listed in missingIds.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users and orders retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MultiGetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Cannot fetch more than 100 users at once",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<MultiGetResponse<UserOrdersResponse>> getUsersWithOrders(@Parameter(description = "Comma-separated user IDs") @RequestParam(value = "ids", required = false) List<Long> ids) {
+        log.info("GET /orders/user?ids={}&expand=user - Retrieving users with orders", ids);
+        return ResponseEntity.ok(userOrdersService.getUsersWithOrders(ids));
+    }
+
     /**
      * Update an order by ID.
      * 
      * @param id the order ID
      * @param orderRequest the updated order data
+     * @param expectedVersion the version named by a matching If-Match, if any
      * @return the updated order with 200 status
      */
     @PutMapping("/{id}")
@@ -211,19 +546,89 @@ public class OrderController {
                       "status": 500,
                       "timestamp": "2025-08-07T21:00:00Z"
                     }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the order version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Order with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
                     """)))
     })
     public ResponseEntity<OrderResponse> updateOrder(@Parameter(description = "Order ID") @PathVariable("id") Long id, 
-                                                   @Valid @RequestBody OrderRequest orderRequest) {
+                                                   @Valid @RequestBody OrderRequest orderRequest,
+                                                   @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
         log.info("PUT /orders/{} - Updating order", id);
-        OrderResponse updatedOrder = orderService.updateOrder(id, orderRequest);
+        OrderResponse updatedOrder = orderService.updateOrder(id, orderRequest, expectedVersion);
         return ResponseEntity.ok(updatedOrder);
     }
 
+    /**
+     * Partially update an order by ID.
+     * 
+     * @param id the order ID
+     * @param patchRequest the fields to change and optional expected version
+     * @param expectedVersion the version named by a matching If-Match, if any
+     * @return the updated order with 200 status
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Extra: Partially update order by ID", description = "Changes only the supplied fields in a single update. "
+            + "If a version is supplied the update is applied only when the order is still at that version. Validates user existence with UserService when the user ID changes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order updated successfully",
+            content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or User not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "At least one field must be supplied",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Order not found with ID: 456",
+                      "status": 404,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "409", description = "Order was modified concurrently",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Order with ID 1 was modified concurrently; expected version 0",
+                      "status": 409,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the order version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Order with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<OrderResponse> patchOrder(@Parameter(description = "Order ID") @PathVariable("id") Long id,
+                                                  @Valid @RequestBody OrderPatchRequest patchRequest,
+                                                  @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
+        log.info("PATCH /orders/{} - Patching order", id);
+        OrderResponse patchedOrder = orderService.patchOrder(id, patchRequest, expectedVersion);
+        return ResponseEntity.ok(patchedOrder);
+    }
+
     /**
      * Delete an order by ID.
      * 
      * @param id the order ID
+     * @param expectedVersion the version named by a matching If-Match, if any
      * @return 204 No Content status
      */
     @DeleteMapping("/{id}")
@@ -247,11 +652,121 @@ public class OrderController {
                       "status": 500,
                       "timestamp": "2025-08-07T21:00:00Z"
                     }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the order version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Order with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
                     """)))
     })
-    public ResponseEntity<Void> deleteOrder(@Parameter(description = "Order ID") @PathVariable("id") Long id) {
+    public ResponseEntity<Void> deleteOrder(@Parameter(description = "Order ID") @PathVariable("id") Long id,
+                                            @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
         log.info("DELETE /orders/{} - Deleting order", id);
-        orderService.deleteOrder(id);
+        orderService.deleteOrder(id, expectedVersion);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Delete all orders of a user.
+     * 
+     * @param userId the user ID
+     * @return the number of deleted orders with 200 status
+     */
+    @DeleteMapping(params = "userId")
+    @Operation(summary = "Extra: Delete all orders of a user", description = "Deletes every order of the given user in chunks of at most orders.bulk-delete.max-ids, each committed in its own transaction, and returns the number of deleted orders. Not atomic: if a chunk fails, earlier chunks stay deleted and the request can be repeated.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders deleted successfully",
+            content = @Content(schema = @Schema(implementation = BulkDeleteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid user ID",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Invalid parameter type",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<BulkDeleteResponse> deleteOrdersByUserId(@Parameter(description = "User ID") @RequestParam("userId") Long userId) {
+        log.info("DELETE /orders?userId={} - Deleting orders for user", userId);
+        return ResponseEntity.ok(new BulkDeleteResponse(orderService.deleteOrdersByUserId(userId)));
+    }
+
+    /**
+     * Delete a set of orders by ID.
+     * 
+     * @param ids the order IDs
+     * @return the number of deleted orders with 200 status
+     */
+    @DeleteMapping(params = "!userId")
+    @Operation(summary = "Extra: Delete orders by ID list", description = "Looks up which of the given IDs exist, deletes those with one statement in a single transaction and returns the number of deleted orders. At most orders.bulk-delete.max-ids IDs per request; unknown IDs are ignored.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders deleted successfully",
+            content = @Content(schema = @Schema(implementation = BulkDeleteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "At least one order ID is required",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<BulkDeleteResponse> deleteOrders(@RequestBody List<Long> ids) {
+        log.info("DELETE /orders - Deleting {} orders by ID", ids.size());
+        return ResponseEntity.ok(new BulkDeleteResponse(orderService.deleteOrders(ids)));
+    }
+
+    /**
+     * Schedule removal of the orders of deleted users.
+     * 
+     * Called by UserService after users are deleted; the orders are removed
+     * later in rate-limited batches.
+     * 
+     * @param userIds the IDs of the deleted users
+     * @return 202 Accepted status
+     */
+    @PostMapping("/purges")
+    @Operation(summary = "Extra: Purge orders of deleted users", description = "Schedules the orders of the given deleted users for removal. "
+            + "Orders are deleted in the background in small, rate-limited batches. Users with a pending purge are ignored, "
+            + "and so are users that still exist in UserService.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Purge scheduled"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "At least one user ID is required",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<Void> purgeOrdersOfDeletedUsers(@RequestBody List<Long> userIds) {
+        log.info("POST /orders/purges - Scheduling order purge for {} deleted users", userIds.size());
+        orderPurgeService.requestPurge(userIds);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Create the order inline, or hand it to write-behind ingestion when enabled.
+     * 
+     * @param orderRequest the order data
+     * @return 201 with the created order, or 202 with the ingestion status
+     */
+    private ResponseEntity<?> submitOrder(OrderRequest orderRequest) {
+        if (orderIngestionService.isWriteBehindEnabled()) {
+            IngestionStatusResponse accepted = orderIngestionService.submit(orderRequest);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/orders/ingestion/" + accepted.getTrackingId()))
+                    .body(accepted);
+        }
+        OrderResponse createdOrder = orderService.createOrder(orderRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a bulk order deletion.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk order deletion result")
+public class BulkDeleteResponse {
+
+    @Schema(description = "Number of orders deleted", example = "3")
+    private int deletedCount;
+}
@@ -0,0 +1,56 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing the state of an order accepted for write-behind ingestion.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Write-behind order ingestion status")
+public class IngestionStatusResponse {
+
+    /**
+     * Ingestion lifecycle states.
+     */
+    public enum Status {
+        PENDING,
+        COMMITTED,
+        FAILED
+    }
+
+    @Schema(description = "Tracking ID returned when the order was accepted",
+            example = "3f2b8c1e-6d4a-4a57-9a43-2f0c8d1e7b55")
+    private String trackingId;
+
+    @Schema(description = "Current ingestion status", example = "COMMITTED")
+    private Status status;
+
+    @Schema(description = "ID of the persisted order once committed", example = "42")
+    private Long orderId;
+
+    @Schema(description = "Reason the order was rejected by the background writer",
+            example = "User not found with ID: 5")
+    private String error;
+
+    public static IngestionStatusResponse pending(String trackingId) {
+        return new IngestionStatusResponse(trackingId, Status.PENDING, null, null);
+    }
+
+    public static IngestionStatusResponse committed(String trackingId, Long orderId) {
+        return new IngestionStatusResponse(trackingId, Status.COMMITTED, orderId, null);
+    }
+
+    public static IngestionStatusResponse failed(String trackingId, String error) {
+        return new IngestionStatusResponse(trackingId, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the totals of one group of orders.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Totals of one group of orders")
+public class OrderAggregate {
+
+    @Schema(description = "The group: a user ID, a product name, or the start of an hour or day", example = "Laptop")
+    private String key;
+
+    @Schema(description = "Number of orders", example = "12")
+    private long orders;
+
+    @Schema(description = "Sum of the quantities", example = "15")
+    private long quantity;
+
+    @Schema(description = "Sum of quantity times price", example = "14999.85")
+    private BigDecimal revenue;
+}
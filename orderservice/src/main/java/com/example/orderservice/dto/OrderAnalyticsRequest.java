@@ -0,0 +1,41 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for the grouping and filters of an order analytics query.
+ * 
+ * Every filter is optional; the filters that are given must all match.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order analytics grouping and filters")
+public class OrderAnalyticsRequest {
+
+    @Schema(description = "What to group by: user, product, hour or day", example = "product")
+    private String groupBy = "product";
+
+    @Schema(description = "Exact product name", example = "Laptop")
+    private String product;
+
+    @Schema(description = "ID of the user who placed the orders", example = "1")
+    private Long userId;
+
+    @Schema(description = "Earliest creation time, inclusive", example = "2025-08-01T00:00:00Z")
+    private Instant createdFrom;
+
+    @Schema(description = "Latest creation time, exclusive", example = "2025-09-01T00:00:00Z")
+    private Instant createdTo;
+
+    @Schema(description = "Maximum number of groups", example = "100")
+    private int limit = 100;
+}
@@ -0,0 +1,33 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of an order analytics query.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order totals per group and overall")
+public class OrderAnalyticsResponse {
+
+    @Schema(description = "What the orders were grouped by", example = "product")
+    private String groupBy;
+
+    @Schema(description = "Totals per group; time buckets in time order, users and products by revenue, highest first")
+    private List<OrderAggregate> groups;
+
+    @Schema(description = "Whether groups beyond the limit were left out")
+    private boolean truncated;
+
+    @Schema(description = "Totals over all matching orders, including groups left out")
+    private OrderAggregate total;
+}
@@ -0,0 +1,34 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one read of the order change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changes after a cursor plus the cursor to read from next")
+public class OrderChangeFeedResponse {
+
+    @Schema(description = "Changes in commit order")
+    private List<OrderChangeResponse> items;
+
+    @Schema(description = "Cursor to pass as 'since' on the next read; always present", example = "lx3k9a2b-42")
+    private String nextCursor;
+
+    @Schema(description = "Whether more changes are available right away", example = "false")
+    private boolean hasMore;
+
+    @Schema(description = "True when changes after the cursor are no longer retained; reload the orders, then continue from nextCursor",
+            example = "false")
+    private boolean reset;
+}
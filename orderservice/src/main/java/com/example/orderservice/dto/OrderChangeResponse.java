@@ -0,0 +1,37 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.event.OrderChange;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for one entry of the order change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An order insert, update or delete")
+public class OrderChangeResponse {
+
+    @Schema(description = "Position of the change in the feed", example = "42")
+    private long sequence;
+
+    @Schema(description = "What happened to the order", example = "UPDATED")
+    private OrderChange.Type type;
+
+    @Schema(description = "Order ID", example = "7")
+    private Long orderId;
+
+    @Schema(description = "The order after the change; absent for deletes")
+    private OrderResponse order;
+
+    @Schema(description = "When the change was committed", example = "2025-08-07T21:00:00Z")
+    private Instant changedAt;
+}
@@ -0,0 +1,48 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for partial order update requests.
+ * 
+ * Only the supplied fields are changed; omitted (null) fields keep their
+ * current values. When a version is supplied the update only applies if the
+ * order is still at that version.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order partial update request")
+public class OrderPatchRequest {
+
+    @Schema(description = "ID of the user who placed the order", example = "1")
+    private Long userId;
+
+    @Schema(description = "Name of the product ordered", example = "Laptop")
+    @Pattern(regexp = ".*\\S.*", message = "Product must not be blank")
+    private String product;
+
+    @Schema(description = "Quantity of the product ordered", example = "3")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @Schema(description = "Price of the product", example = "899.99")
+    @Positive(message = "Price must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits before and 2 after the decimal point")
+    private BigDecimal price;
+
+    @Schema(description = "Expected current version of the order; the update is rejected with 409 if it has changed", example = "0")
+    private Long version;
+}
@@ -1,6 +1,7 @@
 package com.example.orderservice.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -42,5 +43,6 @@ public class OrderRequest {
     @Schema(description = "Price of the product", example = "999.99")
     @NotNull(message = "Price is required")
     @Positive(message = "Price must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits before and 2 after the decimal point")
     private BigDecimal price;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * DTO for order response data.
@@ -36,4 +37,10 @@ public class OrderResponse {
     
     @Schema(description = "Price of the product", example = "999.99")
     private BigDecimal price;
+
+    @Schema(description = "Version of the order, incremented on every update", example = "0")
+    private Long version;
+
+    @Schema(description = "When the order was created", example = "2025-08-07T21:00:00Z")
+    private Instant createdAt;
 }
@@ -0,0 +1,57 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for the filters, sort order and page of an order search.
+ * 
+ * Every filter is optional; the filters that are given must all match.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order search filters, sort order and page")
+public class OrderSearchRequest {
+
+    @Schema(description = "Exact product name", example = "Laptop")
+    private String product;
+
+    @Schema(description = "ID of the user who placed the order", example = "1")
+    private Long userId;
+
+    @Schema(description = "Lowest price, inclusive", example = "100.00")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Highest price, inclusive", example = "1000.00")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Lowest quantity, inclusive", example = "1")
+    private Integer minQuantity;
+
+    @Schema(description = "Highest quantity, inclusive", example = "10")
+    private Integer maxQuantity;
+
+    @Schema(description = "Earliest creation time, inclusive", example = "2025-08-01T00:00:00Z")
+    private Instant createdFrom;
+
+    @Schema(description = "Latest creation time, exclusive", example = "2025-09-01T00:00:00Z")
+    private Instant createdTo;
+
+    @Schema(description = "Sort order: id, createdAt, price or quantity, prefixed with '-' for descending", example = "-createdAt")
+    private String sort = "id";
+
+    @Schema(description = "Cursor from the previous page")
+    private String after;
+
+    @Schema(description = "Maximum number of orders", example = "20")
+    private int limit = 20;
+}
@@ -0,0 +1,28 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the estimated order count of one trending product.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A product and roughly how often it was ordered in the window")
+public class TrendingProduct {
+
+    @Schema(description = "Product name", example = "Laptop")
+    private String product;
+
+    @Schema(description = "Estimated number of orders; never fewer than the true number", example = "42")
+    private long orders;
+
+    @Schema(description = "By how much the estimate may exceed the true number", example = "0")
+    private long error;
+}
@@ -0,0 +1,27 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the most ordered products of a recent window.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "The most ordered products of the last minutes")
+public class TrendingProductsResponse {
+
+    @Schema(description = "Length of the window in minutes, including the current minute", example = "15")
+    private int windowMinutes;
+
+    @Schema(description = "The products, most ordered first")
+    private List<TrendingProduct> products;
+}
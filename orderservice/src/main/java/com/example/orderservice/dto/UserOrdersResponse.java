@@ -0,0 +1,27 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a user together with their orders.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A user and all of their orders")
+public class UserOrdersResponse {
+
+    @Schema(description = "The user, as returned by UserService")
+    private UserResponse user;
+
+    @Schema(description = "The user's orders, possibly none")
+    private List<OrderResponse> orders;
+}
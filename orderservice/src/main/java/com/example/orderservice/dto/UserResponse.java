@@ -0,0 +1,31 @@
+package com.example.orderservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for user data as returned by UserService.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "User data from UserService")
+public class UserResponse {
+
+    @Schema(description = "Unique identifier of the user", example = "1")
+    private Long id;
+
+    @Schema(description = "Username of the user", example = "john_doe")
+    private String username;
+
+    @Schema(description = "Email address of the user", example = "john@example.com")
+    private String email;
+
+    @Schema(description = "Version of the user, incremented on every update", example = "0")
+    private Long version;
+}
@@ -0,0 +1,47 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Idempotency record storing the response produced for an Idempotency-Key.
+ * 
+ * This entity lets a retried request be answered with the original response
+ * instead of being executed a second time.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 32)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private Integer statusCode;
+
+    @Column(name = "location")
+    private String location;
+
+    @Column(name = "response_body", nullable = false, length = 8192)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
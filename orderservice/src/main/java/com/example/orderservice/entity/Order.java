@@ -1,6 +1,7 @@
 package com.example.orderservice.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,18 +11,29 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Order entity representing an order in the system.
  * 
  * This entity is used for storing order information including
- * user ID, product details, quantity, and price.
+ * user ID, product details, quantity, and price. The product is exposed by
+ * name but stored as the ID of a row in the products table.
+ * 
+ * The composite indexes lead with the columns order searches filter on most
+ * often, a user or a product, followed by the creation time, so those searches
+ * read a contiguous index range already in creation order.
  * 
  * @author Naveen Vusa
  * @version 1.0.0
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_product_created", columnList = "product_id, created_at"),
+        @Index(name = "idx_orders_created", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,9 +48,16 @@ public class Order {
     private Long userId;
 
     @NotBlank(message = "Product is required")
-    @Column(nullable = false)
+    @Convert(converter = ProductNameConverter.class)
+    @Column(name = "product_id", nullable = false)
     private String product;
 
+    /**
+     * The stored product ID, set when the order is loaded; written through {@link #product} or bulk updates.
+     */
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Integer productId;
+
     @NotNull(message = "Quantity is required")
     @Min(value = 1, message = "Quantity must be at least 1")
     @Column(nullable = false)
@@ -46,6 +65,27 @@ public class Order {
 
     @NotNull(message = "Price is required")
     @Positive(message = "Price must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits before and 2 after the decimal point")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "ingestion_id", unique = true, length = 36)
+    private String ingestionId;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Stamp the creation time, to the millisecond so it survives a round trip through search cursors.
+     */
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Pending removal of the orders of a deleted user.
+ * 
+ * A task is stored when UserService reports a user deletion and removed once
+ * the background purge has deleted the last of the user's orders, so a
+ * restart resumes unfinished purges.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "order_purge_tasks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPurgeTask {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+
+    @Column(name = "deleted_count", nullable = false)
+    private long deletedCount;
+}
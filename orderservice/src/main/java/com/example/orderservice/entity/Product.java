@@ -0,0 +1,35 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product entity: one row per distinct product name.
+ * 
+ * Orders reference a product by its small integer ID instead of repeating the
+ * name on every row. Rows are only ever added, so an ID keeps its name for good.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "products")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,48 @@
+package com.example.orderservice.entity;
+
+import com.example.orderservice.cache.ProductDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores a product name as the ID of its product, through the {@link ProductDictionary}.
+ * 
+ * Applied to query parameters compared with the attribute as well, so a
+ * JPQL condition such as {@code o.product = :product} takes a name.
+ * 
+ * Conversions run while Hibernate flushes and hydrates, so they only consult
+ * the dictionary's memory. Names must be resolved with
+ * {@link ProductDictionary#idOf} before an order is saved. An ID this instance
+ * has not seen yet, such as one added by another instance, hydrates as a null
+ * product; the stored {@code productId} is still set and
+ * the service resolves the name from it.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@Converter
+@RequiredArgsConstructor
+public class ProductNameConverter implements AttributeConverter<String, Integer> {
+
+    private final ProductDictionary productDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = productDictionary.knownId(name);
+        if (id == null) {
+            throw new IllegalStateException("Product " + name + " was not resolved before the order was written");
+        }
+        return id;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? productDictionary.knownName(id) : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.dto.OrderResponse;
+
+/**
+ * An order insert, update or delete to be published on the {@link OrderChangeLog}.
+ * 
+ * @param type what happened to the order
+ * @param orderId the order ID
+ * @param order the order as it is after the change, or null for deletes
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public record OrderChange(Type type, Long orderId, OrderResponse order) {
+
+    /**
+     * Kinds of order changes.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Describe a newly created order.
+     * 
+     * @param order the created order
+     * @return the change
+     */
+    public static OrderChange created(OrderResponse order) {
+        return new OrderChange(Type.CREATED, order.getId(), order);
+    }
+
+    /**
+     * Describe an updated order.
+     * 
+     * @param order the order after the update
+     * @return the change
+     */
+    public static OrderChange updated(OrderResponse order) {
+        return new OrderChange(Type.UPDATED, order.getId(), order);
+    }
+
+    /**
+     * Describe a deleted order.
+     * 
+     * @param orderId the deleted order's ID
+     * @return the change
+     */
+    public static OrderChange deleted(Long orderId) {
+        return new OrderChange(Type.DELETED, orderId, null);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.orderservice.event;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderChangeResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, in-memory log of committed order changes, shared by every reader of
+ * the order change feed.
+ *
+ * Changes are kept in a ring buffer of {@code orders.changes.capacity} entries
+ * and numbered in the order their transactions reach commit. Numbers are
+ * assigned just before commit, while the transaction still holds its row locks,
+ * so conflicting writes are numbered in the order they apply; changes of a
+ * transaction that then rolls back are dropped. Readers never go past the
+ * watermark, the highest number below which no transaction is still committing,
+ * so a cursor cannot skip a change that becomes visible late.
+ *
+ * Readers keep their own cursor into the buffer and never query the database. A
+ * reader whose cursor has fallen out of the buffer, or comes from before a
+ * restart, is told to reset instead of silently missing changes.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderChangeLog {
+
+    private static final Pattern CURSOR_PATTERN = Pattern.compile("[0-9a-z]+-\\d{1,18}");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.changes.capacity:10000}")
+    private int capacity;
+
+    /**
+     * Distinguishes cursors of this process from those handed out before a restart.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private OrderChangeResponse[] ring;
+    private long head;
+
+    /**
+     * Changes after a cursor.
+     *
+     * @param items the changes, in order
+     * @param next the cursor to read from next
+     * @param hasMore whether changes beyond the limit are already available
+     * @param reset whether the cursor is no longer in the log; the reader must reload and continue from next
+     */
+    public record Page(List<OrderChangeResponse> items, long next, boolean hasMore, boolean reset) {
+    }
+
+    /**
+     * Allocate the buffer and register its metrics.
+     */
+    @PostConstruct
+    public void init() {
+        ring = new OrderChangeResponse[capacity];
+        Gauge.builder("orders.changes.sequence", this, OrderChangeLog::watermark)
+                .description("Sequence number of the latest committed order change")
+                .register(meterRegistry);
+        log.info("Order change log keeps the last {} changes, epoch {}", capacity, epoch);
+    }
+
+    /**
+     * Publish order changes once the current transaction commits, or right away without one.
+     *
+     * @param changes the changes, in the order they were made
+     */
+    public void record(List<OrderChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settle(reserve(changes), true);
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.addAll(changes);
+    }
+
+    /**
+     * Read committed changes after a cursor position.
+     *
+     * @param since the position of the last change already seen
+     * @param limit maximum number of changes to return
+     * @return the changes
+     */
+    public synchronized Page read(long since, int limit) {
+        long watermark = watermark();
+        if (since < oldestRetained() - 1 || since > head) {
+            return new Page(List.of(), watermark, false, true);
+        }
+        List<OrderChangeResponse> items = new ArrayList<>();
+        long position = since;
+        while (position < watermark && items.size() < limit) {
+            position++;
+            // Slots of rolled-back changes are empty.
+            OrderChangeResponse change = ring[slot(position)];
+            if (change != null) {
+                items.add(change);
+            }
+        }
+        return new Page(items, position, position < watermark, false);
+    }
+
+    /**
+     * The highest position below which no transaction is still committing.
+     *
+     * @return the watermark
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? head : inFlight.first() - 1;
+    }
+
+    /**
+     * Turn a position into a cursor handed to clients.
+     *
+     * @param position the position
+     * @return the cursor
+     */
+    public String cursor(long position) {
+        return epoch + "-" + position;
+    }
+
+    /**
+     * Turn a client cursor back into a position.
+     *
+     * @param cursor the cursor, or null to start at the oldest retained change
+     * @return the position, or -1 if the cursor was handed out before a restart
+     * @throws ValidationException if the cursor is malformed
+     */
+    public long position(String cursor) {
+        if (cursor == null) {
+            synchronized (this) {
+                return oldestRetained() - 1;
+            }
+        }
+        if (!CURSOR_PATTERN.matcher(cursor).matches()) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+        int separator = cursor.indexOf('-');
+        return cursor.substring(0, separator).equals(epoch) ? Long.parseLong(cursor.substring(separator + 1)) : -1;
+    }
+
+    /**
+     * Register a callback run whenever new changes may have become readable.
+     *
+     * @param listener the callback; it runs on the committing thread and must return quickly
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private synchronized List<Long> reserve(List<OrderChange> changes) {
+        Instant now = Instant.now();
+        List<Long> positions = new ArrayList<>(changes.size());
+        for (OrderChange change : changes) {
+            long position = ++head;
+            ring[slot(position)] = new OrderChangeResponse(position, change.type(), change.orderId(), change.order(), now);
+            inFlight.add(position);
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    private void settle(List<Long> positions, boolean committed) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            positions.forEach(inFlight::remove);
+            if (!committed) {
+                positions.forEach(position -> ring[slot(position)] = null);
+            }
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    private long oldestRetained() {
+        return Math.max(1, head - capacity + 1);
+    }
+
+    private int slot(long position) {
+        return (int) ((position - 1) % capacity);
+    }
+
+    /**
+     * Changes recorded by one transaction; numbered before it commits and
+     * released, or dropped, once it has finished.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<OrderChange> changes = new ArrayList<>();
+        private List<Long> positions = List.of();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            positions = reserve(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(OrderChangeLog.this);
+            settle(positions, status == STATUS_COMMITTED);
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.example.orderservice.exception;
 
 import com.example.common.dto.ErrorResponse;
 import com.example.common.exception.BaseGlobalExceptionHandler;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InternalServerException;
 import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -60,6 +63,41 @@ public class GlobalExceptionHandler extends BaseGlobalExceptionHandler {
         return super.handleValidationException(ex);
     }
 
+    /**
+     * Handle ConflictException.
+     * 
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        return super.handleConflictException(ex);
+    }
+
+    /**
+     * Handle PreconditionFailedException raised when a conditional write found
+     * a different version than the request's If-Match.
+     * 
+     * @param ex the exception
+     * @return error response with 412 status
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return super.handlePreconditionFailedException(ex);
+    }
+
+    /**
+     * Handle OptimisticLockingFailureException raised when a versioned order
+     * was updated by another request in the meantime.
+     * 
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return super.handleConflictException(new ConflictException("Order was modified concurrently, please retry"));
+    }
+
     /**
      * Handle InternalServerException.
      * 
@@ -0,0 +1,39 @@
+package com.example.orderservice.ingestion;
+
+import com.example.orderservice.dto.OrderRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A single record of the order ingestion journal.
+ *
+ * An order is first journaled as {@link Type#ACCEPTED} together with its request;
+ * once the background writer has processed it, a {@link Type#COMMITTED} or
+ * {@link Type#FAILED} marker with the same tracking ID is appended.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JournalEntry(Type type, String trackingId, OrderRequest request, Long orderId, String error) {
+
+    /**
+     * Journal record types.
+     */
+    public enum Type {
+        ACCEPTED,
+        COMMITTED,
+        FAILED
+    }
+
+    public static JournalEntry accepted(String trackingId, OrderRequest request) {
+        return new JournalEntry(Type.ACCEPTED, trackingId, request, null, null);
+    }
+
+    public static JournalEntry committed(String trackingId, Long orderId) {
+        return new JournalEntry(Type.COMMITTED, trackingId, null, orderId, null);
+    }
+
+    public static JournalEntry failed(String trackingId, String error) {
+        return new JournalEntry(Type.FAILED, trackingId, null, null, error);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.orderservice.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money held in a {@code long} as a whole number of cents.
+ *
+ * Amounts cross the API and the database as {@link BigDecimal} with scale 2,
+ * matching the {@code precision = 10, scale = 2} price column; inside the
+ * service, totals, sums and comparisons are done on cents with plain
+ * {@code long} arithmetic, which allocates nothing. Conversions are exact: an
+ * amount that is not a whole number of cents is rejected rather than rounded,
+ * and arithmetic that would overflow throws instead of wrapping.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public final class Money {
+
+    /** Number of decimal places of an amount. */
+    public static final int SCALE = 2;
+
+    /** Largest price the price column holds, 99,999,999.99, in cents. */
+    public static final long MAX_PRICE = 99_999_999_99L;
+
+    private Money() {
+    }
+
+    /**
+     * Convert an amount to cents.
+     *
+     * @param amount the amount, with at most two significant decimal places
+     * @return the amount in cents
+     * @throws ArithmeticException if the amount has a fraction of a cent or does not fit a long
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert cents to an amount with scale 2.
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Add two amounts.
+     *
+     * @param cents an amount in cents
+     * @param otherCents another amount in cents
+     * @return the sum in cents
+     * @throws ArithmeticException if the sum overflows
+     */
+    public static long plus(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    /**
+     * Multiply an amount, e.g. a unit price by a quantity.
+     *
+     * @param cents the amount in cents
+     * @param factor the multiplier
+     * @return the product in cents
+     * @throws ArithmeticException if the product overflows
+     */
+    public static long times(long cents, long factor) {
+        return Math.multiplyExact(cents, factor);
+    }
+}
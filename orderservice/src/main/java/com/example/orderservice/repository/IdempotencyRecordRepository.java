@@ -0,0 +1,32 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for IdempotencyRecord entity.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Delete all records created before the cutoff.
+     * 
+     * @param cutoff records created before this instant are deleted
+     * @return number of deleted records
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,36 @@
+package com.example.orderservice.repository;
+
+import com.example.common.web.FieldSelection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries reading only selected order columns, for responses trimmed with {@code ?fields=}.
+ * 
+ * A selected {@code product} holds the stored product ID, an {@link Integer};
+ * callers resolve it to the product name.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderFieldsRepository {
+
+    /**
+     * Read the selected fields of all orders, ordered by ID.
+     * 
+     * @param fields the fields to read
+     * @return one map of field name to value per order
+     */
+    List<Map<String, Object>> findAllFields(FieldSelection fields);
+
+    /**
+     * Read the selected fields of one order.
+     * 
+     * @param id the order ID
+     * @param fields the fields to read
+     * @return Optional containing the map of field name to value if the order exists
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields);
+}
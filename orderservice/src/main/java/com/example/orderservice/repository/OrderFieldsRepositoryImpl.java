@@ -0,0 +1,63 @@
+package com.example.orderservice.repository;
+
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria implementation of OrderFieldsRepository.
+ * 
+ * Each query selects only the requested columns as a tuple, so the other
+ * columns are neither read nor hydrated into entities, and the rows never
+ * enter the persistence context. The product is read as its stored ID, not
+ * through the product converter, whose dictionary lookup only knows the
+ * products this instance has already resolved.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class OrderFieldsRepositoryImpl implements OrderFieldsRepository {
+
+    private static final String PRODUCT = "product";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(FieldSelection fields) {
+        return select(fields, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields) {
+        return select(fields, (builder, order) -> builder.equal(order.get("id"), id)).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> select(FieldSelection fields, BiFunction<CriteriaBuilder, Root<Order>, Predicate> filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        query.multiselect(fields.names().stream()
+                .<Selection<?>>map(name -> order.get(name.equals(PRODUCT) ? "productId" : name).alias(name))
+                .toList());
+        if (filter != null) {
+            query.where(filter.apply(builder, order));
+        }
+        query.orderBy(builder.asc(order.get("id")));
+        return entityManager.createQuery(query).getResultStream()
+                .map(tuple -> fields.toMap(tuple::get))
+                .toList();
+    }
+}
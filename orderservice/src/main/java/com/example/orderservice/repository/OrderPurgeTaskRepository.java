@@ -0,0 +1,24 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.OrderPurgeTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for OrderPurgeTask entity.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Repository
+public interface OrderPurgeTaskRepository extends JpaRepository<OrderPurgeTask, Long> {
+
+    /**
+     * Find the purge task that has waited longest.
+     * 
+     * @return Optional containing the oldest task, empty if there is nothing to purge
+     */
+    Optional<OrderPurgeTask> findFirstByOrderByRequestedAtAscUserIdAsc();
+}
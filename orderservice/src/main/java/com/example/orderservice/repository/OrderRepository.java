@@ -1,10 +1,22 @@
 package com.example.orderservice.repository;
 
 import com.example.orderservice.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository interface for Order entity.
@@ -13,7 +25,7 @@ import java.util.List;
  * @version 1.0.0
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderFieldsRepository, OrderSearchRepository {
 
     /**
      * Find all orders by user ID.
@@ -23,6 +35,26 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     List<Order> findByUserId(Long userId);
 
+    /**
+     * Find all orders of several users.
+     * 
+     * @param userIds the user IDs to search for
+     * @return the orders of those users
+     */
+    List<Order> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Stream the columns kept by the analytics store, without loading entities.
+     * 
+     * Each row holds the ID, user ID, product ID, quantity, price and creation
+     * time. Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return the rows of every order
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select o.id, o.userId, o.productId, o.quantity, o.price, o.createdAt from Order o")
+    Stream<Object[]> streamAnalyticsColumns();
+
     /**
      * Check if orders exist for a user.
      * 
@@ -38,4 +70,107 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return number of orders for the user
      */
     long countByUserId(Long userId);
+
+    /**
+     * Find the order persisted for a write-behind ingestion tracking ID.
+     * 
+     * @param ingestionId the ingestion tracking ID
+     * @return Optional containing the order if it was persisted
+     */
+    Optional<Order> findByIngestionId(String ingestionId);
+
+    /**
+     * Find the orders persisted for a set of write-behind ingestion tracking IDs.
+     * 
+     * @param ingestionIds the ingestion tracking IDs
+     * @return the orders that were already persisted
+     */
+    List<Order> findByIngestionIdIn(Collection<String> ingestionIds);
+
+    /**
+     * Apply a partial update in a single UPDATE statement.
+     * 
+     * Null arguments leave the corresponding column unchanged. The version is
+     * incremented, and when an expected version is given the row is only
+     * updated if it still has that version. Parameters are cast explicitly
+     * because Hibernate cannot infer a coalesce type from a parameter bound to null.
+     * The product is set through its stored ID, since a name would have to pass
+     * through the product converter, which a cast bypasses.
+     * 
+     * @param id the order ID
+     * @param userId the new user ID, or null
+     * @param productId the ID of the new product, or null
+     * @param quantity the new quantity, or null
+     * @param price the new price, or null
+     * @param version the expected current version, or null to skip the check
+     * @return number of rows updated (0 if the order is missing or the version did not match)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.userId = coalesce(cast(:userId as Long), o.userId), "
+            + "o.productId = coalesce(cast(:productId as Integer), o.productId), "
+            + "o.quantity = coalesce(cast(:quantity as Integer), o.quantity), "
+            + "o.price = coalesce(cast(:price as BigDecimal), o.price), o.version = o.version + 1 "
+            + "where o.id = :id and (:version is null or o.version = :version)")
+    int patch(@Param("id") Long id, @Param("userId") Long userId, @Param("productId") Integer productId,
+              @Param("quantity") Integer quantity, @Param("price") BigDecimal price, @Param("version") Long version);
+
+    /**
+     * Find the user an order belongs to without loading the order.
+     * 
+     * @param id the order ID
+     * @return Optional containing the user ID if the order exists
+     */
+    @Query("select o.userId from Order o where o.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Find the current version of an order without loading the order.
+     * 
+     * @param id the order ID
+     * @return Optional containing the version if the order exists
+     */
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find the IDs of a user's orders in ascending order, without loading the orders.
+     * 
+     * @param userId the user ID
+     * @param limit maximum number of IDs to return
+     * @return the order IDs
+     */
+    @Query("select o.id from Order o where o.userId = :userId order by o.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Find which of a set of orders exist and who they belong to, without loading the orders.
+     * 
+     * Each row holds the order ID and the user ID.
+     * 
+     * @param ids the order IDs
+     * @return a row for every order that exists
+     */
+    @Query("select o.id, o.userId from Order o where o.id in :ids")
+    List<Object[]> findIdsAndUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete an order by ID in a single statement, optionally only at a given version.
+     * 
+     * @param id the order ID
+     * @param version the expected current version, or null to skip the check
+     * @return number of rows deleted (0 if the order is missing or the version did not match)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Order o where o.id = :id and (:version is null or o.version = :version)")
+    int deleteOrderById(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Delete a set of orders by ID in a single statement.
+     * 
+     * @param ids the order IDs
+     * @return number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Order o where o.id in :ids")
+    int deleteOrdersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,26 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.OrderSearchRequest;
+import com.example.orderservice.entity.Order;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for searching orders by any combination of filters.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Find one page of the orders that match the given filters.
+     * 
+     * @param filters the filters; null filters are ignored
+     * @param sort the sort order
+     * @param after the position of the last order already returned, or null for the first page
+     * @param limit maximum number of orders to return
+     * @return the matching orders, in sort order
+     */
+    List<Order> search(OrderSearchRequest filters, OrderSort sort, OrderSort.Position after, int limit);
+}
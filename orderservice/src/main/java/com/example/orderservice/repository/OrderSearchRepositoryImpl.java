@@ -0,0 +1,110 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.OrderSearchRequest;
+import com.example.orderservice.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * JPQL implementation of OrderSearchRepository.
+ * 
+ * A query only contains the conditions of the filters that are present, so the
+ * database can pick the index that matches them instead of evaluating
+ * "parameter is null or ..." for every row. Values are always bound as
+ * parameters, never inlined, so each combination of filters, sort order and
+ * first-or-later page, the query's shape, has exactly one query string. That
+ * string is built once per shape and reused, which in turn lets Hibernate's
+ * query plan cache and the driver's statement cache reuse their work.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Slf4j
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private record Filter(String parameter, String condition, Function<OrderSearchRequest, Object> value) {
+    }
+
+    private static final List<Filter> FILTERS = List.of(
+            new Filter("userId", "o.userId = :userId", OrderSearchRequest::getUserId),
+            new Filter("product", "o.product = :product", OrderSearchRequest::getProduct),
+            new Filter("createdFrom", "o.createdAt >= :createdFrom", OrderSearchRequest::getCreatedFrom),
+            new Filter("createdTo", "o.createdAt < :createdTo", OrderSearchRequest::getCreatedTo),
+            new Filter("minPrice", "o.price >= :minPrice", OrderSearchRequest::getMinPrice),
+            new Filter("maxPrice", "o.price <= :maxPrice", OrderSearchRequest::getMaxPrice),
+            new Filter("minQuantity", "o.quantity >= :minQuantity", OrderSearchRequest::getMinQuantity),
+            new Filter("maxQuantity", "o.quantity <= :maxQuantity", OrderSearchRequest::getMaxQuantity));
+
+    /**
+     * Bit set when a page continues after a cursor; the sort order sits above it.
+     */
+    private static final int AFTER_BIT = 1 << FILTERS.size();
+
+    private final Map<Integer, String> queryShapes = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Order> search(OrderSearchRequest filters, OrderSort sort, OrderSort.Position after, int limit) {
+        int shape = sort.ordinal() * AFTER_BIT * 2 + (after != null ? AFTER_BIT : 0);
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if (FILTERS.get(i).value().apply(filters) != null) {
+                shape |= 1 << i;
+            }
+        }
+
+        TypedQuery<Order> query = entityManager.createQuery(queryShapes.computeIfAbsent(shape, this::build), Order.class);
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if ((shape & 1 << i) != 0) {
+                query.setParameter(FILTERS.get(i).parameter(), FILTERS.get(i).value().apply(filters));
+            }
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (sort.attribute() != null) {
+                query.setParameter("afterValue", after.value());
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private String build(int shape) {
+        OrderSort sort = OrderSort.values()[shape / (AFTER_BIT * 2)];
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if ((shape & 1 << i) != 0) {
+                conditions.add(FILTERS.get(i).condition());
+            }
+        }
+
+        String direction = sort.descending() ? " desc" : " asc";
+        String comparison = sort.descending() ? " < " : " > ";
+        String attribute = sort.attribute();
+        if ((shape & AFTER_BIT) != 0) {
+            conditions.add(attribute == null ? "o.id" + comparison + ":afterId"
+                    : "(o." + attribute + comparison + ":afterValue or (o." + attribute + " = :afterValue and o.id"
+                            + comparison + ":afterId))");
+        }
+
+        StringBuilder jpql = new StringBuilder("select o from Order o");
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by ");
+        if (attribute != null) {
+            jpql.append("o.").append(attribute).append(direction).append(", ");
+        }
+        jpql.append("o.id").append(direction);
+        log.debug("Prepared order search shape {}: {}", shape, jpql);
+        return jpql.toString();
+    }
+}
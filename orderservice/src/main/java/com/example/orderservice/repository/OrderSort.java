@@ -0,0 +1,115 @@
+package com.example.orderservice.repository;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sort orders of an order search.
+ *
+ * Ties are broken by order ID in the same direction, so every sort order is
+ * total and can be paged by keyset: a cursor holds the sort value and the ID
+ * of the last order on a page, separated by '_', or just the ID when sorting
+ * by ID.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public enum OrderSort {
+
+    ID_ASC("id", false, null, null),
+    ID_DESC("-id", true, null, null),
+    CREATED_AT_ASC("createdAt", false, Order::getCreatedAt, Instant::parse),
+    CREATED_AT_DESC("-createdAt", true, Order::getCreatedAt, Instant::parse),
+    PRICE_ASC("price", false, Order::getPrice, BigDecimal::new),
+    PRICE_DESC("-price", true, Order::getPrice, BigDecimal::new),
+    QUANTITY_ASC("quantity", false, Order::getQuantity, Integer::valueOf),
+    QUANTITY_DESC("-quantity", true, Order::getQuantity, Integer::valueOf);
+
+    private final String parameter;
+    private final boolean descending;
+    private final Function<Order, Object> value;
+    private final Function<String, Object> parser;
+
+    OrderSort(String parameter, boolean descending, Function<Order, Object> value, Function<String, Object> parser) {
+        this.parameter = parameter;
+        this.descending = descending;
+        this.value = value;
+        this.parser = parser;
+    }
+
+    /**
+     * A keyset position: the sort value and ID of the last order already returned.
+     *
+     * @param value the sort value, or null when sorting by ID
+     * @param id the order ID
+     */
+    public record Position(Object value, long id) {
+    }
+
+    /**
+     * Look up a sort order by its request parameter.
+     *
+     * @param parameter the parameter, e.g. {@code -createdAt}
+     * @return the sort order
+     * @throws ValidationException if the parameter names no sort order
+     */
+    public static OrderSort parse(String parameter) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Invalid sort '" + parameter + "', expected one of "
+                        + Arrays.stream(values()).map(sort -> sort.parameter).collect(Collectors.joining(", "))));
+    }
+
+    /**
+     * The entity attribute sorted on, before the ID.
+     *
+     * @return the attribute name, or null when sorting by ID only
+     */
+    public String attribute() {
+        return value == null ? null : parameter.substring(descending ? 1 : 0);
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    /**
+     * The cursor that continues after an order.
+     *
+     * @param order the last order of a page
+     * @return the cursor
+     */
+    public String cursor(Order order) {
+        return value == null ? String.valueOf(order.getId()) : value.apply(order) + "_" + order.getId();
+    }
+
+    /**
+     * Turn a cursor back into a position.
+     *
+     * @param cursor the cursor, or null to start at the beginning
+     * @return the position, or null for the beginning
+     * @throws ValidationException if the cursor was not made by this sort order
+     */
+    public Position position(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            if (value == null) {
+                return new Position(null, Long.parseLong(cursor));
+            }
+            int separator = cursor.lastIndexOf('_');
+            return new Position(parser.apply(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor for sort '" + parameter + "': " + cursor);
+        }
+    }
+}
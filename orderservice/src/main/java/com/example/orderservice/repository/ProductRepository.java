@@ -0,0 +1,25 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for Product entity.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Integer> {
+
+    /**
+     * Find a product by its name.
+     * 
+     * @param name the product name
+     * @return Optional containing the product if it exists
+     */
+    Optional<Product> findByName(String name);
+}
@@ -0,0 +1,39 @@
+package com.example.orderservice.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for Idempotency-Key handling.
+ * 
+ * This interface defines how a request carrying an idempotency key is executed
+ * at most once, with retries answered from the stored response.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface IdempotencyService {
+
+    /**
+     * Execute an action at most once per idempotency key.
+     * 
+     * A repeated key with the same request returns the stored response without
+     * running the action; concurrent requests with the same key wait for the
+     * first one instead of racing it.
+     * 
+     * @param idempotencyKey the client-supplied key, or null to always execute
+     * @param request the request payload the key is bound to
+     * @param action the action producing the response
+     * @return the original or replayed response
+     * @throws ConflictException if the key was used with a different request
+     */
+    ResponseEntity<?> execute(String idempotencyKey, Object request, Supplier<ResponseEntity<?>> action);
+
+    /**
+     * Remove expired idempotency records from the backing table.
+     * 
+     * @return number of removed records
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,33 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderAnalyticsRequest;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.TrendingProductsResponse;
+
+/**
+ * Service interface for aggregate reports over orders.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderAnalyticsService {
+
+    /**
+     * Count orders and sum their quantities and revenue per group.
+     * 
+     * @param request the grouping, filters and maximum number of groups
+     * @return the totals per group and overall
+     * @throws ValidationException if the grouping, the time range or the limit is invalid
+     */
+    OrderAnalyticsResponse aggregate(OrderAnalyticsRequest request);
+
+    /**
+     * Get the most ordered products of the last minutes, with estimated order counts.
+     * 
+     * @param windowMinutes how many minutes to look back, including the current one
+     * @param k maximum number of products
+     * @return the products, most ordered first
+     * @throws ValidationException if the window or k is out of range
+     */
+    TrendingProductsResponse getTrendingProducts(int windowMinutes, int k);
+}
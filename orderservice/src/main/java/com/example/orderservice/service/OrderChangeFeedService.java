@@ -0,0 +1,47 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderChangeFeedResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for reading the order change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderChangeFeedService {
+
+    /**
+     * Read the order changes after a cursor, optionally waiting for new ones.
+     * 
+     * If there are no changes after the cursor, the result completes as soon as
+     * one commits, or with an empty page once the wait is over. A cursor that is
+     * no longer retained yields an empty page flagged as a reset.
+     * 
+     * @param since cursor from a previous read, or null to start at the oldest retained change
+     * @param limit maximum number of changes to return
+     * @param waitMs how long to wait for a change when there is none, 0 to return immediately
+     * @return the changes and the cursor for the next read
+     * @throws ValidationException if the cursor, limit or wait is invalid
+     * @throws ServiceUnavailableException if too many reads are already waiting
+     */
+    CompletableFuture<OrderChangeFeedResponse> getChanges(String since, int limit, long waitMs);
+
+    /**
+     * Stream the order changes after a cursor as Server-Sent Events.
+     * 
+     * Each change is sent as an {@code order-change} event whose ID is its cursor.
+     * A subscriber that falls so far behind that its next change is no longer
+     * retained receives a {@code reset} event and is disconnected.
+     * 
+     * @param since cursor to resume after, or null to start at the oldest retained change
+     * @return the event stream
+     * @throws ValidationException if the cursor is invalid
+     * @throws ServiceUnavailableException if too many subscribers are connected
+     */
+    SseEmitter subscribe(String since);
+}
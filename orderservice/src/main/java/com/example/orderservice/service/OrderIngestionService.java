@@ -0,0 +1,41 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.IngestionStatusResponse;
+import com.example.orderservice.dto.OrderRequest;
+
+/**
+ * Service interface for write-behind order ingestion.
+ *
+ * In write-behind mode validated order requests are appended to a durable local
+ * journal and acknowledged immediately; a background writer drains the journal
+ * into the database in batches.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderIngestionService {
+
+    /**
+     * Check whether order creation should go through the write-behind path.
+     *
+     * @return true if write-behind ingestion is enabled
+     */
+    boolean isWriteBehindEnabled();
+
+    /**
+     * Durably accept an order request for asynchronous persistence.
+     *
+     * @param orderRequest the validated order data
+     * @return the pending status carrying the tracking ID
+     */
+    IngestionStatusResponse submit(OrderRequest orderRequest);
+
+    /**
+     * Get the ingestion status of an accepted order.
+     *
+     * @param trackingId the tracking ID returned on submission
+     * @return the ingestion status
+     * @throws ResourceNotFoundException if the tracking ID is unknown
+     */
+    IngestionStatusResponse getStatus(String trackingId);
+}
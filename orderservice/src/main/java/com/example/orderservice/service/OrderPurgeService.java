@@ -0,0 +1,42 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.ValidationException;
+
+import java.util.List;
+
+/**
+ * Service interface for removing the orders of deleted users in the background.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderPurgeService {
+
+    /**
+     * Record that the orders of some deleted users must be removed.
+     * 
+     * Users that already have a pending purge are ignored, so a repeated
+     * notification is harmless. Users that UserService reports as existing are
+     * skipped, so the orders of a live user are never purged.
+     * 
+     * @param userIds the IDs of the deleted users
+     * @return number of purges newly scheduled
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the configured limit
+     * @throws InvalidUserException if UserService cannot be reached
+     */
+    int requestPurge(List<Long> userIds);
+
+    /**
+     * Delete the next batch of orders of the oldest pending purge.
+     * 
+     * Each call deletes at most one batch in its own transaction; the purge
+     * task is removed once the user has no orders left. The user is checked
+     * with UserService first: if the user exists the task is removed without
+     * deleting anything, and if UserService cannot be reached the batch waits
+     * for the next run.
+     * 
+     * @return number of orders deleted
+     */
+    int purgeNextBatch();
+}
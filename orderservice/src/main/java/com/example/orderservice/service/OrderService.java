@@ -1,9 +1,16 @@
 package com.example.orderservice.service;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.dto.OrderPatchRequest;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderSearchRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for Order business logic.
@@ -33,6 +40,25 @@ public interface OrderService {
      */
     OrderResponse getOrderById(Long id);
 
+    /**
+     * Get selected fields of an order by ID, reading only those columns.
+     * 
+     * @param id the order ID
+     * @param fields the fields to return
+     * @return the selected fields of the order
+     * @throws ResourceNotFoundException if order not found
+     */
+    Map<String, Object> getOrderById(Long id, FieldSelection fields);
+
+    /**
+     * Get several orders by ID with a single query.
+     * 
+     * @param ids the order IDs
+     * @return the orders found in request order, and the IDs that were not found
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the configured limit
+     */
+    MultiGetResponse<OrderResponse> getOrdersByIds(List<Long> ids);
+
     /**
      * Get all orders.
      * 
@@ -40,6 +66,23 @@ public interface OrderService {
      */
     List<OrderResponse> getAllOrders();
 
+    /**
+     * Get selected fields of all orders, reading only those columns.
+     * 
+     * @param fields the fields to return
+     * @return the selected fields of every order, ordered by ID
+     */
+    List<Map<String, Object>> getAllOrders(FieldSelection fields);
+
+    /**
+     * Search orders by any combination of filters, one keyset page at a time.
+     * 
+     * @param request the filters, sort order, cursor and page size
+     * @return the matching orders on this page and the cursor of the next page
+     * @throws ValidationException if the sort order, cursor, a range or the limit is invalid
+     */
+    PageResponse<OrderResponse> searchOrders(OrderSearchRequest request);
+
     /**
      * Get orders by user ID.
      * 
@@ -48,21 +91,67 @@ public interface OrderService {
      */
     List<OrderResponse> getOrdersByUserId(Long userId);
 
+    /**
+     * Get the orders of several users at once, without checking that the users exist.
+     * 
+     * @param userIds the user IDs
+     * @return the orders of every requested user, keyed by user ID
+     */
+    Map<Long, List<OrderResponse>> getOrdersByUserIds(Collection<Long> userIds);
+
     /**
      * Update an order by ID.
      * 
      * @param id the order ID
      * @param orderRequest the updated order data
+     * @param expectedVersion the version named by If-Match, or null to update unconditionally
+     * @return the updated order response
+     * @throws ResourceNotFoundException if order not found
+     * @throws PreconditionFailedException if the order is no longer at the expected version
+     */
+    OrderResponse updateOrder(Long id, OrderRequest orderRequest, Long expectedVersion);
+
+    /**
+     * Partially update an order by ID, changing only the supplied fields.
+     * 
+     * @param id the order ID
+     * @param patchRequest the fields to change and optional expected version
+     * @param expectedVersion the version named by If-Match, used when the body has none; may be null
      * @return the updated order response
      * @throws ResourceNotFoundException if order not found
+     * @throws ConflictException if the order is no longer at the version in the body
+     * @throws PreconditionFailedException if the order is no longer at the If-Match version
      */
-    OrderResponse updateOrder(Long id, OrderRequest orderRequest);
+    OrderResponse patchOrder(Long id, OrderPatchRequest patchRequest, Long expectedVersion);
 
     /**
      * Delete an order by ID.
      * 
      * @param id the order ID
+     * @param expectedVersion the version named by If-Match, or null to delete unconditionally
      * @throws ResourceNotFoundException if order not found
+     * @throws PreconditionFailedException if the order is no longer at the expected version
+     */
+    void deleteOrder(Long id, Long expectedVersion);
+
+    /**
+     * Delete all orders of a user.
+     * 
+     * Orders are deleted in chunks of the bulk delete limit, each in its own
+     * transaction; if one fails, the chunks before it stay deleted and the
+     * call can simply be repeated.
+     * 
+     * @param userId the user ID
+     * @return number of orders deleted
+     */
+    int deleteOrdersByUserId(Long userId);
+
+    /**
+     * Delete a set of orders by ID. IDs that do not exist are ignored.
+     * 
+     * @param ids the order IDs
+     * @return number of orders deleted
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the configured limit
      */
-    void deleteOrder(Long id);
+    int deleteOrders(List<Long> ids);
 }
@@ -0,0 +1,34 @@
+package com.example.orderservice.service;
+
+import com.example.common.dto.MultiGetResponse;
+import com.example.orderservice.dto.UserOrdersResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for views combining UserService users with their orders.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface UserOrdersService {
+
+    /**
+     * Get a user together with their orders.
+     * 
+     * @param userId the user ID
+     * @return the user and their orders
+     * @throws InvalidUserException if the user does not exist or UserService fails
+     */
+    UserOrdersResponse getUserWithOrders(Long userId);
+
+    /**
+     * Get several users together with their orders.
+     * 
+     * @param userIds the user IDs
+     * @return the users found with their orders in request order, and the IDs that were not found
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the configured limit
+     * @throws InvalidUserException if UserService fails
+     */
+    MultiGetResponse<UserOrdersResponse> getUsersWithOrders(List<Long> userIds);
+}
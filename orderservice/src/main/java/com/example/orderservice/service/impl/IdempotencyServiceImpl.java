@@ -0,0 +1,202 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.exception.ConflictException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.entity.IdempotencyRecord;
+import com.example.orderservice.repository.IdempotencyRecordRepository;
+import com.example.orderservice.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of IdempotencyService interface.
+ *
+ * Recent keys live in a bounded, expiring in-memory cache in front of the
+ * idempotency_keys table, so replays are normally answered without a query.
+ * Requests racing on the same key are coalesced: the first one executes and the
+ * others wait on its result. The record is saved in the same transaction as the
+ * action, so a stored key always has the order it describes and vice versa.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${idempotency.max-entries:10000}")
+    private long maxEntries;
+
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, IdempotencyRecord> cache;
+
+    /**
+     * Build the in-memory key cache from the configured bounds.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String idempotencyKey, Object request, Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = fingerprint(request);
+        IdempotencyRecord stored = cache.getIfPresent(idempotencyKey);
+        if (stored != null && !isExpired(stored)) {
+            return replay(stored, requestHash);
+        }
+
+        CompletableFuture<IdempotencyRecord> leader = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> inProgress = inFlight.putIfAbsent(idempotencyKey, leader);
+        if (inProgress != null) {
+            log.debug("Waiting for in-flight request with Idempotency-Key: {}", idempotencyKey);
+            return replay(await(inProgress), requestHash);
+        }
+
+        IdempotencyRecord outcome = null;
+        Throwable failure = null;
+        try {
+            stored = loadStored(idempotencyKey);
+            if (stored != null) {
+                outcome = stored;
+                return replay(stored, requestHash);
+            }
+
+            // The record commits or rolls back together with whatever the action wrote.
+            Execution execution = transactionTemplate.execute(status -> {
+                ResponseEntity<?> response = action.get();
+                IdempotencyRecord record = toRecord(idempotencyKey, requestHash, response);
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    idempotencyRecordRepository.save(record);
+                }
+                return new Execution(response, record);
+            });
+            if (execution.response().getStatusCode().is2xxSuccessful()) {
+                cache.put(idempotencyKey, execution.record());
+            }
+            outcome = execution.record();
+            return execution.response();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Followers must be released whatever happened, including an Error thrown by the action.
+            if (outcome != null) {
+                leader.complete(outcome);
+            } else {
+                leader.completeExceptionally(failure);
+            }
+            inFlight.remove(idempotencyKey, leader);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        log.debug("Purged {} expired idempotency records", removed);
+        return removed;
+    }
+
+    private IdempotencyRecord loadStored(String idempotencyKey) {
+        // A leader that finished between our cache miss and taking the slot has already saved its record.
+        IdempotencyRecord persisted = idempotencyRecordRepository.findById(idempotencyKey)
+                .filter(record -> !isExpired(record))
+                .orElse(null);
+        if (persisted != null) {
+            cache.put(idempotencyKey, persisted);
+        }
+        return persisted;
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> inProgress) {
+        try {
+            return inProgress.join();
+        } catch (CompletionException e) {
+            // The leader fails with whatever the action threw, which is never a checked exception.
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key was already used with a different request");
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true");
+        if (record.getLocation() != null) {
+            builder.location(URI.create(record.getLocation()));
+        }
+        return builder.body(record.getResponseBody());
+    }
+
+    private IdempotencyRecord toRecord(String idempotencyKey, String requestHash, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        return new IdempotencyRecord(
+                idempotencyKey,
+                requestHash,
+                response.getStatusCode().value(),
+                location != null ? location.toString() : null,
+                objectMapper.valueToTree(response.getBody()).toString(),
+                Instant.now()
+        );
+    }
+
+    private record Execution(ResponseEntity<?> response, IdempotencyRecord record) {
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt().isBefore(Instant.now().minus(ttl));
+    }
+
+    private String fingerprint(Object request) {
+        return DigestUtils.md5DigestAsHex(objectMapper.valueToTree(request).toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
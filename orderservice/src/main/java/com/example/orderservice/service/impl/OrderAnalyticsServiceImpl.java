@@ -0,0 +1,135 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.analytics.OrderColumnStore;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.dto.OrderAggregate;
+import com.example.orderservice.dto.OrderAnalyticsRequest;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.TrendingProduct;
+import com.example.orderservice.dto.TrendingProductsResponse;
+import com.example.orderservice.money.Money;
+import com.example.orderservice.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of OrderAnalyticsService interface.
+ *
+ * Reports are computed by {@link OrderColumnStore} over its in-memory columns,
+ * and trending products are read from the {@link TrendingProducts} counters;
+ * neither queries the database. This class validates the query and turns the
+ * results, which carry numeric IDs, epoch times and cents, into names, instants
+ * and amounts.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+
+    private static final String EXPECTED_GROUPINGS = Arrays.stream(OrderColumnStore.Dimension.values())
+            .map(dimension -> dimension.name().toLowerCase(Locale.ROOT))
+            .collect(Collectors.joining(", "));
+
+    private final OrderColumnStore orderColumnStore;
+    private final TrendingProducts trendingProducts;
+    private final ProductDictionary productDictionary;
+
+    @Value("${orders.analytics.max-groups:1000}")
+    private int maxGroups;
+
+    @Value("${orders.trending.max-k:50}")
+    private int maxTrendingK;
+
+    @Override
+    public OrderAnalyticsResponse aggregate(OrderAnalyticsRequest request) {
+        log.info("Aggregating orders by {} with {}", request.getGroupBy(), request);
+
+        OrderColumnStore.Dimension groupBy = parseGroupBy(request.getGroupBy());
+        if (request.getLimit() < 1 || request.getLimit() > maxGroups) {
+            throw new ValidationException("Limit must be between 1 and " + maxGroups);
+        }
+        if (request.getCreatedFrom() != null && request.getCreatedTo() != null
+                && !request.getCreatedFrom().isBefore(request.getCreatedTo())) {
+            throw new ValidationException("createdFrom must be before createdTo");
+        }
+        String name = groupBy.name().toLowerCase(Locale.ROOT);
+        Integer productId = null;
+        if (request.getProduct() != null && !request.getProduct().isBlank()) {
+            productId = productDictionary.find(request.getProduct());
+            if (productId == null) {
+                // No order can have a product that was never added.
+                return new OrderAnalyticsResponse(name, List.of(), false, toAggregate("total", new OrderColumnStore.Totals()));
+            }
+        }
+
+        Map<Long, OrderColumnStore.Totals> totals = orderColumnStore.aggregate(new OrderColumnStore.Query(groupBy,
+                request.getCreatedFrom() != null ? request.getCreatedFrom().toEpochMilli() : Long.MIN_VALUE,
+                request.getCreatedTo() != null ? request.getCreatedTo().toEpochMilli() : Long.MAX_VALUE,
+                request.getUserId(), productId));
+
+        OrderColumnStore.Totals overall = new OrderColumnStore.Totals();
+        totals.values().forEach(overall::merge);
+        Comparator<Map.Entry<Long, OrderColumnStore.Totals>> order = Map.Entry.comparingByKey();
+        if (groupBy == OrderColumnStore.Dimension.USER || groupBy == OrderColumnStore.Dimension.PRODUCT) {
+            order = Comparator.<Map.Entry<Long, OrderColumnStore.Totals>>comparingLong(entry -> entry.getValue().revenueCents())
+                    .reversed().thenComparing(order);
+        }
+        List<OrderAggregate> groups = totals.entrySet().stream()
+                .sorted(order)
+                .limit(request.getLimit())
+                .map(entry -> toAggregate(key(groupBy, entry.getKey()), entry.getValue()))
+                .toList();
+        return new OrderAnalyticsResponse(name, groups, totals.size() > groups.size(), toAggregate("total", overall));
+    }
+
+    @Override
+    public TrendingProductsResponse getTrendingProducts(int windowMinutes, int k) {
+        log.info("Getting top {} products of the last {} minutes", k, windowMinutes);
+
+        if (windowMinutes < 1 || windowMinutes > trendingProducts.maxWindowMinutes()) {
+            throw new ValidationException("Window must be between 1 and " + trendingProducts.maxWindowMinutes() + " minutes");
+        }
+        if (k < 1 || k > maxTrendingK) {
+            throw new ValidationException("k must be between 1 and " + maxTrendingK);
+        }
+        return new TrendingProductsResponse(windowMinutes, trendingProducts.top(windowMinutes, k).stream()
+                .map(count -> new TrendingProduct(productDictionary.nameOf(count.productId()), count.orders(), count.error()))
+                .toList());
+    }
+
+    private static OrderColumnStore.Dimension parseGroupBy(String groupBy) {
+        for (OrderColumnStore.Dimension dimension : OrderColumnStore.Dimension.values()) {
+            if (dimension.name().equalsIgnoreCase(groupBy)) {
+                return dimension;
+            }
+        }
+        throw new ValidationException("Invalid groupBy '" + groupBy + "', expected one of " + EXPECTED_GROUPINGS);
+    }
+
+    private String key(OrderColumnStore.Dimension groupBy, long key) {
+        return switch (groupBy) {
+            case USER -> Long.toString(key);
+            case PRODUCT -> productDictionary.nameOf((int) key);
+            case HOUR, DAY -> Instant.ofEpochMilli(key).toString();
+        };
+    }
+
+    private static OrderAggregate toAggregate(String key, OrderColumnStore.Totals totals) {
+        return new OrderAggregate(key, totals.orders(), totals.quantity(), Money.toBigDecimal(totals.revenueCents()));
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderChangeFeedResponse;
+import com.example.orderservice.dto.OrderChangeResponse;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.service.OrderChangeFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of OrderChangeFeedService interface.
+ *
+ * Every reader is served from the shared {@link OrderChangeLog}; none of them
+ * queries the database. Waiting reads hold no thread: they are parked as futures
+ * and re-checked whenever a transaction that changed orders finishes, with bursts
+ * of commits coalesced into one pass.
+ *
+ * Each stream subscriber keeps its own cursor and is drained by at most one
+ * virtual thread at a time, which blocks while the client's connection is full.
+ * A slow client therefore only slows itself down, and it is sent a reset and
+ * disconnected once it falls behind the retained changes, so the log never has to
+ * grow on its behalf.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderChangeFeedServiceImpl implements OrderChangeFeedService {
+
+    static final String CHANGE_EVENT = "order-change";
+    static final String RESET_EVENT = "reset";
+
+    private final OrderChangeLog orderChangeLog;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.changes.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${orders.changes.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${orders.changes.max-waiters:1000}")
+    private int maxWaiters;
+
+    @Value("${orders.changes.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${orders.changes.stream-batch-size:100}")
+    private int streamBatchSize;
+
+    @Value("${orders.changes.stream-timeout:30m}")
+    private Duration streamTimeout;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private ExecutorService executor;
+    private Counter resets;
+
+    private record Waiter(long since, int limit, CompletableFuture<OrderChangeFeedResponse> result) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * Start the virtual-thread executor, subscribe to finished transactions and register the feed metrics.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-changes-", 0).factory());
+        orderChangeLog.addListener(this::scheduleWake);
+        resets = Counter.builder("orders.changes.resets")
+                .description("Change feed readers that fell behind the retained changes")
+                .register(meterRegistry);
+        Gauge.builder("orders.changes.subscribers", subscribers, Set::size)
+                .description("Connected order change stream subscribers")
+                .register(meterRegistry);
+        Gauge.builder("orders.changes.waiters", waiters, Set::size)
+                .description("Order change reads waiting for a change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop delivering changes: answer waiting reads with what they have and close the streams.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        waiters.forEach(waiter -> waiter.result().complete(toResponse(orderChangeLog.read(waiter.since(), waiter.limit()))));
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public CompletableFuture<OrderChangeFeedResponse> getChanges(String since, int limit, long waitMs) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxLimit);
+        }
+        if (waitMs < 0 || waitMs > maxWaitMs) {
+            throw new ValidationException("Wait must be between 0 and " + maxWaitMs + " ms");
+        }
+
+        OrderChangeLog.Page page = orderChangeLog.read(orderChangeLog.position(since), limit);
+        if (page.reset()) {
+            resets.increment();
+        }
+        if (!page.items().isEmpty() || page.reset() || waitMs == 0) {
+            return CompletableFuture.completedFuture(toResponse(page));
+        }
+        if (waiters.size() >= maxWaiters) {
+            throw new ServiceUnavailableException("Too many clients are waiting for order changes, please retry");
+        }
+
+        Waiter waiter = new Waiter(page.next(), limit, new CompletableFuture<>());
+        waiter.result().completeOnTimeout(toResponse(page), waitMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, failure) -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A change may have committed between the read and registering; check once more.
+        scheduleWake();
+        return waiter.result();
+    }
+
+    @Override
+    public SseEmitter subscribe(String since) {
+        long cursor = orderChangeLog.position(since);
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many clients are streaming order changes, please retry");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(streamTimeout.toMillis()), cursor);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(failure -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Order change subscriber connected at position {}", cursor);
+        // Send what is already retained after the cursor without waiting for the next commit.
+        drainLater(subscriber);
+        return subscriber.emitter;
+    }
+
+    private void scheduleWake() {
+        if ((!waiters.isEmpty() || !subscribers.isEmpty()) && wakeScheduled.compareAndSet(false, true)) {
+            executor.execute(this::wake);
+        }
+    }
+
+    private void wake() {
+        wakeScheduled.set(false);
+        // Completed waiters remove themselves, so the set only holds reads still waiting.
+        for (Waiter waiter : waiters) {
+            OrderChangeLog.Page page = orderChangeLog.read(waiter.since(), waiter.limit());
+            if (!page.items().isEmpty() || page.reset()) {
+                waiter.result().complete(toResponse(page));
+            }
+        }
+        subscribers.forEach(this::drainLater);
+    }
+
+    private void drainLater(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            OrderChangeLog.Page page;
+            do {
+                page = orderChangeLog.read(subscriber.cursor, streamBatchSize);
+                if (page.reset()) {
+                    resets.increment();
+                    subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT)
+                            .data(toResponse(page), MediaType.APPLICATION_JSON));
+                    subscriber.emitter.complete();
+                    subscribers.remove(subscriber);
+                    log.info("Disconnected order change subscriber that fell behind position {}", subscriber.cursor);
+                    return;
+                }
+                for (OrderChangeResponse change : page.items()) {
+                    subscriber.emitter.send(SseEmitter.event().id(orderChangeLog.cursor(change.getSequence()))
+                            .name(CHANGE_EVENT).data(change, MediaType.APPLICATION_JSON));
+                }
+                subscriber.cursor = page.next();
+            } while (page.hasMore());
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter's callbacks may not run, so forget it here.
+            subscribers.remove(subscriber);
+            log.debug("Order change subscriber disconnected: {}", e.getMessage());
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Changes that became readable while this drain was running did not schedule another one.
+        if (orderChangeLog.watermark() > subscriber.cursor) {
+            drainLater(subscriber);
+        }
+    }
+
+    private OrderChangeFeedResponse toResponse(OrderChangeLog.Page page) {
+        return new OrderChangeFeedResponse(page.items(), orderChangeLog.cursor(page.next()), page.hasMore(), page.reset());
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.exception.InternalServerException;
+import com.example.common.exception.ResourceNotFoundException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.cache.UserOrdersCache;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.IngestionStatusResponse;
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.ingestion.JournalEntry;
+import com.example.orderservice.ingestion.OrderJournal;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.OrderIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of OrderIngestionService interface.
+ *
+ * Accepted requests are journaled before they are acknowledged. A single
+ * background writer drains them in batches: it validates user existence once per
+ * distinct user in the batch, persists the batch in one transaction and then
+ * journals a COMMITTED or FAILED marker per request. If the batch cannot be
+ * persisted, each order is retried in a transaction of its own: orders that fail
+ * for a transient reason, such as a lost connection, stay in the journal and are
+ * retried after a delay that doubles per consecutive failed run, up to
+ * {@code order-ingestion.max-retry-delay}; any other failure marks just that order
+ * FAILED, so one bad order never blocks the queue. Every persisted order
+ * carries its tracking ID, so replaying a journal after a crash skips orders that
+ * were already written before their marker reached the disk.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderIngestionServiceImpl implements OrderIngestionService {
+
+    static final String MODE_WRITE_BEHIND = "write-behind";
+
+    private final OrderRepository orderRepository;
+    private final UserServiceClient userServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserOrdersCache userOrdersCache;
+    private final OrderChangeLog orderChangeLog;
+    private final TrendingProducts trendingProducts;
+    private final ProductDictionary productDictionary;
+
+    @Value("${order-ingestion.mode:sync}")
+    private String mode;
+
+    @Value("${order-ingestion.journal-path:data/order-ingestion.journal}")
+    private String journalPath;
+
+    @Value("${order-ingestion.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order-ingestion.drain-interval-ms:200}")
+    private long drainIntervalMs;
+
+    @Value("${order-ingestion.status-retention:10000}")
+    private int statusRetention;
+
+    @Value("${order-ingestion.retry-delay:1s}")
+    private Duration retryDelay;
+
+    @Value("${order-ingestion.max-retry-delay:1m}")
+    private Duration maxRetryDelay;
+
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    private final Map<String, JournalEntry> pending = new ConcurrentHashMap<>();
+    private final Map<String, IngestionStatusResponse> completed = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, IngestionStatusResponse> eldest) {
+                    return size() > statusRetention;
+                }
+            });
+
+    private OrderJournal journal;
+    private ScheduledExecutorService writer;
+    private int failedRuns;
+    private Instant resumeAt = Instant.MIN;
+
+    /**
+     * Open the journal, replay unfinished requests and start the background writer.
+     *
+     * @throws IOException if the journal cannot be opened or replayed
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!isWriteBehindEnabled()) {
+            return;
+        }
+        journal = new OrderJournal(Paths.get(journalPath), objectMapper);
+        recover();
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-ingestion-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drain, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Write-behind order ingestion enabled with journal {}", journalPath);
+    }
+
+    /**
+     * Stop the background writer, flush what is queued and close the journal.
+     *
+     * @throws Exception if the writer cannot be stopped or the journal closed
+     */
+    @PreDestroy
+    public void stop() throws Exception {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        drain();
+        journal.close();
+    }
+
+    @Override
+    public boolean isWriteBehindEnabled() {
+        return MODE_WRITE_BEHIND.equalsIgnoreCase(mode);
+    }
+
+    @Override
+    public IngestionStatusResponse submit(OrderRequest orderRequest) {
+        if (orderRequest == null) {
+            throw new ValidationException("Order request cannot be null");
+        }
+        if (journal == null) {
+            throw new InternalServerException("Write-behind order ingestion is not enabled");
+        }
+
+        String trackingId = UUID.randomUUID().toString();
+        JournalEntry entry = JournalEntry.accepted(trackingId, orderRequest);
+
+        // Register before appending so a concurrent journal truncation never sees an empty backlog.
+        pending.put(trackingId, entry);
+        try {
+            journal.append(List.of(entry));
+        } catch (IOException e) {
+            pending.remove(trackingId);
+            throw new InternalServerException("Failed to journal order request", e);
+        }
+        queue.add(entry);
+
+        log.info("Order for user ID {} accepted for ingestion with tracking ID: {}", orderRequest.getUserId(), trackingId);
+        return IngestionStatusResponse.pending(trackingId);
+    }
+
+    @Override
+    public IngestionStatusResponse getStatus(String trackingId) {
+        if (pending.containsKey(trackingId)) {
+            return IngestionStatusResponse.pending(trackingId);
+        }
+        IngestionStatusResponse status = completed.get(trackingId);
+        if (status != null) {
+            return status;
+        }
+        return orderRepository.findByIngestionId(trackingId)
+                .map(order -> IngestionStatusResponse.committed(trackingId, order.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Ingestion not found with tracking ID: " + trackingId));
+    }
+
+    /**
+     * Drain queued requests into the database in batches.
+     *
+     * Stops early when a batch had to be retried, leaving the retried requests
+     * queued and backing off before the next attempt; runs scheduled during the
+     * backoff do nothing.
+     */
+    public void drain() {
+        if (Instant.now().isBefore(resumeAt)) {
+            return;
+        }
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            List<JournalEntry> retry = writeBatch(batch);
+            batch.clear();
+            if (!retry.isEmpty()) {
+                queue.addAll(retry);
+                Duration delay = backoff(++failedRuns);
+                resumeAt = Instant.now().plus(delay);
+                log.warn("Deferring {} orders for {} after {} failed ingestion runs", retry.size(), delay, failedRuns);
+                return;
+            }
+            failedRuns = 0;
+        }
+    }
+
+    /**
+     * Delay before the next run: the retry delay, doubled per failed run, up to the maximum.
+     */
+    private Duration backoff(int runs) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(runs - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private void recover() throws IOException {
+        Map<String, JournalEntry> unfinished = new LinkedHashMap<>();
+        for (JournalEntry entry : journal.readAll()) {
+            switch (entry.type()) {
+                case ACCEPTED -> unfinished.put(entry.trackingId(), entry);
+                case COMMITTED -> {
+                    unfinished.remove(entry.trackingId());
+                    completed.put(entry.trackingId(), IngestionStatusResponse.committed(entry.trackingId(), entry.orderId()));
+                }
+                case FAILED -> {
+                    unfinished.remove(entry.trackingId());
+                    completed.put(entry.trackingId(), IngestionStatusResponse.failed(entry.trackingId(), entry.error()));
+                }
+            }
+        }
+
+        List<JournalEntry> replay = new ArrayList<>(unfinished.values());
+        journal.rewrite(replay);
+        for (JournalEntry entry : replay) {
+            pending.put(entry.trackingId(), entry);
+            queue.add(entry);
+        }
+        log.info("Recovered {} pending orders from ingestion journal", replay.size());
+    }
+
+    private List<JournalEntry> writeBatch(List<JournalEntry> batch) {
+        List<JournalEntry> outcomes = new ArrayList<>();
+        List<JournalEntry> retry = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+
+        Map<String, Long> alreadyWritten = orderRepository.findByIngestionIdIn(
+                        batch.stream().map(JournalEntry::trackingId).toList()).stream()
+                .collect(Collectors.toMap(Order::getIngestionId, Order::getId));
+        Map<Long, Boolean> knownUsers = new HashMap<>();
+
+        for (JournalEntry entry : batch) {
+            Long orderId = alreadyWritten.get(entry.trackingId());
+            if (orderId != null) {
+                outcomes.add(JournalEntry.committed(entry.trackingId(), orderId));
+                continue;
+            }
+
+            Long userId = entry.request().getUserId();
+            Boolean userExists = knownUsers.get(userId);
+            if (userExists == null) {
+                try {
+                    userExists = userServiceClient.userExists(userId);
+                } catch (RuntimeException e) {
+                    log.warn("Deferring ingestion of {}: {}", entry.trackingId(), e.getMessage());
+                    retry.add(entry);
+                    continue;
+                }
+                knownUsers.put(userId, userExists);
+            }
+            if (!userExists) {
+                outcomes.add(JournalEntry.failed(entry.trackingId(), "User not found with ID: " + userId));
+                continue;
+            }
+            orders.add(toOrder(entry));
+        }
+
+        if (!orders.isEmpty()) {
+            try {
+                persist(orders, outcomes);
+            } catch (RuntimeException e) {
+                // One bad order must not hold back the others: find it by writing each order on its own.
+                log.warn("Failed to persist ingestion batch of {} orders, writing them one at a time: {}",
+                        orders.size(), e.getMessage());
+                for (Order order : orders) {
+                    persistAlone(pending.get(order.getIngestionId()), outcomes, retry);
+                }
+            }
+        }
+
+        record(outcomes);
+        return retry;
+    }
+
+    private void persistAlone(JournalEntry entry, List<JournalEntry> outcomes, List<JournalEntry> retry) {
+        try {
+            // A fresh entity: the one from the failed batch may carry an ID from the rolled-back insert.
+            persist(List.of(toOrder(entry)), outcomes);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.warn("Deferring ingestion of {}: {}", entry.trackingId(), e.getMessage());
+                retry.add(entry);
+            } else {
+                log.error("Giving up on ingestion of {}: {}", entry.trackingId(), e.getMessage());
+                outcomes.add(JournalEntry.failed(entry.trackingId(), "Order could not be persisted"));
+            }
+        }
+    }
+
+    private void persist(List<Order> orders, List<JournalEntry> outcomes) {
+        // Resolved before the transaction, not during its flush: the product converter only consults memory.
+        orders.stream().map(Order::getProduct).distinct().forEach(productDictionary::idOf);
+        List<Order> saved = transactionTemplate.execute(status -> {
+            List<Order> inserted = orderRepository.saveAll(orders);
+            orderChangeLog.record(inserted.stream()
+                    .map(order -> OrderChange.created(OrderServiceImpl.mapToOrderResponse(order)))
+                    .toList());
+            trendingProducts.recordAfterCommit(inserted.stream().map(Order::getProduct).toList());
+            return inserted;
+        });
+        userOrdersCache.evictAfterCommit(saved.stream().map(Order::getUserId).toList());
+        for (Order order : saved) {
+            outcomes.add(JournalEntry.committed(order.getIngestionId(), order.getId()));
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void record(List<JournalEntry> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        try {
+            journal.append(outcomes);
+        } catch (IOException e) {
+            // Replay re-processes these requests; persisted ones are recognised by their tracking ID.
+            log.error("Failed to journal ingestion outcomes: {}", e.getMessage());
+        }
+        for (JournalEntry outcome : outcomes) {
+            pending.remove(outcome.trackingId());
+            completed.put(outcome.trackingId(), outcome.type() == JournalEntry.Type.COMMITTED
+                    ? IngestionStatusResponse.committed(outcome.trackingId(), outcome.orderId())
+                    : IngestionStatusResponse.failed(outcome.trackingId(), outcome.error()));
+            log.debug("Ingestion {} finished as {}", outcome.trackingId(), outcome.type());
+        }
+        try {
+            journal.truncateIf(pending::isEmpty);
+        } catch (IOException e) {
+            log.error("Failed to truncate ingestion journal: {}", e.getMessage());
+        }
+    }
+
+    private Order toOrder(JournalEntry entry) {
+        OrderRequest request = entry.request();
+        Order order = new Order();
+        order.setUserId(request.getUserId());
+        order.setProduct(request.getProduct());
+        order.setQuantity(request.getQuantity());
+        order.setPrice(request.getPrice());
+        order.setIngestionId(entry.trackingId());
+        return order;
+    }
+}
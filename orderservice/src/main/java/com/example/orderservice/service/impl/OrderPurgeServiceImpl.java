@@ -0,0 +1,190 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.cache.ResponseCache;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.cache.UserOrdersCache;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.entity.OrderPurgeTask;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.repository.OrderPurgeTaskRepository;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.OrderPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of OrderPurgeService interface.
+ *
+ * Purges are rate limited by construction: the scheduler deletes one batch of
+ * at most {@code orders.purge.batch-size} orders, each in a short transaction of
+ * its own, and then waits {@code orders.purge.interval-ms} before the next. A user
+ * with a large order history is therefore cleaned up gradually instead of in one
+ * long DELETE that holds locks and competes with foreground requests.
+ *
+ * Only the orders of deleted users are purged. UserService is asked whether
+ * each user still exists when the purge is requested, and again before every
+ * batch, outside the transaction that deletes it.
+ *
+ * The number of pending purges is kept in memory for the gauge. It starts from
+ * the table, follows the tasks this instance adds and removes, and is reset to
+ * zero whenever the worker finds the table empty, which also corrects for tasks
+ * finished by other instances.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPurgeServiceImpl implements OrderPurgeService {
+
+    private final OrderPurgeTaskRepository orderPurgeTaskRepository;
+    private final OrderRepository orderRepository;
+    private final UserOrdersCache userOrdersCache;
+    private final ResponseCache responseCache;
+    private final OrderChangeLog orderChangeLog;
+    private final UserServiceClient userServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${orders.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${orders.purge.max-user-ids:1000}")
+    private int maxUserIds;
+
+    private Counter deletedOrders;
+
+    /**
+     * Register the purge metrics.
+     */
+    @PostConstruct
+    public void init() {
+        deletedOrders = Counter.builder("orders.purge.deleted")
+                .description("Orders deleted because their user was deleted")
+                .register(meterRegistry);
+        pending.set(orderPurgeTaskRepository.count());
+        Gauge.builder("orders.purge.pending", pending, AtomicLong::get)
+                .description("Deleted users whose orders are still being purged")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int requestPurge(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new ValidationException("At least one user ID is required");
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("User IDs cannot be null");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.size() > maxUserIds) {
+            throw new ValidationException("Cannot purge orders of more than " + maxUserIds + " users at once");
+        }
+
+        // Asked before the transaction opens, so no connection is held while UserService answers.
+        Set<Long> liveIds = userServiceClient.getUsersByIds(distinctIds).keySet();
+        if (!liveIds.isEmpty()) {
+            log.warn("Not purging the orders of users that still exist: {}", liveIds);
+        }
+        List<Long> deletedIds = distinctIds.stream().filter(userId -> !liveIds.contains(userId)).toList();
+
+        Instant now = Instant.now();
+        List<OrderPurgeTask> tasks = transactionTemplate.execute(status -> {
+            List<OrderPurgeTask> added = deletedIds.stream()
+                    .filter(userId -> !orderPurgeTaskRepository.existsById(userId))
+                    .map(userId -> new OrderPurgeTask(userId, now, 0))
+                    .toList();
+            orderPurgeTaskRepository.saveAll(added);
+            return added;
+        });
+        pending.addAndGet(tasks.size());
+        log.info("Scheduled order purge for {} of {} users", tasks.size(), distinctIds.size());
+        return tasks.size();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${orders.purge.interval-ms:200}")
+    public int purgeNextBatch() {
+        Long userId = orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()
+                .map(OrderPurgeTask::getUserId)
+                .orElse(null);
+        if (userId == null) {
+            pending.set(0);
+            return 0;
+        }
+
+        boolean userExists;
+        try {
+            userExists = userServiceClient.userExists(userId);
+        } catch (RuntimeException e) {
+            log.warn("Deferring order purge of user ID {}: {}", userId, e.getMessage());
+            return 0;
+        }
+
+        PurgedBatch batch = transactionTemplate.execute(status -> orderPurgeTaskRepository.findById(userId)
+                .map(task -> userExists ? cancel(task) : purgeBatch(task))
+                .orElse(new PurgedBatch(0, false)));
+        if (batch.finished()) {
+            pending.decrementAndGet();
+        }
+        deletedOrders.increment(batch.deleted());
+        return batch.deleted();
+    }
+
+    private PurgedBatch cancel(OrderPurgeTask task) {
+        log.warn("Cancelling order purge of user ID {}: the user still exists", task.getUserId());
+        orderPurgeTaskRepository.delete(task);
+        return new PurgedBatch(0, true);
+    }
+
+    private PurgedBatch purgeBatch(OrderPurgeTask task) {
+        Long userId = task.getUserId();
+        List<Long> ids = orderRepository.findIdsByUserId(userId, Limit.of(batchSize));
+        int deleted = ids.isEmpty() ? 0 : orderRepository.deleteOrdersByIdIn(ids);
+        task.setDeletedCount(task.getDeletedCount() + deleted);
+
+        boolean finished = ids.size() < batchSize;
+        if (finished) {
+            orderPurgeTaskRepository.delete(task);
+            log.info("Purged {} orders of deleted user ID: {}", task.getDeletedCount(), userId);
+        } else {
+            orderPurgeTaskRepository.save(task);
+            log.debug("Purged {} orders of deleted user ID {} so far", task.getDeletedCount(), userId);
+        }
+        if (deleted > 0) {
+            userOrdersCache.evictAfterCommit(List.of(userId));
+            responseCache.invalidateAfterCommit(ids.stream().map(id -> OrderServiceImpl.RESPONSE_TAG_PREFIX + id).toList());
+            orderChangeLog.record(ids.stream().map(OrderChange::deleted).toList());
+        }
+        return new PurgedBatch(deleted, finished);
+    }
+
+    /**
+     * The outcome of one batch: the orders deleted, and whether the purge task was removed.
+     */
+    private record PurgedBatch(int deleted, boolean finished) {
+    }
+}
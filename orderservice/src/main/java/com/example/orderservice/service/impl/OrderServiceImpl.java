@@ -1,20 +1,48 @@
 package com.example.orderservice.service.impl;
 
+import com.example.common.cache.ResponseCache;
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.cache.UserOrdersCache;
 import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.OrderPatchRequest;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderSearchRequest;
 import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.money.Money;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSort;
 import com.example.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,8 +60,27 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+    static final String RESPONSE_TAG_PREFIX = "order:";
+    static final String PRODUCT_FIELD = "product";
+    static final String PRICE_FORMAT_MESSAGE = "Price must have at most 8 digits before and 2 after the decimal point";
+
     private final OrderRepository orderRepository;
     private final UserServiceClient userServiceClient;
+    private final UserOrdersCache userOrdersCache;
+    private final ResponseCache responseCache;
+    private final OrderChangeLog orderChangeLog;
+    private final ProductDictionary productDictionary;
+    private final TrendingProducts trendingProducts;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.bulk-delete.max-ids:1000}")
+    private int maxBulkDeleteIds;
+
+    @Value("${orders.multi-get.max-ids:100}")
+    private int maxMultiGetIds;
+
+    @Value("${orders.search.max-limit:100}")
+    private int maxSearchLimit;
 
     @Override
     public OrderResponse createOrder(OrderRequest orderRequest) {
@@ -46,6 +93,8 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidUserException("User not found with ID: " + orderRequest.getUserId());
         }
         
+        // Resolved here, not during the flush: the product converter only consults memory.
+        productDictionary.idOf(orderRequest.getProduct());
         Order order = new Order();
         order.setUserId(orderRequest.getUserId());
         order.setProduct(orderRequest.getProduct());
@@ -53,9 +102,13 @@ public class OrderServiceImpl implements OrderService {
         order.setPrice(orderRequest.getPrice());
         
         Order savedOrder = orderRepository.save(order);
+        userOrdersCache.evictAfterCommit(List.of(savedOrder.getUserId()));
+        OrderResponse response = toResponse(savedOrder);
+        orderChangeLog.record(List.of(OrderChange.created(response)));
+        trendingProducts.recordAfterCommit(List.of(savedOrder.getProduct()));
         log.info("Order created successfully with ID: {}", savedOrder.getId());
         
-        return mapToOrderResponse(savedOrder);
+        return response;
     }
 
     @Override
@@ -67,7 +120,41 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
         
         log.info("Order retrieved successfully: {}", order.getProduct());
-        return mapToOrderResponse(order);
+        return toResponse(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOrderById(Long id, FieldSelection fields) {
+        log.info("Retrieving fields {} of order with ID: {}", fields.names(), id);
+        
+        return orderRepository.findFieldsById(id, fields)
+                .map(this::withProductName)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetResponse<OrderResponse> getOrdersByIds(List<Long> ids) {
+        log.info("Retrieving orders by ID list");
+        
+        Set<Long> distinctIds = requireDistinctIds(ids, maxMultiGetIds, "fetch");
+        Map<Long, Order> found = orderRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        
+        List<OrderResponse> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Order order = found.get(id);
+            if (order != null) {
+                items.add(toResponse(order));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("Retrieved {} of {} requested orders", items.size(), distinctIds.size());
+        
+        return new MultiGetResponse<>(items, missingIds);
     }
 
     @Override
@@ -79,10 +166,56 @@ public class OrderServiceImpl implements OrderService {
         log.info("Retrieved {} orders", orders.size());
         
         return orders.stream()
-                .map(this::mapToOrderResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllOrders(FieldSelection fields) {
+        log.info("Retrieving fields {} of all orders", fields.names());
+        
+        List<Map<String, Object>> orders = orderRepository.findAllFields(fields);
+        orders.forEach(this::withProductName);
+        log.info("Retrieved {} orders", orders.size());
+        
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OrderResponse> searchOrders(OrderSearchRequest request) {
+        log.info("Searching up to {} orders by {} after cursor {}", request.getLimit(), request.getSort(), request.getAfter());
+        
+        if (request.getLimit() < 1 || request.getLimit() > maxSearchLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxSearchLimit);
+        }
+        checkRange("price", request.getMinPrice(), request.getMaxPrice());
+        checkRange("quantity", request.getMinQuantity(), request.getMaxQuantity());
+        if (request.getCreatedFrom() != null && request.getCreatedTo() != null
+                && !request.getCreatedFrom().isBefore(request.getCreatedTo())) {
+            throw new ValidationException("createdFrom must be before createdTo");
+        }
+        if (request.getProduct() != null && request.getProduct().isBlank()) {
+            request.setProduct(null);
+        }
+        OrderSort sort = OrderSort.parse(request.getSort());
+        OrderSort.Position after = sort.position(request.getAfter());
+        if (request.getProduct() != null && productDictionary.find(request.getProduct()) == null) {
+            // No order can have a product that was never added.
+            return new PageResponse<>(List.of(), null);
+        }
+        
+        // One extra order tells whether another page follows.
+        List<Order> orders = orderRepository.search(request, sort, after, request.getLimit() + 1);
+        if (orders.size() <= request.getLimit()) {
+            return new PageResponse<>(orders.stream().map(this::toResponse).toList(), null);
+        }
+        List<Order> page = orders.subList(0, request.getLimit());
+        return new PageResponse<>(page.stream().map(this::toResponse).toList(),
+                sort.cursor(page.get(request.getLimit() - 1)));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUserId(Long userId) {
@@ -93,22 +226,29 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidUserException("User not found with ID: " + userId);
         }
         
-        List<Order> orders = orderRepository.findByUserId(userId);
+        List<OrderResponse> orders = userOrdersCache.get(userId, this::loadOrdersByUserId);
         log.info("Retrieved {} orders for user ID: {}", orders.size(), userId);
         
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        return orders;
     }
 
     @Override
-    public OrderResponse updateOrder(Long id, OrderRequest orderRequest) {
+    @Transactional(readOnly = true)
+    public Map<Long, List<OrderResponse>> getOrdersByUserIds(Collection<Long> userIds) {
+        log.info("Retrieving orders for {} users", userIds.size());
+        return userOrdersCache.getAll(userIds, this::loadOrdersByUserIds);
+    }
+
+    @Override
+    public OrderResponse updateOrder(Long id, OrderRequest orderRequest, Long expectedVersion) {
         log.info("Updating order with ID: {}", id);
         
         validateOrderRequest(orderRequest);
         
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+        // The versioned UPDATE only applies to the loaded version, so it now only applies to the expected one.
+        checkExpectedVersion(id, expectedVersion, existingOrder.getVersion());
         
         // Validate user exists if userId is being changed
         if (!existingOrder.getUserId().equals(orderRequest.getUserId())) {
@@ -117,29 +257,212 @@ public class OrderServiceImpl implements OrderService {
             }
         }
         
+        Long previousUserId = existingOrder.getUserId();
+        productDictionary.idOf(orderRequest.getProduct());
         existingOrder.setUserId(orderRequest.getUserId());
         existingOrder.setProduct(orderRequest.getProduct());
         existingOrder.setQuantity(orderRequest.getQuantity());
         existingOrder.setPrice(orderRequest.getPrice());
         
-        Order updatedOrder = orderRepository.save(existingOrder);
+        // Flushed now so the response and the published change carry the new version.
+        Order updatedOrder;
+        try {
+            updatedOrder = orderRepository.saveAndFlush(existingOrder);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(versionMismatch(id, expectedVersion), e);
+        }
+        userOrdersCache.evictAfterCommit(List.of(previousUserId, updatedOrder.getUserId()));
+        invalidateCachedResponses(List.of(id));
+        OrderResponse response = toResponse(updatedOrder);
+        orderChangeLog.record(List.of(OrderChange.updated(response)));
         log.info("Order updated successfully: {}", updatedOrder.getProduct());
         
-        return mapToOrderResponse(updatedOrder);
+        return response;
+    }
+
+    @Override
+    public OrderResponse patchOrder(Long id, OrderPatchRequest patchRequest, Long expectedVersion) {
+        log.info("Patching order with ID: {}", id);
+        
+        validatePatchRequest(patchRequest);
+        
+        if (patchRequest.getUserId() != null && !userServiceClient.userExists(patchRequest.getUserId())) {
+            throw new InvalidUserException("User not found with ID: " + patchRequest.getUserId());
+        }
+        
+        // The owner only has to be looked up when the patch moves the order to another user.
+        Long previousUserId = patchRequest.getUserId() != null
+                ? orderRepository.findUserIdById(id).orElse(null)
+                : null;
+        Integer productId = patchRequest.getProduct() != null ? productDictionary.idOf(patchRequest.getProduct()) : null;
+        // A version in the body takes precedence over If-Match.
+        Long version = patchRequest.getVersion() != null ? patchRequest.getVersion() : expectedVersion;
+        int updated = orderRepository.patch(id, patchRequest.getUserId(), productId,
+                patchRequest.getQuantity(), patchRequest.getPrice(), version);
+        if (updated == 0) {
+            // Nothing matched: either the order is gone or someone else updated it first.
+            if (!orderRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Order not found with ID: " + id);
+            }
+            if (patchRequest.getVersion() == null) {
+                throw new PreconditionFailedException(versionMismatch(id, expectedVersion));
+            }
+            throw new ConflictException("Order with ID " + id + " was modified concurrently; expected version "
+                    + patchRequest.getVersion());
+        }
+        
+        Order patchedOrder = orderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+        userOrdersCache.evictAfterCommit(previousUserId != null
+                ? List.of(previousUserId, patchedOrder.getUserId())
+                : List.of(patchedOrder.getUserId()));
+        invalidateCachedResponses(List.of(id));
+        OrderResponse response = toResponse(patchedOrder);
+        orderChangeLog.record(List.of(OrderChange.updated(response)));
+        log.info("Order patched successfully to version {}", patchedOrder.getVersion());
+        
+        return response;
     }
 
     @Override
-    public void deleteOrder(Long id) {
+    public void deleteOrder(Long id, Long expectedVersion) {
         log.info("Deleting order with ID: {}", id);
         
-        if (!orderRepository.existsById(id)) {
+        Long userId = orderRepository.findUserIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+        if (orderRepository.deleteOrderById(id, expectedVersion) == 0) {
+            if (expectedVersion != null && orderRepository.existsById(id)) {
+                throw new PreconditionFailedException(versionMismatch(id, expectedVersion));
+            }
             throw new ResourceNotFoundException("Order not found with ID: " + id);
         }
+        userOrdersCache.evictAfterCommit(List.of(userId));
+        invalidateCachedResponses(List.of(id));
+        orderChangeLog.record(List.of(OrderChange.deleted(id)));
         
-        orderRepository.deleteById(id);
         log.info("Order deleted successfully with ID: {}", id);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int deleteOrdersByUserId(Long userId) {
+        log.info("Deleting all orders for user ID: {}", userId);
+        
+        if (userId == null) {
+            throw new ValidationException("User ID is required");
+        }
+        
+        // Each chunk commits on its own, so neither an ID list nor a transaction grows with the user's orders.
+        int deleted = 0;
+        DeletedChunk chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> deleteChunkOfUser(userId));
+            deleted += chunk.deleted();
+        } while (chunk.found() == maxBulkDeleteIds);
+        log.info("Deleted {} orders for user ID: {}", deleted, userId);
+        return deleted;
+    }
+
+    @Override
+    public int deleteOrders(List<Long> ids) {
+        log.info("Deleting orders by ID list");
+        
+        Set<Long> distinctIds = requireDistinctIds(ids, maxBulkDeleteIds, "delete");
+        List<Object[]> owners = orderRepository.findIdsAndUserIdsByIdIn(distinctIds);
+        List<Long> existingIds = owners.stream().map(row -> (Long) row[0]).toList();
+        List<Long> affectedUserIds = owners.stream().map(row -> (Long) row[1]).distinct().toList();
+        int deleted = existingIds.isEmpty() ? 0 : orderRepository.deleteOrdersByIdIn(existingIds);
+        userOrdersCache.evictAfterCommit(affectedUserIds);
+        invalidateCachedResponses(distinctIds);
+        orderChangeLog.record(existingIds.stream().map(OrderChange::deleted).toList());
+        log.info("Deleted {} of {} requested orders", deleted, distinctIds.size());
+        return deleted;
+    }
+
+    /**
+     * Delete the next chunk of a user's orders, at most the bulk delete limit.
+     * 
+     * @param userId the user ID
+     * @return how many orders were found and how many of them were deleted
+     */
+    private DeletedChunk deleteChunkOfUser(Long userId) {
+        // Deleting by ID keeps the published deletes exactly in line with what was removed.
+        List<Long> ids = orderRepository.findIdsByUserId(userId, Limit.of(maxBulkDeleteIds));
+        if (ids.isEmpty()) {
+            return new DeletedChunk(0, 0);
+        }
+        int deleted = orderRepository.deleteOrdersByIdIn(ids);
+        userOrdersCache.evictAfterCommit(List.of(userId));
+        invalidateCachedResponses(ids);
+        orderChangeLog.record(ids.stream().map(OrderChange::deleted).toList());
+        return new DeletedChunk(ids.size(), deleted);
+    }
+
+    private record DeletedChunk(int found, int deleted) {
+    }
+
+    /**
+     * Load and map the orders of a user; the loader behind the per-user cache.
+     * 
+     * @param userId the user ID
+     * @return the user's orders
+     */
+    private List<OrderResponse> loadOrdersByUserId(Long userId) {
+        log.debug("Loading orders for user ID {} from the database", userId);
+        return orderRepository.findByUserId(userId).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load and map the orders of several users with one query; the bulk loader behind the per-user cache.
+     * 
+     * @param userIds the user IDs
+     * @return the orders of the users that have any, keyed by user ID
+     */
+    private Map<Long, List<OrderResponse>> loadOrdersByUserIds(Set<Long> userIds) {
+        log.debug("Loading orders for user IDs {} from the database", userIds);
+        return orderRepository.findByUserIdIn(userIds).stream()
+                .map(this::toResponse)
+                .collect(Collectors.groupingBy(OrderResponse::getUserId));
+    }
+
+    /**
+     * Drop cached serialized responses for orders once the current transaction commits.
+     * 
+     * @param ids the changed order IDs
+     */
+    private void invalidateCachedResponses(Collection<Long> ids) {
+        responseCache.invalidateAfterCommit(ids.stream().map(id -> RESPONSE_TAG_PREFIX + id).toList());
+    }
+
+    /**
+     * Validate an order ID list and de-duplicate it, keeping request order.
+     * 
+     * @param ids the requested order IDs
+     * @param limit maximum number of distinct IDs allowed
+     * @param action the operation, used in the error message
+     * @return the distinct IDs in request order
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the limit
+     */
+    private Set<Long> requireDistinctIds(List<Long> ids, int limit, String action) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one order ID is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Order IDs cannot be null");
+        }
+        
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > limit) {
+            throw new ValidationException("Cannot " + action + " more than " + limit + " orders at once");
+        }
+        return distinctIds;
+    }
+
     /**
      * Validate order request data.
      * 
@@ -167,24 +490,124 @@ public class OrderServiceImpl implements OrderService {
             throw new ValidationException("Price is required");
         }
         
-        if (orderRequest.getPrice().compareTo(java.math.BigDecimal.ZERO) <= 0) {
+        checkPrice(orderRequest.getPrice());
+    }
+
+    private static void checkExpectedVersion(Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(versionMismatch(id, expectedVersion));
+        }
+    }
+
+    private static String versionMismatch(Long id, Long expectedVersion) {
+        return "Order with ID " + id + " is no longer at version " + expectedVersion;
+    }
+
+    /**
+     * Validate partial order update data.
+     * 
+     * Supplied fields follow the same rules as a full update; omitted fields
+     * are not checked.
+     * 
+     * @param patchRequest the patch request to validate
+     * @throws ValidationException if validation fails
+     */
+    private void validatePatchRequest(OrderPatchRequest patchRequest) {
+        if (patchRequest == null) {
+            throw new ValidationException("Order patch request cannot be null");
+        }
+        
+        if (patchRequest.getUserId() == null && patchRequest.getProduct() == null
+                && patchRequest.getQuantity() == null && patchRequest.getPrice() == null) {
+            throw new ValidationException("At least one field must be supplied");
+        }
+        
+        if (patchRequest.getProduct() != null && patchRequest.getProduct().trim().isEmpty()) {
+            throw new ValidationException("Product must not be blank");
+        }
+        
+        if (patchRequest.getQuantity() != null && patchRequest.getQuantity() < 1) {
+            throw new ValidationException("Quantity must be at least 1");
+        }
+        
+        if (patchRequest.getPrice() != null) {
+            checkPrice(patchRequest.getPrice());
+        }
+    }
+
+    /**
+     * Check that a price is positive and fits the price column exactly, comparing in cents.
+     * 
+     * @param price the price
+     * @throws ValidationException if it does not
+     */
+    private static void checkPrice(BigDecimal price) {
+        long cents;
+        try {
+            cents = Money.toCents(price);
+        } catch (ArithmeticException e) {
+            throw new ValidationException(PRICE_FORMAT_MESSAGE);
+        }
+        if (cents <= 0) {
             throw new ValidationException("Price must be positive");
         }
+        if (cents > Money.MAX_PRICE) {
+            throw new ValidationException(PRICE_FORMAT_MESSAGE);
+        }
+    }
+
+    private static <T extends Comparable<T>> void checkRange(String name, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ValidationException("Minimum " + name + " must not exceed maximum " + name);
+        }
     }
 
     /**
-     * Map Order entity to OrderResponse DTO.
+     * Map a loaded Order entity to OrderResponse DTO.
+     * 
+     * An order of a product this instance has not seen yet hydrates without a
+     * product name, which is resolved here from the stored product ID.
      * 
      * @param order the order entity
      * @return the order response DTO
      */
-    private OrderResponse mapToOrderResponse(Order order) {
+    private OrderResponse toResponse(Order order) {
+        String product = order.getProduct() != null ? order.getProduct() : productDictionary.nameOf(order.getProductId());
+        return mapToOrderResponse(order, product);
+    }
+
+    /**
+     * Replace the product ID a fields query selected with the product name, as {@link #toResponse} does.
+     * 
+     * @param order the selected fields of one order
+     * @return the same map
+     */
+    private Map<String, Object> withProductName(Map<String, Object> order) {
+        if (order.get(PRODUCT_FIELD) instanceof Integer productId) {
+            order.put(PRODUCT_FIELD, productDictionary.nameOf(productId));
+        }
+        return order;
+    }
+
+    /**
+     * Map Order entity to OrderResponse DTO.
+     * 
+     * @param order the order entity, with its product set
+     * @return the order response DTO
+     */
+    static OrderResponse mapToOrderResponse(Order order) {
+        return mapToOrderResponse(order, order.getProduct());
+    }
+
+    private static OrderResponse mapToOrderResponse(Order order, String product) {
         return new OrderResponse(
                 order.getId(),
                 order.getUserId(),
-                order.getProduct(),
+                product,
                 order.getQuantity(),
-                order.getPrice()
+                order.getPrice(),
+                order.getVersion(),
+                order.getCreatedAt()
         );
     }
 }
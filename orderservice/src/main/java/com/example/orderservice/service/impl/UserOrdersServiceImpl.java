@@ -0,0 +1,146 @@
+package com.example.orderservice.service.impl;
+
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.UserOrdersResponse;
+import com.example.orderservice.dto.UserResponse;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.UserOrdersService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Implementation of UserOrdersService interface.
+ *
+ * The users are fetched from UserService and the orders are read from the
+ * local database at the same time, each on its own virtual thread, so a view
+ * takes as long as the slower of the two rather than their sum. However many
+ * users are requested, the users cost one batched UserService call and the
+ * orders one query for the users not already in the per-user order cache.
+ * The existence of each user is settled by the UserService response itself,
+ * so no separate existence check is made.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrdersServiceImpl implements UserOrdersService {
+
+    private final UserServiceClient userServiceClient;
+    private final OrderService orderService;
+
+    @Value("${orders.user-view.max-users:100}")
+    private int maxUsers;
+
+    private ExecutorService executor;
+
+    /**
+     * Start the virtual-thread executor the lookups run on.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-orders-", 0).factory());
+    }
+
+    /**
+     * Stop the executor.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public UserOrdersResponse getUserWithOrders(Long userId) {
+        log.info("Retrieving user ID {} with orders", userId);
+
+        UserOrdersResponse view = fetch(Set.of(userId)).get(userId);
+        if (view == null) {
+            throw new InvalidUserException("User not found with ID: " + userId);
+        }
+        log.info("Retrieved user ID {} with {} orders", userId, view.getOrders().size());
+
+        return view;
+    }
+
+    @Override
+    public MultiGetResponse<UserOrdersResponse> getUsersWithOrders(List<Long> userIds) {
+        log.info("Retrieving users with orders by ID list");
+
+        if (userIds == null || userIds.isEmpty()) {
+            throw new ValidationException("At least one user ID is required");
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("User IDs cannot be null");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.size() > maxUsers) {
+            throw new ValidationException("Cannot fetch more than " + maxUsers + " users at once");
+        }
+
+        Map<Long, UserOrdersResponse> found = fetch(distinctIds);
+        List<UserOrdersResponse> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            UserOrdersResponse view = found.get(id);
+            if (view != null) {
+                items.add(view);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("Retrieved {} of {} requested users with orders", items.size(), distinctIds.size());
+
+        return new MultiGetResponse<>(items, missingIds);
+    }
+
+    /**
+     * Fetch users and their orders concurrently and join them.
+     *
+     * @param userIds the distinct user IDs
+     * @return a view per user that exists, keyed by user ID
+     */
+    private Map<Long, UserOrdersResponse> fetch(Set<Long> userIds) {
+        CompletableFuture<Map<Long, UserResponse>> users =
+                CompletableFuture.supplyAsync(() -> userServiceClient.getUsersByIds(userIds), executor);
+        CompletableFuture<Map<Long, List<OrderResponse>>> orders =
+                CompletableFuture.supplyAsync(() -> orderService.getOrdersByUserIds(userIds), executor);
+
+        Map<Long, UserResponse> foundUsers = join(users);
+        Map<Long, List<OrderResponse>> ordersByUser = join(orders);
+
+        Map<Long, UserOrdersResponse> views = new HashMap<>();
+        foundUsers.forEach((id, user) -> views.put(id, new UserOrdersResponse(user, ordersByUser.getOrDefault(id, List.of()))));
+        return views;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Both lookups only fail with the RuntimeException raised by the client or the repository.
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
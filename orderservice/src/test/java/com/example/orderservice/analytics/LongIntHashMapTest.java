@@ -0,0 +1,72 @@
+package com.example.orderservice.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LongIntHashMap.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("LongIntHashMap Tests")
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("Should put, replace, get and remove keys")
+    void shouldPutGetAndRemove() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        map.put(7L, 1);
+        map.put(-3L, 2);
+        map.put(0L, 3);
+        map.put(7L, 4);
+
+        assertEquals(3, map.size());
+        assertEquals(4, map.get(7L));
+        assertEquals(2, map.get(-3L));
+        assertEquals(3, map.get(0L));
+        assertEquals(LongIntHashMap.MISSING, map.get(8L));
+
+        assertEquals(2, map.remove(-3L));
+        assertEquals(LongIntHashMap.MISSING, map.remove(-3L));
+        assertEquals(LongIntHashMap.MISSING, map.get(-3L));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(LongIntHashMap.MISSING, map.get(7L));
+    }
+
+    @Test
+    @DisplayName("Should agree with a HashMap through growth and many removals")
+    void shouldMatchHashMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            // A small key range keeps probe chains long, so removals have entries to shift back.
+            long key = random.nextInt(2_000) * 1_024L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2_000 * 1_024L; key += 1_024L) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? LongIntHashMap.MISSING : value, map.get(key));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderColumnStore.
+ *
+ * Runs against a real, small change log; the repository stream that loads the
+ * store is mocked. Chunks are tiny so that every scan is split across tasks.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderColumnStore Tests")
+class OrderColumnStoreTest {
+
+    private static final Instant MORNING = Instant.parse("2025-08-07T09:15:00Z");
+    private static final Instant NOON = Instant.parse("2025-08-07T12:40:00Z");
+    private static final Instant NEXT_DAY = Instant.parse("2025-08-08T08:05:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductDictionary productDictionary;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderChangeLog changeLog;
+    private OrderColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new OrderChangeLog(meterRegistry);
+        ReflectionTestUtils.setField(changeLog, "capacity", 4);
+        changeLog.init();
+        store = new OrderColumnStore(orderRepository, changeLog, productDictionary, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(store, "parallelism", 2);
+        ReflectionTestUtils.setField(store, "chunkSize", 2);
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+    }
+
+    @Test
+    @DisplayName("Should load the orders once and group them by each dimension")
+    void shouldAggregateLoadedOrders() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.of(
+                row(1L, 1L, 10, 1, "999.99", MORNING),
+                row(2L, 1L, 20, 2, "25.50", NOON),
+                row(3L, 2L, 10, 3, "899.99", NEXT_DAY),
+                row(4L, 3L, 30, 1, "0.10", NOON),
+                row(5L, 2L, 20, 4, "25.00", MORNING)));
+
+        Map<Long, OrderColumnStore.Totals> byProduct = store.aggregate(query(OrderColumnStore.Dimension.PRODUCT));
+        assertTotals(byProduct.get(10L), 2, 4, 369_996);
+        assertTotals(byProduct.get(20L), 2, 6, 15_100);
+        assertTotals(byProduct.get(30L), 1, 1, 10);
+
+        Map<Long, OrderColumnStore.Totals> byUser = store.aggregate(query(OrderColumnStore.Dimension.USER));
+        assertEquals(3, byUser.size());
+        assertTotals(byUser.get(1L), 2, 3, 105_099);
+
+        Map<Long, OrderColumnStore.Totals> byHour = store.aggregate(query(OrderColumnStore.Dimension.HOUR));
+        assertTotals(byHour.get(Instant.parse("2025-08-07T09:00:00Z").toEpochMilli()), 2, 5, 109_999);
+        assertTotals(byHour.get(Instant.parse("2025-08-07T12:00:00Z").toEpochMilli()), 2, 3, 5_110);
+
+        Map<Long, OrderColumnStore.Totals> byDay = store.aggregate(query(OrderColumnStore.Dimension.DAY));
+        assertEquals(2, byDay.size());
+        assertTotals(byDay.get(Instant.parse("2025-08-07T00:00:00Z").toEpochMilli()), 4, 8, 115_109);
+
+        assertEquals(5, store.size());
+        assertEquals(5.0, meterRegistry.get("orders.analytics.rows").gauge().value());
+        verify(orderRepository, times(1)).streamAnalyticsColumns();
+    }
+
+    @Test
+    @DisplayName("Should only aggregate orders matching the filters")
+    void shouldApplyFilters() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.of(
+                row(1L, 1L, 10, 1, "10.00", MORNING),
+                row(2L, 1L, 20, 1, "20.00", NOON),
+                row(3L, 2L, 10, 1, "30.00", NOON),
+                row(4L, 1L, 10, 1, "40.00", NEXT_DAY)));
+
+        Map<Long, OrderColumnStore.Totals> totals = store.aggregate(new OrderColumnStore.Query(
+                OrderColumnStore.Dimension.PRODUCT, MORNING.toEpochMilli(), NEXT_DAY.toEpochMilli(), 1L, 10));
+
+        assertEquals(List.of(10L), List.copyOf(totals.keySet()));
+        assertTotals(totals.get(10L), 1, 1, 1_000);
+    }
+
+    @Test
+    @DisplayName("Should apply changes committed after the load")
+    void shouldFollowChangeLog() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.of(
+                row(1L, 1L, 10, 1, "10.00", MORNING),
+                row(2L, 1L, 10, 1, "20.00", MORNING)));
+        when(productDictionary.idOf("Mouse")).thenReturn(20);
+        assertEquals(2, store.aggregate(query(OrderColumnStore.Dimension.USER)).get(1L).orders());
+
+        changeLog.record(List.of(OrderChange.deleted(1L), OrderChange.deleted(99L)));
+        changeLog.record(List.of(OrderChange.created(order(3L, 2L, "Mouse", 2, "5.00"))));
+        changeLog.record(List.of(OrderChange.updated(order(2L, 2L, "Mouse", 1, "7.50"))));
+
+        Map<Long, OrderColumnStore.Totals> byUser = store.aggregate(query(OrderColumnStore.Dimension.USER));
+        assertNull(byUser.get(1L));
+        assertTotals(byUser.get(2L), 2, 3, 1_750);
+        assertEquals(2, store.size());
+        verify(orderRepository, times(1)).streamAnalyticsColumns();
+    }
+
+    @Test
+    @DisplayName("Should apply committed changes without waiting for the next report")
+    void shouldApplyChangesEagerly() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.<Object[]>of(row(1L, 1L, 10, 1, "10.00", MORNING)));
+        when(productDictionary.idOf("Mouse")).thenReturn(20);
+        store.aggregate(query(OrderColumnStore.Dimension.USER));
+
+        changeLog.record(List.of(OrderChange.created(order(2L, 2L, "Mouse", 1, "5.00"))));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (store.size() != 2) {
+                Thread.onSpinWait();
+            }
+        });
+        verify(orderRepository, times(1)).streamAnalyticsColumns();
+    }
+
+    @Test
+    @DisplayName("Should not load the store for changes made before the first report")
+    void shouldNotLoadEagerly() throws InterruptedException {
+        changeLog.record(List.of(OrderChange.deleted(1L)));
+        Thread.sleep(100);
+
+        assertEquals(0, store.size());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should log and leave a failed background catch-up to the next report")
+    void shouldSurviveFailedBackgroundCatchUp() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.<Object[]>of(row(1L, 1L, 10, 1, "10.00", MORNING)));
+        when(productDictionary.idOf("Mouse")).thenThrow(new IllegalStateException("Database unavailable")).thenReturn(20);
+        store.aggregate(query(OrderColumnStore.Dimension.USER));
+
+        changeLog.record(List.of(OrderChange.created(order(2L, 2L, "Mouse", 1, "5.00"))));
+        verify(productDictionary, timeout(5_000)).idOf("Mouse");
+
+        assertTotals(store.aggregate(query(OrderColumnStore.Dimension.USER)).get(2L), 1, 1, 500);
+    }
+
+    @Test
+    @DisplayName("Should not take the write lock when there are no new changes")
+    void shouldSkipWriteLockWhenCurrent() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.<Object[]>of(row(1L, 1L, 10, 1, "10.00", MORNING)));
+        store.aggregate(query(OrderColumnStore.Dimension.USER));
+
+        // A reader held here would block a writer, so a second report only finishes if it never asks for the write lock.
+        Lock readLock = ((ReadWriteLock) ReflectionTestUtils.getField(store, "lock")).readLock();
+        readLock.lock();
+        try {
+            Map<Long, OrderColumnStore.Totals> byUser = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> store.aggregate(query(OrderColumnStore.Dimension.USER)));
+            assertTotals(byUser.get(1L), 1, 1, 1_000);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload when the change log no longer holds the missed changes")
+    void shouldReloadWhenBehind() {
+        when(orderRepository.streamAnalyticsColumns())
+                .thenReturn(Stream.<Object[]>of(row(1L, 1L, 10, 1, "10.00", MORNING)))
+                .thenReturn(Stream.of(row(2L, 2L, 10, 1, "20.00", MORNING), row(3L, 2L, 10, 1, "30.00", MORNING)));
+        store.aggregate(query(OrderColumnStore.Dimension.USER));
+
+        changeLog.record(LongStream.rangeClosed(1, 6).mapToObj(OrderChange::deleted).toList());
+
+        Map<Long, OrderColumnStore.Totals> byUser = store.aggregate(query(OrderColumnStore.Dimension.USER));
+        assertEquals(List.of(2L), List.copyOf(byUser.keySet()));
+        assertTotals(byUser.get(2L), 2, 2, 5_000);
+        verify(orderRepository, times(2)).streamAnalyticsColumns();
+    }
+
+    @Test
+    @DisplayName("Should grow its columns past their initial capacity")
+    void shouldGrowColumns() {
+        ReflectionTestUtils.setField(store, "chunkSize", 256);
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(LongStream.rangeClosed(1, 3_000)
+                .mapToObj(id -> row(id, id % 7, 10, 1, "1.00", MORNING)));
+
+        Map<Long, OrderColumnStore.Totals> byProduct = store.aggregate(query(OrderColumnStore.Dimension.PRODUCT));
+
+        assertTotals(byProduct.get(10L), 3_000, 3_000, 300_000);
+        assertEquals(3_000, store.size());
+    }
+
+    @Test
+    @DisplayName("Should return no groups when there are no orders")
+    void shouldHandleEmptyStore() {
+        when(orderRepository.streamAnalyticsColumns()).thenReturn(Stream.empty());
+
+        assertTrue(store.aggregate(query(OrderColumnStore.Dimension.DAY)).isEmpty());
+    }
+
+    private static OrderColumnStore.Query query(OrderColumnStore.Dimension groupBy) {
+        return new OrderColumnStore.Query(groupBy, Long.MIN_VALUE, Long.MAX_VALUE, null, null);
+    }
+
+    private static Object[] row(long id, long userId, int productId, int quantity, String price, Instant createdAt) {
+        return new Object[]{id, userId, productId, quantity, new BigDecimal(price), createdAt};
+    }
+
+    private static OrderResponse order(long id, long userId, String product, int quantity, String price) {
+        return new OrderResponse(id, userId, product, quantity, new BigDecimal(price), 1L, NOON);
+    }
+
+    private static void assertTotals(OrderColumnStore.Totals totals, long orders, long quantity, long revenueCents) {
+        assertNotNull(totals);
+        assertEquals(orders, totals.orders());
+        assertEquals(quantity, totals.quantity());
+        assertEquals(revenueCents, totals.revenueCents());
+    }
+}
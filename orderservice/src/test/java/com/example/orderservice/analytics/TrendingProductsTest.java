@@ -0,0 +1,154 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.cache.ProductDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for TrendingProducts.
+ *
+ * The clock is fixed and moved by hand to step through minutes.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingProducts Tests")
+class TrendingProductsTest {
+
+    private static final Instant START = Instant.parse("2025-08-07T21:00:10Z");
+    private static final Map<String, Integer> PRODUCT_IDS = Map.of("Laptop", 1, "Mouse", 2, "Keyboard", 3, "Monitor", 4);
+
+    @Mock
+    private ProductDictionary productDictionary;
+
+    private TrendingProducts trending;
+
+    @BeforeEach
+    void setUp() {
+        trending = new TrendingProducts(productDictionary);
+        ReflectionTestUtils.setField(trending, "maxWindowMinutes", 5);
+        ReflectionTestUtils.setField(trending, "counters", 8);
+        ReflectionTestUtils.setField(trending, "stripes", 2);
+        trending.init();
+        at(START);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank products by orders within the window")
+    void shouldRankProductsInWindow() {
+        stubProductIds();
+        trending.recordAfterCommit(List.of("Laptop", "Mouse", "Mouse"));
+        at(START.plus(Duration.ofMinutes(2)));
+        trending.recordAfterCommit(List.of("Keyboard", "Keyboard", "Keyboard", "Mouse"));
+
+        assertEquals(List.of(new TrendingProducts.Count(3, 3, 0), new TrendingProducts.Count(2, 1, 0)), trending.top(1, 5));
+        assertEquals(List.of(new TrendingProducts.Count(2, 3, 0), new TrendingProducts.Count(3, 3, 0)), trending.top(3, 2));
+        assertEquals(5, trending.maxWindowMinutes());
+    }
+
+    @Test
+    @DisplayName("Should forget minutes that have left the window and reuse their counters")
+    void shouldReuseExpiredMinutes() {
+        stubProductIds();
+        trending.recordAfterCommit(List.of("Laptop", "Laptop"));
+
+        at(START.plus(Duration.ofMinutes(5)));
+        assertTrue(trending.top(5, 5).isEmpty());
+
+        trending.recordAfterCommit(List.of("Mouse"));
+        assertEquals(List.of(new TrendingProducts.Count(2, 1, 0)), trending.top(5, 5));
+    }
+
+    @Test
+    @DisplayName("Should never undercount when products compete for too few counters")
+    void shouldBoundErrorWhenCountersRunOut() {
+        ReflectionTestUtils.setField(trending, "counters", 2);
+        ReflectionTestUtils.setField(trending, "stripes", 1);
+        trending.init();
+        stubProductIds();
+
+        trending.recordAfterCommit(List.of("Laptop", "Laptop", "Laptop", "Mouse", "Keyboard", "Laptop", "Monitor"));
+        at(START.plus(Duration.ofMinutes(1)));
+        trending.recordAfterCommit(List.of("Mouse", "Mouse"));
+
+        // Mouse may have lost up to 3 orders in the first minute, where it held no counter.
+        List<TrendingProducts.Count> top = trending.top(2, 5);
+        assertEquals(List.of(new TrendingProducts.Count(2, 5, 3), new TrendingProducts.Count(1, 4, 0),
+                new TrendingProducts.Count(4, 3, 2)), top);
+        Map<Integer, Long> trueCounts = Map.of(1, 4L, 2, 3L, 3, 1L, 4, 1L);
+        for (TrendingProducts.Count count : top) {
+            assertTrue(count.orders() >= trueCounts.get(count.productId()), count.toString());
+            assertTrue(count.orders() - count.error() <= trueCounts.get(count.productId()), count.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count orders only once their transaction commits")
+    void shouldCountAfterCommit() {
+        stubProductIds();
+        TransactionSynchronizationManager.initSynchronization();
+
+        trending.recordAfterCommit(List.of("Laptop"));
+        trending.recordAfterCommit(List.of());
+        assertTrue(trending.top(1, 5).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(new TrendingProducts.Count(1, 1, 0)), trending.top(1, 5));
+        verify(productDictionary, times(1)).idOf(anyString());
+    }
+
+    @Test
+    @DisplayName("Should count concurrent orders exactly while counters suffice")
+    void shouldCountConcurrentOrders() {
+        stubProductIds();
+        List<String> products = new ArrayList<>(Collections.nCopies(500, "Laptop"));
+        products.addAll(Collections.nCopies(300, "Mouse"));
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            CompletableFuture.allOf(products.stream()
+                    .map(product -> CompletableFuture.runAsync(() -> trending.recordAfterCommit(List.of(product)), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        assertEquals(List.of(new TrendingProducts.Count(1, 500, 0), new TrendingProducts.Count(2, 300, 0)), trending.top(1, 5));
+    }
+
+    private void stubProductIds() {
+        when(productDictionary.idOf(anyString())).thenAnswer(invocation -> PRODUCT_IDS.get(invocation.<String>getArgument(0)));
+    }
+
+    private void at(Instant instant) {
+        ReflectionTestUtils.setField(trending, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
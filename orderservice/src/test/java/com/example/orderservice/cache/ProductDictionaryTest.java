@@ -0,0 +1,168 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.entity.Product;
+import com.example.orderservice.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ProductDictionary.
+ *
+ * The transaction manager is mocked; only an insert shows up as a transaction
+ * of its own, lookups run in the caller's transaction.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductDictionary Tests")
+class ProductDictionaryTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<ProductRepository> productRepositoryProvider;
+
+    @Mock
+    private ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+
+    private ProductDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(productRepositoryProvider.getObject()).thenReturn(productRepository);
+        lenient().when(transactionManagerProvider.getObject()).thenReturn(transactionManager);
+        dictionary = new ProductDictionary(productRepositoryProvider, transactionManagerProvider);
+    }
+
+    @Test
+    @DisplayName("Should load the products once and answer from memory")
+    void shouldAnswerKnownProductsFromMemory() {
+        when(productRepository.findAll()).thenReturn(List.of(new Product(1, "Laptop"), new Product(3, "Mouse")));
+
+        assertEquals(1, dictionary.idOf("Laptop"));
+        assertEquals(3, dictionary.find("Mouse"));
+        assertEquals("Mouse", dictionary.nameOf(3));
+        assertEquals(2, dictionary.size());
+
+        verify(productRepository, times(1)).findAll();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should grow the name index by doubling while loading a large catalog")
+    void shouldGrowNamesGeometrically() {
+        when(productRepository.findAll()).thenReturn(IntStream.rangeClosed(1, 5_000)
+                .mapToObj(id -> new Product(id, "Product " + id)).toList());
+
+        assertEquals("Product 5000", dictionary.nameOf(5_000));
+        assertEquals("Product 1", dictionary.knownName(1));
+        assertEquals(5_000, dictionary.size());
+        assertTrue(((String[]) ReflectionTestUtils.getField(dictionary, "names")).length < 2 * 5_001);
+    }
+
+    @Test
+    @DisplayName("Should answer the converter's lookups from memory only")
+    void shouldAnswerKnownLookupsWithoutQueries() {
+        assertNull(dictionary.knownId("Laptop"));
+        assertNull(dictionary.knownName(1));
+        assertNull(dictionary.knownName(-1));
+        verifyNoInteractions(productRepository);
+
+        when(productRepository.findAll()).thenReturn(List.of(new Product(1, "Laptop")));
+        dictionary.find("Laptop");
+
+        assertEquals(1, dictionary.knownId("Laptop"));
+        assertEquals("Laptop", dictionary.knownName(1));
+        assertNull(dictionary.knownName(2));
+    }
+
+    @Test
+    @DisplayName("Should add a new product in its own transaction")
+    void shouldAddNewProduct() {
+        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findByName("Tablet")).thenReturn(Optional.empty());
+        when(productRepository.saveAndFlush(new Product(null, "Tablet"))).thenReturn(new Product(5, "Tablet"));
+
+        assertEquals(5, dictionary.idOf("Tablet"));
+        assertEquals(5, dictionary.idOf("Tablet"));
+        assertEquals("Tablet", dictionary.nameOf(5));
+
+        verify(productRepository).saveAndFlush(any());
+        verify(transactionManager, times(1)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should not add a product twice when two requests race to add it")
+    void shouldAddRacingProductOnce() {
+        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.saveAndFlush(new Product(null, "Tablet"))).thenReturn(new Product(5, "Tablet"));
+        // The other request adds the product between this request's lookup and its insert.
+        AtomicInteger lookups = new AtomicInteger();
+        when(productRepository.findByName("Tablet")).thenAnswer(invocation -> {
+            if (lookups.incrementAndGet() == 1) {
+                assertEquals(5, dictionary.idOf("Tablet"));
+            }
+            return Optional.empty();
+        });
+
+        assertEquals(5, dictionary.idOf("Tablet"));
+
+        verify(productRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should pick up products added by another instance")
+    void shouldLoadProductsAddedElsewhere() {
+        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findByName("Tablet")).thenReturn(Optional.of(new Product(7, "Tablet")));
+        when(productRepository.findById(8)).thenReturn(Optional.of(new Product(8, "Phone")));
+        when(productRepository.findById(9)).thenReturn(Optional.empty());
+
+        assertEquals(7, dictionary.find("Tablet"));
+        assertEquals("Phone", dictionary.nameOf(8));
+        assertEquals(8, dictionary.find("Phone"));
+        assertEquals("Unknown product ID: 9", assertThrows(IllegalStateException.class, () -> dictionary.nameOf(9)).getMessage());
+        assertThrows(IllegalStateException.class, () -> dictionary.nameOf(-1));
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should use the product another instance added concurrently")
+    void shouldResolveConcurrentInsert() {
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("Unique index violation");
+        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findByName("Tablet")).thenReturn(Optional.empty(), Optional.of(new Product(4, "Tablet")));
+        when(productRepository.saveAndFlush(any())).thenThrow(duplicate);
+
+        assertEquals(4, dictionary.idOf("Tablet"));
+
+        when(productRepository.findByName("Phone")).thenReturn(Optional.empty());
+        assertSame(duplicate, assertThrows(DataIntegrityViolationException.class, () -> dictionary.idOf("Phone")));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserOrdersCache.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("UserOrdersCache Tests")
+class UserOrdersCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserOrdersCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserOrdersCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxUsers", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load once and serve repeated reads from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        List<OrderResponse> first = cache.get(1L, this::load);
+        List<OrderResponse> second = cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(order(2L)));
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "user-orders").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should run a single loader for concurrent misses on the same user")
+    void shouldRunSingleLoaderForConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<OrderResponse>>> results = new ArrayList<>();
+
+        results.add(executor.submit(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return load(id);
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> cache.get(1L, this::load)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<List<OrderResponse>> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should bulk-load only the users missing from the cache")
+    void shouldBulkLoadMissingUsers() {
+        cache.get(1L, this::load);
+        List<Set<Long>> bulkLoads = new ArrayList<>();
+
+        Map<Long, List<OrderResponse>> result = cache.getAll(List.of(1L, 2L, 3L), missing -> {
+            bulkLoads.add(missing);
+            return Map.of(2L, new ArrayList<>(List.of(order(2L))));
+        });
+
+        assertEquals(List.of(Set.of(2L, 3L)), bulkLoads);
+        assertEquals(Set.of(1L, 2L, 3L), result.keySet());
+        assertEquals(List.of(), result.get(3L));
+        assertThrows(UnsupportedOperationException.class, () -> result.get(2L).add(order(2L)));
+        assertSame(result.get(3L), cache.get(3L, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a bulk-loaded user that was evicted during the load")
+    void shouldNotCacheUserEvictedDuringBulkLoad() {
+        Map<Long, List<OrderResponse>> result = cache.getAll(List.of(1L, 2L), missing -> {
+            cache.evictAfterCommit(List.of(1L));
+            return Map.of(1L, List.of(order(1L)), 2L, List.of(order(2L)));
+        });
+
+        assertEquals(List.of(order(1L)), result.get(1L));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should serve a bulk read from the cache without loading")
+    void shouldServeBulkReadFromCache() {
+        cache.get(1L, this::load);
+
+        Map<Long, List<OrderResponse>> result = cache.getAll(List.of(1L), missing -> fail("Unexpected load"));
+
+        assertEquals(Set.of(1L), result.keySet());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict immediately outside a transaction")
+    void shouldEvictImmediatelyOutsideTransaction() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.evictAfterCommit(List.of(1L));
+        cache.evictAfterCommit(List.of());
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should defer eviction until the transaction commits")
+    void shouldDeferEvictionUntilCommit() {
+        cache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(List.of(1L, 1L));
+        cache.get(1L, this::load);
+        assertEquals(1, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private List<OrderResponse> load(Long userId) {
+        loads.incrementAndGet();
+        return new ArrayList<>(List.of(order(userId)));
+    }
+
+    private OrderResponse order(Long userId) {
+        return new OrderResponse(userId * 10, userId, "Laptop", 1, new BigDecimal("999.99"), 0L, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
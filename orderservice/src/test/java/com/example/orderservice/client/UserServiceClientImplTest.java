@@ -1,7 +1,9 @@
 package com.example.orderservice.client;
 
+import com.example.common.dto.MultiGetResponse;
 import com.example.common.exception.InvalidUserException;
 import com.example.orderservice.client.impl.UserServiceClientImpl;
+import com.example.orderservice.dto.UserResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -16,6 +19,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -46,6 +52,7 @@ class UserServiceClientImplTest {
     void setUp() {
         ReflectionTestUtils.setField(userServiceClient, "userServiceBaseUrl", "http://localhost:8081");
         ReflectionTestUtils.setField(userServiceClient, "timeout", 5000);
+        ReflectionTestUtils.setField(userServiceClient, "batchSize", 2);
     }
 
     @Test
@@ -131,4 +138,47 @@ class UserServiceClientImplTest {
         verify(webClient).get();
         verify(requestHeadersUriSpec).uri("http://localhost:8081/users/{id}/exists", 1L);
     }
+
+    @Test
+    @DisplayName("Should fetch users in batches and key them by ID")
+    @SuppressWarnings("unchecked")
+    void shouldFetchUsersInBatches() {
+        UserResponse john = new UserResponse(1L, "john_doe", "john@example.com", 0L);
+        UserResponse bob = new UserResponse(3L, "bob_wilson", "bob@example.com", 0L);
+        @SuppressWarnings("rawtypes")
+        WebClient.RequestHeadersUriSpec requestHeadersUriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        @SuppressWarnings("rawtypes")
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(
+                Mono.just(new MultiGetResponse<>(List.of(john), List.of(2L))),
+                Mono.just(new MultiGetResponse<>(List.of(bob), List.of())));
+
+        Map<Long, UserResponse> result = userServiceClient.getUsersByIds(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, john, 3L, bob), result);
+        verify(requestHeadersUriSpec).uri("http://localhost:8081/users?ids={ids}", "1,2");
+        verify(requestHeadersUriSpec).uri("http://localhost:8081/users?ids={ids}", "3");
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidUserException when fetching users fails")
+    @SuppressWarnings("unchecked")
+    void shouldThrowInvalidUserExceptionWhenFetchingUsersFails() {
+        @SuppressWarnings("rawtypes")
+        WebClient.RequestHeadersUriSpec requestHeadersUriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        @SuppressWarnings("rawtypes")
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(Mono.error(new WebClientResponseException(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null)));
+
+        InvalidUserException exception = assertThrows(InvalidUserException.class,
+                () -> userServiceClient.getUsersByIds(List.of(1L)));
+        assertTrue(exception.getMessage().startsWith("Error fetching users"));
+    }
 }
@@ -1,10 +1,33 @@
 package com.example.orderservice.controller;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.ETagFilter;
+import com.example.orderservice.dto.IngestionStatusResponse;
+import com.example.orderservice.dto.OrderAggregate;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.OrderChangeFeedResponse;
+import com.example.orderservice.dto.OrderChangeResponse;
+import com.example.orderservice.dto.OrderPatchRequest;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.TrendingProduct;
+import com.example.orderservice.dto.TrendingProductsResponse;
+import com.example.orderservice.dto.UserOrdersResponse;
+import com.example.orderservice.dto.UserResponse;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.service.IdempotencyService;
+import com.example.orderservice.service.OrderAnalyticsService;
+import com.example.orderservice.service.OrderChangeFeedService;
+import com.example.orderservice.service.OrderIngestionService;
+import com.example.orderservice.service.OrderPurgeService;
 import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.UserOrdersService;
 import com.example.orderservice.repository.OrderRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,12 +40,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -48,6 +79,24 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIngestionService orderIngestionService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private OrderPurgeService orderPurgeService;
+
+    @MockBean
+    private OrderChangeFeedService orderChangeFeedService;
+
+    @MockBean
+    private UserOrdersService userOrdersService;
+
+    @MockBean
+    private OrderAnalyticsService orderAnalyticsService;
+
     // Avoid accidental data layer autowiring in slice tests
     @MockBean
     private OrderRepository orderRepository;
@@ -60,6 +109,9 @@ class OrderControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(idempotencyService.execute(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
         testOrderRequest = new OrderRequest();
         testOrderRequest.setUserId(1L);
         testOrderRequest.setProduct("Laptop");
@@ -109,6 +161,17 @@ class OrderControllerTest {
         verify(orderService, never()).createOrder(any(OrderRequest.class));
     }
 
+    @Test
+    @DisplayName("Should return 400 when a price has a fraction of a cent")
+    void shouldReturn400ForPriceWithFractionOfCent() throws Exception {
+        mockMvc.perform(post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"product\":\"Laptop\",\"quantity\":1,\"price\":9.999}"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).createOrder(any(OrderRequest.class));
+    }
+
     @Test
     @DisplayName("Should get order by ID successfully")
     void shouldGetOrderByIdSuccessfully() throws Exception {
@@ -184,10 +247,69 @@ class OrderControllerTest {
         verify(orderService).getOrdersByUserId(1L);
     }
 
+    @Test
+    @DisplayName("Should return only the requested fields")
+    void shouldReturnRequestedFields() throws Exception {
+        when(orderService.getOrderById(eq(1L), argThat(fields -> fields.names().equals(List.of("id", "price")))))
+                .thenReturn(Map.of("id", 1L, "price", new BigDecimal("999.99")));
+        when(orderService.getAllOrders(argThat(fields -> fields.names().equals(List.of("id", "userId", "price")))))
+                .thenReturn(List.of(Map.of("id", 1L, "userId", 1L, "price", new BigDecimal("999.99"))));
+
+        mockMvc.perform(get("/orders/1").param("fields", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(999.99))
+                .andExpect(jsonPath("$.product").doesNotExist());
+        mockMvc.perform(get("/orders").param("fields", " price, userId,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(1))
+                .andExpect(jsonPath("$[0].quantity").doesNotExist());
+
+        verify(orderService, never()).getOrderById(1L);
+        verify(orderService, never()).getAllOrders();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void shouldReturn400ForUnknownField() throws Exception {
+        mockMvc.perform(get("/orders").param("fields", "cost"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field 'cost', expected any of id, userId, product, quantity, price, version, createdAt"));
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should get a user with orders when expanding the user")
+    void shouldGetUserWithOrders() throws Exception {
+        UserResponse user = new UserResponse(1L, "john_doe", "john@example.com", 0L);
+        when(userOrdersService.getUserWithOrders(1L)).thenReturn(new UserOrdersResponse(user, List.of(testOrderResponse)));
+
+        mockMvc.perform(get("/orders/user/1").param("expand", "user"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.username").value("john_doe"))
+                .andExpect(jsonPath("$.orders[0].id").value(1));
+
+        verify(orderService, never()).getOrdersByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Should get several users with orders in one call")
+    void shouldGetUsersWithOrders() throws Exception {
+        UserResponse user = new UserResponse(1L, "john_doe", "john@example.com", 0L);
+        when(userOrdersService.getUsersWithOrders(List.of(1L, 9L)))
+                .thenReturn(new MultiGetResponse<>(List.of(new UserOrdersResponse(user, List.of(testOrderResponse))), List.of(9L)));
+
+        mockMvc.perform(get("/orders/user").param("ids", "1,9").param("expand", "user"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].user.id").value(1))
+                .andExpect(jsonPath("$.items[0].orders[0].product").value("Laptop"))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
     @Test
     @DisplayName("Should update order successfully")
     void shouldUpdateOrderSuccessfully() throws Exception {
-        when(orderService.updateOrder(eq(1L), any(OrderRequest.class))).thenReturn(testOrderResponse);
+        when(orderService.updateOrder(eq(1L), any(OrderRequest.class), isNull())).thenReturn(testOrderResponse);
 
         mockMvc.perform(put("/orders/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -199,13 +321,13 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.quantity").value(1))
                 .andExpect(jsonPath("$.price").value(999.99));
 
-        verify(orderService).updateOrder(eq(1L), any(OrderRequest.class));
+        verify(orderService).updateOrder(eq(1L), any(OrderRequest.class), isNull());
     }
 
     @Test
     @DisplayName("Should return 404 when updating non-existent order")
     void shouldReturn404WhenUpdatingNonExistentOrder() throws Exception {
-        when(orderService.updateOrder(eq(1L), any(OrderRequest.class)))
+        when(orderService.updateOrder(eq(1L), any(OrderRequest.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Order not found with ID: 1"));
 
         mockMvc.perform(put("/orders/1")
@@ -215,7 +337,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.error").value("Order not found with ID: 1"));
 
-        verify(orderService).updateOrder(eq(1L), any(OrderRequest.class));
+        verify(orderService).updateOrder(eq(1L), any(OrderRequest.class), isNull());
     }
 
     @Test
@@ -232,32 +354,210 @@ class OrderControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(orderService, never()).updateOrder(any(Long.class), any(OrderRequest.class));
+        verify(orderService, never()).updateOrder(any(Long.class), any(OrderRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("Should patch order successfully")
+    void shouldPatchOrderSuccessfully() throws Exception {
+        testOrderResponse.setQuantity(3);
+        testOrderResponse.setVersion(1L);
+        when(orderService.patchOrder(eq(1L), any(OrderPatchRequest.class), isNull())).thenReturn(testOrderResponse);
+
+        mockMvc.perform(patch("/orders/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":3,\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(3))
+                .andExpect(jsonPath("$.version").value(1));
+
+        verify(orderService).patchOrder(1L, new OrderPatchRequest(null, null, 3, null, 0L), null);
+    }
+
+    @Test
+    @DisplayName("Should return 409 when patching a concurrently modified order")
+    void shouldReturn409WhenPatchingConcurrentlyModifiedOrder() throws Exception {
+        when(orderService.patchOrder(eq(1L), any(OrderPatchRequest.class), isNull()))
+                .thenThrow(new ConflictException("Order with ID 1 was modified concurrently; expected version 0"));
+
+        mockMvc.perform(patch("/orders/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":3,\"version\":0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when patching order with invalid data")
+    void shouldReturn400WhenPatchingOrderWithInvalidData() throws Exception {
+        mockMvc.perform(patch("/orders/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"product\":\" \",\"quantity\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).patchOrder(any(Long.class), any(OrderPatchRequest.class), any());
     }
 
     @Test
     @DisplayName("Should delete order successfully")
     void shouldDeleteOrderSuccessfully() throws Exception {
-        doNothing().when(orderService).deleteOrder(1L);
+        doNothing().when(orderService).deleteOrder(1L, null);
 
         mockMvc.perform(delete("/orders/1"))
                 .andExpect(status().isNoContent());
 
-        verify(orderService).deleteOrder(1L);
+        verify(orderService).deleteOrder(1L, null);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the service and return 412 when it is stale")
+    void shouldReturn412WhenIfMatchVersionIsStale() throws Exception {
+        doThrow(new PreconditionFailedException("Order with ID 1 is no longer at version 2"))
+                .when(orderService).deleteOrder(1L, 2L);
+
+        mockMvc.perform(delete("/orders/1").requestAttr(ETagFilter.EXPECTED_VERSION_ATTRIBUTE, 2L))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412))
+                .andExpect(jsonPath("$.error").value("Order with ID 1 is no longer at version 2"));
+
+        verify(orderService).deleteOrder(1L, 2L);
     }
 
     @Test
     @DisplayName("Should return 404 when deleting non-existent order")
     void shouldReturn404WhenDeletingNonExistentOrder() throws Exception {
         doThrow(new ResourceNotFoundException("Order not found with ID: 1"))
-                .when(orderService).deleteOrder(1L);
+                .when(orderService).deleteOrder(1L, null);
 
         mockMvc.perform(delete("/orders/1"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.error").value("Order not found with ID: 1"));
 
-        verify(orderService).deleteOrder(1L);
+        verify(orderService).deleteOrder(1L, null);
+    }
+
+    @Test
+    @DisplayName("Should get orders by ID list")
+    void shouldGetOrdersByIds() throws Exception {
+        when(orderService.getOrdersByIds(List.of(1L, 5L)))
+                .thenReturn(new MultiGetResponse<>(List.of(testOrderResponse), List.of(5L)));
+
+        mockMvc.perform(get("/orders").param("ids", "1,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(5));
+
+        verify(orderService, never()).getAllOrders();
+    }
+
+    @Test
+    @DisplayName("Should search orders with filters bound from the query string")
+    void shouldSearchOrders() throws Exception {
+        when(orderService.searchOrders(argThat(request -> "Laptop".equals(request.getProduct())
+                && new BigDecimal("500").equals(request.getMinPrice())
+                && Instant.parse("2025-08-01T00:00:00Z").equals(request.getCreatedFrom())
+                && "-createdAt".equals(request.getSort()) && request.getLimit() == 20 && request.getUserId() == null)))
+                .thenReturn(new PageResponse<>(List.of(testOrderResponse), "2025-08-07T21:00:00Z_1"));
+
+        mockMvc.perform(get("/orders/search").param("product", "Laptop").param("minPrice", "500")
+                        .param("createdFrom", "2025-08-01T00:00:00Z").param("sort", "-createdAt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("2025-08-07T21:00:00Z_1"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed search filter")
+    void shouldReturn400ForMalformedSearchFilter() throws Exception {
+        mockMvc.perform(get("/orders/search").param("minPrice", "cheap"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should return order totals per group")
+    void shouldReturnAnalytics() throws Exception {
+        when(orderAnalyticsService.aggregate(argThat(request -> "day".equals(request.getGroupBy())
+                && "Laptop".equals(request.getProduct()) && request.getLimit() == 100 && request.getUserId() == null)))
+                .thenReturn(new OrderAnalyticsResponse("day",
+                        List.of(new OrderAggregate("2025-08-07T00:00:00Z", 2, 3, new BigDecimal("2999.97"))), false,
+                        new OrderAggregate("total", 2, 3, new BigDecimal("2999.97"))));
+
+        mockMvc.perform(get("/orders/analytics").param("groupBy", "day").param("product", "Laptop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].key").value("2025-08-07T00:00:00Z"))
+                .andExpect(jsonPath("$.groups[0].revenue").value(2999.97))
+                .andExpect(jsonPath("$.total.orders").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid analytics grouping")
+    void shouldReturn400ForInvalidGrouping() throws Exception {
+        when(orderAnalyticsService.aggregate(any()))
+                .thenThrow(new ValidationException("Invalid groupBy 'week', expected one of user, product, hour, day"));
+
+        mockMvc.perform(get("/orders/analytics").param("groupBy", "week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid groupBy 'week', expected one of user, product, hour, day"));
+    }
+
+    @Test
+    @DisplayName("Should return trending products with default window and k")
+    void shouldReturnTrendingProducts() throws Exception {
+        when(orderAnalyticsService.getTrendingProducts(15, 10))
+                .thenReturn(new TrendingProductsResponse(15, List.of(new TrendingProduct("Laptop", 7, 0))));
+        when(orderAnalyticsService.getTrendingProducts(5, 3))
+                .thenReturn(new TrendingProductsResponse(5, List.of()));
+
+        mockMvc.perform(get("/orders/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowMinutes").value(15))
+                .andExpect(jsonPath("$.products[0].product").value("Laptop"))
+                .andExpect(jsonPath("$.products[0].orders").value(7));
+        mockMvc.perform(get("/orders/trending").param("window", "5").param("k", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete all orders of a user")
+    void shouldDeleteOrdersByUserId() throws Exception {
+        when(orderService.deleteOrdersByUserId(1L)).thenReturn(3);
+
+        mockMvc.perform(delete("/orders").param("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedCount").value(3));
+
+        verify(orderService, never()).deleteOrders(any());
+    }
+
+    @Test
+    @DisplayName("Should delete orders by ID list")
+    void shouldDeleteOrdersByIdList() throws Exception {
+        when(orderService.deleteOrders(List.of(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(delete("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedCount").value(2));
+
+        verify(orderService, never()).deleteOrdersByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Should schedule order purge for deleted users")
+    void shouldSchedulePurgeForDeletedUsers() throws Exception {
+        when(orderPurgeService.requestPurge(List.of(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(post("/orders/purges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+                .andExpect(status().isAccepted());
+
+        verify(orderPurgeService).requestPurge(List.of(1L, 2L));
     }
 
     @Test
@@ -291,4 +591,99 @@ class OrderControllerTest {
 
         verify(orderService).createOrder(any(OrderRequest.class));
     }
+
+    @Test
+    @DisplayName("Should accept order with 202 when write-behind ingestion is enabled")
+    void shouldAcceptOrderWhenWriteBehindEnabled() throws Exception {
+        when(orderIngestionService.isWriteBehindEnabled()).thenReturn(true);
+        when(orderIngestionService.submit(any(OrderRequest.class)))
+                .thenReturn(IngestionStatusResponse.pending("abc-123"));
+
+        mockMvc.perform(post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrderRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/orders/ingestion/abc-123"))
+                .andExpect(jsonPath("$.trackingId").value("abc-123"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(orderService, never()).createOrder(any(OrderRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should get ingestion status successfully")
+    void shouldGetIngestionStatusSuccessfully() throws Exception {
+        when(orderIngestionService.getStatus("abc-123"))
+                .thenReturn(IngestionStatusResponse.committed("abc-123", 7L));
+
+        mockMvc.perform(get("/orders/ingestion/abc-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMMITTED"))
+                .andExpect(jsonPath("$.orderId").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when ingestion tracking ID is unknown")
+    void shouldReturn404WhenIngestionTrackingIdUnknown() throws Exception {
+        when(orderIngestionService.getStatus("missing"))
+                .thenThrow(new ResourceNotFoundException("Ingestion not found with tracking ID: missing"));
+
+        mockMvc.perform(get("/orders/ingestion/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Ingestion not found with tracking ID: missing"));
+    }
+
+    @Test
+    @DisplayName("Should pass Idempotency-Key header to the idempotency service")
+    void shouldPassIdempotencyKeyToService() throws Exception {
+        when(orderService.createOrder(any(OrderRequest.class))).thenReturn(testOrderResponse);
+
+        mockMvc.perform(post("/orders")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(idempotencyService).execute(eq("key-1"), any(OrderRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("Should read the order change feed")
+    void shouldReadChangeFeed() throws Exception {
+        OrderChangeFeedResponse page = new OrderChangeFeedResponse(List.of(new OrderChangeResponse(4L, OrderChange.Type.CREATED,
+                1L, testOrderResponse, Instant.parse("2025-08-07T21:00:00Z"))), "abc-4", false, false);
+        when(orderChangeFeedService.getChanges("abc-3", 100, 1000L)).thenReturn(CompletableFuture.completedFuture(page));
+
+        MvcResult result = mockMvc.perform(get("/orders/changes").param("since", "abc-3").param("waitMs", "1000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].order.product").value("Laptop"))
+                .andExpect(jsonPath("$.nextCursor").value("abc-4"))
+                .andExpect(jsonPath("$.reset").value(false));
+    }
+
+    @Test
+    @DisplayName("Should stream order changes, resuming from Last-Event-ID")
+    void shouldStreamChanges() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(orderChangeFeedService.subscribe("abc-3")).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/orders/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "abc-3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("abc-4").name("order-change").data("{}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id:abc-4")));
+        verify(orderChangeFeedService).subscribe("abc-3");
+    }
 }
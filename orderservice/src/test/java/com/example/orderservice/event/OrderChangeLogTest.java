@@ -0,0 +1,152 @@
+package com.example.orderservice.event;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderChangeResponse;
+import com.example.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderChangeLog.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("OrderChangeLog Tests")
+class OrderChangeLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger notifications = new AtomicInteger();
+    private OrderChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new OrderChangeLog(meterRegistry);
+        ReflectionTestUtils.setField(changeLog, "capacity", 4);
+        changeLog.init();
+        changeLog.addListener(notifications::incrementAndGet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish changes made outside a transaction right away")
+    void shouldPublishChangesWithoutTransaction() {
+        changeLog.record(List.of(OrderChange.created(order(1L)), OrderChange.deleted(2L)));
+        changeLog.record(List.of());
+
+        OrderChangeLog.Page page = changeLog.read(0, 10);
+
+        assertEquals(List.of(1L, 2L), page.items().stream().map(OrderChangeResponse::getSequence).toList());
+        assertEquals(OrderChange.Type.CREATED, page.items().get(0).getType());
+        assertEquals("Laptop", page.items().get(0).getOrder().getProduct());
+        assertNull(page.items().get(1).getOrder());
+        assertEquals(2, page.next());
+        assertFalse(page.hasMore());
+        assertFalse(page.reset());
+        assertEquals(1, notifications.get());
+        assertEquals(2.0, meterRegistry.get("orders.changes.sequence").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should hold a transaction's changes until it commits")
+    void shouldHoldChangesUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeLog.record(List.of(OrderChange.created(order(1L))));
+        changeLog.record(List.of(OrderChange.updated(order(1L))));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+
+        synchronizations.get(0).beforeCommit(false);
+        assertEquals(0, changeLog.watermark());
+        assertTrue(changeLog.read(0, 10).items().isEmpty());
+
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(2, changeLog.watermark());
+        assertEquals(2, changeLog.read(0, 10).items().size());
+        assertEquals(1, notifications.get());
+        assertNull(TransactionSynchronizationManager.getResource(changeLog));
+    }
+
+    @Test
+    @DisplayName("Should drop the changes of rolled-back transactions")
+    void shouldDropRolledBackChanges() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeLog.record(List.of(OrderChange.deleted(5L)));
+        TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().get(0);
+        synchronization.beforeCommit(false);
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+        changeLog.record(List.of(OrderChange.deleted(6L)));
+
+        OrderChangeLog.Page page = changeLog.read(0, 10);
+
+        assertEquals(List.of(6L), page.items().stream().map(OrderChangeResponse::getOrderId).toList());
+        assertEquals(2, page.next());
+    }
+
+    @Test
+    @DisplayName("Should ignore transactions that roll back before committing")
+    void shouldIgnoreTransactionsRolledBackBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeLog.record(List.of(OrderChange.deleted(5L)));
+        TransactionSynchronizationManager.getSynchronizations().get(0)
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, changeLog.watermark());
+        assertEquals(0, notifications.get());
+    }
+
+    @Test
+    @DisplayName("Should page through changes and reset readers that fell behind")
+    void shouldPageAndResetReaders() {
+        for (long id = 1; id <= 6; id++) {
+            changeLog.record(List.of(OrderChange.deleted(id)));
+        }
+
+        OrderChangeLog.Page first = changeLog.read(2, 2);
+        assertEquals(List.of(3L, 4L), first.items().stream().map(OrderChangeResponse::getOrderId).toList());
+        assertTrue(first.hasMore());
+        assertEquals(2, changeLog.position(null));
+
+        OrderChangeLog.Page behind = changeLog.read(1, 2);
+        assertTrue(behind.reset());
+        assertTrue(behind.items().isEmpty());
+        assertEquals(6, behind.next());
+        assertTrue(changeLog.read(7, 2).reset());
+        assertTrue(changeLog.read(-1, 2).reset());
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursors and reject malformed ones")
+    void shouldParseCursors() {
+        String cursor = changeLog.cursor(3);
+
+        assertEquals(3, changeLog.position(cursor));
+        assertEquals(0, changeLog.position(null));
+        assertEquals(-1, changeLog.position("zzzz-3"));
+        ValidationException ex = assertThrows(ValidationException.class, () -> changeLog.position("3"));
+        assertEquals("Invalid cursor: 3", ex.getMessage());
+    }
+
+    private OrderResponse order(Long id) {
+        return new OrderResponse(id, 1L, "Laptop", 1, new BigDecimal("999.99"), 0L, null);
+    }
+}
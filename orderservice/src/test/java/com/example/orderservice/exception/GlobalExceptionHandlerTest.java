@@ -1,10 +1,12 @@
 package com.example.orderservice.exception;
 
 import com.example.common.dto.ErrorResponse;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InvalidUserException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +36,21 @@ class GlobalExceptionHandlerTest {
         assertEquals("invalid", resp.getBody().getError());
     }
 
+    @Test
+    void shouldMapConflictTo409() {
+        ResponseEntity<ErrorResponse> resp = handler.handleConflictException(new ConflictException("conflict"));
+        assertEquals(409, resp.getStatusCode().value());
+        assertEquals("conflict", resp.getBody().getError());
+    }
+
+    @Test
+    void shouldMapOptimisticLockingFailureTo409() {
+        ResponseEntity<ErrorResponse> resp = handler.handleOptimisticLockingFailureException(
+                new OptimisticLockingFailureException("stale"));
+        assertEquals(409, resp.getStatusCode().value());
+        assertEquals("Order was modified concurrently, please retry", resp.getBody().getError());
+    }
+
     @Test
     void shouldMapGenericRuntimeTo500() {
         ResponseEntity<ErrorResponse> resp = handler.handleRuntimeException(new RuntimeException("boom"));
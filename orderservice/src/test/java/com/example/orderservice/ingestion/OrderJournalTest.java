@@ -0,0 +1,131 @@
+package com.example.orderservice.ingestion;
+
+import com.example.orderservice.dto.OrderRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderJournal.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("OrderJournal Tests")
+class OrderJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path path;
+    private OrderJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        path = tempDir.resolve("nested").resolve("orders.journal");
+        journal = new OrderJournal(path, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should read back appended records in order")
+    void shouldReadBackAppendedRecords() throws Exception {
+        journal.append(List.of(JournalEntry.accepted("t1", request())));
+        journal.append(List.of(JournalEntry.committed("t1", 5L), JournalEntry.failed("t2", "bad")));
+
+        List<JournalEntry> entries = journal.readAll();
+
+        assertEquals(3, entries.size());
+        assertEquals(JournalEntry.Type.ACCEPTED, entries.get(0).type());
+        assertEquals("Laptop", entries.get(0).request().getProduct());
+        assertEquals(5L, entries.get(1).orderId());
+        assertEquals("bad", entries.get(2).error());
+    }
+
+    @Test
+    @DisplayName("Should group-commit concurrent appends without losing records")
+    void shouldGroupCommitConcurrentAppends() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String id = "t" + i;
+            futures.add(executor.submit(() -> {
+                journal.append(List.of(JournalEntry.accepted(id, request())));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200, journal.readAll().size());
+    }
+
+    @Test
+    @DisplayName("Should skip torn and blank records on replay")
+    void shouldSkipTornRecords() throws Exception {
+        journal.append(List.of(JournalEntry.accepted("t1", request())));
+        Files.writeString(path, "\n{\"type\":\"ACCEPTED\",\"tracki", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<JournalEntry> entries = journal.readAll();
+
+        assertEquals(1, entries.size());
+        assertEquals("t1", entries.get(0).trackingId());
+    }
+
+    @Test
+    @DisplayName("Should truncate only when the condition holds")
+    void shouldTruncateOnlyWhenConditionHolds() throws Exception {
+        assertFalse(journal.truncateIf(() -> true));
+
+        journal.append(List.of(JournalEntry.accepted("t1", request())));
+        assertFalse(journal.truncateIf(() -> false));
+        assertTrue(journal.size() > 0);
+
+        assertTrue(journal.truncateIf(() -> true));
+        assertEquals(0, journal.size());
+
+        journal.append(List.of(JournalEntry.accepted("t2", request())));
+        assertEquals("t2", journal.readAll().get(0).trackingId());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the journal with the retained records")
+    void shouldRewriteJournal() throws Exception {
+        journal.append(List.of(JournalEntry.accepted("t1", request()), JournalEntry.accepted("t2", request())));
+
+        journal.rewrite(List.of(JournalEntry.accepted("t2", request())));
+        journal.append(List.of(JournalEntry.committed("t2", 9L)));
+
+        List<JournalEntry> entries = journal.readAll();
+        assertEquals(2, entries.size());
+        assertEquals("t2", entries.get(0).trackingId());
+        assertEquals(JournalEntry.Type.COMMITTED, entries.get(1).type());
+    }
+
+    private OrderRequest request() {
+        return new OrderRequest(1L, "Laptop", 1, new BigDecimal("999.99"));
+    }
+}
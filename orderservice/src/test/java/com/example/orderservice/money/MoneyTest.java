@@ -0,0 +1,54 @@
+package com.example.orderservice.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Money.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert amounts of any scale to cents exactly")
+    void shouldConvertToCents() {
+        assertEquals(99_999, Money.toCents(new BigDecimal("999.99")));
+        assertEquals(500, Money.toCents(new BigDecimal("5")));
+        assertEquals(1_250, Money.toCents(new BigDecimal("12.500")));
+        assertEquals(10_000, Money.toCents(new BigDecimal("1E+2")));
+        assertEquals(-150, Money.toCents(new BigDecimal("-1.50")));
+        assertEquals(Money.MAX_PRICE, Money.toCents(new BigDecimal("99999999.99")));
+    }
+
+    @Test
+    @DisplayName("Should reject fractions of a cent and amounts beyond a long")
+    void shouldRejectInexactAmounts() {
+        assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("0.125")));
+        assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("1E+20")));
+    }
+
+    @Test
+    @DisplayName("Should convert cents back to amounts with scale 2")
+    void shouldConvertToBigDecimal() {
+        assertEquals(new BigDecimal("999.99"), Money.toBigDecimal(99_999));
+        assertEquals(new BigDecimal("5.00"), Money.toBigDecimal(500));
+        assertEquals(new BigDecimal("0.00"), Money.toBigDecimal(0));
+        assertEquals(new BigDecimal("12.50"), Money.toBigDecimal(Money.toCents(new BigDecimal("12.5"))));
+    }
+
+    @Test
+    @DisplayName("Should add and multiply without silently overflowing")
+    void shouldAddAndMultiply() {
+        assertEquals(2_549, Money.plus(2_500, 49));
+        assertEquals(299_997, Money.times(99_999, 3));
+        assertThrows(ArithmeticException.class, () -> Money.plus(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+}
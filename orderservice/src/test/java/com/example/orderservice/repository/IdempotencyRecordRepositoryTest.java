@@ -0,0 +1,43 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.entity.IdempotencyRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IdempotencyRecordRepository.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@Import(ProductDictionary.class)
+@DisplayName("IdempotencyRecordRepository Tests")
+class IdempotencyRecordRepositoryTest {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    @DisplayName("Should delete only records created before the cutoff")
+    void shouldDeleteRecordsCreatedBeforeCutoff() {
+        Instant now = Instant.now();
+        idempotencyRecordRepository.save(new IdempotencyRecord("old", "hash", 201, null, "{}", now.minus(2, ChronoUnit.DAYS)));
+        idempotencyRecordRepository.save(new IdempotencyRecord("new", "hash", 201, "/orders/1", "{}", now));
+
+        int removed = idempotencyRecordRepository.deleteCreatedBefore(now.minus(1, ChronoUnit.DAYS));
+
+        assertEquals(1, removed);
+        assertFalse(idempotencyRecordRepository.existsById("old"));
+        assertTrue(idempotencyRecordRepository.existsById("new"));
+    }
+}
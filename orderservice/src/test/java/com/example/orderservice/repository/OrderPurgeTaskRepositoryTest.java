@@ -0,0 +1,42 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.entity.OrderPurgeTask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderPurgeTaskRepository.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@Import(ProductDictionary.class)
+@DisplayName("OrderPurgeTaskRepository Tests")
+class OrderPurgeTaskRepositoryTest {
+
+    @Autowired
+    private OrderPurgeTaskRepository orderPurgeTaskRepository;
+
+    @Test
+    @DisplayName("Should return the oldest purge task first")
+    void shouldFindOldestTask() {
+        Instant now = Instant.now();
+        orderPurgeTaskRepository.save(new OrderPurgeTask(1L, now, 0));
+        orderPurgeTaskRepository.save(new OrderPurgeTask(2L, now.minus(1, ChronoUnit.MINUTES), 0));
+
+        assertEquals(2L, orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc().orElseThrow().getUserId());
+
+        orderPurgeTaskRepository.deleteAll();
+        assertTrue(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc().isEmpty());
+    }
+}
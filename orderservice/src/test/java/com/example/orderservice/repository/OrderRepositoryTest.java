@@ -1,15 +1,26 @@
 package com.example.orderservice.repository;
 
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderSearchRequest;
 import com.example.orderservice.entity.Order;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,18 +33,24 @@ import static org.junit.jupiter.api.Assertions.*;
  * @version 1.0.0
  */
 @DataJpaTest
+@Import(ProductDictionary.class)
 @DisplayName("OrderRepository Tests")
 class OrderRepositoryTest {
 
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ProductDictionary productDictionary;
+
     private Order testOrder1;
     private Order testOrder2;
 
     @BeforeEach
     void setUp() {
         orderRepository.deleteAll();
+        // As the services do before saving: the product converter only consults memory.
+        List.of("Laptop", "Mouse", "Keyboard", "Tablet", "Updated Laptop").forEach(productDictionary::idOf);
         
         testOrder1 = new Order();
         testOrder1.setUserId(1L);
@@ -106,6 +123,129 @@ class OrderRepositoryTest {
         assertEquals(1L, orders.get(0).getUserId());
     }
 
+    @Test
+    @DisplayName("Should stamp the creation time when saving")
+    void shouldStampCreationTime() {
+        Instant before = Instant.now().minusMillis(1);
+        Order saved = orderRepository.save(testOrder1);
+
+        assertNotNull(saved.getCreatedAt());
+        assertFalse(saved.getCreatedAt().isBefore(before));
+        assertEquals(0, saved.getCreatedAt().getNano() % 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Should store products by ID and read them back by name")
+    void shouldStoreProductsById() {
+        Order laptop = orderRepository.saveAndFlush(testOrder1);
+        Order second = new Order();
+        second.setUserId(2L);
+        second.setProduct("Laptop");
+        second.setQuantity(1);
+        second.setPrice(new BigDecimal("899.00"));
+        orderRepository.saveAndFlush(second);
+
+        Integer laptopId = productDictionary.find("Laptop");
+        assertNotNull(laptopId);
+        assertEquals(List.of(Map.of("id", laptop.getId(), "product", laptopId)),
+                orderRepository.findFieldsById(laptop.getId(), FieldSelection.parse("product", OrderResponse.class)).stream().toList());
+        // Every order of a product shares the dictionary's copy of the name.
+        List<Order> laptops = orderRepository.findByUserIdIn(List.of(1L, 2L));
+        assertSame(laptops.get(0).getProduct(), laptops.get(1).getProduct());
+        assertSame(productDictionary.nameOf(laptopId), laptops.get(0).getProduct());
+    }
+
+    @Test
+    @DisplayName("Should search orders by any combination of filters")
+    void shouldSearchByFilters() {
+        Order laptop = orderRepository.save(testOrder1);
+        Order mouse = orderRepository.save(testOrder2);
+        Order tablet = saveOrder(1L, "Tablet", 3, "299.00", Instant.parse("2025-01-01T00:00:00Z"));
+
+        assertEquals(List.of(laptop.getId(), mouse.getId(), tablet.getId()), ids(new OrderSearchRequest(), OrderSort.ID_ASC, null));
+        OrderSearchRequest byUser = new OrderSearchRequest();
+        byUser.setUserId(1L);
+        byUser.setMinPrice(new BigDecimal("299.00"));
+        byUser.setMaxQuantity(3);
+        assertEquals(List.of(laptop.getId(), tablet.getId()), ids(byUser, OrderSort.ID_ASC, null));
+        byUser.setMaxPrice(new BigDecimal("500"));
+        byUser.setMinQuantity(2);
+        assertEquals(List.of(tablet.getId()), ids(byUser, OrderSort.ID_ASC, null));
+
+        OrderSearchRequest byProduct = new OrderSearchRequest();
+        byProduct.setProduct("Mouse");
+        byProduct.setCreatedFrom(Instant.parse("2025-06-01T00:00:00Z"));
+        byProduct.setCreatedTo(Instant.now().plusSeconds(60));
+        assertEquals(List.of(mouse.getId()), ids(byProduct, OrderSort.ID_ASC, null));
+        byProduct.setProduct("Tablet");
+        assertEquals(List.of(), ids(byProduct, OrderSort.ID_ASC, null));
+    }
+
+    @Test
+    @DisplayName("Should sort and page search results by keyset")
+    void shouldSortAndPageSearchResults() {
+        Order laptop = orderRepository.save(testOrder1);
+        Order mouse = orderRepository.save(testOrder2);
+        Order tablet = saveOrder(1L, "Tablet", 1, "29.99", Instant.parse("2025-01-01T00:00:00Z"));
+        OrderSearchRequest all = new OrderSearchRequest();
+
+        assertEquals(List.of(tablet.getId(), mouse.getId(), laptop.getId()), ids(all, OrderSort.ID_DESC, null));
+        assertEquals(List.of(mouse.getId(), laptop.getId()), ids(all, OrderSort.ID_DESC, OrderSort.ID_DESC.position(String.valueOf(tablet.getId()))));
+        assertEquals(List.of(tablet.getId(), laptop.getId(), mouse.getId()), ids(all, OrderSort.CREATED_AT_ASC, null));
+        assertEquals(List.of(laptop.getId(), mouse.getId()),
+                ids(all, OrderSort.CREATED_AT_ASC, OrderSort.CREATED_AT_ASC.position(OrderSort.CREATED_AT_ASC.cursor(tablet))));
+        // Equal prices fall back to the ID, in the same direction.
+        assertEquals(List.of(laptop.getId(), tablet.getId(), mouse.getId()), ids(all, OrderSort.PRICE_DESC, null));
+        assertEquals(List.of(mouse.getId()),
+                ids(all, OrderSort.PRICE_DESC, OrderSort.PRICE_DESC.position(OrderSort.PRICE_DESC.cursor(tablet))));
+        assertEquals(List.of(laptop.getId(), tablet.getId()),
+                orderRepository.search(all, OrderSort.QUANTITY_ASC, null, 2).stream().map(Order::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should read only the selected fields")
+    void shouldReadSelectedFields() {
+        Order saved1 = orderRepository.save(testOrder1);
+        Order saved2 = orderRepository.save(testOrder2);
+        FieldSelection fields = FieldSelection.parse("price", OrderResponse.class);
+
+        List<Map<String, Object>> all = orderRepository.findAllFields(fields);
+        assertEquals(List.of(saved1.getId(), saved2.getId()), all.stream().map(order -> order.get("id")).toList());
+        assertEquals(List.of("id", "price"), List.copyOf(all.get(0).keySet()));
+        assertEquals(0, testOrder1.getPrice().compareTo((BigDecimal) all.get(0).get("price")));
+
+        assertEquals(Optional.of(Map.of("id", saved2.getId(), "product", productDictionary.idOf("Mouse"))),
+                orderRepository.findFieldsById(saved2.getId(), FieldSelection.parse("product", OrderResponse.class)));
+        assertTrue(orderRepository.findFieldsById(999L, fields).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stream the columns the analytics store keeps")
+    void shouldStreamAnalyticsColumns() {
+        Order saved = orderRepository.save(testOrder1);
+        orderRepository.flush();
+
+        List<Object[]> rows;
+        try (Stream<Object[]> columns = orderRepository.streamAnalyticsColumns()) {
+            rows = columns.toList();
+        }
+
+        assertEquals(1, rows.size());
+        assertEquals(List.of(saved.getId(), 1L, productDictionary.find("Laptop"), 1, saved.getCreatedAt()),
+                List.of(rows.get(0)[0], rows.get(0)[1], rows.get(0)[2], rows.get(0)[3], rows.get(0)[5]));
+        assertEquals(0, new BigDecimal("999.99").compareTo((BigDecimal) rows.get(0)[4]));
+    }
+
+    @Test
+    @DisplayName("Should find orders of several users")
+    void shouldFindOrdersByUserIds() {
+        orderRepository.save(testOrder1);
+        orderRepository.save(testOrder2);
+
+        assertEquals(2, orderRepository.findByUserIdIn(List.of(testOrder1.getUserId(), testOrder2.getUserId(), 999L)).size());
+        assertTrue(orderRepository.findByUserIdIn(List.of(999L)).isEmpty());
+    }
+
     @Test
     @DisplayName("Should return empty list when no orders found for user ID")
     void shouldReturnEmptyListWhenNoOrdersFoundForUserId() {
@@ -193,4 +333,146 @@ class OrderRepositoryTest {
 
         assertEquals(0, orderRepository.count());
     }
+
+    @Test
+    @DisplayName("Should find orders by ingestion tracking ID")
+    void shouldFindOrdersByIngestionId() {
+        testOrder1.setIngestionId("track-1");
+        Order saved = orderRepository.save(testOrder1);
+        orderRepository.save(testOrder2);
+
+        assertEquals(saved.getId(), orderRepository.findByIngestionId("track-1").orElseThrow().getId());
+        assertTrue(orderRepository.findByIngestionId("track-2").isEmpty());
+
+        List<Order> found = orderRepository.findByIngestionIdIn(List.of("track-1", "track-2"));
+        assertEquals(1, found.size());
+        assertEquals("track-1", found.get(0).getIngestionId());
+    }
+
+    @Test
+    @DisplayName("Should start new orders at version 0")
+    void shouldStartNewOrdersAtVersionZero() {
+        Order savedOrder = orderRepository.saveAndFlush(testOrder1);
+
+        assertEquals(0L, savedOrder.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should patch only the supplied columns and bump the version")
+    void shouldPatchSuppliedColumns() {
+        Order savedOrder = orderRepository.saveAndFlush(testOrder1);
+
+        int updated = orderRepository.patch(savedOrder.getId(), null, null, 5, null, null);
+
+        assertEquals(1, updated);
+        Order patched = orderRepository.findById(savedOrder.getId()).orElseThrow();
+        assertEquals(5, patched.getQuantity());
+        assertEquals("Laptop", patched.getProduct());
+        assertEquals(1L, patched.getUserId());
+        assertEquals(0, new BigDecimal("999.99").compareTo(patched.getPrice()));
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should only patch when the expected version matches")
+    void shouldPatchOnlyMatchingVersion() {
+        Order savedOrder = orderRepository.saveAndFlush(testOrder1);
+
+        int desktop = productDictionary.idOf("Desktop");
+        assertEquals(1, orderRepository.patch(savedOrder.getId(), 2L, desktop, null, new BigDecimal("1500.00"), 0L));
+        assertEquals(0, orderRepository.patch(savedOrder.getId(), null, desktop, null, null, 0L));
+        assertEquals(0, orderRepository.patch(999L, null, desktop, null, null, null));
+
+        Order patched = orderRepository.findById(savedOrder.getId()).orElseThrow();
+        assertEquals("Desktop", patched.getProduct());
+        assertEquals(2L, patched.getUserId());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should delete an order by ID in one statement")
+    void shouldDeleteOrderByIdReturningCount() {
+        Order savedOrder = orderRepository.save(testOrder1);
+
+        assertEquals(1, orderRepository.deleteOrderById(savedOrder.getId(), null));
+        assertEquals(0, orderRepository.deleteOrderById(savedOrder.getId(), null));
+        assertFalse(orderRepository.existsById(savedOrder.getId()));
+    }
+
+    @Test
+    @DisplayName("Should delete an order only at the expected version")
+    void shouldDeleteOrderOnlyAtExpectedVersion() {
+        Order savedOrder = orderRepository.saveAndFlush(testOrder1);
+
+        assertEquals(0, orderRepository.deleteOrderById(savedOrder.getId(), savedOrder.getVersion() + 1));
+        assertTrue(orderRepository.existsById(savedOrder.getId()));
+        assertEquals(1, orderRepository.deleteOrderById(savedOrder.getId(), savedOrder.getVersion()));
+        assertFalse(orderRepository.existsById(savedOrder.getId()));
+    }
+
+    @Test
+    @DisplayName("Should bulk delete orders by ID list")
+    void shouldBulkDeleteOrdersByIdList() {
+        Order saved1 = orderRepository.save(testOrder1);
+        Order saved2 = orderRepository.save(testOrder2);
+
+        assertEquals(1, orderRepository.deleteOrdersByIdIn(List.of(saved1.getId(), 999L)));
+        assertFalse(orderRepository.existsById(saved1.getId()));
+        assertTrue(orderRepository.existsById(saved2.getId()));
+    }
+
+    @Test
+    @DisplayName("Should look up order owners without loading orders")
+    void shouldFindOrderOwners() {
+        Order saved1 = orderRepository.save(testOrder1);
+        Order saved2 = orderRepository.save(testOrder2);
+
+        assertEquals(1L, orderRepository.findUserIdById(saved1.getId()).orElseThrow());
+        assertTrue(orderRepository.findUserIdById(999L).isEmpty());
+        assertEquals(List.of(List.of(saved1.getId(), 1L), List.of(saved2.getId(), 2L)),
+                orderRepository.findIdsAndUserIdsByIdIn(List.of(saved1.getId(), saved2.getId(), 999L)).stream()
+                        .map(Arrays::asList)
+                        .sorted(Comparator.comparing(row -> (Long) row.get(0)))
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should look up an order's version without loading it")
+    void shouldFindVersionById() {
+        Order saved = orderRepository.save(testOrder1);
+
+        assertEquals(0L, orderRepository.findVersionById(saved.getId()).orElseThrow());
+        assertTrue(orderRepository.findVersionById(999L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through a user's order IDs in ascending order")
+    void shouldFindOrderIdsByUserId() {
+        Order saved1 = orderRepository.save(testOrder1);
+        orderRepository.save(testOrder2);
+        Order another = new Order();
+        another.setUserId(1L);
+        another.setProduct("Keyboard");
+        another.setQuantity(1);
+        another.setPrice(new BigDecimal("49.99"));
+        Order saved3 = orderRepository.save(another);
+
+        assertEquals(List.of(saved1.getId()), orderRepository.findIdsByUserId(1L, Limit.of(1)));
+        assertEquals(List.of(saved1.getId(), saved3.getId()), orderRepository.findIdsByUserId(1L, Limit.of(10)));
+        assertTrue(orderRepository.findIdsByUserId(9L, Limit.of(10)).isEmpty());
+    }
+
+    private Order saveOrder(Long userId, String product, int quantity, String price, Instant createdAt) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setProduct(product);
+        order.setQuantity(quantity);
+        order.setPrice(new BigDecimal(price));
+        order.setCreatedAt(createdAt);
+        return orderRepository.save(order);
+    }
+
+    private List<Long> ids(OrderSearchRequest filters, OrderSort sort, OrderSort.Position after) {
+        return orderRepository.search(filters, sort, after, 10).stream().map(Order::getId).toList();
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.orderservice.repository;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.entity.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderSort.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("OrderSort Tests")
+class OrderSortTest {
+
+    @Test
+    @DisplayName("Should look up sort orders by parameter")
+    void shouldParseSortOrders() {
+        assertEquals(OrderSort.ID_ASC, OrderSort.parse("id"));
+        assertEquals(OrderSort.PRICE_DESC, OrderSort.parse("-price"));
+        assertEquals("price", OrderSort.PRICE_DESC.attribute());
+        assertTrue(OrderSort.PRICE_DESC.descending());
+        assertNull(OrderSort.ID_DESC.attribute());
+        assertEquals("Invalid sort 'cost', expected one of id, -id, createdAt, -createdAt, price, -price, quantity, -quantity",
+                assertThrows(ValidationException.class, () -> OrderSort.parse("cost")).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursors through positions")
+    void shouldRoundTripCursors() {
+        Order order = new Order();
+        order.setId(7L);
+        order.setPrice(new BigDecimal("29.90"));
+        order.setQuantity(3);
+        order.setCreatedAt(Instant.parse("2025-08-07T21:00:00.123Z"));
+
+        assertEquals("7", OrderSort.ID_DESC.cursor(order));
+        assertEquals(new OrderSort.Position(null, 7L), OrderSort.ID_DESC.position("7"));
+        assertEquals("2025-08-07T21:00:00.123Z_7", OrderSort.CREATED_AT_ASC.cursor(order));
+        assertEquals(new OrderSort.Position(order.getCreatedAt(), 7L), OrderSort.CREATED_AT_ASC.position("2025-08-07T21:00:00.123Z_7"));
+        assertEquals(new OrderSort.Position(new BigDecimal("29.90"), 7L), OrderSort.PRICE_ASC.position(OrderSort.PRICE_ASC.cursor(order)));
+        assertEquals(new OrderSort.Position(3, 7L), OrderSort.QUANTITY_DESC.position(OrderSort.QUANTITY_DESC.cursor(order)));
+        assertNull(OrderSort.PRICE_ASC.position(null));
+    }
+
+    @Test
+    @DisplayName("Should reject cursors made by another sort order")
+    void shouldRejectInvalidCursors() {
+        assertEquals("Invalid cursor for sort 'createdAt': 29.90_7",
+                assertThrows(ValidationException.class, () -> OrderSort.CREATED_AT_ASC.position("29.90_7")).getMessage());
+        assertThrows(ValidationException.class, () -> OrderSort.PRICE_ASC.position("7"));
+        assertThrows(ValidationException.class, () -> OrderSort.PRICE_ASC.position("abc_7"));
+        assertThrows(ValidationException.class, () -> OrderSort.ID_ASC.position("29.90_7"));
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.ConflictException;
+import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.IdempotencyRecord;
+import com.example.orderservice.repository.IdempotencyRecordRepository;
+import com.example.orderservice.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for IdempotencyServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyServiceImpl Tests")
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyServiceImpl idempotencyService;
+    private OrderRequest orderRequest;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, objectMapper,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100L);
+        idempotencyService.init();
+        orderRequest = new OrderRequest(1L, "Laptop", 1, new BigDecimal("999.99"));
+    }
+
+    @Test
+    @DisplayName("Should execute directly without an idempotency key")
+    void shouldExecuteWithoutKey() {
+        idempotencyService.execute(null, orderRequest, this::created);
+        idempotencyService.execute(null, orderRequest, this::created);
+
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject blank or oversized keys")
+    void shouldRejectInvalidKeys() {
+        assertThrows(ValidationException.class, () -> idempotencyService.execute(" ", orderRequest, this::created));
+        assertThrows(ValidationException.class,
+                () -> idempotencyService.execute("k".repeat(256), orderRequest, this::created));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should store the first response and replay it from memory")
+    void shouldReplayStoredResponse() {
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        ResponseEntity<?> first = idempotencyService.execute("key-1", orderRequest, this::created);
+        ResponseEntity<?> replay = idempotencyService.execute("key-1", orderRequest, this::created);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER));
+        assertEquals(URI.create("/orders/7"), replay.getHeaders().getLocation());
+        assertTrue(replay.getBody().toString().contains("\"id\":7"));
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecord.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should roll back and not remember the key when the action fails")
+    void shouldRollBackWhenActionFails() {
+        when(idempotencyRecordRepository.findById("key-8")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidUserException.class, () -> idempotencyService.execute("key-8", orderRequest, () -> {
+            throw new InvalidUserException("User not found with ID: 1");
+        }));
+        idempotencyService.execute("key-8", orderRequest, this::created);
+
+        assertEquals(1, executions.get());
+        verify(transactionManager).rollback(any());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a reused key with a different request")
+    void shouldRejectKeyReuseWithDifferentRequest() {
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        idempotencyService.execute("key-1", orderRequest, this::created);
+
+        OrderRequest other = new OrderRequest(1L, "Mouse", 1, new BigDecimal("10.00"));
+        ConflictException ex = assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key-1", other, this::created));
+        assertEquals("Idempotency-Key was already used with a different request", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should replay records persisted in the table")
+    void shouldReplayPersistedRecord() {
+        IdempotencyRecord persisted = new IdempotencyRecord("key-2", hashOf(orderRequest), 202, null,
+                "{\"trackingId\":\"abc\"}", Instant.now());
+        when(idempotencyRecordRepository.findById("key-2")).thenReturn(Optional.of(persisted));
+
+        ResponseEntity<?> replay = idempotencyService.execute("key-2", orderRequest, this::created);
+        idempotencyService.execute("key-2", orderRequest, this::created);
+
+        assertEquals(HttpStatus.ACCEPTED, replay.getStatusCode());
+        assertNull(replay.getHeaders().getLocation());
+        assertEquals(0, executions.get());
+        verify(idempotencyRecordRepository, times(1)).findById("key-2");
+    }
+
+    @Test
+    @DisplayName("Should ignore expired records")
+    void shouldIgnoreExpiredRecords() {
+        IdempotencyRecord expired = new IdempotencyRecord("key-3", hashOf(orderRequest), 201, null, "{}",
+                Instant.now().minus(Duration.ofDays(2)));
+        when(idempotencyRecordRepository.findById("key-3")).thenReturn(Optional.of(expired));
+
+        idempotencyService.execute("key-3", orderRequest, this::created);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should ignore expired records still held in memory")
+    void shouldIgnoreExpiredCachedRecords() {
+        when(idempotencyRecordRepository.findById("key-4")).thenReturn(Optional.empty());
+        idempotencyService.execute("key-4", orderRequest, this::created);
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofNanos(1));
+
+        idempotencyService.execute("key-4", orderRequest, this::created);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not store unsuccessful responses")
+    void shouldNotStoreUnsuccessfulResponses() {
+        when(idempotencyRecordRepository.findById("key-5")).thenReturn(Optional.empty());
+
+        idempotencyService.execute("key-5", orderRequest, () -> ResponseEntity.badRequest().body("nope"));
+        idempotencyService.execute("key-5", orderRequest, this::created);
+
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent requests with the same key")
+    void shouldCoalesceConcurrentRequests() throws Exception {
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<ResponseEntity<?>> leader = executor.submit(() -> idempotencyService.execute("key-6", orderRequest, () -> {
+            started.countDown();
+            await(release);
+            return created();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<?>> follower = executor.submit(() -> idempotencyService.execute("key-6", orderRequest, this::created));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(HttpStatus.CREATED, leader.get(5, TimeUnit.SECONDS).getStatusCode());
+        ResponseEntity<?> replay = follower.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's failure to coalesced requests")
+    void shouldPropagateLeaderFailure() throws Exception {
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<ResponseEntity<?>> leader = executor.submit(() -> idempotencyService.execute("key-7", orderRequest, () -> {
+            started.countDown();
+            await(release);
+            throw new InvalidUserException("User not found with ID: 1");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<?>> follower = executor.submit(() -> idempotencyService.execute("key-7", orderRequest, this::created));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidUserException.class, leaderFailure.getCause());
+        assertInstanceOf(InvalidUserException.class, followerFailure.getCause());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should release coalesced requests when the leader fails with an Error")
+    void shouldReleaseFollowersOnLeaderError() throws Exception {
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<ResponseEntity<?>> leader = executor.submit(() -> idempotencyService.execute("key-9", orderRequest, () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<?>> follower = executor.submit(() -> idempotencyService.execute("key-9", orderRequest, this::created));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, leaderFailure.getCause());
+        assertInstanceOf(StackOverflowError.class, followerFailure.getCause());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should purge expired records from the table")
+    void shouldPurgeExpiredRecords() {
+        when(idempotencyRecordRepository.deleteCreatedBefore(any(Instant.class))).thenReturn(3);
+
+        assertEquals(3, idempotencyService.purgeExpired());
+    }
+
+    private ResponseEntity<?> created() {
+        executions.incrementAndGet();
+        return ResponseEntity.created(URI.create("/orders/7"))
+                .body(new OrderResponse(7L, 1L, "Laptop", 1, new BigDecimal("999.99"), 0L, null));
+    }
+
+    private String hashOf(OrderRequest request) {
+        return DigestUtils.md5DigestAsHex(objectMapper.valueToTree(request).toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.analytics.OrderColumnStore;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.dto.OrderAggregate;
+import com.example.orderservice.dto.OrderAnalyticsRequest;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.TrendingProduct;
+import com.example.orderservice.dto.TrendingProductsResponse;
+import com.example.orderservice.service.impl.OrderAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderAnalyticsServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderAnalyticsServiceImpl Tests")
+class OrderAnalyticsServiceImplTest {
+
+    private static final Instant DAY = Instant.parse("2025-08-07T00:00:00Z");
+
+    @Mock
+    private OrderColumnStore orderColumnStore;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private ProductDictionary productDictionary;
+
+    @InjectMocks
+    private OrderAnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analyticsService, "maxGroups", 2);
+        ReflectionTestUtils.setField(analyticsService, "maxTrendingK", 3);
+    }
+
+    @Test
+    @DisplayName("Should name products and order them by revenue, keeping the overall total")
+    void shouldAggregateByProduct() {
+        when(productDictionary.nameOf(1)).thenReturn("Laptop");
+        when(productDictionary.nameOf(3)).thenReturn("Keyboard");
+        when(orderColumnStore.aggregate(new OrderColumnStore.Query(OrderColumnStore.Dimension.PRODUCT,
+                Long.MIN_VALUE, Long.MAX_VALUE, 1L, null)))
+                .thenReturn(totals(Map.of(1L, new long[]{2, 3, 299_997}, 2L, new long[]{1, 1, 2_550},
+                        3L, new long[]{1, 1, 7_999})));
+
+        OrderAnalyticsResponse response = analyticsService.aggregate(request("Product", null, 1L, null, null));
+
+        assertEquals("product", response.getGroupBy());
+        assertEquals(List.of(new OrderAggregate("Laptop", 2, 3, new BigDecimal("2999.97")),
+                new OrderAggregate("Keyboard", 1, 1, new BigDecimal("79.99"))), response.getGroups());
+        assertTrue(response.isTruncated());
+        assertEquals(new OrderAggregate("total", 4, 5, new BigDecimal("3105.46")), response.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should order time buckets by time and users by revenue")
+    void shouldAggregateByTimeAndUser() {
+        long nextDay = DAY.plusSeconds(86_400).toEpochMilli();
+        when(productDictionary.find("Laptop")).thenReturn(1);
+        when(orderColumnStore.aggregate(new OrderColumnStore.Query(OrderColumnStore.Dimension.DAY,
+                DAY.toEpochMilli(), nextDay, null, 1)))
+                .thenReturn(totals(Map.of(nextDay, new long[]{1, 1, 100}, DAY.toEpochMilli(), new long[]{1, 1, 900})));
+        when(orderColumnStore.aggregate(new OrderColumnStore.Query(OrderColumnStore.Dimension.USER,
+                Long.MIN_VALUE, Long.MAX_VALUE, null, null)))
+                .thenReturn(totals(Map.of(1L, new long[]{1, 1, 100}, 2L, new long[]{1, 1, 100}, 3L, new long[]{1, 1, 900})));
+        when(orderColumnStore.aggregate(new OrderColumnStore.Query(OrderColumnStore.Dimension.HOUR,
+                Long.MIN_VALUE, Long.MAX_VALUE, null, null)))
+                .thenReturn(new HashMap<>());
+
+        OrderAnalyticsResponse byDay = analyticsService.aggregate(
+                request("day", "Laptop", null, DAY, Instant.ofEpochMilli(nextDay)));
+        assertEquals(List.of("2025-08-07T00:00:00Z", "2025-08-08T00:00:00Z"),
+                byDay.getGroups().stream().map(OrderAggregate::getKey).toList());
+        assertFalse(byDay.isTruncated());
+
+        OrderAnalyticsResponse byUser = analyticsService.aggregate(request("user", " ", null, null, null));
+        assertEquals(List.of("3", "1"), byUser.getGroups().stream().map(OrderAggregate::getKey).toList());
+
+        OrderAnalyticsResponse byHour = analyticsService.aggregate(request("hour", null, null, null, null));
+        assertTrue(byHour.getGroups().isEmpty());
+        assertEquals(new OrderAggregate("total", 0, 0, new BigDecimal("0.00")), byHour.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a product that was never ordered")
+    void shouldReturnNothingForUnknownProduct() {
+        when(productDictionary.find("Tablet")).thenReturn(null);
+
+        OrderAnalyticsResponse response = analyticsService.aggregate(request("product", "Tablet", null, null, null));
+
+        assertTrue(response.getGroups().isEmpty());
+        assertEquals(0, response.getTotal().getOrders());
+        verifyNoInteractions(orderColumnStore);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid groupings, limits and time ranges")
+    void shouldRejectInvalidRequests() {
+        assertEquals("Invalid groupBy 'week', expected one of user, product, hour, day",
+                assertThrows(ValidationException.class,
+                        () -> analyticsService.aggregate(request("week", null, null, null, null))).getMessage());
+
+        OrderAnalyticsRequest tooMany = request("user", null, null, null, null);
+        tooMany.setLimit(3);
+        assertEquals("Limit must be between 1 and 2",
+                assertThrows(ValidationException.class, () -> analyticsService.aggregate(tooMany)).getMessage());
+        tooMany.setLimit(0);
+        assertThrows(ValidationException.class, () -> analyticsService.aggregate(tooMany));
+
+        assertEquals("createdFrom must be before createdTo", assertThrows(ValidationException.class,
+                () -> analyticsService.aggregate(request("day", null, null, DAY, DAY))).getMessage());
+        verify(orderColumnStore, never()).aggregate(any());
+    }
+
+    @Test
+    @DisplayName("Should name trending products")
+    void shouldGetTrendingProducts() {
+        when(trendingProducts.maxWindowMinutes()).thenReturn(60);
+        when(trendingProducts.top(15, 3)).thenReturn(List.of(new TrendingProducts.Count(2, 7, 1), new TrendingProducts.Count(1, 3, 0)));
+        when(productDictionary.nameOf(1)).thenReturn("Laptop");
+        when(productDictionary.nameOf(2)).thenReturn("Mouse");
+
+        TrendingProductsResponse response = analyticsService.getTrendingProducts(15, 3);
+
+        assertEquals(15, response.getWindowMinutes());
+        assertEquals(List.of(new TrendingProduct("Mouse", 7, 1), new TrendingProduct("Laptop", 3, 0)), response.getProducts());
+    }
+
+    @Test
+    @DisplayName("Should reject trending windows and k out of range")
+    void shouldRejectInvalidTrendingRequests() {
+        when(trendingProducts.maxWindowMinutes()).thenReturn(60);
+
+        assertEquals("Window must be between 1 and 60 minutes",
+                assertThrows(ValidationException.class, () -> analyticsService.getTrendingProducts(0, 3)).getMessage());
+        assertThrows(ValidationException.class, () -> analyticsService.getTrendingProducts(61, 3));
+        assertEquals("k must be between 1 and 3",
+                assertThrows(ValidationException.class, () -> analyticsService.getTrendingProducts(15, 4)).getMessage());
+        assertThrows(ValidationException.class, () -> analyticsService.getTrendingProducts(15, 0));
+        verify(trendingProducts, never()).top(anyInt(), anyInt());
+    }
+
+    private static OrderAnalyticsRequest request(String groupBy, String product, Long userId, Instant from, Instant to) {
+        return new OrderAnalyticsRequest(groupBy, product, userId, from, to, 2);
+    }
+
+    private static Map<Long, OrderColumnStore.Totals> totals(Map<Long, long[]> values) {
+        Map<Long, OrderColumnStore.Totals> totals = new HashMap<>();
+        values.forEach((key, value) -> totals.put(key, new OrderColumnStore.Totals(value[0], value[1], value[2])));
+        return totals;
+    }
+}
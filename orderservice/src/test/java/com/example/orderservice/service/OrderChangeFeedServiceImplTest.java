@@ -0,0 +1,218 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.dto.OrderChangeFeedResponse;
+import com.example.orderservice.dto.OrderChangeResponse;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.service.impl.OrderChangeFeedServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderChangeFeedServiceImpl.
+ *
+ * Runs against a real, small change log; stream emitters are mocked so the
+ * events sent to each subscriber can be inspected.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("OrderChangeFeedServiceImpl Tests")
+class OrderChangeFeedServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderChangeLog changeLog;
+    private OrderChangeFeedServiceImpl feedService;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new OrderChangeLog(meterRegistry);
+        ReflectionTestUtils.setField(changeLog, "capacity", 4);
+        changeLog.init();
+        feedService = new OrderChangeFeedServiceImpl(changeLog, meterRegistry);
+        ReflectionTestUtils.setField(feedService, "maxLimit", 10);
+        ReflectionTestUtils.setField(feedService, "maxWaitMs", 5_000L);
+        ReflectionTestUtils.setField(feedService, "maxWaiters", 1);
+        ReflectionTestUtils.setField(feedService, "maxSubscribers", 1);
+        ReflectionTestUtils.setField(feedService, "streamBatchSize", 2);
+        ReflectionTestUtils.setField(feedService, "streamTimeout", Duration.ofMinutes(1));
+        feedService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedService.stop();
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range limits and waits")
+    void shouldRejectInvalidArguments() {
+        assertEquals("Limit must be between 1 and 10",
+                assertThrows(ValidationException.class, () -> feedService.getChanges(null, 0, 0)).getMessage());
+        assertThrows(ValidationException.class, () -> feedService.getChanges(null, 11, 0));
+        assertEquals("Wait must be between 0 and 5000 ms",
+                assertThrows(ValidationException.class, () -> feedService.getChanges(null, 1, -1)).getMessage());
+        assertThrows(ValidationException.class, () -> feedService.getChanges(null, 1, 5_001));
+    }
+
+    @Test
+    @DisplayName("Should return retained changes right away")
+    void shouldReturnChangesImmediately() {
+        changeLog.record(List.of(OrderChange.deleted(1L), OrderChange.deleted(2L)));
+
+        OrderChangeFeedResponse page = feedService.getChanges(null, 10, 1_000).join();
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(OrderChangeResponse::getOrderId).toList());
+        assertEquals(changeLog.cursor(2), page.getNextCursor());
+        assertFalse(page.isReset());
+        assertTrue(feedService.getChanges(page.getNextCursor(), 10, 0).join().getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should complete a waiting read when a change commits")
+    void shouldCompleteWaitingReadOnChange() throws Exception {
+        CompletableFuture<OrderChangeFeedResponse> waiting = feedService.getChanges(null, 10, 5_000);
+        assertFalse(waiting.isDone());
+        assertEquals("Too many clients are waiting for order changes, please retry",
+                assertThrows(ServiceUnavailableException.class, () -> feedService.getChanges(null, 10, 5_000)).getMessage());
+
+        changeLog.record(List.of(OrderChange.deleted(3L)));
+
+        OrderChangeFeedResponse page = waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(3L), page.getItems().stream().map(OrderChangeResponse::getOrderId).toList());
+    }
+
+    @Test
+    @DisplayName("Should answer a waiting read with an empty page when the wait runs out")
+    void shouldTimeOutWaitingRead() throws Exception {
+        OrderChangeFeedResponse page = feedService.getChanges(null, 10, 50).get(5, TimeUnit.SECONDS);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(changeLog.cursor(0), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should flag reads from cursors that are no longer retained")
+    void shouldResetStaleCursors() {
+        OrderChangeFeedResponse page = feedService.getChanges("zzzz-9", 10, 1_000).join();
+
+        assertTrue(page.isReset());
+        assertEquals(1.0, meterRegistry.get("orders.changes.resets").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should answer waiting reads when stopping")
+    void shouldAnswerWaitingReadsOnStop() {
+        CompletableFuture<OrderChangeFeedResponse> waiting = feedService.getChanges(null, 10, 5_000);
+
+        feedService.stop();
+
+        assertTrue(waiting.join().getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stream retained and new changes to a subscriber")
+    void shouldStreamChanges() throws Exception {
+        changeLog.record(List.of(OrderChange.deleted(1L), OrderChange.deleted(2L), OrderChange.deleted(3L)));
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class)) {
+            SseEmitter emitter = feedService.subscribe(null);
+            assertEquals(1.0, meterRegistry.get("orders.changes.subscribers").gauge().value());
+            assertThrows(ServiceUnavailableException.class, () -> feedService.subscribe(null));
+
+            verify(emitter, timeout(5_000).times(3)).send(any(SseEmitter.SseEventBuilder.class));
+            changeLog.record(List.of(OrderChange.deleted(4L)));
+            verify(emitter, timeout(5_000).times(4)).send(any(SseEmitter.SseEventBuilder.class));
+
+            assertEquals(List.of(1L, 2L, 3L, 4L), sentChanges(emitter).stream().map(OrderChangeResponse::getOrderId).toList());
+            feedService.stop();
+            verify(emitter).complete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick up changes that arrive while a subscriber is being sent to")
+    void shouldRecheckAfterDrain() throws Exception {
+        changeLog.record(List.of(OrderChange.deleted(1L)));
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class, (mock, context) ->
+                doAnswer(invocation -> {
+                    if (changeLog.watermark() == 1) {
+                        changeLog.record(List.of(OrderChange.deleted(2L)));
+                        // Let the wake-up for the new change find this subscriber still draining.
+                        Thread.sleep(200);
+                    }
+                    return null;
+                }).when(mock).send(any(SseEmitter.SseEventBuilder.class)))) {
+            SseEmitter emitter = feedService.subscribe(null);
+
+            verify(emitter, timeout(5_000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should send a reset and disconnect a subscriber that fell behind")
+    void shouldResetSlowSubscriber() throws Exception {
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class)) {
+            SseEmitter emitter = feedService.subscribe("zzzz-1");
+
+            // complete() is synchronized, so waiting on it with timeout() would hold its lock; wait for the removal instead.
+            awaitNoSubscribers();
+            verify(emitter).complete();
+            ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+            verify(emitter).send(events.capture());
+            assertTrue(events.getValue().build().stream()
+                    .anyMatch(part -> part.getData() instanceof OrderChangeFeedResponse response && response.isReset()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should forget subscribers whose connection failed")
+    void shouldDropFailedSubscriber() throws Exception {
+        changeLog.record(List.of(OrderChange.deleted(1L)));
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class, (mock, context) ->
+                doThrow(new IOException("Broken pipe")).when(mock).send(any(SseEmitter.SseEventBuilder.class)))) {
+            SseEmitter emitter = feedService.subscribe(null);
+
+            verify(emitter, timeout(5_000)).send(any(SseEmitter.SseEventBuilder.class));
+            awaitNoSubscribers();
+        }
+    }
+
+    private void awaitNoSubscribers() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("orders.changes.subscribers").gauge().value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0.0, meterRegistry.get("orders.changes.subscribers").gauge().value());
+    }
+
+    private static List<OrderChangeResponse> sentChanges(SseEmitter emitter) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeastOnce()).send(events.capture());
+        return events.getAllValues().stream()
+                .flatMap(event -> event.build().stream())
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(OrderChangeResponse.class::isInstance)
+                .map(OrderChangeResponse.class::cast)
+                .toList();
+    }
+}
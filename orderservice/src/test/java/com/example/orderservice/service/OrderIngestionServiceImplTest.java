@@ -0,0 +1,353 @@
+package com.example.orderservice.service;
+
+import com.example.common.exception.InternalServerException;
+import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.ResourceNotFoundException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.cache.UserOrdersCache;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.IngestionStatusResponse;
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.ingestion.JournalEntry;
+import com.example.orderservice.ingestion.OrderJournal;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.impl.OrderIngestionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderIngestionServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderIngestionServiceImpl Tests")
+class OrderIngestionServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserOrdersCache userOrdersCache;
+
+    @Mock
+    private OrderChangeLog orderChangeLog;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private ProductDictionary productDictionary;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong();
+    private OrderIngestionServiceImpl ingestionService;
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("orders.journal");
+        ingestionService = new OrderIngestionServiceImpl(orderRepository, userServiceClient,
+                new TransactionTemplate(transactionManager), objectMapper, userOrdersCache, orderChangeLog, trendingProducts,
+                productDictionary);
+        ReflectionTestUtils.setField(ingestionService, "mode", "write-behind");
+        ReflectionTestUtils.setField(ingestionService, "journalPath", journalPath.toString());
+        ReflectionTestUtils.setField(ingestionService, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestionService, "drainIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(ingestionService, "statusRetention", 100);
+        ReflectionTestUtils.setField(ingestionService, "retryDelay", Duration.ZERO);
+        ReflectionTestUtils.setField(ingestionService, "maxRetryDelay", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ingestionService.stop();
+    }
+
+    @Test
+    @DisplayName("Should stay inactive in sync mode")
+    void shouldStayInactiveInSyncMode() throws Exception {
+        ReflectionTestUtils.setField(ingestionService, "mode", "sync");
+        ingestionService.start();
+
+        assertFalse(ingestionService.isWriteBehindEnabled());
+        InternalServerException ex = assertThrows(InternalServerException.class,
+                () -> ingestionService.submit(request(1L)));
+        assertEquals("Write-behind order ingestion is not enabled", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject null request")
+    void shouldRejectNullRequest() throws Exception {
+        ingestionService.start();
+
+        assertThrows(ValidationException.class, () -> ingestionService.submit(null));
+    }
+
+    @Test
+    @DisplayName("Should accept, drain and commit orders in one batch")
+    void shouldAcceptAndCommitOrders() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        stubSaveAll();
+
+        IngestionStatusResponse first = ingestionService.submit(request(1L));
+        IngestionStatusResponse second = ingestionService.submit(request(1L));
+        assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus(first.getTrackingId()).getStatus());
+
+        ingestionService.drain();
+
+        IngestionStatusResponse status = ingestionService.getStatus(first.getTrackingId());
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, status.getStatus());
+        assertNotNull(status.getOrderId());
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(second.getTrackingId()).getStatus());
+        verify(userServiceClient, times(1)).userExists(1L);
+        verify(trendingProducts).recordAfterCommit(List.of("Laptop", "Laptop"));
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(userOrdersCache).evictAfterCommit(List.of(1L, 1L));
+        verify(orderChangeLog).record(argThat(changes -> changes.size() == 2
+                && changes.stream().allMatch(change -> change.type() == OrderChange.Type.CREATED)));
+    }
+
+    @Test
+    @DisplayName("Should fail orders for unknown users")
+    void shouldFailOrdersForUnknownUsers() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(9L)).thenReturn(false);
+
+        IngestionStatusResponse accepted = ingestionService.submit(request(9L));
+        ingestionService.drain();
+
+        IngestionStatusResponse status = ingestionService.getStatus(accepted.getTrackingId());
+        assertEquals(IngestionStatusResponse.Status.FAILED, status.getStatus());
+        assertEquals("User not found with ID: 9", status.getError());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should retry when user validation is unavailable")
+    void shouldRetryWhenUserValidationUnavailable() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L))
+                .thenThrow(new InvalidUserException("Error validating user: timeout"))
+                .thenReturn(true);
+        stubSaveAll();
+
+        IngestionStatusResponse accepted = ingestionService.submit(request(1L));
+        ingestionService.drain();
+        assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+
+        ingestionService.drain();
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should retry when the batch cannot be persisted for a transient reason")
+    void shouldRetryWhenBatchCannotBePersisted() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        when(orderRepository.saveAll(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"));
+
+        IngestionStatusResponse accepted = ingestionService.submit(request(1L));
+        ingestionService.drain();
+
+        assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should keep retrying transient failures until the order is persisted")
+    void shouldKeepRetryingTransientFailures() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        when(orderRepository.saveAll(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenThrow(new TransientDataAccessResourceException("Database connection failed"))
+                .thenAnswer(invocation -> {
+                    List<Order> orders = invocation.getArgument(0);
+                    orders.forEach(order -> order.setId(ids.incrementAndGet()));
+                    return orders;
+                });
+
+        IngestionStatusResponse accepted = ingestionService.submit(request(1L));
+        for (int run = 0; run < 3; run++) {
+            ingestionService.drain();
+            assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+        }
+        ingestionService.drain();
+
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should back off after a failed run")
+    void shouldBackOffAfterFailedRun() throws Exception {
+        ReflectionTestUtils.setField(ingestionService, "retryDelay", Duration.ofHours(1));
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenThrow(new InvalidUserException("Error validating user: timeout"));
+
+        IngestionStatusResponse accepted = ingestionService.submit(request(1L));
+        ingestionService.drain();
+        ingestionService.drain();
+
+        assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+        verify(userServiceClient, times(1)).userExists(1L);
+    }
+
+    @Test
+    @DisplayName("Should commit the rest of the batch when one order cannot be persisted")
+    void shouldCommitRestOfBatchWhenOneOrderFails() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getQuantity() == 0)) {
+                throw new DataIntegrityViolationException("check constraint violated");
+            }
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return orders;
+        });
+
+        IngestionStatusResponse first = ingestionService.submit(request(1L));
+        IngestionStatusResponse bad = ingestionService.submit(new OrderRequest(1L, "Laptop", 0, new BigDecimal("999.99")));
+        IngestionStatusResponse last = ingestionService.submit(request(1L));
+        ingestionService.drain();
+
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(first.getTrackingId()).getStatus());
+        assertEquals(IngestionStatusResponse.Status.FAILED, ingestionService.getStatus(bad.getTrackingId()).getStatus());
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(last.getTrackingId()).getStatus());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should replay unfinished journal records and skip already persisted orders")
+    void shouldReplayUnfinishedRecords() throws Exception {
+        try (OrderJournal journal = new OrderJournal(journalPath, objectMapper)) {
+            journal.append(List.of(
+                    JournalEntry.accepted("t1", request(1L)),
+                    JournalEntry.accepted("t2", request(1L)),
+                    JournalEntry.committed("t2", 20L),
+                    JournalEntry.accepted("t3", request(1L)),
+                    JournalEntry.failed("t3", "User not found with ID: 1")));
+        }
+        Order persisted = new Order();
+        persisted.setId(10L);
+        persisted.setIngestionId("t1");
+        when(orderRepository.findByIngestionIdIn(anyCollection())).thenReturn(List.of(persisted));
+
+        ingestionService.start();
+        assertEquals(IngestionStatusResponse.Status.PENDING, ingestionService.getStatus("t1").getStatus());
+        assertEquals(20L, ingestionService.getStatus("t2").getOrderId());
+        assertEquals(IngestionStatusResponse.Status.FAILED, ingestionService.getStatus("t3").getStatus());
+
+        ingestionService.drain();
+
+        assertEquals(10L, ingestionService.getStatus("t1").getOrderId());
+        verify(orderRepository, never()).saveAll(anyList());
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database for evicted statuses")
+    void shouldFallBackToDatabaseForEvictedStatuses() throws Exception {
+        ReflectionTestUtils.setField(ingestionService, "statusRetention", 1);
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        stubSaveAll();
+
+        IngestionStatusResponse first = ingestionService.submit(request(1L));
+        ingestionService.drain();
+        ingestionService.submit(request(1L));
+        ingestionService.drain();
+
+        Order order = new Order();
+        order.setId(1L);
+        when(orderRepository.findByIngestionId(first.getTrackingId())).thenReturn(Optional.of(order));
+        assertEquals(1L, ingestionService.getStatus(first.getTrackingId()).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for unknown tracking IDs")
+    void shouldThrowForUnknownTrackingId() throws Exception {
+        ingestionService.start();
+        when(orderRepository.findByIngestionId("missing")).thenReturn(Optional.empty());
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> ingestionService.getStatus("missing"));
+        assertEquals("Ingestion not found with tracking ID: missing", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should surface journal write failures on submit and tolerate them on completion")
+    void shouldHandleJournalFailures() throws Exception {
+        ingestionService.start();
+        when(userServiceClient.userExists(1L)).thenReturn(true);
+        stubSaveAll();
+        IngestionStatusResponse accepted = ingestionService.submit(request(1L));
+
+        ((OrderJournal) ReflectionTestUtils.getField(ingestionService, "journal")).close();
+
+        assertThrows(InternalServerException.class, () -> ingestionService.submit(request(1L)));
+        ingestionService.drain();
+        assertEquals(IngestionStatusResponse.Status.COMMITTED, ingestionService.getStatus(accepted.getTrackingId()).getStatus());
+    }
+
+    private void stubSaveAll() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return orders;
+        });
+    }
+
+    private OrderRequest request(Long userId) {
+        return new OrderRequest(userId, "Laptop", 1, new BigDecimal("999.99"));
+    }
+}
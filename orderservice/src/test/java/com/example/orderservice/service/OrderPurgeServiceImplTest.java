@@ -0,0 +1,247 @@
+package com.example.orderservice.service;
+
+import com.example.common.cache.ResponseCache;
+import com.example.common.exception.ValidationException;
+import com.example.common.exception.InvalidUserException;
+import com.example.orderservice.cache.UserOrdersCache;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.UserResponse;
+import com.example.orderservice.entity.OrderPurgeTask;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.orderservice.repository.OrderPurgeTaskRepository;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.impl.OrderPurgeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderPurgeServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderPurgeServiceImpl Tests")
+class OrderPurgeServiceImplTest {
+
+    @Mock
+    private OrderPurgeTaskRepository orderPurgeTaskRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserOrdersCache userOrdersCache;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private OrderChangeLog orderChangeLog;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderPurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new OrderPurgeServiceImpl(orderPurgeTaskRepository, orderRepository, userOrdersCache,
+                responseCache, orderChangeLog, userServiceClient, new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(purgeService, "batchSize", 2);
+        ReflectionTestUtils.setField(purgeService, "maxUserIds", 3);
+        purgeService.init();
+    }
+
+    @Test
+    @DisplayName("Should schedule purges once per user")
+    void shouldSchedulePurgesOncePerUser() {
+        when(userServiceClient.getUsersByIds(Set.of(1L, 2L))).thenReturn(Map.of());
+        when(orderPurgeTaskRepository.existsById(1L)).thenReturn(true);
+        when(orderPurgeTaskRepository.existsById(2L)).thenReturn(false);
+
+        assertEquals(1, purgeService.requestPurge(List.of(1L, 2L, 2L)));
+
+        verify(orderPurgeTaskRepository).saveAll(argThat(tasks -> {
+            List<OrderPurgeTask> list = (List<OrderPurgeTask>) tasks;
+            return list.size() == 1 && list.get(0).getUserId() == 2L && list.get(0).getDeletedCount() == 0;
+        }));
+        verify(transactionManager).commit(any());
+        assertEquals(1.0, meterRegistry.get("orders.purge.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not schedule purges of users that still exist")
+    void shouldSkipLiveUsers() {
+        when(userServiceClient.getUsersByIds(Set.of(2L, 3L))).thenReturn(Map.of(3L, new UserResponse()));
+        when(orderPurgeTaskRepository.existsById(2L)).thenReturn(false);
+
+        assertEquals(1, purgeService.requestPurge(List.of(2L, 3L)));
+
+        verify(orderPurgeTaskRepository, never()).existsById(3L);
+        verify(orderPurgeTaskRepository).saveAll(argThat(tasks -> ((List<OrderPurgeTask>) tasks).stream()
+                .map(OrderPurgeTask::getUserId).toList().equals(List.of(2L))));
+    }
+
+    @Test
+    @DisplayName("Should schedule nothing when UserService cannot be reached")
+    void shouldFailRequestWhenUserServiceUnavailable() {
+        when(userServiceClient.getUsersByIds(Set.of(2L))).thenThrow(new InvalidUserException("Error fetching users"));
+
+        assertThrows(InvalidUserException.class, () -> purgeService.requestPurge(List.of(2L)));
+
+        verify(orderPurgeTaskRepository, never()).saveAll(anyList());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should reject empty, null-containing or oversized user ID lists")
+    void shouldRejectInvalidUserIds() {
+        assertEquals("At least one user ID is required",
+                assertThrows(ValidationException.class, () -> purgeService.requestPurge(null)).getMessage());
+        assertThrows(ValidationException.class, () -> purgeService.requestPurge(List.of()));
+        assertEquals("User IDs cannot be null",
+                assertThrows(ValidationException.class, () -> purgeService.requestPurge(Arrays.asList(1L, null))).getMessage());
+        assertEquals("Cannot purge orders of more than 3 users at once",
+                assertThrows(ValidationException.class, () -> purgeService.requestPurge(List.of(1L, 2L, 3L, 4L))).getMessage());
+        verify(orderPurgeTaskRepository, never()).saveAll(anyList());
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should delete a full batch and keep the task")
+    void shouldDeleteFullBatchAndKeepTask() {
+        OrderPurgeTask task = new OrderPurgeTask(7L, Instant.now(), 4);
+        stubPendingTask(task);
+        when(orderRepository.findIdsByUserId(7L, Limit.of(2))).thenReturn(List.of(10L, 11L));
+        when(orderRepository.deleteOrdersByIdIn(List.of(10L, 11L))).thenReturn(2);
+
+        assertEquals(2, purgeService.purgeNextBatch());
+
+        assertEquals(6, task.getDeletedCount());
+        verify(orderPurgeTaskRepository).save(task);
+        verify(orderPurgeTaskRepository, never()).delete(any());
+        verify(userOrdersCache).evictAfterCommit(List.of(7L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:10", "order:11"));
+        verify(orderChangeLog).record(List.of(OrderChange.deleted(10L), OrderChange.deleted(11L)));
+        verify(transactionManager).commit(any());
+        assertEquals(2.0, meterRegistry.get("orders.purge.deleted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should remove the task once the last batch is deleted")
+    void shouldRemoveTaskAfterLastBatch() {
+        when(orderPurgeTaskRepository.count()).thenReturn(1L);
+        purgeService.init();
+        OrderPurgeTask task = new OrderPurgeTask(7L, Instant.now(), 6);
+        stubPendingTask(task);
+        when(orderRepository.findIdsByUserId(7L, Limit.of(2))).thenReturn(List.of(12L));
+        when(orderRepository.deleteOrdersByIdIn(List.of(12L))).thenReturn(1);
+
+        assertEquals(1, purgeService.purgeNextBatch());
+
+        assertEquals(7, task.getDeletedCount());
+        verify(orderPurgeTaskRepository).delete(task);
+        assertEquals(0.0, meterRegistry.get("orders.purge.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should remove the task of a user without orders")
+    void shouldRemoveTaskOfUserWithoutOrders() {
+        OrderPurgeTask task = new OrderPurgeTask(8L, Instant.now(), 0);
+        stubPendingTask(task);
+        when(orderRepository.findIdsByUserId(8L, Limit.of(2))).thenReturn(List.of());
+
+        assertEquals(0, purgeService.purgeNextBatch());
+
+        verify(orderPurgeTaskRepository).delete(task);
+        verify(orderRepository, never()).deleteOrdersByIdIn(anyList());
+        verifyNoInteractions(userOrdersCache, responseCache);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no purge is pending")
+    void shouldDoNothingWithoutPendingPurges() {
+        when(orderPurgeTaskRepository.count()).thenReturn(3L);
+        purgeService.init();
+        assertEquals(3.0, meterRegistry.get("orders.purge.pending").gauge().value());
+        when(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()).thenReturn(Optional.empty());
+
+        assertEquals(0, purgeService.purgeNextBatch());
+
+        assertEquals(0.0, meterRegistry.get("orders.purge.pending").gauge().value());
+        verifyNoInteractions(orderRepository, userServiceClient, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should drop the task of a user that still exists without deleting orders")
+    void shouldCancelPurgeOfLiveUser() {
+        OrderPurgeTask task = new OrderPurgeTask(7L, Instant.now(), 0);
+        when(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()).thenReturn(Optional.of(task));
+        when(userServiceClient.userExists(7L)).thenReturn(true);
+        when(orderPurgeTaskRepository.findById(7L)).thenReturn(Optional.of(task));
+
+        assertEquals(0, purgeService.purgeNextBatch());
+
+        verify(orderPurgeTaskRepository).delete(task);
+        verifyNoInteractions(orderRepository, userOrdersCache, responseCache, orderChangeLog);
+    }
+
+    @Test
+    @DisplayName("Should keep the task and delete nothing while UserService cannot be reached")
+    void shouldDeferPurgeWhenUserServiceUnavailable() {
+        OrderPurgeTask task = new OrderPurgeTask(7L, Instant.now(), 0);
+        when(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()).thenReturn(Optional.of(task));
+        when(userServiceClient.userExists(7L)).thenThrow(new InvalidUserException("Error validating user"));
+
+        assertEquals(0, purgeService.purgeNextBatch());
+
+        verify(orderPurgeTaskRepository, never()).delete(any());
+        verifyNoInteractions(orderRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should delete nothing when the task was finished elsewhere")
+    void shouldSkipTaskFinishedElsewhere() {
+        OrderPurgeTask task = new OrderPurgeTask(7L, Instant.now(), 0);
+        when(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()).thenReturn(Optional.of(task));
+        when(userServiceClient.userExists(7L)).thenReturn(false);
+        when(orderPurgeTaskRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertEquals(0, purgeService.purgeNextBatch());
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    private void stubPendingTask(OrderPurgeTask task) {
+        when(orderPurgeTaskRepository.findFirstByOrderByRequestedAtAscUserIdAsc()).thenReturn(Optional.of(task));
+        when(userServiceClient.userExists(task.getUserId())).thenReturn(false);
+        when(orderPurgeTaskRepository.findById(task.getUserId())).thenReturn(Optional.of(task));
+    }
+}
@@ -1,13 +1,27 @@
 package com.example.orderservice.service;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.cache.ResponseCache;
+import com.example.common.web.FieldSelection;
+import com.example.orderservice.analytics.TrendingProducts;
+import com.example.orderservice.cache.ProductDictionary;
+import com.example.orderservice.cache.UserOrdersCache;
 import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.OrderPatchRequest;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderSearchRequest;
 import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderChange;
+import com.example.orderservice.event.OrderChangeLog;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSort;
 import com.example.orderservice.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,14 +30,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,6 +72,24 @@ class OrderServiceImplTest {
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private UserOrdersCache userOrdersCache;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private OrderChangeLog orderChangeLog;
+
+    @Mock
+    private ProductDictionary productDictionary;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -98,14 +144,14 @@ class OrderServiceImplTest {
         update.setQuantity(2);
         update.setPrice(new java.math.BigDecimal("20.00"));
 
-        when(orderRepository.save(any(com.example.orderservice.entity.Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(orderRepository.saveAndFlush(any(com.example.orderservice.entity.Order.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        OrderResponse resp = orderService.updateOrder(1L, update);
+        OrderResponse resp = orderService.updateOrder(1L, update, null);
 
         assertEquals(1L, resp.getUserId());
         assertEquals("New", resp.getProduct());
         verify(orderRepository).findById(1L);
-        verify(orderRepository).save(any(com.example.orderservice.entity.Order.class));
+        verify(orderRepository).saveAndFlush(any(com.example.orderservice.entity.Order.class));
         // userServiceClient.userExists should NOT be called when userId unchanged
         verify(userServiceClient, never()).userExists(anyLong());
     }
@@ -127,6 +173,9 @@ class OrderServiceImplTest {
         
         verify(userServiceClient).userExists(1L);
         verify(orderRepository).save(any(Order.class));
+        verify(userOrdersCache).evictAfterCommit(List.of(1L));
+        verify(orderChangeLog).record(List.of(OrderChange.created(result)));
+        verify(trendingProducts).recordAfterCommit(List.of("Laptop"));
     }
 
     @Test
@@ -248,6 +297,21 @@ class OrderServiceImplTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should throw ValidationException when price does not fit the price column")
+    void shouldThrowValidationExceptionWhenPriceDoesNotFit() {
+        for (String price : new String[]{"0.001", "100000000.00", "1E+30"}) {
+            testOrderRequest.setPrice(new BigDecimal(price));
+
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> orderService.createOrder(testOrderRequest));
+            assertEquals("Price must have at most 8 digits before and 2 after the decimal point", exception.getMessage());
+        }
+        
+        verify(userServiceClient, never()).userExists(any(Long.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Should throw ValidationException when price is negative")
     void shouldThrowValidationExceptionWhenPriceIsNegative() {
@@ -324,6 +388,8 @@ class OrderServiceImplTest {
         List<Order> orders = Arrays.asList(testOrder, order2);
         when(orderRepository.findByUserId(1L)).thenReturn(orders);
         when(userServiceClient.userExists(1L)).thenReturn(true);
+        when(userOrdersCache.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, List<OrderResponse>>>getArgument(1).apply(1L));
 
         List<OrderResponse> result = orderService.getOrdersByUserId(1L);
 
@@ -349,6 +415,133 @@ class OrderServiceImplTest {
         verify(orderRepository, never()).findByUserId(anyLong());
     }
 
+    @Test
+    @DisplayName("Should read only the selected fields of orders")
+    void shouldGetSelectedFieldsOfOrders() {
+        FieldSelection fields = FieldSelection.parse("price", OrderResponse.class);
+        Map<String, Object> order = Map.of("id", 1L, "price", new BigDecimal("999.99"));
+        when(orderRepository.findFieldsById(1L, fields)).thenReturn(Optional.of(order));
+        when(orderRepository.findFieldsById(2L, fields)).thenReturn(Optional.empty());
+        when(orderRepository.findAllFields(fields)).thenReturn(List.of(order));
+
+        assertEquals(order, orderService.getOrderById(1L, fields));
+        assertEquals("Order not found with ID: 2",
+                assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(2L, fields)).getMessage());
+        assertEquals(List.of(order), orderService.getAllOrders(fields));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should resolve the product ID a fields query selected to its name")
+    void shouldResolveSelectedProductName() {
+        FieldSelection fields = FieldSelection.parse("product", OrderResponse.class);
+        Map<String, Object> order = new LinkedHashMap<>(Map.of("id", 1L, "product", 7));
+        Map<String, Object> other = new LinkedHashMap<>(Map.of("id", 2L, "product", 7));
+        when(orderRepository.findFieldsById(1L, fields)).thenReturn(Optional.of(order));
+        when(orderRepository.findAllFields(fields)).thenReturn(List.of(other));
+        when(productDictionary.nameOf(7)).thenReturn("Tablet");
+
+        assertEquals(Map.of("id", 1L, "product", "Tablet"), orderService.getOrderById(1L, fields));
+        assertEquals(List.of(Map.of("id", 2L, "product", "Tablet")), orderService.getAllOrders(fields));
+    }
+
+    @Test
+    @DisplayName("Should search orders one keyset page at a time")
+    void shouldSearchOrders() {
+        ReflectionTestUtils.setField(orderService, "maxSearchLimit", 100);
+        testOrder.setCreatedAt(Instant.parse("2025-08-07T21:00:00Z"));
+        Order next = new Order();
+        next.setId(2L);
+        next.setProduct("Mouse");
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setProduct(" ");
+        request.setSort("-createdAt");
+        request.setLimit(1);
+        when(orderRepository.search(request, OrderSort.CREATED_AT_DESC, null, 2)).thenReturn(List.of(testOrder, next));
+
+        PageResponse<OrderResponse> page = orderService.searchOrders(request);
+
+        assertEquals(List.of(1L), page.getItems().stream().map(OrderResponse::getId).toList());
+        assertEquals("2025-08-07T21:00:00Z_1", page.getNextCursor());
+        assertNull(request.getProduct());
+
+        request.setAfter(page.getNextCursor());
+        request.setLimit(2);
+        when(orderRepository.search(request, OrderSort.CREATED_AT_DESC, new OrderSort.Position(testOrder.getCreatedAt(), 1L), 3))
+                .thenReturn(List.of(next));
+        page = orderService.searchOrders(request);
+
+        assertEquals(List.of(2L), page.getItems().stream().map(OrderResponse::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should not query for a product that was never added")
+    void shouldSkipSearchForUnknownProduct() {
+        ReflectionTestUtils.setField(orderService, "maxSearchLimit", 100);
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setProduct("Hoverboard");
+        when(productDictionary.find("Hoverboard")).thenReturn(null);
+
+        PageResponse<OrderResponse> page = orderService.searchOrders(request);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verifyNoInteractions(orderRepository);
+
+        request.setProduct("Laptop");
+        when(productDictionary.find("Laptop")).thenReturn(1);
+        when(orderRepository.search(request, OrderSort.ID_ASC, null, 21)).thenReturn(List.of(testOrder));
+        assertEquals(1, orderService.searchOrders(request).getItems().size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid searches")
+    void shouldRejectInvalidSearches() {
+        ReflectionTestUtils.setField(orderService, "maxSearchLimit", 100);
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setLimit(101);
+        assertEquals("Limit must be between 1 and 100",
+                assertThrows(ValidationException.class, () -> orderService.searchOrders(request)).getMessage());
+        request.setLimit(0);
+        assertThrows(ValidationException.class, () -> orderService.searchOrders(request));
+
+        request.setLimit(20);
+        request.setMinPrice(new BigDecimal("10"));
+        request.setMaxPrice(new BigDecimal("5"));
+        assertEquals("Minimum price must not exceed maximum price",
+                assertThrows(ValidationException.class, () -> orderService.searchOrders(request)).getMessage());
+        request.setMaxPrice(null);
+        request.setMinQuantity(2);
+        request.setMaxQuantity(1);
+        assertEquals("Minimum quantity must not exceed maximum quantity",
+                assertThrows(ValidationException.class, () -> orderService.searchOrders(request)).getMessage());
+        request.setMaxQuantity(2);
+        request.setCreatedFrom(Instant.parse("2025-08-07T00:00:00Z"));
+        request.setCreatedTo(request.getCreatedFrom());
+        assertEquals("createdFrom must be before createdTo",
+                assertThrows(ValidationException.class, () -> orderService.searchOrders(request)).getMessage());
+        request.setCreatedTo(null);
+        request.setSort("cost");
+        assertThrows(ValidationException.class, () -> orderService.searchOrders(request));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should load the orders of several users with one query")
+    void shouldGetOrdersByUserIds() {
+        when(orderRepository.findByUserIdIn(Set.of(1L, 2L))).thenReturn(List.of(testOrder));
+        when(userOrdersCache.getAll(eq(List.of(1L, 2L)), any())).thenAnswer(invocation ->
+                invocation.<Function<Set<Long>, Map<Long, List<OrderResponse>>>>getArgument(1).apply(Set.of(1L, 2L)));
+
+        Map<Long, List<OrderResponse>> result = orderService.getOrdersByUserIds(List.of(1L, 2L));
+
+        assertEquals(List.of(testOrder.getId()), result.get(1L).stream().map(OrderResponse::getId).toList());
+        assertFalse(result.containsKey(2L));
+        verifyNoInteractions(userServiceClient);
+    }
+
     @Test
     @DisplayName("Should update order successfully")
     void shouldUpdateOrderSuccessfully() {
@@ -360,16 +553,19 @@ class OrderServiceImplTest {
         
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(userServiceClient.userExists(2L)).thenReturn(true);
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
-        OrderResponse result = orderService.updateOrder(1L, updateRequest);
+        OrderResponse result = orderService.updateOrder(1L, updateRequest, null);
 
         assertNotNull(result);
         assertEquals(testOrder.getId(), result.getId());
         
         verify(orderRepository).findById(1L);
         verify(userServiceClient).userExists(2L);
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
+        verify(userOrdersCache).evictAfterCommit(List.of(1L, 2L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:1"));
+        verify(orderChangeLog).record(List.of(OrderChange.updated(result)));
     }
 
     @Test
@@ -378,11 +574,11 @@ class OrderServiceImplTest {
         when(orderRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> orderService.updateOrder(1L, testOrderRequest));
+                () -> orderService.updateOrder(1L, testOrderRequest, null));
         assertEquals("Order not found with ID: 1", exception.getMessage());
         
         verify(orderRepository).findById(1L);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -398,36 +594,330 @@ class OrderServiceImplTest {
         when(userServiceClient.userExists(999L)).thenReturn(false);
 
         InvalidUserException exception = assertThrows(InvalidUserException.class,
-                () -> orderService.updateOrder(1L, updateRequest));
+                () -> orderService.updateOrder(1L, updateRequest, null));
         assertEquals("User not found with ID: 999", exception.getMessage());
         
         verify(orderRepository).findById(1L);
         verify(userServiceClient).userExists(999L);
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should patch only the supplied fields")
+    void shouldPatchOrderSuccessfully() {
+        testOrder.setQuantity(3);
+        testOrder.setVersion(1L);
+        when(orderRepository.patch(1L, null, null, 3, null, 0L)).thenReturn(1);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        OrderResponse result = orderService.patchOrder(1L, new OrderPatchRequest(null, null, 3, null, 0L), null);
+
+        assertEquals(3, result.getQuantity());
+        assertEquals(1L, result.getVersion());
+        verify(userServiceClient, never()).userExists(anyLong());
+        verify(orderRepository, never()).findUserIdById(anyLong());
+        verify(userOrdersCache).evictAfterCommit(List.of(1L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:1"));
+        verify(orderChangeLog).record(List.of(OrderChange.updated(result)));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should validate the new user when patching the user ID")
+    void shouldValidateUserWhenPatchingUserId() {
+        when(userServiceClient.userExists(999L)).thenReturn(false);
+
+        InvalidUserException exception = assertThrows(InvalidUserException.class,
+                () -> orderService.patchOrder(1L, new OrderPatchRequest(999L, null, null, null, null), null));
+        assertEquals("User not found with ID: 999", exception.getMessage());
+
+        verify(orderRepository, never()).patch(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should patch the user ID when the user exists")
+    void shouldPatchUserIdWhenUserExists() {
+        when(userServiceClient.userExists(2L)).thenReturn(true);
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(orderRepository.patch(1L, 2L, null, null, null, null)).thenReturn(1);
+        testOrder.setUserId(2L);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertNotNull(orderService.patchOrder(1L, new OrderPatchRequest(2L, null, null, null, null), null));
+        verify(userOrdersCache).evictAfterCommit(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when patching non-existent order")
+    void shouldThrowResourceNotFoundExceptionWhenPatchingNonExistentOrder() {
+        when(productDictionary.idOf("Mouse")).thenReturn(2);
+        when(orderRepository.patch(1L, null, 2, null, null, null)).thenReturn(0);
+        when(orderRepository.existsById(1L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> orderService.patchOrder(1L, new OrderPatchRequest(null, "Mouse", null, null, null), null));
+        assertEquals("Order not found with ID: 1", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when patched order disappears before re-read")
+    void shouldThrowResourceNotFoundExceptionWhenPatchedOrderIsDeleted() {
+        when(productDictionary.idOf("Mouse")).thenReturn(2);
+        when(orderRepository.patch(1L, null, 2, null, null, null)).thenReturn(1);
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.patchOrder(1L, new OrderPatchRequest(null, "Mouse", null, null, null), null));
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the version has changed")
+    void shouldThrowConflictExceptionWhenVersionChanged() {
+        when(orderRepository.patch(1L, null, null, null, new BigDecimal("10.00"), 4L)).thenReturn(0);
+        when(orderRepository.existsById(1L)).thenReturn(true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, null, new BigDecimal("10.00"), 4L), null));
+        assertEquals("Order with ID 1 was modified concurrently; expected version 4", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid patch requests")
+    void shouldRejectInvalidPatchRequests() {
+        assertEquals("Order patch request cannot be null",
+                assertThrows(ValidationException.class, () -> orderService.patchOrder(1L, null, null)).getMessage());
+        assertEquals("At least one field must be supplied",
+                assertThrows(ValidationException.class,
+                        () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, null, null, 1L), null)).getMessage());
+        assertEquals("Product must not be blank",
+                assertThrows(ValidationException.class,
+                        () -> orderService.patchOrder(1L, new OrderPatchRequest(null, " ", null, null, null), null)).getMessage());
+        assertEquals("Quantity must be at least 1",
+                assertThrows(ValidationException.class,
+                        () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, 0, null, null), null)).getMessage());
+        assertEquals("Price must be positive",
+                assertThrows(ValidationException.class,
+                        () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, null, BigDecimal.ZERO, null), null)).getMessage());
+        assertEquals("Price must have at most 8 digits before and 2 after the decimal point",
+                assertThrows(ValidationException.class,
+                        () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, null, new BigDecimal("9.999"), null), null)).getMessage());
+
+        verifyNoInteractions(orderRepository, userServiceClient);
+    }
+
     @Test
     @DisplayName("Should delete order successfully")
     void shouldDeleteOrderSuccessfully() {
-        when(orderRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(orderRepository).deleteById(1L);
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(orderRepository.deleteOrderById(1L, null)).thenReturn(1);
 
-        orderService.deleteOrder(1L);
+        orderService.deleteOrder(1L, null);
 
-        verify(orderRepository).existsById(1L);
-        verify(orderRepository).deleteById(1L);
+        verify(orderRepository).deleteOrderById(1L, null);
+        verify(orderRepository, never()).existsById(any(Long.class));
+        verify(userOrdersCache).evictAfterCommit(List.of(1L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:1"));
+        verify(orderChangeLog).record(List.of(OrderChange.deleted(1L)));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent order")
     void shouldThrowResourceNotFoundExceptionWhenDeletingNonExistentOrder() {
-        when(orderRepository.existsById(1L)).thenReturn(false);
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> orderService.deleteOrder(1L));
+                () -> orderService.deleteOrder(1L, null));
         assertEquals("Order not found with ID: 1", exception.getMessage());
         
-        verify(orderRepository).existsById(1L);
-        verify(orderRepository, never()).deleteById(any(Long.class));
+        verify(orderRepository, never()).deleteOrderById(any(Long.class), any());
+        verifyNoInteractions(userOrdersCache);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the order is deleted concurrently")
+    void shouldThrowResourceNotFoundExceptionWhenOrderDeletedConcurrently() {
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(orderRepository.deleteOrderById(1L, null)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(1L, null));
+        verifyNoInteractions(userOrdersCache);
+    }
+
+    @Test
+    @DisplayName("Should reject a conditional delete of an order that is no longer at the expected version")
+    void shouldRejectConditionalDeleteOfStaleOrder() {
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(orderRepository.deleteOrderById(1L, 2L)).thenReturn(0);
+        when(orderRepository.existsById(1L)).thenReturn(true);
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> orderService.deleteOrder(1L, 2L));
+        assertEquals("Order with ID 1 is no longer at version 2", exception.getMessage());
+        verifyNoInteractions(userOrdersCache, orderChangeLog);
+    }
+
+    @Test
+    @DisplayName("Should reject a conditional update of an order that is no longer at the expected version")
+    void shouldRejectConditionalUpdateOfStaleOrder() {
+        testOrder.setVersion(3L);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(PreconditionFailedException.class, () -> orderService.updateOrder(1L, testOrderRequest, 2L));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should report a concurrent change during a conditional update as a failed precondition")
+    void shouldReportConcurrentChangeDuringConditionalUpdate() {
+        testOrder.setVersion(2L);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L));
+
+        assertThrows(PreconditionFailedException.class, () -> orderService.updateOrder(1L, testOrderRequest, 2L));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> orderService.updateOrder(1L, testOrderRequest, null));
+        verifyNoInteractions(orderChangeLog);
+    }
+
+    @Test
+    @DisplayName("Should patch against the If-Match version when the body has none")
+    void shouldPatchAgainstIfMatchVersion() {
+        when(orderRepository.patch(1L, null, null, 3, null, 2L)).thenReturn(0);
+        when(orderRepository.existsById(1L)).thenReturn(true);
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> orderService.patchOrder(1L, new OrderPatchRequest(null, null, 3, null, null), 2L));
+        assertEquals("Order with ID 1 is no longer at version 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should delete all orders of a user")
+    void shouldDeleteOrdersByUserId() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 1000);
+        stubTransactionTemplate();
+        when(orderRepository.findIdsByUserId(1L, Limit.of(1000))).thenReturn(List.of(4L, 5L, 6L));
+        when(orderRepository.deleteOrdersByIdIn(List.of(4L, 5L, 6L))).thenReturn(3);
+
+        assertEquals(3, orderService.deleteOrdersByUserId(1L));
+        verifyNoInteractions(userServiceClient);
+        verify(transactionTemplate).execute(any());
+        verify(userOrdersCache).evictAfterCommit(List.of(1L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:4", "order:5", "order:6"));
+        verify(orderChangeLog).record(List.of(OrderChange.deleted(4L), OrderChange.deleted(5L), OrderChange.deleted(6L)));
+    }
+
+    @Test
+    @DisplayName("Should delete the orders of a user in chunks of the bulk delete limit, one transaction each")
+    void shouldDeleteOrdersByUserIdInChunks() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 2);
+        stubTransactionTemplate();
+        when(orderRepository.findIdsByUserId(1L, Limit.of(2)))
+                .thenReturn(List.of(4L, 5L), List.of(6L, 7L), List.of());
+        when(orderRepository.deleteOrdersByIdIn(List.of(4L, 5L))).thenReturn(2);
+        // One of the second chunk was deleted concurrently; the loop still continues past a full chunk.
+        when(orderRepository.deleteOrdersByIdIn(List.of(6L, 7L))).thenReturn(1);
+
+        assertEquals(3, orderService.deleteOrdersByUserId(1L));
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(orderRepository, times(2)).deleteOrdersByIdIn(anyCollection());
+        verify(orderChangeLog).record(List.of(OrderChange.deleted(6L), OrderChange.deleted(7L)));
+    }
+
+    @Test
+    @DisplayName("Should not issue a delete for a user without orders")
+    void shouldSkipDeleteForUserWithoutOrders() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 1000);
+        stubTransactionTemplate();
+        when(orderRepository.findIdsByUserId(1L, Limit.of(1000))).thenReturn(List.of());
+
+        assertEquals(0, orderService.deleteOrdersByUserId(1L));
+        verify(orderRepository, never()).deleteOrdersByIdIn(anyCollection());
+        verifyNoInteractions(orderChangeLog);
+    }
+
+    @Test
+    @DisplayName("Should reject bulk delete by null user ID")
+    void shouldRejectBulkDeleteByNullUserId() {
+        assertThrows(ValidationException.class, () -> orderService.deleteOrdersByUserId(null));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should delete distinct orders by ID list")
+    void shouldDeleteOrdersByIdList() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 1000);
+        when(orderRepository.findIdsAndUserIdsByIdIn(anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, 1L}, new Object[]{2L, 2L}, new Object[]{3L, 1L}));
+        when(orderRepository.deleteOrdersByIdIn(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        assertEquals(3, orderService.deleteOrders(List.of(1L, 2L, 2L, 3L, 4L)));
+        verify(userOrdersCache).evictAfterCommit(List.of(1L, 2L));
+        verify(responseCache).invalidateAfterCommit(List.of("order:1", "order:2", "order:3", "order:4"));
+        verify(orderChangeLog).record(List.of(OrderChange.deleted(1L), OrderChange.deleted(2L), OrderChange.deleted(3L)));
+
+        verify(orderRepository).findIdsAndUserIdsByIdIn(argThat(ids -> ids.size() == 4));
+    }
+
+    @Test
+    @DisplayName("Should not issue a delete when none of the listed orders exist")
+    void shouldSkipDeleteWhenNoListedOrderExists() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 1000);
+        when(orderRepository.findIdsAndUserIdsByIdIn(anyCollection())).thenReturn(List.of());
+
+        assertEquals(0, orderService.deleteOrders(List.of(8L, 9L)));
+        verify(orderRepository, never()).deleteOrdersByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject empty, null-containing or oversized ID lists")
+    void shouldRejectInvalidBulkDeleteIdLists() {
+        ReflectionTestUtils.setField(orderService, "maxBulkDeleteIds", 2);
+
+        assertEquals("At least one order ID is required",
+                assertThrows(ValidationException.class, () -> orderService.deleteOrders(null)).getMessage());
+        assertEquals("At least one order ID is required",
+                assertThrows(ValidationException.class, () -> orderService.deleteOrders(List.of())).getMessage());
+        assertEquals("Order IDs cannot be null",
+                assertThrows(ValidationException.class, () -> orderService.deleteOrders(Arrays.asList(1L, null))).getMessage());
+        assertEquals("Cannot delete more than 2 orders at once",
+                assertThrows(ValidationException.class, () -> orderService.deleteOrders(List.of(1L, 2L, 3L))).getMessage());
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should get orders by ID list in request order and report missing IDs")
+    void shouldGetOrdersByIds() {
+        ReflectionTestUtils.setField(orderService, "maxMultiGetIds", 100);
+        Order order2 = new Order();
+        order2.setId(2L);
+        order2.setUserId(1L);
+        order2.setProduct("Mouse");
+        order2.setQuantity(2);
+        order2.setPrice(new BigDecimal("29.99"));
+        when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(testOrder, order2));
+
+        MultiGetResponse<OrderResponse> result = orderService.getOrdersByIds(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(OrderResponse::getId).toList());
+        assertEquals(List.of(9L), result.getMissingIds());
+        verify(orderRepository).findAllById(Set.of(2L, 9L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should reject oversized ID lists on multi-get")
+    void shouldRejectOversizedMultiGet() {
+        ReflectionTestUtils.setField(orderService, "maxMultiGetIds", 2);
+
+        assertEquals("Cannot fetch more than 2 orders at once",
+                assertThrows(ValidationException.class, () -> orderService.getOrdersByIds(List.of(1L, 2L, 3L))).getMessage());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTransactionTemplate() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
     }
 }
@@ -0,0 +1,137 @@
+package com.example.orderservice.service;
+
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.exception.InvalidUserException;
+import com.example.common.exception.ValidationException;
+import com.example.orderservice.client.UserServiceClient;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.UserOrdersResponse;
+import com.example.orderservice.dto.UserResponse;
+import com.example.orderservice.service.impl.UserOrdersServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserOrdersServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserOrdersServiceImpl Tests")
+class UserOrdersServiceImplTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private UserOrdersServiceImpl userOrdersService;
+
+    private final UserResponse john = new UserResponse(1L, "john_doe", "john@example.com", 0L);
+    private final UserResponse jane = new UserResponse(2L, "jane_smith", "jane@example.com", 0L);
+    private final OrderResponse laptop = new OrderResponse(10L, 1L, "Laptop", 1, new BigDecimal("999.99"), 0L, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userOrdersService, "maxUsers", 3);
+        userOrdersService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userOrdersService.stop();
+    }
+
+    @Test
+    @DisplayName("Should fetch the user and the orders at the same time")
+    void shouldFetchUserAndOrdersConcurrently() {
+        // Each lookup only returns once the other one has started.
+        CountDownLatch started = new CountDownLatch(2);
+        when(userServiceClient.getUsersByIds(Set.of(1L))).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            return Map.of(1L, john);
+        });
+        when(orderService.getOrdersByUserIds(Set.of(1L))).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            return Map.of(1L, List.of(laptop));
+        });
+
+        UserOrdersResponse result = userOrdersService.getUserWithOrders(1L);
+
+        assertEquals(john, result.getUser());
+        assertEquals(List.of(laptop), result.getOrders());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidUserException when the user does not exist")
+    void shouldRejectMissingUser() {
+        when(userServiceClient.getUsersByIds(Set.of(5L))).thenReturn(Map.of());
+        when(orderService.getOrdersByUserIds(Set.of(5L))).thenReturn(Map.of(5L, List.of()));
+
+        InvalidUserException exception = assertThrows(InvalidUserException.class,
+                () -> userOrdersService.getUserWithOrders(5L));
+        assertEquals("User not found with ID: 5", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should return users with orders in request order and list missing users")
+    void shouldGetUsersWithOrders() {
+        Set<Long> ids = Set.of(2L, 9L, 1L);
+        when(userServiceClient.getUsersByIds(ids)).thenReturn(Map.of(1L, john, 2L, jane));
+        when(orderService.getOrdersByUserIds(ids)).thenReturn(Map.of(1L, List.of(laptop), 2L, List.of(), 9L, List.of()));
+
+        MultiGetResponse<UserOrdersResponse> result = userOrdersService.getUsersWithOrders(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(jane, john), result.getItems().stream().map(UserOrdersResponse::getUser).toList());
+        assertEquals(List.of(), result.getItems().get(0).getOrders());
+        assertEquals(List.of(laptop), result.getItems().get(1).getOrders());
+        assertEquals(List.of(9L), result.getMissingIds());
+    }
+
+    @Test
+    @DisplayName("Should reject empty, null-containing and oversized ID lists")
+    void shouldRejectInvalidIdLists() {
+        assertEquals("At least one user ID is required",
+                assertThrows(ValidationException.class, () -> userOrdersService.getUsersWithOrders(null)).getMessage());
+        assertThrows(ValidationException.class, () -> userOrdersService.getUsersWithOrders(List.of()));
+        assertEquals("User IDs cannot be null",
+                assertThrows(ValidationException.class, () -> userOrdersService.getUsersWithOrders(Arrays.asList(1L, null))).getMessage());
+        assertEquals("Cannot fetch more than 3 users at once",
+                assertThrows(ValidationException.class, () -> userOrdersService.getUsersWithOrders(List.of(1L, 2L, 3L, 4L))).getMessage());
+        verifyNoInteractions(userServiceClient, orderService);
+    }
+
+    @Test
+    @DisplayName("Should propagate UserService failures unwrapped")
+    void shouldPropagateClientFailure() {
+        InvalidUserException failure = new InvalidUserException("Error fetching users: 503 Service Unavailable");
+        when(userServiceClient.getUsersByIds(any())).thenThrow(failure);
+        lenient().when(orderService.getOrdersByUserIds(any())).thenReturn(Map.of());
+
+        assertSame(failure, assertThrows(InvalidUserException.class, () -> userOrdersService.getUserWithOrders(1L)));
+    }
+}
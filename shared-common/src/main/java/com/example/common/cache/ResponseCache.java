@@ -0,0 +1,180 @@
+package com.example.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Byte-bounded cache of serialized HTTP responses, invalidated by tag.
+ *
+ * Every entry carries the tags of the records it was rendered from, such as
+ * {@code user:42}. Writers invalidate tags once their transaction commits.
+ * A response rendered while one of its own tags was invalidated is not kept, so
+ * a slow reader can never re-cache data that a concurrent writer has just
+ * replaced. Invalidations are counted per tag in a fixed set of stripes, so
+ * writes to unrelated records do not stop other responses from being cached.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Slf4j
+public class ResponseCache {
+
+    static final String REQUESTS_METRIC = "http.response.cache.requests";
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidations = new AtomicLongArray(EPOCH_STRIPES);
+
+    /**
+     * A serialized response body together with the tags it depends on.
+     *
+     * @param contentType the response content type
+     * @param body the serialized response body
+     * @param tags the invalidation tags of the entry
+     */
+    public record CachedResponse(String contentType, byte[] body, Set<String> tags) {
+    }
+
+    public ResponseCache(long maxBytes, Duration ttl, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    // A replaced entry keeps its key and therefore its tags.
+                    if (key != null && response != null && cause != RemovalCause.REPLACED) {
+                        unindex(key, response.tags());
+                    }
+                })
+                .build();
+        Gauge.builder("http.response.cache.size", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .baseUnit("bytes")
+                .description("Bytes of serialized responses held in the response cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up a cached response and record a hit or miss for the route.
+     *
+     * @param key the cache key of the request
+     * @param route the route pattern the request matched
+     * @return the cached response, or null on a miss
+     */
+    public CachedResponse get(String key, String route) {
+        CachedResponse response = cache.getIfPresent(key);
+        meterRegistry.counter(REQUESTS_METRIC, "route", route, "result", response != null ? "hit" : "miss")
+                .increment();
+        return response;
+    }
+
+    /**
+     * Current invalidation epoch of the tags; pass it back to {@link #put} for a
+     * response with these tags rendered after this call.
+     *
+     * @param tags the tags of the response about to be rendered
+     * @return the invalidation epoch of the tags
+     */
+    public long epoch(Set<String> tags) {
+        // Stripe counters only grow, so the sum changes whenever any of the tags is invalidated.
+        long epoch = 0;
+        for (String tag : tags) {
+            epoch += invalidations.get(stripe(tag));
+        }
+        return epoch;
+    }
+
+    /**
+     * Store a response unless one of its tags was invalidated since {@code epoch}.
+     *
+     * @param key the cache key of the request
+     * @param response the serialized response
+     * @param epoch the epoch of the response's tags read before it was rendered
+     */
+    public void put(String key, CachedResponse response, long epoch) {
+        if (epoch(response.tags()) != epoch) {
+            return;
+        }
+        // Index first, so an invalidation that follows the put always finds the key.
+        for (String tag : response.tags()) {
+            keysByTag.compute(tag, (t, keys) -> {
+                Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+        cache.put(key, response);
+        if (epoch(response.tags()) != epoch) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Drop every entry carrying one of the tags.
+     *
+     * @param tags the tags to invalidate
+     */
+    public void invalidate(Collection<String> tags) {
+        for (String tag : tags) {
+            invalidations.incrementAndGet(stripe(tag));
+            Set<String> keys = keysByTag.remove(tag);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+        log.debug("Invalidated cached responses tagged {}", tags);
+    }
+
+    /**
+     * Invalidate tags after the current transaction commits, or immediately if none is active.
+     *
+     * @param tags the tags to invalidate
+     */
+    public void invalidateAfterCommit(Collection<String> tags) {
+        Set<String> pending = Set.copyOf(tags);
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(pending);
+                }
+            });
+        } else {
+            invalidate(pending);
+        }
+    }
+
+    private static int stripe(String tag) {
+        return Math.floorMod(tag.hashCode(), EPOCH_STRIPES);
+    }
+
+    private void unindex(String key, Set<String> tags) {
+        for (String tag : tags) {
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.common.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves selected GET routes from a {@link ResponseCache}.
+ *
+ * Each route is a path pattern mapped to tag templates whose {@code {variables}}
+ * are filled from the matched path, e.g. {@code /users/{id}} tagged
+ * {@code user:{id}}. Responses are keyed by path, query string and Accept header;
+ * only {@code 200 OK} bodies are stored, and hits are written to the output
+ * stream as-is without reaching the controller. Cached routes must therefore
+ * not depend on other request headers or set response headers of their own.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    public static final String CACHE_HEADER = "X-Response-Cache";
+
+    private final ResponseCache responseCache;
+    private final List<Route> routes = new ArrayList<>();
+
+    private record Route(PathPattern pattern, List<String> tagTemplates) {
+    }
+
+    /**
+     * @param responseCache the cache to serve from
+     * @param routes path patterns mapped to the tag templates of their responses
+     */
+    public ResponseCacheFilter(ResponseCache responseCache, Map<String, List<String>> routes) {
+        this.responseCache = responseCache;
+        routes.forEach((pattern, tags) ->
+                this.routes.add(new Route(PathPatternParser.defaultInstance.parse(pattern), List.copyOf(tags))));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+            if (match != null) {
+                serve(request, response, chain, route, match.getUriVariables());
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                       Route route, Map<String, String> variables) throws ServletException, IOException {
+        String key = request.getRequestURI() + '?' + request.getQueryString() + '|' + request.getHeader(HttpHeaders.ACCEPT);
+        String routeName = route.pattern().getPatternString();
+        ResponseCache.CachedResponse cached = responseCache.get(key, routeName);
+        if (cached != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.setHeader(CACHE_HEADER, "HIT");
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        Set<String> tags = tags(route, variables);
+        long epoch = responseCache.epoch(tags);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null) {
+            responseCache.put(key, new ResponseCache.CachedResponse(wrapper.getContentType(),
+                    wrapper.getContentAsByteArray(), tags), epoch);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private Set<String> tags(Route route, Map<String, String> variables) {
+        Set<String> tags = new LinkedHashSet<>();
+        for (String template : route.tagTemplates()) {
+            String tag = template;
+            for (Map.Entry<String, String> variable : variables.entrySet()) {
+                tag = tag.replace('{' + variable.getKey() + '}', variable.getValue());
+            }
+            tags.add(tag);
+        }
+        return tags;
+    }
+}
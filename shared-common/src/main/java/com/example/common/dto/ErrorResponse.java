@@ -31,7 +31,7 @@ public class ErrorResponse {
     private String error;
 
     @Schema(description = "HTTP status code",
-            examples = {"400", "404", "500"})
+            examples = {"400", "404", "409", "412", "500"})
     private Integer status;
 
     @Schema(description = "Timestamp of the error",
@@ -52,6 +52,27 @@ public class ErrorResponse {
         return new ErrorResponse(message, 404, LocalDateTime.now().toString());
     }
 
+    /**
+     * Creates a 401 Unauthorized error response.
+     */
+    public static ErrorResponse unauthorized(String message) {
+        return new ErrorResponse(message, 401, LocalDateTime.now().toString());
+    }
+
+    /**
+     * Creates a 409 Conflict error response.
+     */
+    public static ErrorResponse conflict(String message) {
+        return new ErrorResponse(message, 409, LocalDateTime.now().toString());
+    }
+
+    /**
+     * Creates a 412 Precondition Failed error response.
+     */
+    public static ErrorResponse preconditionFailed(String message) {
+        return new ErrorResponse(message, 412, LocalDateTime.now().toString());
+    }
+
     /**
      * Creates a 500 Internal Server Error response.
      */
@@ -59,6 +80,13 @@ public class ErrorResponse {
         return new ErrorResponse(message, 500, LocalDateTime.now().toString());
     }
 
+    /**
+     * Creates a 503 Service Unavailable error response.
+     */
+    public static ErrorResponse serviceUnavailable(String message) {
+        return new ErrorResponse(message, 503, LocalDateTime.now().toString());
+    }
+
     /**
      * Creates an error response with custom status code.
      */
@@ -0,0 +1,28 @@
+package com.example.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for multi-get responses returning several resources by ID in one call.
+ * 
+ * @param <T> the resource type
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resources found for a list of IDs, in request order, plus the IDs that were not found")
+public class MultiGetResponse<T> {
+
+    @Schema(description = "Resources found, in the order their IDs were requested")
+    private List<T> items;
+
+    @Schema(description = "Requested IDs that do not exist", example = "[7, 12]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,28 @@
+package com.example.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset-paginated listing.
+ * 
+ * @param <T> the resource type
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of results plus the cursor to fetch the next page")
+public class PageResponse<T> {
+
+    @Schema(description = "Resources on this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor to pass as 'after' for the next page; null on the last page", example = "42")
+    private String nextCursor;
+}
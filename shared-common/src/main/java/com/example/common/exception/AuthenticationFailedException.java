@@ -0,0 +1,18 @@
+package com.example.common.exception;
+
+/**
+ * Exception thrown when supplied credentials do not match a user.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class AuthenticationFailedException extends RuntimeException {
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+
+    public AuthenticationFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -54,6 +54,54 @@ public abstract class BaseGlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle ConflictException.
+     * 
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    protected ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        log.error("Conflict: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.conflict(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handle PreconditionFailedException.
+     * 
+     * @param ex the exception
+     * @return error response with 412 status
+     */
+    protected ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.preconditionFailed(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handle AuthenticationFailedException.
+     * 
+     * @param ex the exception
+     * @return error response with 401 status
+     */
+    protected ResponseEntity<ErrorResponse> handleAuthenticationFailedException(AuthenticationFailedException ex) {
+        log.warn("Authentication failed: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.unauthorized(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+
+    /**
+     * Handle ServiceUnavailableException.
+     * 
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    protected ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("Service unavailable: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.serviceUnavailable(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Handle InternalServerException.
      * 
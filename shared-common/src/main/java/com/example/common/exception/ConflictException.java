@@ -0,0 +1,18 @@
+package com.example.common.exception;
+
+/**
+ * Exception thrown when a request conflicts with the current state of a resource.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.common.exception;
+
+/**
+ * Exception thrown when a conditional write no longer matches the current version of a resource.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
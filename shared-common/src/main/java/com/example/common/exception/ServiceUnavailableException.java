@@ -0,0 +1,18 @@
+package com.example.common.exception;
+
+/**
+ * Exception thrown when a request is shed because the service is temporarily saturated.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
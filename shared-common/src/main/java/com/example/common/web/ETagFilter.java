@@ -0,0 +1,253 @@
+package com.example.common.web;
+
+import com.example.common.dto.ErrorResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Strong ETags for single-entity routes, derived from the entity version.
+ *
+ * Each route is a path pattern with an {@code {id}} variable mapped to a
+ * {@link VersionLookup}. The lookup is only made for requests with a conditional
+ * header, so plain reads stay as cheap as the caches behind this filter make them.
+ *
+ * A 200 GET response is tagged with the {@code version} of the body actually
+ * rendered, read back from its top-level JSON field; the tag can then never
+ * describe a different version than the body it comes with, even when that body
+ * was served from a cache. A matching {@code If-None-Match} is answered with
+ * {@code 304 Not Modified} from the version lookup alone, without loading or
+ * serializing the entity. On PUT, PATCH and
+ * DELETE a non-matching {@code If-Match} fails with {@code 412 Precondition Failed}
+ * before the request reaches the controller. A matching {@code If-Match} is passed
+ * on as the {@link #EXPECTED_VERSION_ATTRIBUTE} request attribute; the write must
+ * apply only to that version and answer {@code 412} itself if the entity changed
+ * after this check. Unknown IDs are passed through so the controller can answer
+ * {@code 404}.
+ *
+ * A GET with a {@code fields} parameter returns a different representation of
+ * the same version, so its ETag also carries the selected fields; a trimmed
+ * response can then never be revalidated as the full one, or the other way round.
+ * A selection without {@code version} renders no version and gets no ETag.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class ETagFilter extends OncePerRequestFilter {
+
+    /** Runs ahead of the response cache, so conditional GETs never reach it. */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    /** Request attribute holding the version a matching {@code If-Match} named, for the conditional write. */
+    public static final String EXPECTED_VERSION_ATTRIBUTE = "com.example.common.web.ETagFilter.expectedVersion";
+
+    private static final Set<String> CONDITIONAL_WRITES = Set.of("PUT", "PATCH", "DELETE");
+    private static final String WEAK_PREFIX = "W/";
+    private static final String VERSION_FIELD = "version";
+
+    private final ObjectMapper objectMapper;
+    private final List<Route> routes = new ArrayList<>();
+
+    private record Route(PathPattern pattern, VersionLookup lookup) {
+    }
+
+    private record Target(VersionLookup lookup, Long id) {
+
+        Optional<Long> version() {
+            return lookup.findVersion(id);
+        }
+    }
+
+    /**
+     * @param objectMapper serializes 412 error responses
+     * @param routes path patterns with an {@code {id}} variable mapped to their version lookup
+     */
+    public ETagFilter(ObjectMapper objectMapper, Map<String, VersionLookup> routes) {
+        this.objectMapper = objectMapper;
+        routes.forEach((pattern, lookup) ->
+                this.routes.add(new Route(PathPatternParser.defaultInstance.parse(pattern), lookup)));
+    }
+
+    /**
+     * Format a version as a strong entity tag.
+     *
+     * @param version the entity version
+     * @return the quoted entity tag
+     */
+    public static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Format a version as a strong entity tag for a representation limited to some fields.
+     *
+     * @param version the entity version
+     * @param fields the {@code fields} parameter, or null for the full representation
+     * @return the quoted entity tag
+     */
+    public static String etag(long version, String fields) {
+        String canonical = FieldSelection.canonical(fields);
+        return canonical == null ? etag(version) : "\"" + version + ";" + canonical + "\"";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !CONDITIONAL_WRITES.contains(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Target target = match(request);
+        if (target == null) {
+            chain.doFilter(request, response);
+        } else if (HttpMethod.GET.matches(request.getMethod())) {
+            filterRead(request, response, chain, target);
+        } else {
+            filterWrite(request, response, chain, target);
+        }
+    }
+
+    private void filterRead(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Target target)
+            throws ServletException, IOException {
+        String fields = request.getParameter(FieldSelection.PARAMETER);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = target.version();
+            if (version.isPresent() && matches(ifNoneMatch, etag(version.get(), fields), true)) {
+                response.setHeader(HttpHeaders.ETAG, etag(version.get(), fields));
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                Long rendered = renderedVersion(wrapper.getContentAsByteArray());
+                if (rendered != null) {
+                    wrapper.setHeader(HttpHeaders.ETAG, etag(rendered, fields));
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void filterWrite(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Target target)
+            throws ServletException, IOException {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        Optional<Long> version = ifMatch != null ? target.version() : Optional.empty();
+        if (version.isPresent()) {
+            String etag = etag(version.get());
+            if (!matches(ifMatch, etag, false)) {
+                rejectPrecondition(response, etag);
+                return;
+            }
+            if (!ifMatch.trim().equals("*")) {
+                request.setAttribute(EXPECTED_VERSION_ATTRIBUTE, version.get());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Target match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+            if (match != null) {
+                Long id = parseId(match.getUriVariables().get("id"));
+                return id != null ? new Target(route.lookup(), id) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the top-level {@code version} field of a rendered JSON body.
+     *
+     * @param body the response body
+     * @return the version, or null if the body is not a JSON object with a numeric version
+     */
+    private Long renderedVersion(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (VERSION_FIELD.equals(name)) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // Leave malformed IDs to the controller's own error handling.
+            return null;
+        }
+    }
+
+    /**
+     * Compare a conditional header against the current entity tag.
+     *
+     * @param header the If-None-Match or If-Match value, possibly a list
+     * @param etag the current entity tag
+     * @param weak true for the weak comparison used by If-None-Match
+     * @return true if the header is {@code *} or lists the entity tag
+     */
+    private boolean matches(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (weak && tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rejectPrecondition(HttpServletResponse response, String etag) throws IOException {
+        response.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponse.preconditionFailed("If-Match does not match the current version " + etag));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.common.web;
+
+import com.example.common.exception.ValidationException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * The fields requested with a {@code fields} query parameter, e.g. {@code ?fields=id,price}.
+ *
+ * Names are checked against the properties of a response DTO, which match the
+ * attributes of its entity, so a selection can be used both to project the
+ * query and to build the trimmed JSON object. {@code id} is always selected.
+ * An absent or blank parameter means all fields.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public final class FieldSelection {
+
+    /** Name of the query parameter. */
+    public static final String PARAMETER = "fields";
+
+    private static final String ID = "id";
+
+    private final List<String> names;
+
+    private FieldSelection(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Whether a {@code fields} parameter asks for a subset of the fields.
+     *
+     * @param fields the parameter value, possibly null
+     * @return true if it names at least one field
+     */
+    public static boolean isRequested(String fields) {
+        return fields != null && !fields.isBlank();
+    }
+
+    /**
+     * Parse a {@code fields} parameter against the properties of a response DTO.
+     *
+     * @param fields comma-separated field names
+     * @param type the response DTO
+     * @return the selected fields, in the order the DTO declares them
+     * @throws ValidationException if a name is not a property of the DTO
+     */
+    public static FieldSelection parse(String fields, Class<?> type) {
+        List<String> allowed = Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .toList();
+        Set<String> requested = new HashSet<>(List.of(ID));
+        for (String name : names(fields)) {
+            if (!allowed.contains(name)) {
+                throw new ValidationException("Unknown field '" + name + "', expected any of " + String.join(", ", allowed));
+            }
+            requested.add(name);
+        }
+        return new FieldSelection(allowed.stream().filter(requested::contains).toList());
+    }
+
+    /**
+     * A stable form of a {@code fields} parameter that does not depend on name order,
+     * duplicates or whitespace; used to tell representations of the same entity apart.
+     *
+     * @param fields the parameter value, possibly null
+     * @return the sorted names joined with ';', or null if all fields are requested
+     */
+    public static String canonical(String fields) {
+        if (!isRequested(fields)) {
+            return null;
+        }
+        Set<String> sorted = new TreeSet<>(names(fields));
+        sorted.add(ID);
+        return String.join(";", sorted);
+    }
+
+    /**
+     * The selected field names, in DTO declaration order.
+     *
+     * @return the names
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Build the JSON object of one resource from its selected values.
+     *
+     * @param values returns the value of a selected field
+     * @return the fields in selection order
+     */
+    public Map<String, Object> toMap(Function<String, Object> values) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        names.forEach(name -> map.put(name, values.apply(name)));
+        return map;
+    }
+
+    private static List<String> names(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+}
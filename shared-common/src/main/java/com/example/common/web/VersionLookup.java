@@ -0,0 +1,21 @@
+package com.example.common.web;
+
+import java.util.Optional;
+
+/**
+ * Looks up the current version of an entity without loading it.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface VersionLookup {
+
+    /**
+     * Find the version of the entity with the given ID.
+     *
+     * @param id the entity ID
+     * @return the version, or empty if the entity does not exist
+     */
+    Optional<Long> findVersion(Long id);
+}
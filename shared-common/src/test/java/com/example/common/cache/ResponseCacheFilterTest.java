@@ -0,0 +1,115 @@
+package com.example.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ResponseCacheFilter.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("ResponseCacheFilter Tests")
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private ResponseCache responseCache;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        filter = new ResponseCacheFilter(responseCache, Map.of("/users/{id}", List.of("user:{id}")));
+    }
+
+    @Test
+    @DisplayName("Should render a miss once and serve the repeat from the cache")
+    void shouldServeRepeatFromCache() throws Exception {
+        MockHttpServletResponse miss = get("/users/1", render(HttpServletResponse.SC_OK));
+        MockHttpServletResponse hit = get("/users/1", render(HttpServletResponse.SC_OK));
+
+        assertEquals("MISS", miss.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", hit.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(200, hit.getStatus());
+        assertEquals("application/json", hit.getContentType());
+        assertEquals(miss.getContentAsString(), hit.getContentAsString());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should only cache 200 responses")
+    void shouldOnlyCacheOkResponses() throws Exception {
+        MockHttpServletResponse notFound = get("/users/1", render(HttpServletResponse.SC_NOT_FOUND));
+        get("/users/1", render(HttpServletResponse.SC_NOT_FOUND));
+
+        assertEquals(404, notFound.getStatus());
+        assertEquals("{\"id\":1}", notFound.getContentAsString());
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a response whose record was invalidated while it was rendered")
+    void shouldNotCacheResponseInvalidatedDuringRender() throws Exception {
+        get("/users/1", (request, response) -> {
+            render(HttpServletResponse.SC_OK).doFilter(request, response);
+            responseCache.invalidate(List.of("user:1"));
+        });
+        MockHttpServletResponse next = get("/users/1", render(HttpServletResponse.SC_OK));
+
+        assertEquals("MISS", next.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should key entries by query string and Accept header")
+    void shouldKeyByQueryAndAccept() throws Exception {
+        get("/users/1", render(HttpServletResponse.SC_OK));
+        MockHttpServletRequest fields = new MockHttpServletRequest("GET", "/users/1");
+        fields.setQueryString("fields=id");
+        filter.doFilter(fields, new MockHttpServletResponse(), render(HttpServletResponse.SC_OK));
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should pass through other methods and unmatched paths")
+    void shouldPassThroughUncachedRequests() throws Exception {
+        MockHttpServletResponse other = get("/orders/1", render(HttpServletResponse.SC_OK));
+        get("/orders/1", render(HttpServletResponse.SC_OK));
+        MockHttpServletResponse put = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/users/1"), put, render(HttpServletResponse.SC_OK));
+
+        assertNull(other.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertNull(put.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(3, renders.get());
+    }
+
+    private MockHttpServletResponse get(String path, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+        return response;
+    }
+
+    private FilterChain render(int status) {
+        return (request, response) -> {
+            renders.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(status);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"id\":1}");
+        };
+    }
+}
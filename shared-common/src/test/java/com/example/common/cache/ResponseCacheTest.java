@@ -0,0 +1,153 @@
+package com.example.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ResponseCache.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("ResponseCache Tests")
+class ResponseCacheTest {
+
+    private static final String ROUTE = "/users/{id}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(1_000, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a stored response and count hits and misses per route")
+    void shouldServeStoredResponse() {
+        assertNull(responseCache.get("/users/1", ROUTE));
+        ResponseCache.CachedResponse response = response("user:1");
+        responseCache.put("/users/1", response, responseCache.epoch(response.tags()));
+
+        assertSame(response, responseCache.get("/users/1", ROUTE));
+        assertEquals(1.0, meterRegistry.get(ResponseCache.REQUESTS_METRIC).tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get(ResponseCache.REQUESTS_METRIC).tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not store a response whose tag was invalidated while it was rendered")
+    void shouldNotStoreResponseInvalidatedDuringRender() {
+        ResponseCache.CachedResponse response = response("user:1");
+        long epoch = responseCache.epoch(response.tags());
+
+        responseCache.invalidate(List.of("user:1"));
+        responseCache.put("/users/1", response, epoch);
+
+        assertNull(responseCache.get("/users/1", ROUTE));
+        assertTrue(keysByTag().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should store a response when only unrelated tags were invalidated while it was rendered")
+    void shouldStoreResponseDespiteUnrelatedInvalidation() {
+        ResponseCache.CachedResponse response = response("user:1");
+        long epoch = responseCache.epoch(response.tags());
+
+        responseCache.invalidate(List.of("user:2"));
+        responseCache.put("/users/1", response, epoch);
+
+        assertSame(response, responseCache.get("/users/1", ROUTE));
+    }
+
+    @Test
+    @DisplayName("Should drop entries and their index when a tag is invalidated")
+    void shouldDropEntriesOfInvalidatedTag() {
+        store("/users/1", "user:1");
+        store("/users/1?fields=id", "user:1");
+        store("/users/2", "user:2");
+
+        responseCache.invalidate(List.of("user:1"));
+
+        assertNull(responseCache.get("/users/1", ROUTE));
+        assertNull(responseCache.get("/users/1?fields=id", ROUTE));
+        assertNotNull(responseCache.get("/users/2", ROUTE));
+        assertEquals(Set.of("user:2"), keysByTag().keySet());
+    }
+
+    @Test
+    @DisplayName("Should remove evicted entries from the tag index")
+    void shouldUnindexEvictedEntries() {
+        responseCache = new ResponseCache(100, Duration.ofMinutes(10), meterRegistry);
+        for (int i = 0; i < 20; i++) {
+            store("/users/" + i, "user:" + i);
+        }
+
+        Map<String, Set<String>> index = keysByTag();
+        assertTrue(index.size() < 20);
+        index.forEach((tag, keys) -> keys.forEach(key -> assertNotNull(responseCache.get(key, ROUTE))));
+    }
+
+    @Test
+    @DisplayName("Should keep the index of an entry that is replaced under the same key")
+    void shouldKeepIndexOfReplacedEntry() {
+        store("/users/1", "user:1");
+        store("/users/1", "user:1");
+
+        assertEquals(Map.of("user:1", Set.of("/users/1")), keysByTag());
+    }
+
+    @Test
+    @DisplayName("Should invalidate after commit inside a transaction and immediately outside one")
+    void shouldInvalidateAfterCommit() {
+        store("/users/1", "user:1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        responseCache.invalidateAfterCommit(List.of("user:1"));
+        responseCache.invalidateAfterCommit(List.of());
+        assertNotNull(responseCache.get("/users/1", ROUTE));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(responseCache.get("/users/1", ROUTE));
+
+        TransactionSynchronizationManager.clearSynchronization();
+        store("/users/1", "user:1");
+        responseCache.invalidateAfterCommit(List.of("user:1"));
+        assertNull(responseCache.get("/users/1", ROUTE));
+    }
+
+    private void store(String key, String tag) {
+        ResponseCache.CachedResponse response = response(tag);
+        responseCache.put(key, response, responseCache.epoch(response.tags()));
+    }
+
+    private static ResponseCache.CachedResponse response(String tag) {
+        return new ResponseCache.CachedResponse("application/json",
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8), Set.of(tag));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> keysByTag() {
+        return (Map<String, Set<String>>) ReflectionTestUtils.getField(responseCache, "keysByTag");
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ETagFilter.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("ETagFilter Tests")
+class ETagFilterTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+    private final AtomicReference<String> rendered = new AtomicReference<>("{\"id\":1,\"version\":3}");
+    private final AtomicInteger renderedStatus = new AtomicInteger(200);
+    private final FilterChain chain = (request, response) -> {
+        forwarded.set(request);
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(renderedStatus.get());
+        http.setContentType("application/json");
+        http.getWriter().write(rendered.get());
+    };
+    private ETagFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        VersionLookup lookup = id -> {
+            lookups.incrementAndGet();
+            return id == 1L ? Optional.of(3L) : Optional.empty();
+        };
+        filter = new ETagFilter(new ObjectMapper(), Map.of("/users/{id}", lookup));
+    }
+
+    @Test
+    @DisplayName("Should tag a GET response with the rendered version without looking it up")
+    void shouldTagGetResponse() throws Exception {
+        MockHttpServletResponse response = perform(request("GET", "/users/1"));
+
+        assertEquals("\"3\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"id\":1,\"version\":3}", response.getContentAsString());
+        assertNotNull(forwarded.get());
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should tag a stale body with its own version, not the current one")
+    void shouldTagWithRenderedVersion() throws Exception {
+        rendered.set("{\"id\":1,\"version\":2}");
+        MockHttpServletRequest request = request("GET", "/users/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"2\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 to a matching If-None-Match without reaching the controller")
+    void shouldReturn304OnMatchingIfNoneMatch() throws Exception {
+        MockHttpServletRequest request = request("GET", "/users/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("\"3\"", response.getHeader(HttpHeaders.ETAG));
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should use the weak comparison for If-None-Match")
+    void shouldCompareIfNoneMatchWeakly() throws Exception {
+        MockHttpServletRequest request = request("GET", "/users/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"3\"");
+
+        assertEquals(304, perform(request).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should treat * as matching any version")
+    void shouldMatchWildcard() throws Exception {
+        MockHttpServletRequest get = request("GET", "/users/1");
+        get.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        assertEquals(304, perform(get).getStatus());
+
+        MockHttpServletRequest put = request("PUT", "/users/1");
+        put.addHeader(HttpHeaders.IF_MATCH, "*");
+        assertEquals(200, perform(put).getStatus());
+        assertNull(forwarded.get().getAttribute(ETagFilter.EXPECTED_VERSION_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Should reject a stale If-Match with 412")
+    void shouldReturn412OnStaleIfMatch() throws Exception {
+        MockHttpServletRequest request = request("DELETE", "/users/1");
+        request.addHeader(HttpHeaders.IF_MATCH, "W/\"3\", \"2\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(412, response.getStatus());
+        assertEquals("\"3\"", response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentAsString().contains("If-Match does not match the current version \\\"3\\\""));
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should pass a matching If-Match version on to the write")
+    void shouldForwardExpectedVersionOnMatchingIfMatch() throws Exception {
+        MockHttpServletRequest request = request("PATCH", "/users/1");
+        request.addHeader(HttpHeaders.IF_MATCH, "\"3\"");
+
+        assertEquals(200, perform(request).getStatus());
+        assertEquals(3L, forwarded.get().getAttribute(ETagFilter.EXPECTED_VERSION_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Should not look up the version of an unconditional write")
+    void shouldNotLookUpUnconditionalWrite() throws Exception {
+        assertEquals(200, perform(request("PUT", "/users/1")).getStatus());
+
+        assertNull(forwarded.get().getAttribute(ETagFilter.EXPECTED_VERSION_ATTRIBUTE));
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should pass through unknown and malformed IDs, other routes and other methods")
+    void shouldPassThroughUnknownIds() throws Exception {
+        MockHttpServletRequest unknown = request("PUT", "/users/9");
+        unknown.addHeader(HttpHeaders.IF_MATCH, "\"3\"");
+        MockHttpServletResponse response = perform(unknown);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(forwarded.get());
+
+        assertNull(perform(request("GET", "/users/abc")).getHeader(HttpHeaders.ETAG));
+        assertNull(perform(request("GET", "/orders/1")).getHeader(HttpHeaders.ETAG));
+        assertNull(perform(request("POST", "/users/1")).getHeader(HttpHeaders.ETAG));
+
+        renderedStatus.set(404);
+        rendered.set("{\"error\":\"User not found\",\"status\":404}");
+        MockHttpServletRequest missing = request("GET", "/users/9");
+        missing.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        response = perform(missing);
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should only tag bodies with a top-level numeric version")
+    void shouldOnlyTagVersionedBodies() throws Exception {
+        for (String body : new String[]{"{\"id\":1,\"details\":{\"version\":3},\"name\":\"a\"}",
+                "{\"id\":1,\"version\":\"3\"}", "[{\"version\":3}]", "not json", ""}) {
+            rendered.set(body);
+            MockHttpServletResponse response = perform(request("GET", "/users/1"));
+            assertNull(response.getHeader(HttpHeaders.ETAG), body);
+            assertEquals(body, response.getContentAsString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should qualify the ETag of a fields selection so it never matches the full representation")
+    void shouldQualifyETagWithFields() throws Exception {
+        MockHttpServletRequest request = request("GET", "/users/1");
+        request.setParameter(FieldSelection.PARAMETER, "version,id");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(ETagFilter.etag(3L, "version,id"), response.getHeader(HttpHeaders.ETAG));
+        assertNotEquals(ETagFilter.etag(3L), response.getHeader(HttpHeaders.ETAG));
+
+        rendered.set("{\"id\":1,\"username\":\"john\"}");
+        MockHttpServletRequest withoutVersion = request("GET", "/users/1");
+        withoutVersion.setParameter(FieldSelection.PARAMETER, "username");
+        assertNull(perform(withoutVersion).getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        forwarded.set(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
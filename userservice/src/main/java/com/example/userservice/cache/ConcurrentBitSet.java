@@ -0,0 +1,139 @@
+package com.example.userservice.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Growable bit set that is safe for concurrent reads and writes.
+ *
+ * Bits live in fixed-size chunks of atomic words. Reads and bit updates are
+ * lock-free; only allocating a new chunk takes a lock, and it republishes the
+ * chunk table copy-on-write so readers always see a complete table.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class ConcurrentBitSet {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_BITS) / Long.SIZE;
+    private static final long MAX_INDEX = ((long) Integer.MAX_VALUE << CHUNK_BITS) - 1;
+
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    /**
+     * Set a bit, growing the set if needed.
+     *
+     * @param index the bit index
+     * @throws IllegalArgumentException if the index is negative or too large
+     */
+    public void set(long index) {
+        checkIndex(index);
+        AtomicLongArray chunk = chunkFor(index);
+        int word = wordIndex(index);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = chunk.get(word);
+        } while ((current & mask) == 0 && !chunk.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * Clear a bit; clearing a bit that was never set is a no-op.
+     *
+     * @param index the bit index
+     */
+    public void clear(long index) {
+        AtomicLongArray chunk = existingChunk(index);
+        if (chunk == null) {
+            return;
+        }
+        int word = wordIndex(index);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = chunk.get(word);
+        } while ((current & mask) != 0 && !chunk.compareAndSet(word, current, current & ~mask));
+    }
+
+    /**
+     * Read a bit.
+     *
+     * @param index the bit index
+     * @return true if the bit is set; false for negative or never-set indexes
+     */
+    public boolean get(long index) {
+        AtomicLongArray chunk = existingChunk(index);
+        return chunk != null && (chunk.get(wordIndex(index)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Count the set bits.
+     *
+     * @return the number of set bits
+     */
+    public long cardinality() {
+        long count = 0;
+        for (AtomicLongArray chunk : chunks) {
+            for (int i = 0; chunk != null && i < WORDS_PER_CHUNK; i++) {
+                count += Long.bitCount(chunk.get(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pass every set bit, in ascending order, to the action.
+     *
+     * @param action receives each set index
+     */
+    public void forEach(LongConsumer action) {
+        AtomicLongArray[] table = chunks;
+        for (int c = 0; c < table.length; c++) {
+            for (int i = 0; table[c] != null && i < WORDS_PER_CHUNK; i++) {
+                long word = table[c].get(i);
+                while (word != 0) {
+                    long base = ((long) c << CHUNK_BITS) + (long) i * Long.SIZE;
+                    action.accept(base + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray existingChunk(long index) {
+        if (index < 0 || index > MAX_INDEX) {
+            return null;
+        }
+        AtomicLongArray[] table = chunks;
+        int c = (int) (index >>> CHUNK_BITS);
+        return c < table.length ? table[c] : null;
+    }
+
+    private AtomicLongArray chunkFor(long index) {
+        AtomicLongArray chunk = existingChunk(index);
+        return chunk != null ? chunk : allocateChunk((int) (index >>> CHUNK_BITS));
+    }
+
+    private synchronized AtomicLongArray allocateChunk(int c) {
+        AtomicLongArray[] table = chunks;
+        // Another writer may have allocated the chunk while we waited for the lock.
+        if (c >= table.length || table[c] == null) {
+            table = Arrays.copyOf(table, Math.max(table.length, c + 1));
+            table[c] = new AtomicLongArray(WORDS_PER_CHUNK);
+            chunks = table;
+        }
+        return table[c];
+    }
+
+    private static int wordIndex(long index) {
+        return (int) ((index & ((1 << CHUNK_BITS) - 1)) >>> 6);
+    }
+
+    private static void checkIndex(long index) {
+        if (index < 0 || index > MAX_INDEX) {
+            throw new IllegalArgumentException("Bit index out of range: " + index);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory set of live user IDs, answering existence checks without a query.
+ *
+ * The set is loaded from the users table at startup and then follows
+ * {@link UserChangedEvent}s once their transaction commits, so it never
+ * reports a user whose insert could still roll back. A scheduled check
+ * compares it with the table and repairs any drift.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdIndex {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentBitSet liveIds = new ConcurrentBitSet();
+    private Counter repairs;
+
+    /**
+     * Load the IDs of all users and register the index metrics.
+     */
+    @PostConstruct
+    public void init() {
+        repairs = Counter.builder("users.id.index.repairs")
+                .description("User IDs corrected by the consistency check")
+                .register(meterRegistry);
+        Gauge.builder("users.id.index.size", liveIds, ConcurrentBitSet::cardinality)
+                .description("User IDs held in the in-memory index")
+                .register(meterRegistry);
+        loadInto(liveIds);
+        log.info("Loaded {} user IDs into the in-memory index", liveIds.cardinality());
+    }
+
+    /**
+     * Check whether a user exists.
+     *
+     * @param id the user ID
+     * @return true if the user exists
+     */
+    public boolean contains(Long id) {
+        return id != null && liveIds.get(id);
+    }
+
+    /**
+     * Apply a committed user insert or delete; updates do not change the set of IDs.
+     *
+     * @param event the user change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.CREATED) {
+            liveIds.set(event.userId());
+        } else if (event.type() == UserChangedEvent.Type.DELETED) {
+            liveIds.clear(event.userId());
+        }
+    }
+
+    /**
+     * Compare the index with the users table and repair the differences.
+     *
+     * IDs that differ are re-checked one by one before being corrected, since
+     * users created or deleted while the table was scanned also show up as differences.
+     *
+     * @return the number of IDs that were corrected
+     */
+    @Scheduled(fixedDelayString = "${users.id-index.check-interval-ms:300000}",
+            initialDelayString = "${users.id-index.check-interval-ms:300000}")
+    public int checkConsistency() {
+        ConcurrentBitSet tableIds = new ConcurrentBitSet();
+        loadInto(tableIds);
+
+        List<Long> suspects = new ArrayList<>();
+        tableIds.forEach(id -> {
+            if (!liveIds.get(id)) {
+                suspects.add(id);
+            }
+        });
+        liveIds.forEach(id -> {
+            if (!tableIds.get(id)) {
+                suspects.add(id);
+            }
+        });
+
+        int corrected = 0;
+        for (Long id : suspects) {
+            boolean exists = userRepository.existsById(id);
+            if (exists != liveIds.get(id)) {
+                onUserChanged(new UserChangedEvent(id, exists ? UserChangedEvent.Type.CREATED : UserChangedEvent.Type.DELETED,
+                        null, null, null));
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} user IDs in the in-memory index", corrected);
+            repairs.increment(corrected);
+        }
+        return corrected;
+    }
+
+    private void loadInto(ConcurrentBitSet target) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Long> ids = userRepository.streamAllIds()) {
+                ids.forEach(target::set);
+            }
+        });
+    }
+}
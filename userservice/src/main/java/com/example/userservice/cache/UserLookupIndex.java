@@ -0,0 +1,177 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index from normalized username and email to user IDs.
+ *
+ * Keys are trimmed and lower-cased, so lookups are case-insensitive. Duplicate
+ * usernames and emails are allowed, so each key maps to the set of matching IDs.
+ * The index is loaded from the users table at startup and then follows
+ * {@link UserChangedEvent}s once their transaction commits. After-commit
+ * listeners of concurrent transactions can run in either order, so every entry
+ * keeps the version it was built from and events for an older version are
+ * ignored; deleted users are remembered for a while for the same reason. Writers
+ * are serialized and replace ID sets rather than mutating them, so readers never
+ * lock and never see a half-applied change.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserLookupIndex {
+
+    /** How long a delete is remembered; far longer than any after-commit listener of an earlier write can lag. */
+    private static final Duration DELETION_MEMORY = Duration.ofMinutes(10);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Set<Long>> idsByUsername = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, Keys> keysById = new ConcurrentHashMap<>();
+    private final Cache<Long, Long> deletedVersions = Caffeine.newBuilder()
+            .expireAfterWrite(DELETION_MEMORY)
+            .build();
+
+    private record Keys(String username, String email, Long version) {
+    }
+
+    /**
+     * Load the usernames and emails of all users and register the index metrics.
+     */
+    @PostConstruct
+    public void init() {
+        Gauge.builder("users.lookup.index.size", keysById, Map::size)
+                .description("Users held in the username and email index")
+                .register(meterRegistry);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+                users.forEach(user -> put(user.getId(), user.getUsername(), user.getEmail(), user.getVersion()));
+            }
+        });
+        log.info("Loaded {} users into the username and email index", keysById.size());
+    }
+
+    /**
+     * Find the IDs of the users with a username, ignoring case.
+     *
+     * @param username the username
+     * @return the matching user IDs in ascending order, empty if there are none
+     */
+    public SortedSet<Long> findByUsername(String username) {
+        return lookup(idsByUsername, username);
+    }
+
+    /**
+     * Find the IDs of the users with an email address, ignoring case.
+     *
+     * @param email the email address
+     * @return the matching user IDs in ascending order, empty if there are none
+     */
+    public SortedSet<Long> findByEmail(String email) {
+        return lookup(idsByEmail, email);
+    }
+
+    /**
+     * Apply a committed user insert, update or delete.
+     *
+     * @param event the user change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (isStale(event)) {
+            log.debug("Ignoring stale {} event for user {} at version {}", event.type(), event.userId(), event.version());
+            return;
+        }
+        remove(event.userId());
+        if (event.type() != UserChangedEvent.Type.DELETED) {
+            put(event.userId(), event.username(), event.email(), event.version());
+        } else if (event.version() != null) {
+            deletedVersions.put(event.userId(), event.version());
+        }
+    }
+
+    private boolean isStale(UserChangedEvent event) {
+        if (event.version() == null) {
+            return false;
+        }
+        if (deletedVersions.getIfPresent(event.userId()) != null) {
+            // IDs are never reused, so nothing can follow a delete.
+            return true;
+        }
+        Keys current = keysById.get(event.userId());
+        if (current == null || current.version() == null) {
+            return false;
+        }
+        // A delete carries the version it removed, so it supersedes an update to that same version.
+        return event.type() == UserChangedEvent.Type.DELETED
+                ? event.version() < current.version()
+                : event.version() <= current.version();
+    }
+
+    private synchronized void put(Long id, String username, String email, Long version) {
+        Keys keys = new Keys(normalize(username), normalize(email), version);
+        keysById.put(id, keys);
+        idsByUsername.compute(keys.username(), (key, ids) -> with(ids, id));
+        idsByEmail.compute(keys.email(), (key, ids) -> with(ids, id));
+    }
+
+    private void remove(Long id) {
+        Keys keys = keysById.remove(id);
+        if (keys != null) {
+            idsByUsername.computeIfPresent(keys.username(), (key, ids) -> without(ids, id));
+            idsByEmail.computeIfPresent(keys.email(), (key, ids) -> without(ids, id));
+        }
+    }
+
+    private static SortedSet<Long> lookup(Map<String, Set<Long>> index, String value) {
+        Set<Long> ids = value != null ? index.get(normalize(value)) : null;
+        return ids != null ? new TreeSet<>(ids) : new TreeSet<>();
+    }
+
+    private static Set<Long> with(Set<Long> ids, Long id) {
+        if (ids == null) {
+            return Set.of(id);
+        }
+        Set<Long> copy = new HashSet<>(ids);
+        copy.add(id);
+        return Set.copyOf(copy);
+    }
+
+    private static Set<Long> without(Set<Long> ids, Long id) {
+        Set<Long> copy = new HashSet<>(ids);
+        copy.remove(id);
+        // Returning null drops the key once its last user is gone.
+        return copy.isEmpty() ? null : Set.copyOf(copy);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
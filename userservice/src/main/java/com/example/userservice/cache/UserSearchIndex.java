@@ -0,0 +1,429 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index for substring search over usernames and emails.
+ *
+ * Every lower-cased username and email is split into overlapping three-character
+ * grams, and each gram keeps a sorted array of the IDs of the users containing it.
+ * A query of three or more characters only walks the shortest posting list among
+ * its grams, in ID order, and confirms each candidate against the stored text, so
+ * it can stop as soon as a page is full. Shorter queries scan the stored text in ID order.
+ *
+ * The index follows {@link UserChangedEvent}s once their transaction commits.
+ * After-commit listeners of concurrent transactions can run in either order, so,
+ * as in {@link UserLookupIndex}, every user keeps the version it was indexed at,
+ * events for an older version are ignored and deleted users are remembered for
+ * a while. Its estimated size is published as a gauge; if it would grow beyond
+ * {@code users.search.max-memory} it releases everything and reports itself
+ * disabled, and callers fall back to querying the database. A disabled index is
+ * rebuilt every {@code users.search.rebuild-interval-ms} and enabled again once
+ * the users fit the budget; changes committed while it loads are replayed after.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Rough per-user cost of the text map entry and its strings, beyond the characters.
+     */
+    static final long USER_OVERHEAD_BYTES = 96;
+
+    /**
+     * Rough cost of a gram entry: key string, map node and posting list object.
+     */
+    static final long GRAM_OVERHEAD_BYTES = 112;
+
+    /** How long a delete is remembered; far longer than any after-commit listener of an earlier write can lag. */
+    private static final Duration DELETION_MEMORY = Duration.ofMinutes(10);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.search.max-memory:64MB}")
+    private DataSize maxMemory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Text> textById = new TreeMap<>();
+    private final Map<String, PostingList> postingsByGram = new HashMap<>();
+    private final Cache<Long, Long> deletedVersions = Caffeine.newBuilder()
+            .expireAfterWrite(DELETION_MEMORY)
+            .build();
+    private long estimatedBytes;
+    private volatile boolean enabled;
+
+    /**
+     * Changes that arrived while a rebuild was loading; null when no rebuild is running.
+     */
+    private List<UserChangedEvent> missed;
+
+    private record Text(String username, String email, Long version) {
+
+        boolean contains(String query) {
+            return username.contains(query) || email.contains(query);
+        }
+
+        long bytes() {
+            return USER_OVERHEAD_BYTES + username.length() + email.length();
+        }
+    }
+
+    /**
+     * Load the usernames and emails of all users and register the index metrics.
+     */
+    @PostConstruct
+    public void init() {
+        Gauge.builder("users.search.index.bytes", this, UserSearchIndex::estimatedBytes)
+                .description("Estimated memory held by the user search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.search.index.users", this, UserSearchIndex::size)
+                .description("Users held in the user search index")
+                .register(meterRegistry);
+        rebuild();
+    }
+
+    /**
+     * Load a disabled index again, and enable it if the users now fit the memory budget.
+     *
+     * @return true if the index was rebuilt and enabled, false if it was already enabled or still does not fit
+     */
+    @Scheduled(fixedDelayString = "${users.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${users.search.rebuild-interval-ms:600000}")
+    public boolean rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (enabled) {
+                return false;
+            }
+            missed = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean fits = Boolean.TRUE.equals(transactionTemplate.execute(status -> load()));
+
+        lock.writeLock().lock();
+        try {
+            if (fits) {
+                missed.forEach(this::apply);
+                fits = !overBudget();
+            }
+            missed = null;
+            if (!fits) {
+                log.warn("User search index still exceeds {}; searches keep using the database", maxMemory);
+                clear();
+                return false;
+            }
+            enabled = true;
+            log.info("Loaded {} users into the search index, about {} bytes", textById.size(), estimatedBytes);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index holds every user; false once it has outgrown its memory budget.
+     *
+     * @return true if searches can be answered from the index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Find users whose username or email contains the query, ignoring case.
+     *
+     * @param query the text to look for
+     * @param after only users with a greater ID are returned
+     * @param limit maximum number of IDs to return
+     * @return matching user IDs in ascending order
+     */
+    public List<Long> search(String query, long after, int limit) {
+        String normalized = normalize(query);
+        List<Long> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM_LENGTH) {
+                for (Map.Entry<Long, Text> entry : textById.tailMap(after, false).entrySet()) {
+                    if (matches.size() == limit) {
+                        break;
+                    }
+                    if (entry.getValue().contains(normalized)) {
+                        matches.add(entry.getKey());
+                    }
+                }
+                return matches;
+            }
+            PostingList candidates = shortestPostingList(normalized);
+            if (candidates == null) {
+                return matches;
+            }
+            for (int i = candidates.indexAfter(after); i < candidates.size && matches.size() < limit; i++) {
+                long id = candidates.ids[i];
+                if (textById.get(id).contains(normalized)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed user insert, update or delete.
+     *
+     * @param event the user change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!enabled) {
+                if (missed != null) {
+                    missed.add(event);
+                }
+                return;
+            }
+            apply(event);
+            if (overBudget()) {
+                log.warn("User search index exceeded {} with {} users; falling back to database search",
+                        maxMemory, textById.size());
+                clear();
+                enabled = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return textById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index every user, one lock hold per user so changes can be recorded meanwhile.
+     *
+     * @return false as soon as the users no longer fit the memory budget
+     */
+    private boolean load() {
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            Iterator<UserResponse> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserResponse user = iterator.next();
+                lock.writeLock().lock();
+                try {
+                    apply(new UserChangedEvent(user.getId(), UserChangedEvent.Type.CREATED, user.getUsername(),
+                            user.getEmail(), user.getVersion()));
+                    if (overBudget()) {
+                        return false;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            return true;
+        }
+    }
+
+    private void apply(UserChangedEvent event) {
+        if (isStale(event)) {
+            log.debug("Ignoring stale {} event for user {} at version {}", event.type(), event.userId(), event.version());
+            return;
+        }
+        remove(event.userId());
+        if (event.type() != UserChangedEvent.Type.DELETED) {
+            add(event.userId(), new Text(normalize(event.username()), normalize(event.email()), event.version()));
+        } else if (event.version() != null) {
+            deletedVersions.put(event.userId(), event.version());
+        }
+    }
+
+    private boolean isStale(UserChangedEvent event) {
+        if (event.version() == null) {
+            return false;
+        }
+        if (deletedVersions.getIfPresent(event.userId()) != null) {
+            // IDs are never reused, so nothing can follow a delete.
+            return true;
+        }
+        Text current = textById.get(event.userId());
+        if (current == null || current.version() == null) {
+            return false;
+        }
+        // A delete carries the version it removed, so it supersedes an update to that same version.
+        return event.type() == UserChangedEvent.Type.DELETED
+                ? event.version() < current.version()
+                : event.version() <= current.version();
+    }
+
+    private boolean overBudget() {
+        return estimatedBytes > maxMemory.toBytes();
+    }
+
+    private void clear() {
+        textById.clear();
+        postingsByGram.clear();
+        estimatedBytes = 0;
+    }
+
+    private PostingList shortestPostingList(String query) {
+        PostingList shortest = null;
+        for (String gram : grams(query)) {
+            PostingList postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return null;
+            }
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private void add(long id, Text text) {
+        textById.put(id, text);
+        estimatedBytes += text.bytes();
+        for (String gram : grams(text)) {
+            PostingList postings = postingsByGram.get(gram);
+            if (postings == null) {
+                postings = new PostingList();
+                postingsByGram.put(gram, postings);
+                estimatedBytes += GRAM_OVERHEAD_BYTES + postings.capacityBytes();
+            }
+            estimatedBytes += postings.add(id);
+        }
+    }
+
+    private void remove(long id) {
+        Text text = textById.remove(id);
+        if (text == null) {
+            return;
+        }
+        estimatedBytes -= text.bytes();
+        for (String gram : grams(text)) {
+            PostingList postings = postingsByGram.get(gram);
+            postings.remove(id);
+            if (postings.size == 0) {
+                postingsByGram.remove(gram);
+                estimatedBytes -= GRAM_OVERHEAD_BYTES + postings.capacityBytes();
+            }
+        }
+    }
+
+    private static Set<String> grams(Text text) {
+        Set<String> grams = grams(text.username());
+        grams.addAll(grams(text.email()));
+        return grams;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted, growable array of user IDs. New users have the highest IDs, so most
+     * inserts are appends.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        /**
+         * Insert an ID, keeping the array sorted.
+         *
+         * @return the bytes added by growing the array
+         */
+        long add(long id) {
+            long grownBytes = 0;
+            if (size == ids.length) {
+                grownBytes = (long) ids.length * Long.BYTES;
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            int position = -Arrays.binarySearch(ids, 0, size, id) - 1;
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+            return grownBytes;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        int indexAfter(long after) {
+            int position = Arrays.binarySearch(ids, 0, size, after);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+
+        long capacityBytes() {
+            return (long) ids.length * Long.BYTES;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userservice.client;
+
+import com.example.common.exception.ServiceUnavailableException;
+
+import java.util.List;
+
+/**
+ * Client interface for OrderService communication.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderServiceClient {
+
+    /**
+     * Ask OrderService to remove the orders of deleted users.
+     * 
+     * @param userIds the IDs of the deleted users
+     * @throws ServiceUnavailableException if OrderService did not accept the request
+     */
+    void requestOrderPurge(List<Long> userIds);
+}
@@ -0,0 +1,54 @@
+package com.example.userservice.client.impl;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.userservice.client.OrderServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Implementation of OrderServiceClient interface.
+ * 
+ * This class provides HTTP communication with OrderService
+ * for cleaning up after user deletions.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderServiceClientImpl implements OrderServiceClient {
+
+    private final WebClient webClient;
+
+    @Value("${order-service.base-url}")
+    private String orderServiceBaseUrl;
+
+    @Value("${order-service.timeout:5000}")
+    private int timeout;
+
+    @Override
+    public void requestOrderPurge(List<Long> userIds) {
+        log.debug("Requesting order purge for {} deleted users", userIds.size());
+        
+        try {
+            webClient.post()
+                    .uri(orderServiceBaseUrl + "/orders/purges")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(userIds)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofMillis(timeout))
+                    .block();
+        } catch (Exception e) {
+            throw new ServiceUnavailableException("Error requesting order purge: " + e.getMessage(), e);
+        }
+    }
+}
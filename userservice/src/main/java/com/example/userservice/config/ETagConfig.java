@@ -0,0 +1,30 @@
+package com.example.userservice.config;
+
+import com.example.common.web.ETagFilter;
+import com.example.common.web.VersionLookup;
+import com.example.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * ETag and conditional request configuration for UserService.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+public class ETagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ETagFilter> etagFilter(ObjectMapper objectMapper, UserRepository userRepository) {
+        VersionLookup lookup = userRepository::findVersionById;
+        FilterRegistrationBean<ETagFilter> registration =
+                new FilterRegistrationBean<>(new ETagFilter(objectMapper, Map.of("/users/{id}", lookup)));
+        registration.setOrder(ETagFilter.ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.userservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration for UserService background jobs.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,85 @@
+package com.example.userservice.config;
+
+import com.example.userservice.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache configuration for UserService.
+ * 
+ * Regions are created up front on an in-process Caffeine JCache provider with
+ * the configured size and time limits, and Hibernate is told to fail rather than
+ * silently create an unbounded region for anything not declared here.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${users.l2-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${users.l2-cache.query-max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Value("${users.l2-cache.ttl:30m}")
+    private Duration ttl;
+
+    /**
+     * JCache manager holding the entity, query result and update timestamp regions.
+     * 
+     * @return the cache manager handed to Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A manager of its own, so regions never collide with another Hibernate instance in the same JVM.
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(User.class.getName(), regionConfiguration(maxEntries, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, regionConfiguration(queryMaxEntries, ttl));
+        // Timestamps must outlive every cached query result, so this region is only size-bounded.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, regionConfiguration(queryMaxEntries, null));
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate's JCache region factory at the pre-configured manager.
+     * 
+     * @param hibernateCacheManager the cache manager
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(expireAfterWrite.toMillis())));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -1,25 +1,45 @@
 package com.example.userservice.controller;
 
 import com.example.common.dto.ErrorResponse;
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.ETagFilter;
+import com.example.common.web.FieldSelection;
+import com.example.userservice.dto.AuthenticationRequest;
+import com.example.userservice.dto.BulkImportResponse;
+import com.example.userservice.dto.ChangeFeedResponse;
+import com.example.userservice.dto.UserPatchRequest;
 import com.example.userservice.dto.UserRequest;
 import com.example.userservice.dto.UserResponse;
+import com.example.userservice.service.UserChangeFeedService;
+import com.example.userservice.service.UserImportService;
 import com.example.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for User management operations.
@@ -38,6 +58,9 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserChangeFeedService userChangeFeedService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new user.
@@ -75,6 +98,113 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    /**
+     * Create users from a JSON array in JDBC batches.
+     * 
+     * @param request the request whose body is streamed
+     * @return the created and rejected counts with 200 status
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Extra: Create users in bulk", description = "Creates users from a JSON array of user requests. "
+            + "The body is streamed and inserted in batches; invalid rows are skipped and reported with their position.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = UserRequest.class))))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Valid users created; see errors for rejected rows",
+            content = @Content(schema = @Schema(implementation = BulkImportResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "created": 2,
+                      "failed": 1,
+                      "errors": [{"row": 2, "error": "Email should be valid"}]
+                    }
+                    """))),
+        @ApiResponse(responseCode = "400", description = "Body is not a JSON array",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Request body must be a JSON array of users",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<BulkImportResponse> createUsers(HttpServletRequest request) throws IOException {
+        log.info("POST /users/batch - Creating users in bulk");
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), UserImportService.Format.JSON_ARRAY));
+    }
+
+    /**
+     * Import users from a CSV or NDJSON file.
+     * 
+     * @param contentType the body format, text/csv or application/x-ndjson
+     * @param request the request whose body is streamed
+     * @return the created and rejected counts with 200 status
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Extra: Import users from a file", description = "Imports users from CSV (header line naming username, "
+            + "password and email) or newline-delimited JSON. The file is streamed and inserted in batches; invalid rows are "
+            + "skipped and reported with their position.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Valid users created; see errors for rejected rows",
+            content = @Content(schema = @Schema(implementation = BulkImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "CSV header is missing a column",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "CSV header must name the columns username, password, email",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<BulkImportResponse> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          HttpServletRequest request) throws IOException {
+        log.info("POST /users/import - Importing users from {}", contentType);
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.includes(contentType)
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+
+    /**
+     * Verify a username and password.
+     * 
+     * @param request the credentials
+     * @return the authenticated user with 200 status, completed once hashing finishes
+     */
+    @PostMapping(value = "/authenticate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Extra: Authenticate user", description = "Checks a username and password. Hashing runs on a dedicated, "
+            + "bounded thread pool; when its queue is full the request is rejected with 503 instead of waiting.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Credentials are valid",
+            content = @Content(schema = @Schema(implementation = UserResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unknown username or wrong password",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Invalid username or password",
+                      "status": 401,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "503", description = "Password hashing is saturated",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Password hashing is saturated, please retry",
+                      "status": 503,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public CompletableFuture<ResponseEntity<UserResponse>> authenticate(@Valid @RequestBody AuthenticationRequest request) {
+        log.info("POST /users/authenticate - Authenticating user");
+        return userService.authenticate(request).thenApply(ResponseEntity::ok);
+    }
+
     /**
      * Get a user by ID.
      * 
@@ -82,10 +212,20 @@ public class UserController {
      * @return the user with 200 status
      */
     @GetMapping("/{id}")
-    @Operation(summary = "2. Get user by ID", description = "Retrieves a user by their unique identifier")
+    @Operation(summary = "2. Get user by ID", description = "Retrieves a user by their unique identifier. "
+            + "With fields, e.g. ?fields=username, only those fields (plus id) are read and returned.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User found successfully",
             content = @Content(schema = @Schema(implementation = UserResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Unknown field 'password', expected any of id, username, email, version",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
         @ApiResponse(responseCode = "404", description = "User not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -105,22 +245,188 @@ public class UserController {
                     }
                     """)))
     })
-    public ResponseEntity<UserResponse> getUserById(@Parameter(description = "User ID") @PathVariable("id") Long id) {
-        log.info("GET /users/{} - Retrieving user", id);
+    public ResponseEntity<?> getUserById(@Parameter(description = "User ID") @PathVariable("id") Long id,
+                                         @Parameter(description = "Comma-separated fields to return, e.g. id,username; all if absent") @RequestParam(value = "fields", required = false) String fields) {
+        log.info("GET /users/{}?fields={} - Retrieving user", id, fields);
+        if (FieldSelection.isRequested(fields)) {
+            return ResponseEntity.ok(userService.getUserById(id, FieldSelection.parse(fields, UserResponse.class)));
+        }
         UserResponse user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Get several users by ID in one call.
+     * 
+     * @param ids the user IDs
+     * @return the users found in request order and the missing IDs, with 200 status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Extra: Get users by ID list", description = "Retrieves several users with a single query, e.g. /users?ids=1,2,3. "
+            + "Users are returned in request order; IDs that do not exist are listed in missingIds.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MultiGetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Cannot fetch more than 100 users at once",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<MultiGetResponse<UserResponse>> getUsersByIds(@Parameter(description = "Comma-separated user IDs") @RequestParam(value = "ids", required = false) List<Long> ids) {
+        log.info("GET /users?ids={} - Retrieving users by ID", ids);
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
+    /**
+     * Get the users with a username.
+     * 
+     * @param username the username, matched ignoring case
+     * @return the matching users ordered by ID with 200 status
+     */
+    @GetMapping("/by-username/{username}")
+    @Operation(summary = "Extra: Get users by username", description = "Looks the username up in an in-memory index, ignoring case. "
+            + "Usernames are not unique, so every matching user is returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users found successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserResponse.class)))),
+        @ApiResponse(responseCode = "404", description = "No user has the username",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User not found with username: john_doe",
+                      "status": 404,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<List<UserResponse>> getUsersByUsername(@Parameter(description = "Username") @PathVariable("username") String username) {
+        log.info("GET /users/by-username/{} - Retrieving users by username", username);
+        return ResponseEntity.ok(userService.getUsersByUsername(username));
+    }
+
+    /**
+     * Get the users with an email address.
+     * 
+     * @param email the email address, matched ignoring case
+     * @return the matching users ordered by ID with 200 status
+     */
+    @GetMapping("/by-email/{email}")
+    @Operation(summary = "Extra: Get users by email", description = "Looks the email address up in an in-memory index, ignoring case. "
+            + "Email addresses are not unique, so every matching user is returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users found successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserResponse.class)))),
+        @ApiResponse(responseCode = "404", description = "No user has the email address",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User not found with email: john@example.com",
+                      "status": 404,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<List<UserResponse>> getUsersByEmail(@Parameter(description = "Email address") @PathVariable("email") String email) {
+        log.info("GET /users/by-email/{} - Retrieving users by email", email);
+        return ResponseEntity.ok(userService.getUsersByEmail(email));
+    }
+
+    /**
+     * Search users by part of their username or email.
+     * 
+     * @param query the text to look for
+     * @param after the cursor from the previous page
+     * @param limit maximum number of users
+     * @return matching users and the next cursor with 200 status
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Extra: Search users", description = "Finds users whose username or email contains q, ignoring case, "
+            + "e.g. /users/search?q=john. Results are ordered by ID; pass nextCursor back as after for the next page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Blank query or limit out of range",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Search query is required",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<PageResponse<UserResponse>> searchUsers(@Parameter(description = "Text to look for") @RequestParam(value = "q", required = false) String query,
+                                                                  @Parameter(description = "Cursor from the previous page") @RequestParam(value = "after", required = false) Long after,
+                                                                  @Parameter(description = "Maximum number of users") @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("GET /users/search?q={}&after={}&limit={} - Searching users", query, after, limit);
+        return ResponseEntity.ok(userService.searchUsers(query, after, limit));
+    }
+
+    /**
+     * Read the user change feed.
+     * 
+     * @param since the cursor from the previous read
+     * @param limit maximum number of changes
+     * @param waitMs how long to wait when there are no new changes
+     * @return the changes and the next cursor with 200 status, once available
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Extra: Read user changes", description = "Returns user inserts, updates and deletes after the since cursor, in order. "
+            + "Pass nextCursor back as since for the next read. With waitMs, a read that finds no changes waits up to that long for one (long polling).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes after the cursor, possibly none",
+            content = @Content(schema = @Schema(implementation = ChangeFeedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor, limit or wait out of range",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Limit must be between 1 and 1000",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "503", description = "Too many clients are waiting",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Too many clients are waiting for user changes, please retry",
+                      "status": 503,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public CompletableFuture<ResponseEntity<ChangeFeedResponse>> getChanges(@Parameter(description = "Cursor from the previous read") @RequestParam(value = "since", required = false) Long since,
+                                                                            @Parameter(description = "Maximum number of changes") @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                                            @Parameter(description = "Milliseconds to wait for a change") @RequestParam(value = "waitMs", defaultValue = "0") long waitMs) {
+        log.info("GET /users/changes?since={}&limit={}&waitMs={} - Reading user changes", since, limit, waitMs);
+        return userChangeFeedService.getChanges(since, limit, waitMs).thenApply(ResponseEntity::ok);
+    }
+
     /**
      * Get all users.
      * 
      * @return list of all users with 200 status
      */
     @GetMapping
-    @Operation(summary = "Extra: List all users", description = "Retrieves a list of all users")
+    @Operation(summary = "Extra: List all users", description = "Retrieves a list of all users. "
+            + "With fields, e.g. ?fields=id,username, only those fields (plus id) are read and returned.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
             content = @Content(schema = @Schema(implementation = UserResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Unknown field 'password', expected any of id, username, email, version",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                 examples = @ExampleObject(value = """
@@ -131,17 +437,73 @@ public class UserController {
                     }
                     """)))
     })
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        log.info("GET /users - Retrieving all users");
+    public ResponseEntity<List<?>> getAllUsers(@Parameter(description = "Comma-separated fields to return, e.g. id,username; all if absent") @RequestParam(value = "fields", required = false) String fields) {
+        log.info("GET /users?fields={} - Retrieving all users", fields);
+        if (FieldSelection.isRequested(fields)) {
+            return ResponseEntity.ok(userService.getAllUsers(FieldSelection.parse(fields, UserResponse.class)));
+        }
         List<UserResponse> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get one page of users, ordered by ID.
+     * 
+     * @param limit maximum number of users on the page
+     * @param after the cursor returned with the previous page
+     * @return the page and the cursor of the next one with 200 status
+     */
+    @GetMapping(params = "limit")
+    @Operation(summary = "Extra: List users page by page", description = "Keyset pagination, e.g. /users?limit=100 and then "
+            + "/users?limit=100&after={nextCursor}. nextCursor is null on the last page. "
+            + "With fields, e.g. &fields=username, only those fields (plus id) are read and returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Limit out of range or unknown field requested",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "Limit must be between 1 and 1000",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<PageResponse<?>> getUsersPage(@Parameter(description = "Maximum number of users") @RequestParam("limit") int limit,
+                                                        @Parameter(description = "Cursor from the previous page") @RequestParam(value = "after", required = false) Long after,
+                                                        @Parameter(description = "Comma-separated fields to return, e.g. id,username; all if absent") @RequestParam(value = "fields", required = false) String fields) {
+        log.info("GET /users?limit={}&after={}&fields={} - Retrieving users page", limit, after, fields);
+        if (FieldSelection.isRequested(fields)) {
+            return ResponseEntity.ok(userService.getUsersPage(after, limit, FieldSelection.parse(fields, UserResponse.class)));
+        }
+        return ResponseEntity.ok(userService.getUsersPage(after, limit));
+    }
+
+    /**
+     * Stream all users as newline-delimited JSON.
+     * 
+     * @return the users, one JSON object per line, with 200 status
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Extra: Stream all users", description = "Streams every user as newline-delimited JSON when requested "
+            + "with 'Accept: application/x-ndjson'. Users are read through a database cursor, so memory use does not grow with the table.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users streamed successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.info("GET /users (ndjson) - Streaming all users");
+        StreamingResponseBody body = out -> userService.streamUsers(user -> writeLine(out, user));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Update a user by ID.
      * 
      * @param id the user ID
      * @param userRequest the updated user data
+     * @param expectedVersion the version named by a matching If-Match, if any
      * @return the updated user with 200 status
      */
     @PutMapping("/{id}")
@@ -175,19 +537,89 @@ public class UserController {
                       "status": 500,
                       "timestamp": "2025-08-07T21:00:00Z"
                     }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the user version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
                     """)))
     })
     public ResponseEntity<UserResponse> updateUser(@Parameter(description = "User ID") @PathVariable("id") Long id, 
-                                                 @Valid @RequestBody UserRequest userRequest) {
+                                                 @Valid @RequestBody UserRequest userRequest,
+                                                 @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
         log.info("PUT /users/{} - Updating user", id);
-        UserResponse updatedUser = userService.updateUser(id, userRequest);
+        UserResponse updatedUser = userService.updateUser(id, userRequest, expectedVersion);
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Partially update a user by ID.
+     * 
+     * @param id the user ID
+     * @param patchRequest the fields to change and optional expected version
+     * @param expectedVersion the version named by a matching If-Match, if any
+     * @return the updated user with 200 status
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Extra: Partially update user by ID", description = "Changes only the supplied fields in a single update. "
+            + "If a version is supplied the update is applied only when the user is still at that version.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User updated successfully",
+            content = @Content(schema = @Schema(implementation = UserResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "At least one field must be supplied",
+                      "status": 400,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "404", description = "User not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User not found with ID: 123",
+                      "status": 404,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "409", description = "User was modified concurrently",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User with ID 1 was modified concurrently; expected version 0",
+                      "status": 409,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the user version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
+                    """)))
+    })
+    public ResponseEntity<UserResponse> patchUser(@Parameter(description = "User ID") @PathVariable("id") Long id,
+                                                @Valid @RequestBody UserPatchRequest patchRequest,
+                                                @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
+        log.info("PATCH /users/{} - Patching user", id);
+        UserResponse patchedUser = userService.patchUser(id, patchRequest, expectedVersion);
+        return ResponseEntity.ok(patchedUser);
+    }
+
     /**
      * Delete a user by ID.
      * 
      * @param id the user ID
+     * @param expectedVersion the version named by a matching If-Match, if any
      * @return 204 No Content status
      */
     @DeleteMapping("/{id}")
@@ -211,11 +643,21 @@ public class UserController {
                       "status": 500,
                       "timestamp": "2025-08-07T21:00:00Z"
                     }
+                    """))),
+        @ApiResponse(responseCode = "412", description = "If-Match no longer matches the user version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(value = """
+                    {
+                      "error": "User with ID 1 is no longer at version 0",
+                      "status": 412,
+                      "timestamp": "2025-08-07T21:00:00Z"
+                    }
                     """)))
     })
-    public ResponseEntity<Void> deleteUser(@Parameter(description = "User ID") @PathVariable("id") Long id) {
+    public ResponseEntity<Void> deleteUser(@Parameter(description = "User ID") @PathVariable("id") Long id,
+                                           @Parameter(hidden = true) @RequestAttribute(name = ETagFilter.EXPECTED_VERSION_ATTRIBUTE, required = false) Long expectedVersion) {
         log.info("DELETE /users/{} - Deleting user", id);
-        userService.deleteUser(id);
+        userService.deleteUser(id, expectedVersion);
         return ResponseEntity.noContent().build();
     }
 
@@ -253,4 +695,13 @@ public class UserController {
         boolean exists = userService.userExists(id);
         return exists ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
+
+    private void writeLine(OutputStream out, UserResponse user) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(user));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
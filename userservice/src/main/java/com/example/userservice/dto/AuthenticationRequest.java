@@ -0,0 +1,30 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * DTO for credential verification requests.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Credentials to verify")
+public class AuthenticationRequest {
+
+    @Schema(description = "Username of the user", example = "john_doe")
+    @NotBlank(message = "Username is required")
+    private String username;
+
+    @Schema(description = "Password of the user", example = "password123")
+    @NotBlank(message = "Password is required")
+    @ToString.Exclude
+    private String password;
+}
@@ -0,0 +1,46 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk user creation or import.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk user creation or import")
+public class BulkImportResponse {
+
+    @Schema(description = "Number of users created", example = "998")
+    private int created;
+
+    @Schema(description = "Number of rows that were rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Rejected rows with the reason; capped, so it may list fewer rows than 'failed'")
+    private List<RowError> errors;
+
+    /**
+     * A rejected input row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A rejected input row")
+    public static class RowError {
+
+        @Schema(description = "1-based position of the row in the input, not counting a CSV header", example = "17")
+        private int row;
+
+        @Schema(description = "Why the row was rejected", example = "Email should be valid")
+        private String error;
+    }
+}
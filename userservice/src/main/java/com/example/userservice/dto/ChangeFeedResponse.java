@@ -0,0 +1,30 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one read of the user change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changes after a cursor plus the cursor to read from next")
+public class ChangeFeedResponse {
+
+    @Schema(description = "Changes in feed order")
+    private List<UserChangeResponse> items;
+
+    @Schema(description = "Cursor to pass as 'since' on the next read; always present", example = "42")
+    private String nextCursor;
+
+    @Schema(description = "Whether more changes are available right away", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,40 @@
+package com.example.userservice.dto;
+
+import com.example.userservice.event.UserChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for one entry of the user change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A user insert, update or delete")
+public class UserChangeResponse {
+
+    @Schema(description = "Position of the change in the feed", example = "42")
+    private Long id;
+
+    @Schema(description = "ID of the changed user", example = "1")
+    private Long userId;
+
+    @Schema(description = "What happened to the user", example = "UPDATED")
+    private UserChangedEvent.Type type;
+
+    @Schema(description = "Username after the change", example = "john_doe")
+    private String username;
+
+    @Schema(description = "Email address after the change", example = "john@example.com")
+    private String email;
+
+    @Schema(description = "When the change was recorded", example = "2025-08-07T21:00:00Z")
+    private Instant changedAt;
+}
@@ -0,0 +1,40 @@
+package com.example.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for partial user update requests.
+ * 
+ * Only the supplied fields are changed; omitted (null) fields keep their
+ * current values. When a version is supplied the update only applies if the
+ * user is still at that version.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "User partial update request")
+public class UserPatchRequest {
+
+    @Schema(description = "Username of the user", example = "john_doe")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @Schema(description = "Password of the user", example = "newPassword123")
+    @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+    private String password;
+
+    @Schema(description = "Email address of the user", example = "john.doe@example.com")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Schema(description = "Expected current version of the user; the update is rejected with 409 if it has changed", example = "0")
+    private Long version;
+}
@@ -28,4 +28,7 @@ public class UserResponse {
     
     @Schema(description = "Email address of the user", example = "john@example.com")
     private String email;
+
+    @Schema(description = "Version of the user, incremented on every update", example = "0")
+    private Long version;
 }
@@ -0,0 +1,42 @@
+package com.example.userservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A user deletion that OrderService has not yet been told about.
+ * 
+ * The row is written in the same transaction that deletes the user, so the
+ * notification is neither lost if the process stops nor sent for a delete
+ * that rolled back. It is removed once OrderService accepts the purge.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "pending_order_purges")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingOrderPurge {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+}
@@ -7,25 +7,40 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * User entity representing a user in the system.
  * 
  * This entity is used for storing user information including
- * username, password, and email address.
+ * username, password, and email address. Instances are held in the
+ * Hibernate second-level cache, which Hibernate keeps in step with every
+ * write made through the persistence context or a bulk JPQL statement.
  * 
  * @author Naveen Vusa
  * @version 1.0.0
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_username", columnList = "username"),
+        @Index(name = "idx_users_email", columnList = "email")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(UserEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    /**
+     * Sequence-generated so inserts can be sent in JDBC batches; the pooled
+     * allocation reserves 50 IDs per sequence call.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -42,4 +57,8 @@ public class User {
     @Email(message = "Email should be valid")
     @Column(nullable = false)
     private String email;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
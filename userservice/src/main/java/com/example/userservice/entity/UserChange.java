@@ -0,0 +1,67 @@
+package com.example.userservice.entity;
+
+import com.example.userservice.event.UserChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox entry recording one insert, update or delete of a user.
+ * 
+ * Entries are written in the same transaction as the user change and read by
+ * the change feed in ID order. Passwords are never recorded.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "user_changes", indexes = @Index(name = "idx_user_changes_user_id", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+
+    /**
+     * Number of IDs reserved by one call to the sequence. Each value it returns
+     * is the highest ID of a block, as Hibernate's pooled optimizer reads it.
+     */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Allocated by the outbox when the change is raised, before the row is
+     * inserted, so the outbox knows which IDs belong to transactions that have
+     * not finished yet.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_changes_seq")
+    @SequenceGenerator(name = "user_changes_seq", sequenceName = "user_changes_seq", allocationSize = ID_BLOCK_SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private UserChangedEvent.Type type;
+
+    @Column
+    private String username;
+
+    @Column
+    private String email;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
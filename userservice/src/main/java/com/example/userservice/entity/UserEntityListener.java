@@ -0,0 +1,41 @@
+package com.example.userservice.entity;
+
+import com.example.userservice.event.UserChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA callbacks that publish a {@link UserChangedEvent} for every inserted, updated or deleted user.
+ * 
+ * Hooking the entity rather than the service covers every write path,
+ * including bulk imports and the startup sample data. Bulk JPQL updates
+ * bypass these callbacks, so their callers publish the event themselves.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void afterInsert(User user) {
+        eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.CREATED, user));
+    }
+
+    @PostUpdate
+    public void afterUpdate(User user) {
+        eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.UPDATED, user));
+    }
+
+    @PostRemove
+    public void afterDelete(User user) {
+        eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.DELETED, user));
+    }
+}
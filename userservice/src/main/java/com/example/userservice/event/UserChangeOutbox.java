@@ -0,0 +1,214 @@
+package com.example.userservice.event;
+
+import com.example.userservice.entity.UserChange;
+import com.example.userservice.repository.UserChangeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Writes every {@link UserChangedEvent} to the user_changes outbox table in the
+ * transaction that made the change.
+ *
+ * Rows are collected per transaction and inserted with one JDBC batch just before
+ * it commits, on the transaction's own connection, so they commit or roll back
+ * with the user change. User events are raised by JPA callbacks while Hibernate
+ * flushes, which for most writes happens during commit, after Spring's
+ * before-commit hooks have run. The batch is therefore opened when a read-write
+ * transaction begins, and flushes the persistence context before it is written
+ * so every pending change raises its event in time. A change raised after that,
+ * in a transaction begun without this listener, or outside any transaction, is
+ * inserted right where it is raised.
+ *
+ * Change IDs are allocated before their transaction commits, so transactions can
+ * commit out of ID order. The outbox tracks the IDs of unfinished transactions and
+ * publishes a watermark: every change at or below it has either committed or
+ * rolled back, so a reader that never goes past the watermark cannot skip a change
+ * that commits later with a lower ID. IDs are taken from the sequence in blocks of
+ * {@link UserChange#ID_BLOCK_SIZE}; only handing one out takes the lock.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeOutbox implements TransactionExecutionListener {
+
+    static final String NEXT_ID_SQL = "select next value for user_changes_seq";
+
+    static final String INSERT_SQL = "insert into user_changes (id, user_id, change_type, username, email, changed_at) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserChangeRepository userChangeRepository;
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private long highestAllocated;
+    private long nextId;
+    private long blockLimit;
+
+    /**
+     * Start the watermark after the changes already in the table.
+     */
+    @PostConstruct
+    public synchronized void init() {
+        highestAllocated = userChangeRepository.findMaxId();
+        nextId = highestAllocated + 1;
+        blockLimit = highestAllocated;
+        log.info("User change outbox starts after change {}", highestAllocated);
+    }
+
+    /**
+     * Open the batch of a new read-write transaction.
+     *
+     * @param transaction the transaction that began
+     * @param beginFailure the reason it could not begin, or {@code null} if it began normally
+     */
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            open(false);
+        }
+    }
+
+    /**
+     * Record a user change in the current transaction.
+     *
+     * @param event the user change
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        long id = allocate();
+        Object[] row = {id, event.userId(), event.type().name(), event.username(), event.email(),
+                OffsetDateTime.now(ZoneOffset.UTC)};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, row);
+            } finally {
+                complete(List.of(id));
+            }
+            return;
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            // Not opened when the transaction began, so its commit may already be under way.
+            batch = open(true);
+        }
+        batch.ids.add(id);
+        if (batch.written) {
+            jdbcTemplate.update(INSERT_SQL, row);
+        } else {
+            batch.rows.add(row);
+        }
+    }
+
+    /**
+     * The highest change ID below which no transaction is still running.
+     *
+     * @return the watermark
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? highestAllocated : inFlight.first() - 1;
+    }
+
+    /**
+     * Register a callback run whenever a transaction that recorded changes finishes.
+     *
+     * @param listener the callback; it runs on the finishing thread and must return quickly
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private long allocate() {
+        while (true) {
+            synchronized (this) {
+                if (nextId <= blockLimit) {
+                    // Tracked as it is handed out, so a watermark read can never pass an ID that is not yet tracked.
+                    long id = nextId++;
+                    inFlight.add(id);
+                    highestAllocated = id;
+                    return id;
+                }
+            }
+            long limit = jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class);
+            synchronized (this) {
+                // Another thread may have installed a later block meanwhile; IDs must keep increasing.
+                if (limit > blockLimit) {
+                    nextId = Math.max(limit - UserChange.ID_BLOCK_SIZE + 1, highestAllocated + 1);
+                    blockLimit = limit;
+                }
+            }
+        }
+    }
+
+    private Batch open(boolean written) {
+        Batch batch = new Batch();
+        batch.written = written;
+        TransactionSynchronizationManager.bindResource(this, batch);
+        TransactionSynchronizationManager.registerSynchronization(batch);
+        return batch;
+    }
+
+    private void complete(List<Long> ids) {
+        synchronized (this) {
+            ids.forEach(inFlight::remove);
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * The changes recorded by one transaction.
+     */
+    private final class Batch implements TransactionSynchronization {
+
+        private final List<Long> ids = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private boolean written;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(UserChangeOutbox.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(UserChangeOutbox.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Raises the events of user changes still pending in the persistence context.
+            userChangeRepository.flush();
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+            written = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserChangeOutbox.this);
+            if (!ids.isEmpty()) {
+                complete(ids);
+            }
+        }
+    }
+}
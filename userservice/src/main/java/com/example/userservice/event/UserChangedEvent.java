@@ -0,0 +1,40 @@
+package com.example.userservice.event;
+
+import com.example.userservice.entity.User;
+
+/**
+ * Published when a user row is inserted, updated or deleted.
+ * 
+ * Listeners that must only see committed changes should use
+ * {@code @TransactionalEventListener}.
+ * 
+ * @param userId the user ID
+ * @param type what happened to the user
+ * @param username the username after the change, or null if unknown
+ * @param email the email after the change, or null if unknown
+ * @param version the row version after the change (for a delete, the version removed), or null if unknown
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public record UserChangedEvent(Long userId, Type type, String username, String email, Long version) {
+
+    /**
+     * Kinds of user changes.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Describe a change to a user entity.
+     * 
+     * @param type what happened to the user
+     * @param user the user as it is after the change
+     * @return the event
+     */
+    public static UserChangedEvent of(Type type, User user) {
+        return new UserChangedEvent(user.getId(), type, user.getUsername(), user.getEmail(), user.getVersion());
+    }
+}
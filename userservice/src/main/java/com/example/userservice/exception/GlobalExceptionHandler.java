@@ -1,11 +1,16 @@
 package com.example.userservice.exception;
 
 import com.example.common.dto.ErrorResponse;
+import com.example.common.exception.AuthenticationFailedException;
 import com.example.common.exception.BaseGlobalExceptionHandler;
+import com.example.common.exception.ConflictException;
 import com.example.common.exception.InternalServerException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
+import com.example.common.exception.ServiceUnavailableException;
 import com.example.common.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -48,6 +53,63 @@ public class GlobalExceptionHandler extends BaseGlobalExceptionHandler {
         return super.handleValidationException(ex);
     }
 
+    /**
+     * Handle ConflictException.
+     * 
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        return super.handleConflictException(ex);
+    }
+
+    /**
+     * Handle PreconditionFailedException raised when a conditional write found
+     * a different version than the request's If-Match.
+     * 
+     * @param ex the exception
+     * @return error response with 412 status
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return super.handlePreconditionFailedException(ex);
+    }
+
+    /**
+     * Handle OptimisticLockingFailureException raised when a versioned user
+     * was updated by another request in the meantime.
+     * 
+     * @param ex the exception
+     * @return error response with 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return super.handleConflictException(new ConflictException("User was modified concurrently, please retry"));
+    }
+
+    /**
+     * Handle AuthenticationFailedException.
+     * 
+     * @param ex the exception
+     * @return error response with 401 status
+     */
+    @ExceptionHandler(AuthenticationFailedException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationFailedException(AuthenticationFailedException ex) {
+        return super.handleAuthenticationFailedException(ex);
+    }
+
+    /**
+     * Handle ServiceUnavailableException raised when password hashing is saturated.
+     * 
+     * @param ex the exception
+     * @return error response with 503 status
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return super.handleServiceUnavailableException(ex);
+    }
+
     /**
      * Handle InternalServerException.
      * 
@@ -0,0 +1,23 @@
+package com.example.userservice.importer;
+
+import com.example.userservice.dto.UserRequest;
+
+/**
+ * One parsed row of a bulk user input.
+ * 
+ * @param row 1-based position of the row in the input
+ * @param request the parsed user, or null if the row could not be parsed
+ * @param error why the row could not be parsed, or null
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public record ImportRow(int row, UserRequest request, String error) {
+
+    public static ImportRow parsed(int row, UserRequest request) {
+        return new ImportRow(row, request, null);
+    }
+
+    public static ImportRow unreadable(int row, String error) {
+        return new ImportRow(row, null, error);
+    }
+}
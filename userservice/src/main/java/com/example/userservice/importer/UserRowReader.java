@@ -0,0 +1,179 @@
+package com.example.userservice.importer;
+
+import com.example.common.exception.ValidationException;
+import com.example.userservice.dto.UserRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming readers for bulk user input.
+ * 
+ * Every reader hands rows to the consumer as soon as they are parsed, so the
+ * input is never held in memory as a whole. Rows that cannot be parsed are
+ * passed on as unreadable rows; only a structurally broken input, such as a
+ * JSON body that is not an array, fails the whole read.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRowReader {
+
+    static final List<String> CSV_COLUMNS = List.of("username", "password", "email");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Read a JSON array of users element by element.
+     * 
+     * A malformed element cannot be skipped reliably, so it is reported and ends the read.
+     * 
+     * @param in the JSON input
+     * @param rows receives each row
+     * @throws IOException if the input cannot be read
+     * @throws ValidationException if the input is not a JSON array
+     */
+    public void readJsonArray(InputStream in, Consumer<ImportRow> rows) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (firstToken(parser) != JsonToken.START_ARRAY) {
+                throw new ValidationException("Request body must be a JSON array of users");
+            }
+            int row = 0;
+            while (true) {
+                row++;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        return;
+                    }
+                    rows.accept(ImportRow.parsed(row, parser.readValueAs(UserRequest.class)));
+                } catch (JsonProcessingException e) {
+                    rows.accept(ImportRow.unreadable(row, "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read newline-delimited JSON users, one object per line; blank lines are skipped.
+     * 
+     * @param in the NDJSON input
+     * @param rows receives each row
+     * @throws IOException if the input cannot be read
+     */
+    public void readNdjson(InputStream in, Consumer<ImportRow> rows) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            String line;
+            int row = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                try {
+                    rows.accept(ImportRow.parsed(row, objectMapper.readValue(line, UserRequest.class)));
+                } catch (JsonProcessingException e) {
+                    rows.accept(ImportRow.unreadable(row, "Malformed JSON: " + e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read CSV users; the header line names the username, password and email columns in any order.
+     * 
+     * Fields may be double-quoted, with {@code ""} escaping a quote; quoted line breaks are not supported.
+     * Blank lines are skipped.
+     * 
+     * @param in the CSV input
+     * @param rows receives each row
+     * @throws IOException if the input cannot be read
+     * @throws ValidationException if the header is missing a column
+     */
+    public void readCsv(InputStream in, Consumer<ImportRow> rows) throws IOException {
+        try (BufferedReader reader = reader(in)) {
+            String header = reader.readLine();
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = header != null ? splitCsvLine(header) : List.of();
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+                throw new ValidationException("CSV header must name the columns " + String.join(", ", CSV_COLUMNS));
+            }
+
+            String line;
+            int row = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                List<String> fields = splitCsvLine(line);
+                if (fields.size() != names.size()) {
+                    rows.accept(ImportRow.unreadable(row, "Expected " + names.size() + " fields but found " + fields.size()));
+                    continue;
+                }
+                rows.accept(ImportRow.parsed(row, new UserRequest(fields.get(columns.get("username")),
+                        fields.get(columns.get("password")), fields.get(columns.get("email")))));
+            }
+        }
+    }
+
+    private JsonToken firstToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.entity.PendingOrderPurge;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for PendingOrderPurge entity.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Repository
+public interface PendingOrderPurgeRepository extends JpaRepository<PendingOrderPurge, Long> {
+
+    /**
+     * Find the notifications that are due to be sent.
+     * 
+     * @param now notifications whose next attempt is at or before this instant are due
+     * @param limit maximum number of notifications to return
+     * @return the due notifications in user ID order
+     */
+    List<PendingOrderPurge> findByNextAttemptAtLessThanEqualOrderByUserIdAsc(Instant now, Limit limit);
+}
@@ -0,0 +1,67 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.entity.UserChange;
+import com.example.userservice.event.UserChangedEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for UserChange entity.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    /**
+     * Find the changes in an ID range, in ID order.
+     * 
+     * @param since only changes with a greater ID are returned
+     * @param until only changes with this ID or a lower one are returned
+     * @param limit maximum number of changes to return
+     * @return the changes
+     */
+    @Query("select c from UserChange c where c.id > :since and c.id <= :until order by c.id")
+    List<UserChange> findChanges(@Param("since") long since, @Param("until") long until, Limit limit);
+
+    /**
+     * Find the highest change ID.
+     * 
+     * @return the highest ID, or 0 if there are no changes
+     */
+    @Query("select coalesce(max(c.id), 0) from UserChange c")
+    long findMaxId();
+
+    /**
+     * Delete changes recorded before the cutoff that a later change of the same user supersedes.
+     * 
+     * @param cutoff only changes recorded before this instant are deleted
+     * @return number of deleted changes
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserChange c where c.changedAt < :cutoff "
+            + "and exists (select n.id from UserChange n where n.userId = c.userId and n.id > c.id)")
+    int deleteSupersededBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Delete changes of one type recorded before the cutoff.
+     * 
+     * @param type the change type
+     * @param cutoff only changes recorded before this instant are deleted
+     * @return number of deleted changes
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserChange c where c.type = :type and c.changedAt < :cutoff")
+    int deleteByTypeBefore(@Param("type") UserChangedEvent.Type type, @Param("cutoff") Instant cutoff);
+}
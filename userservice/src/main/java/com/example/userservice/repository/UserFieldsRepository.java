@@ -0,0 +1,43 @@
+package com.example.userservice.repository;
+
+import com.example.common.web.FieldSelection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries reading only selected user columns, for responses trimmed with {@code ?fields=}.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface UserFieldsRepository {
+
+    /**
+     * Read the selected fields of all users, ordered by ID.
+     * 
+     * @param fields the fields to read
+     * @return one map of field name to value per user
+     */
+    List<Map<String, Object>> findAllFields(FieldSelection fields);
+
+    /**
+     * Read the selected fields of the users after a cursor, ordered by ID.
+     * 
+     * @param after only users with a greater ID are read
+     * @param limit maximum number of users
+     * @param fields the fields to read
+     * @return one map of field name to value per user
+     */
+    List<Map<String, Object>> findFieldsAfter(Long after, int limit, FieldSelection fields);
+
+    /**
+     * Read the selected fields of one user.
+     * 
+     * @param id the user ID
+     * @param fields the fields to read
+     * @return Optional containing the map of field name to value if the user exists
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields);
+}
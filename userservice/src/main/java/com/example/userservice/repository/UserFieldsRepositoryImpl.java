@@ -0,0 +1,64 @@
+package com.example.userservice.repository;
+
+import com.example.common.web.FieldSelection;
+import com.example.userservice.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria implementation of UserFieldsRepository.
+ * 
+ * Each query selects only the requested columns as a tuple, so the other
+ * columns, the password hash included, are neither read nor hydrated into
+ * entities. Selections by ID bypass the second-level cache, which only
+ * holds whole entities.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public class UserFieldsRepositoryImpl implements UserFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(FieldSelection fields) {
+        return select(fields, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsAfter(Long after, int limit, FieldSelection fields) {
+        return select(fields, (builder, user) -> builder.greaterThan(user.get("id"), after), limit);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields) {
+        return select(fields, (builder, user) -> builder.equal(user.get("id"), id), 1).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> select(FieldSelection fields, BiFunction<CriteriaBuilder, Root<User>, Predicate> filter,
+                                             int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<User> user = query.from(User.class);
+        query.multiselect(fields.names().stream().<Selection<?>>map(name -> user.get(name).alias(name)).toList());
+        if (filter != null) {
+            query.where(filter.apply(builder, user));
+        }
+        query.orderBy(builder.asc(user.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultStream()
+                .map(tuple -> fields.toMap(tuple::get))
+                .toList();
+    }
+}
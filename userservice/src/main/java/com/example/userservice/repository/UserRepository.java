@@ -1,22 +1,116 @@
 package com.example.userservice.repository;
 
+import com.example.userservice.dto.UserResponse;
 import com.example.userservice.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for User entity.
  * 
  * This interface provides data access methods for User entities
- * using Spring Data JPA.
+ * using Spring Data JPA. Username and email lookups are marked cacheable so
+ * their results are served from the Hibernate query cache until a write
+ * to the users table invalidates them.
  * 
  * @author Naveen Vusa
  * @version 1.0.0
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserFieldsRepository {
+
+    /**
+     * JDBC fetch size used when streaming users, bounding how many rows are held at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * List users as responses, without selecting passwords.
+     * 
+     * @return all users ordered by ID
+     */
+    @Query("select new com.example.userservice.dto.UserResponse(u.id, u.username, u.email, u.version) "
+            + "from User u order by u.id")
+    List<UserResponse> findAllResponses();
+
+    /**
+     * Fetch the users that follow a keyset cursor, without selecting passwords.
+     * 
+     * @param after only users with a greater ID are returned
+     * @param limit maximum number of users to return
+     * @return users ordered by ID
+     */
+    @Query("select new com.example.userservice.dto.UserResponse(u.id, u.username, u.email, u.version) "
+            + "from User u where u.id > :after order by u.id")
+    List<UserResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Find users whose username or email contains a lower-cased query, after a keyset cursor.
+     * 
+     * Scans the table; used only when the in-memory search index is disabled.
+     * 
+     * @param query the lower-cased text to look for, with {@code !}, {@code %} and {@code _} escaped by {@code !}
+     * @param after only users with a greater ID are returned
+     * @param limit maximum number of users to return
+     * @return matching users ordered by ID
+     */
+    @Query("select new com.example.userservice.dto.UserResponse(u.id, u.username, u.email, u.version) "
+            + "from User u where u.id > :after and (lower(u.username) like concat('%', :query, '%') escape '!' "
+            + "or lower(u.email) like concat('%', :query, '%') escape '!') order by u.id")
+    List<UserResponse> searchResponsesAfter(@Param("query") String query, @Param("after") Long after, Limit limit);
+
+    /**
+     * Stream every user as a response through a database cursor, without selecting passwords.
+     * 
+     * Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return a stream of users ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.userservice.dto.UserResponse(u.id, u.username, u.email, u.version) "
+            + "from User u order by u.id")
+    Stream<UserResponse> streamAllResponses();
+
+    /**
+     * Stream the IDs of all users through a database cursor.
+     * 
+     * Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return a stream of user IDs
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select u.id from User u")
+    Stream<Long> streamAllIds();
+
+    /**
+     * Load a user from the table, bypassing the second-level cache.
+     * 
+     * Used after a bulk update, whose cache invalidation only completes when the
+     * transaction ends.
+     * 
+     * @param id the user ID
+     * @return Optional containing the user if found
+     */
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findByIdFromTable(@Param("id") Long id);
 
     /**
      * Find a user by username.
@@ -24,6 +118,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username the username to search for
      * @return Optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
@@ -32,6 +127,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email to search for
      * @return Optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     /**
@@ -40,6 +136,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username the username to check
      * @return true if user exists, false otherwise
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByUsername(String username);
 
     /**
@@ -48,5 +145,53 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email to check
      * @return true if user exists, false otherwise
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
+
+    /**
+     * Find the current version of a user without loading the user.
+     * 
+     * @param id the user ID
+     * @return Optional containing the version if the user exists
+     */
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Apply a partial update in a single UPDATE statement.
+     * 
+     * Null arguments leave the corresponding column unchanged. The version is
+     * incremented, and when an expected version is given the row is only
+     * updated if it still has that version. Parameters are cast explicitly
+     * because Hibernate cannot infer a coalesce type from a parameter bound to null.
+     * 
+     * @param id the user ID
+     * @param username the new username, or null
+     * @param password the new password, or null
+     * @param email the new email, or null
+     * @param version the expected current version, or null to skip the check
+     * @return number of rows updated (0 if the user is missing or the version did not match)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.username = coalesce(cast(:username as String), u.username), "
+            + "u.password = coalesce(cast(:password as String), u.password), "
+            + "u.email = coalesce(cast(:email as String), u.email), u.version = u.version + 1 "
+            + "where u.id = :id and (:version is null or u.version = :version)")
+    int patch(@Param("id") Long id, @Param("username") String username, @Param("password") String password,
+              @Param("email") String email, @Param("version") Long version);
+
+    /**
+     * Replace a stored password with its hash, without changing the version.
+     * 
+     * Only applies while the row still holds the expected password, so a
+     * concurrent password change is never overwritten.
+     * 
+     * @param id the user ID
+     * @param expected the password currently stored
+     * @param hash the replacement hash
+     * @return number of rows updated (0 if the password changed in the meantime)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.password = :hash where u.id = :id and u.password = :expected")
+    int upgradePassword(@Param("id") Long id, @Param("expected") String expected, @Param("hash") String hash);
 }
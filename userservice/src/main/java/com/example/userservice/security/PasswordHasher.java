@@ -0,0 +1,223 @@
+package com.example.userservice.security;
+
+import com.example.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password hashing on a dedicated, bounded thread pool.
+ *
+ * Hashing is deliberately slow, so it never runs on the request threads that
+ * serve cheap lookups: work is handed to a fixed pool with a bounded queue, and
+ * once the queue is full new work is rejected with a
+ * {@link ServiceUnavailableException} instead of piling up. Time spent waiting
+ * in the queue and time spent hashing are recorded separately.
+ *
+ * Passwords stored before hashing was introduced are still accepted; a
+ * successful verification against such a password, or against a hash with a
+ * lower work factor than configured, returns a replacement hash so the caller
+ * can upgrade the stored value.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.password.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${users.password.threads:4}")
+    private int threads;
+
+    @Value("${users.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    private String dummyHash;
+    private Timer hashTimer;
+    private Timer verifyTimer;
+    private Timer waitTimer;
+    private Counter rejections;
+
+    /**
+     * Result of checking a password against a user's stored passwords.
+     *
+     * @param index position of the first stored password that matched, or -1
+     * @param upgradedHash a new hash to store in place of the matched password, or null if it is current
+     */
+    public record Verification(int index, String upgradedHash) {
+
+        public boolean matched() {
+            return index >= 0;
+        }
+    }
+
+    /**
+     * Start the hashing pool and register its metrics.
+     */
+    @PostConstruct
+    public void start() {
+        encoder = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        hashTimer = Timer.builder("users.password.hashing.duration").tag("operation", "hash")
+                .description("Time spent computing password hashes").register(meterRegistry);
+        verifyTimer = Timer.builder("users.password.hashing.duration").tag("operation", "verify")
+                .description("Time spent computing password hashes").register(meterRegistry);
+        waitTimer = Timer.builder("users.password.hashing.wait")
+                .description("Time password hashing work spent queued").register(meterRegistry);
+        rejections = Counter.builder("users.password.hashing.rejected")
+                .description("Password hashing requests rejected because the queue was full").register(meterRegistry);
+        Gauge.builder("users.password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a thread").register(meterRegistry);
+        Gauge.builder("users.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing requests being computed").register(meterRegistry);
+        // Verified against when no user matches, so unknown usernames take as long as wrong passwords.
+        dummyHash = encoder.encode("dummy-password");
+        log.info("Password hashing uses BCrypt strength {} on {} threads with a queue of {}", strength, threads, queueCapacity);
+    }
+
+    /**
+     * Stop the hashing pool.
+     *
+     * @throws InterruptedException if interrupted while waiting for running work
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Hash a password, waiting for the result.
+     *
+     * @param rawPassword the password
+     * @return the BCrypt hash
+     * @throws ServiceUnavailableException if the hashing queue is full
+     */
+    public String hash(String rawPassword) {
+        return join(submit(hashTimer, () -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hash several passwords in parallel, waiting for the results.
+     *
+     * At most one password per pool thread is queued at a time, so a large
+     * import does not monopolize the queue.
+     *
+     * @param rawPasswords the passwords
+     * @return the BCrypt hashes, in the same order
+     * @throws ServiceUnavailableException if the hashing queue is full
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int start = 0; start < rawPasswords.size(); start += threads) {
+            List<CompletableFuture<String>> window = new ArrayList<>();
+            for (String rawPassword : rawPasswords.subList(start, Math.min(start + threads, rawPasswords.size()))) {
+                window.add(submit(hashTimer, () -> encoder.encode(rawPassword)));
+            }
+            window.forEach(future -> hashes.add(join(future)));
+        }
+        return hashes;
+    }
+
+    /**
+     * Check a password against the stored passwords of the candidate users, without blocking the caller.
+     *
+     * Candidates are tried in order; an empty list is checked against a dummy hash
+     * so the response time does not reveal whether a username exists.
+     *
+     * @param rawPassword the supplied password
+     * @param storedPasswords the stored hashes, or legacy plaintext passwords
+     * @return the verification result
+     * @throws ServiceUnavailableException if the hashing queue is full
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, List<String> storedPasswords) {
+        return submit(verifyTimer, () -> {
+            if (storedPasswords.isEmpty()) {
+                encoder.matches(rawPassword, dummyHash);
+                return new Verification(-1, null);
+            }
+            for (int i = 0; i < storedPasswords.size(); i++) {
+                String stored = storedPasswords.get(i);
+                if (isHashed(stored)) {
+                    if (encoder.matches(rawPassword, stored)) {
+                        return new Verification(i, encoder.upgradeEncoding(stored) ? encoder.encode(rawPassword) : null);
+                    }
+                } else if (MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                        rawPassword.getBytes(StandardCharsets.UTF_8))) {
+                    return new Verification(i, encoder.encode(rawPassword));
+                }
+            }
+            return new Verification(-1, null);
+        });
+    }
+
+    /**
+     * Whether a stored password is a BCrypt hash rather than legacy plaintext.
+     *
+     * @param storedPassword the stored password
+     * @return true if it is a BCrypt hash
+     */
+    public static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException("Password hashing is saturated, please retry", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Hashing only fails with the RuntimeException raised by the encoder.
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.service;
+
+/**
+ * Tells OrderService about deleted users so it can remove their orders.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface OrderPurgeNotifier {
+
+    /**
+     * Record a user deletion in the current transaction, to be sent to OrderService after it commits.
+     * 
+     * @param userId the ID of the deleted user
+     */
+    void recordDeletion(Long userId);
+
+    /**
+     * Send the recorded deletions that are due, in one request.
+     * 
+     * Failed notifications are retried with exponential backoff.
+     * 
+     * @return number of deletions OrderService accepted
+     */
+    int sendPending();
+}
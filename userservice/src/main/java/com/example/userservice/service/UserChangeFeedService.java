@@ -0,0 +1,39 @@
+package com.example.userservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.userservice.dto.ChangeFeedResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for reading the user change feed.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface UserChangeFeedService {
+
+    /**
+     * Read the user changes after a cursor, optionally waiting for new ones.
+     * 
+     * If there are no changes after the cursor, the result completes as soon as
+     * one commits, or with an empty page once the wait is over.
+     * 
+     * @param since cursor from a previous read, or null to read from the beginning
+     * @param limit maximum number of changes to return
+     * @param waitMs how long to wait for a change when there is none, 0 to return immediately
+     * @return the changes and the cursor for the next read
+     * @throws ValidationException if the cursor, limit or wait is out of range
+     * @throws ServiceUnavailableException if too many reads are already waiting
+     */
+    CompletableFuture<ChangeFeedResponse> getChanges(Long since, int limit, long waitMs);
+
+    /**
+     * Compact the feed: drop changes older than the retention that a later change
+     * of the same user supersedes, and old deletes.
+     * 
+     * @return number of changes removed
+     */
+    int compact();
+}
@@ -0,0 +1,38 @@
+package com.example.userservice.service;
+
+import com.example.userservice.dto.BulkImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for creating users in bulk.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+public interface UserImportService {
+
+    /**
+     * Supported bulk input formats.
+     */
+    enum Format {
+        JSON_ARRAY,
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Create the users read from the input, streaming it and inserting in JDBC batches.
+     * 
+     * Invalid rows are skipped and reported; valid rows are committed in chunks,
+     * so users from earlier chunks stay created if a later chunk fails.
+     * 
+     * @param in the input
+     * @param format the input format
+     * @return counts of created and rejected rows, with the reasons
+     * @throws IOException if the input cannot be read
+     * @throws ValidationException if the input is structurally invalid
+     */
+    BulkImportResponse importUsers(InputStream in, Format format) throws IOException;
+}
@@ -1,9 +1,17 @@
 package com.example.userservice.service;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.FieldSelection;
+import com.example.userservice.dto.AuthenticationRequest;
+import com.example.userservice.dto.UserPatchRequest;
 import com.example.userservice.dto.UserRequest;
 import com.example.userservice.dto.UserResponse;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Service interface for User business logic.
@@ -24,6 +32,20 @@ public interface UserService {
      */
     UserResponse createUser(UserRequest userRequest);
 
+    /**
+     * Verify a username and password without blocking the calling thread.
+     * 
+     * Legacy plaintext passwords, and hashes with a lower work factor than
+     * configured, are replaced by a current hash on successful verification.
+     * 
+     * @param request the credentials
+     * @return a future completing with the authenticated user, or failing with
+     *         AuthenticationFailedException if the credentials do not match
+     * @throws ValidationException if the request is null
+     * @throws ServiceUnavailableException if password hashing is saturated
+     */
+    CompletableFuture<UserResponse> authenticate(AuthenticationRequest request);
+
     /**
      * Get a user by ID.
      * 
@@ -33,6 +55,54 @@ public interface UserService {
      */
     UserResponse getUserById(Long id);
 
+    /**
+     * Get selected fields of a user by ID, reading only those columns.
+     * 
+     * @param id the user ID
+     * @param fields the fields to return
+     * @return the selected fields of the user
+     * @throws ResourceNotFoundException if user not found
+     */
+    Map<String, Object> getUserById(Long id, FieldSelection fields);
+
+    /**
+     * Get several users by ID with a single query.
+     * 
+     * @param ids the user IDs
+     * @return the users found in request order, and the IDs that were not found
+     * @throws ValidationException if the list is empty, contains nulls or exceeds the configured limit
+     */
+    MultiGetResponse<UserResponse> getUsersByIds(List<Long> ids);
+
+    /**
+     * Get the users with a username, ignoring case.
+     * 
+     * @param username the username
+     * @return the matching users ordered by ID
+     * @throws ResourceNotFoundException if no user has the username
+     */
+    List<UserResponse> getUsersByUsername(String username);
+
+    /**
+     * Get the users with an email address, ignoring case.
+     * 
+     * @param email the email address
+     * @return the matching users ordered by ID
+     * @throws ResourceNotFoundException if no user has the email address
+     */
+    List<UserResponse> getUsersByEmail(String email);
+
+    /**
+     * Search users whose username or email contains the query, ignoring case.
+     * 
+     * @param query the text to look for
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of users on the page
+     * @return matching users ordered by ID and the cursor of the next page
+     * @throws ValidationException if the query is blank or the limit is out of range
+     */
+    PageResponse<UserResponse> searchUsers(String query, Long after, int limit);
+
     /**
      * Get all users.
      * 
@@ -40,23 +110,77 @@ public interface UserService {
      */
     List<UserResponse> getAllUsers();
 
+    /**
+     * Get selected fields of all users, reading only those columns.
+     * 
+     * @param fields the fields to return
+     * @return the selected fields of every user, ordered by ID
+     */
+    List<Map<String, Object>> getAllUsers(FieldSelection fields);
+
+    /**
+     * Get one page of users ordered by ID, starting after a cursor.
+     * 
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of users on the page
+     * @return the page and the cursor of the next one
+     * @throws ValidationException if the limit is out of range
+     */
+    PageResponse<UserResponse> getUsersPage(Long after, int limit);
+
+    /**
+     * Get selected fields of one page of users ordered by ID, reading only those columns.
+     * 
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of users on the page
+     * @param fields the fields to return
+     * @return the page and the cursor of the next one
+     * @throws ValidationException if the limit is out of range
+     */
+    PageResponse<Map<String, Object>> getUsersPage(Long after, int limit, FieldSelection fields);
+
+    /**
+     * Pass every user, ordered by ID, to the action while streaming them from the database.
+     * 
+     * @param action receives each user in turn
+     */
+    void streamUsers(Consumer<UserResponse> action);
+
     /**
      * Update a user by ID.
      * 
      * @param id the user ID
      * @param userRequest the updated user data
+     * @param expectedVersion the version named by If-Match, or null to update unconditionally
+     * @return the updated user response
+     * @throws ResourceNotFoundException if user not found
+     * @throws PreconditionFailedException if the user is no longer at the expected version
+     */
+    UserResponse updateUser(Long id, UserRequest userRequest, Long expectedVersion);
+
+    /**
+     * Partially update a user by ID, changing only the supplied fields.
+     * 
+     * @param id the user ID
+     * @param patchRequest the fields to change and optional expected version
+     * @param expectedVersion the version named by If-Match, used when the body has none; may be null
      * @return the updated user response
      * @throws ResourceNotFoundException if user not found
+     * @throws ConflictException if the user is no longer at the version in the body
+     * @throws PreconditionFailedException if the user is no longer at the If-Match version
      */
-    UserResponse updateUser(Long id, UserRequest userRequest);
+    UserResponse patchUser(Long id, UserPatchRequest patchRequest, Long expectedVersion);
 
     /**
-     * Delete a user by ID.
+     * Delete a user by ID. OrderService is told about the deletion once it
+     * commits, and removes the user's orders in the background.
      * 
      * @param id the user ID
+     * @param expectedVersion the version named by If-Match, or null to delete unconditionally
      * @throws ResourceNotFoundException if user not found
+     * @throws PreconditionFailedException if the user is no longer at the expected version
      */
-    void deleteUser(Long id);
+    void deleteUser(Long id, Long expectedVersion);
 
     /**
      * Check if a user exists by ID.
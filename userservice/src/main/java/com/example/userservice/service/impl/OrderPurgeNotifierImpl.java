@@ -0,0 +1,91 @@
+package com.example.userservice.service.impl;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.userservice.client.OrderServiceClient;
+import com.example.userservice.entity.PendingOrderPurge;
+import com.example.userservice.repository.PendingOrderPurgeRepository;
+import com.example.userservice.service.OrderPurgeNotifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Implementation of OrderPurgeNotifier interface.
+ * 
+ * Deletions are kept in the pending_order_purges table (a transactional
+ * outbox) until OrderService accepts them, and are sent in batches from a
+ * scheduled job rather than from the request that deleted the user, so
+ * deleting a user neither waits for nor depends on OrderService.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPurgeNotifierImpl implements OrderPurgeNotifier {
+
+    private final PendingOrderPurgeRepository pendingOrderPurgeRepository;
+    private final OrderServiceClient orderServiceClient;
+
+    @Value("${users.order-purge.batch-size:100}")
+    private int batchSize;
+
+    @Value("${users.order-purge.retry-delay:5s}")
+    private Duration retryDelay;
+
+    @Value("${users.order-purge.max-retry-delay:10m}")
+    private Duration maxRetryDelay;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long userId) {
+        Instant now = Instant.now();
+        pendingOrderPurgeRepository.save(new PendingOrderPurge(userId, now, 0, now));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${users.order-purge.interval-ms:1000}")
+    public int sendPending() {
+        Instant now = Instant.now();
+        List<PendingOrderPurge> due = pendingOrderPurgeRepository
+                .findByNextAttemptAtLessThanEqualOrderByUserIdAsc(now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Long> userIds = due.stream().map(PendingOrderPurge::getUserId).toList();
+        
+        try {
+            orderServiceClient.requestOrderPurge(userIds);
+        } catch (ServiceUnavailableException e) {
+            log.warn("Could not notify OrderService about {} deleted users, will retry: {}", userIds.size(), e.getMessage());
+            due.forEach(pending -> {
+                pending.setAttempts(pending.getAttempts() + 1);
+                pending.setNextAttemptAt(now.plus(backoff(pending.getAttempts())));
+            });
+            pendingOrderPurgeRepository.saveAll(due);
+            return 0;
+        }
+        
+        pendingOrderPurgeRepository.deleteAllByIdInBatch(userIds);
+        log.info("Notified OrderService about {} deleted users", userIds.size());
+        return userIds.size();
+    }
+
+    /**
+     * Delay before the next attempt: the retry delay, doubled per failed attempt, up to the maximum.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+}
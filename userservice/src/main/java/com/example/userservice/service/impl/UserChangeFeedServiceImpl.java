@@ -0,0 +1,163 @@
+package com.example.userservice.service.impl;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.userservice.dto.ChangeFeedResponse;
+import com.example.userservice.dto.UserChangeResponse;
+import com.example.userservice.entity.UserChange;
+import com.example.userservice.event.UserChangeOutbox;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserChangeRepository;
+import com.example.userservice.service.UserChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of UserChangeFeedService interface.
+ *
+ * Reads never go past the outbox watermark, so a cursor only moves over changes
+ * whose transactions have finished. Waiting reads hold no thread: they are parked
+ * as futures and re-checked on a single notifier thread whenever a transaction
+ * that recorded changes finishes; bursts of commits are coalesced into one pass.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeFeedServiceImpl implements UserChangeFeedService {
+
+    private final UserChangeRepository userChangeRepository;
+    private final UserChangeOutbox userChangeOutbox;
+
+    @Value("${users.changes.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${users.changes.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${users.changes.max-waiters:1000}")
+    private int maxWaiters;
+
+    @Value("${users.changes.retention:7d}")
+    private Duration retention;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private ExecutorService notifier;
+
+    private record Waiter(long since, int limit, CompletableFuture<ChangeFeedResponse> result) {
+    }
+
+    /**
+     * Start the notifier thread and subscribe to finished transactions.
+     */
+    @PostConstruct
+    public void start() {
+        notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-changes-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        userChangeOutbox.addListener(this::scheduleWake);
+    }
+
+    /**
+     * Stop the notifier thread, answering waiting reads with what they have.
+     */
+    @PreDestroy
+    public void stop() {
+        notifier.shutdownNow();
+        waiters.forEach(waiter -> waiter.result().complete(read(waiter.since(), waiter.limit())));
+    }
+
+    @Override
+    public CompletableFuture<ChangeFeedResponse> getChanges(Long since, int limit, long waitMs) {
+        long cursor = since != null ? since : 0;
+        if (cursor < 0) {
+            throw new ValidationException("Cursor cannot be negative");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxLimit);
+        }
+        if (waitMs < 0 || waitMs > maxWaitMs) {
+            throw new ValidationException("Wait must be between 0 and " + maxWaitMs + " ms");
+        }
+
+        ChangeFeedResponse page = read(cursor, limit);
+        if (!page.getItems().isEmpty() || waitMs == 0) {
+            return CompletableFuture.completedFuture(page);
+        }
+        if (waiters.size() >= maxWaiters) {
+            throw new ServiceUnavailableException("Too many clients are waiting for user changes, please retry");
+        }
+
+        Waiter waiter = new Waiter(Long.parseLong(page.getNextCursor()), limit, new CompletableFuture<>());
+        waiter.result().completeOnTimeout(page, waitMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, failure) -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A change may have committed between the read and registering; check once more.
+        scheduleWake();
+        return waiter.result();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${users.changes.compaction-interval-ms:3600000}")
+    public int compact() {
+        Instant cutoff = Instant.now().minus(retention);
+        int superseded = userChangeRepository.deleteSupersededBefore(cutoff);
+        int deletes = userChangeRepository.deleteByTypeBefore(UserChangedEvent.Type.DELETED, cutoff);
+        log.info("Compacted user change feed: removed {} superseded changes and {} deletes", superseded, deletes);
+        return superseded + deletes;
+    }
+
+    private void scheduleWake() {
+        if (!waiters.isEmpty() && wakeScheduled.compareAndSet(false, true)) {
+            notifier.execute(this::wake);
+        }
+    }
+
+    private void wake() {
+        wakeScheduled.set(false);
+        // Completed waiters remove themselves, so the set only holds reads still waiting.
+        for (Waiter waiter : waiters) {
+            ChangeFeedResponse page = read(waiter.since(), waiter.limit());
+            if (!page.getItems().isEmpty()) {
+                waiter.result().complete(page);
+            }
+        }
+    }
+
+    private ChangeFeedResponse read(long since, int limit) {
+        long watermark = userChangeOutbox.watermark();
+        List<UserChange> changes = userChangeRepository.findChanges(since, watermark, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        List<UserChangeResponse> items = changes.stream().limit(limit).map(this::toResponse).toList();
+        // With nothing to return, every ID up to the watermark is settled, so the cursor can skip to it.
+        long next = items.isEmpty() ? Math.max(since, watermark) : items.get(items.size() - 1).getId();
+        return new ChangeFeedResponse(items, String.valueOf(next), hasMore);
+    }
+
+    private UserChangeResponse toResponse(UserChange change) {
+        return new UserChangeResponse(change.getId(), change.getUserId(), change.getType(), change.getUsername(),
+                change.getEmail(), change.getChangedAt());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.userservice.service.impl;
+
+import com.example.userservice.dto.BulkImportResponse;
+import com.example.userservice.dto.UserRequest;
+import com.example.userservice.entity.User;
+import com.example.userservice.importer.ImportRow;
+import com.example.userservice.importer.UserRowReader;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.PasswordHasher;
+import com.example.userservice.service.UserImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of UserImportService interface.
+ * 
+ * Rows are validated as they are read and buffered only up to the chunk size.
+ * Each chunk is inserted in its own transaction; with sequence-generated IDs
+ * Hibernate sends the inserts to the database in JDBC batches. Passwords are
+ * hashed in parallel on the password hashing pool just before each chunk is inserted.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final UserRowReader userRowReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHasher passwordHasher;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${users.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public BulkImportResponse importUsers(InputStream in, Format format) throws IOException {
+        log.info("Importing users from {}", format);
+        
+        Importer importer = new Importer();
+        switch (format) {
+            case JSON_ARRAY -> userRowReader.readJsonArray(in, importer);
+            case NDJSON -> userRowReader.readNdjson(in, importer);
+            case CSV -> userRowReader.readCsv(in, importer);
+        }
+        importer.flush();
+        log.info("Imported {} users, rejected {} rows", importer.response.getCreated(), importer.response.getFailed());
+        
+        return importer.response;
+    }
+
+    /**
+     * Collects valid rows into chunks and records rejected ones.
+     */
+    private final class Importer implements Consumer<ImportRow> {
+
+        private final BulkImportResponse response = new BulkImportResponse(0, 0, new ArrayList<>());
+        private final List<ImportRow> chunk = new ArrayList<>();
+
+        @Override
+        public void accept(ImportRow row) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                reject(row.row(), error);
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<User> users = chunk.stream().map(row -> toUser(row.request())).toList();
+            try {
+                List<String> hashes = passwordHasher.hashAll(users.stream().map(User::getPassword).toList());
+                for (int i = 0; i < users.size(); i++) {
+                    users.get(i).setPassword(hashes.get(i));
+                }
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+                response.setCreated(response.getCreated() + users.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to insert a chunk of {} users: {}", users.size(), e.getMessage());
+                chunk.forEach(row -> reject(row.row(), "Could not insert user: " + e.getMessage()));
+            }
+            chunk.clear();
+        }
+
+        private void reject(int row, String error) {
+            response.setFailed(response.getFailed() + 1);
+            if (response.getErrors().size() < maxReportedErrors) {
+                response.getErrors().add(new BulkImportResponse.RowError(row, error));
+            }
+        }
+    }
+
+    private String validate(UserRequest request) {
+        if (request == null) {
+            return "User cannot be null";
+        }
+        List<String> messages = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private User toUser(UserRequest request) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setPassword(request.getPassword());
+        user.setEmail(request.getEmail());
+        return user;
+    }
+}
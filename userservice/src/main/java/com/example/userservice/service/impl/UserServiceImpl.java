@@ -1,19 +1,52 @@
 package com.example.userservice.service.impl;
 
+import com.example.common.cache.ResponseCache;
+import com.example.userservice.cache.UserIdIndex;
+import com.example.userservice.cache.UserLookupIndex;
+import com.example.userservice.cache.UserSearchIndex;
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.FieldSelection;
+import com.example.userservice.dto.AuthenticationRequest;
+import com.example.userservice.dto.UserPatchRequest;
 import com.example.userservice.dto.UserRequest;
 import com.example.userservice.dto.UserResponse;
 import com.example.userservice.entity.User;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.common.exception.AuthenticationFailedException;
+import com.example.common.exception.ConflictException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.PasswordHasher;
+import com.example.userservice.service.OrderPurgeNotifier;
 import com.example.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of UserService interface.
@@ -30,9 +63,29 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    static final String RESPONSE_TAG_PREFIX = "user:";
+
     private final UserRepository userRepository;
+    private final ResponseCache responseCache;
+    private final UserIdIndex userIdIndex;
+    private final UserLookupIndex userLookupIndex;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPurgeNotifier orderPurgeNotifier;
+
+    @Value("${users.multi-get.max-ids:100}")
+    private int maxMultiGetIds;
+
+    @Value("${users.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${users.search.max-limit:100}")
+    private int maxSearchLimit;
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse createUser(UserRequest userRequest) {
         log.info("Creating new user");
         
@@ -40,15 +93,45 @@ public class UserServiceImpl implements UserService {
         
         User user = new User();
         user.setUsername(userRequest.getUsername());
-        user.setPassword(userRequest.getPassword());
+        // Hashed before the transaction starts so no connection is held while BCrypt runs.
+        user.setPassword(passwordHasher.hash(userRequest.getPassword()));
         user.setEmail(userRequest.getEmail());
         
-        User savedUser = userRepository.save(user);
+        User savedUser = transactionTemplate.execute(status -> userRepository.save(user));
         log.info("User created successfully with ID: {}", savedUser.getId());
         
         return mapToUserResponse(savedUser);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<UserResponse> authenticate(AuthenticationRequest request) {
+        if (request == null) {
+            throw new ValidationException("Authentication request cannot be null");
+        }
+        log.info("Authenticating user");
+        
+        // Usernames are not unique; every user with exactly this username is a candidate.
+        List<User> candidates = userLookupIndex.findByUsername(request.getUsername()).stream()
+                .map(userRepository::findById)
+                .flatMap(Optional::stream)
+                .filter(user -> user.getUsername().equals(request.getUsername()))
+                .toList();
+        List<String> storedPasswords = candidates.stream().map(User::getPassword).toList();
+        
+        return passwordHasher.verify(request.getPassword(), storedPasswords).thenApply(verification -> {
+            if (!verification.matched()) {
+                throw new AuthenticationFailedException("Invalid username or password");
+            }
+            User user = candidates.get(verification.index());
+            if (verification.upgradedHash() != null) {
+                upgradePassword(user, verification.upgradedHash());
+            }
+            log.info("User authenticated with ID: {}", user.getId());
+            return mapToUserResponse(user);
+        });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
@@ -61,59 +144,343 @@ public class UserServiceImpl implements UserService {
         return mapToUserResponse(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserById(Long id, FieldSelection fields) {
+        log.info("Retrieving fields {} of user with ID: {}", fields.names(), id);
+        
+        return userRepository.findFieldsById(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetResponse<UserResponse> getUsersByIds(List<Long> ids) {
+        log.info("Retrieving users by ID list");
+        
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one user ID is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("User IDs cannot be null");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > maxMultiGetIds) {
+            throw new ValidationException("Cannot fetch more than " + maxMultiGetIds + " users at once");
+        }
+        
+        Map<Long, User> found = userRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        List<UserResponse> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            User user = found.get(id);
+            if (user != null) {
+                items.add(mapToUserResponse(user));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("Retrieved {} of {} requested users", items.size(), distinctIds.size());
+        
+        return new MultiGetResponse<>(items, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUsersByUsername(String username) {
+        log.info("Retrieving users by username");
+        
+        List<UserResponse> users = loadIndexed(userLookupIndex.findByUsername(username));
+        if (users.isEmpty()) {
+            throw new ResourceNotFoundException("User not found with username: " + username);
+        }
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUsersByEmail(String email) {
+        log.info("Retrieving users by email");
+        
+        List<UserResponse> users = loadIndexed(userLookupIndex.findByEmail(email));
+        if (users.isEmpty()) {
+            throw new ResourceNotFoundException("User not found with email: " + email);
+        }
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> searchUsers(String query, Long after, int limit) {
+        log.info("Searching up to {} users after cursor {}", limit, after);
+        
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (limit < 1 || limit > maxSearchLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxSearchLimit);
+        }
+        
+        long cursor = after != null ? after : 0L;
+        List<UserResponse> users;
+        if (userSearchIndex.isEnabled()) {
+            // One extra ID tells whether another page follows.
+            List<Long> ids = userSearchIndex.search(query, cursor, limit + 1);
+            Map<Long, User> found = userRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            users = ids.stream().map(found::get).filter(Objects::nonNull).map(this::mapToUserResponse).toList();
+        } else {
+            String pattern = query.trim().toLowerCase(Locale.ROOT)
+                    .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+            users = userRepository.searchResponsesAfter(pattern, cursor, Limit.of(limit + 1));
+        }
+        
+        if (users.size() <= limit) {
+            return new PageResponse<>(users, null);
+        }
+        List<UserResponse> page = users.subList(0, limit);
+        return new PageResponse<>(new ArrayList<>(page), String.valueOf(page.get(limit - 1).getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         log.info("Retrieving all users");
         
-        List<User> users = userRepository.findAll();
+        List<UserResponse> users = userRepository.findAllResponses();
         log.info("Retrieved {} users", users.size());
         
-        return users.stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+        return users;
     }
 
     @Override
-    public UserResponse updateUser(Long id, UserRequest userRequest) {
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUsers(FieldSelection fields) {
+        log.info("Retrieving fields {} of all users", fields.names());
+        
+        List<Map<String, Object>> users = userRepository.findAllFields(fields);
+        log.info("Retrieved {} users", users.size());
+        
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsersPage(Long after, int limit) {
+        log.info("Retrieving up to {} users after cursor {}", limit, after);
+        
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxPageLimit);
+        }
+        
+        // One extra row tells whether another page follows without a count query.
+        List<UserResponse> users = userRepository.findResponsesAfter(after != null ? after : 0L, Limit.of(limit + 1));
+        if (users.size() <= limit) {
+            return new PageResponse<>(users, null);
+        }
+        List<UserResponse> page = users.subList(0, limit);
+        return new PageResponse<>(new ArrayList<>(page), String.valueOf(page.get(limit - 1).getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getUsersPage(Long after, int limit, FieldSelection fields) {
+        log.info("Retrieving fields {} of up to {} users after cursor {}", fields.names(), limit, after);
+        
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxPageLimit);
+        }
+        
+        // The selection always includes the ID, which is the cursor.
+        List<Map<String, Object>> users = userRepository.findFieldsAfter(after != null ? after : 0L, limit + 1, fields);
+        if (users.size() <= limit) {
+            return new PageResponse<>(users, null);
+        }
+        List<Map<String, Object>> page = users.subList(0, limit);
+        return new PageResponse<>(new ArrayList<>(page), String.valueOf(page.get(limit - 1).get("id")));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserResponse> action) {
+        log.info("Streaming all users");
+        
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            users.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserResponse updateUser(Long id, UserRequest userRequest, Long expectedVersion) {
         log.info("Updating user with ID: {}", id);
         
         if (userRequest == null) {
             throw new ValidationException("User request cannot be null");
         }
         
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        // Hashed before the transaction starts so no connection is held while BCrypt runs.
+        String password = passwordHasher.hash(userRequest.getPassword());
+        User updatedUser = transactionTemplate.execute(status -> {
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+            // The versioned UPDATE only applies to the loaded version, so it now only applies to the expected one.
+            checkExpectedVersion(id, expectedVersion, existingUser.getVersion());
+            
+            // Requirement: Duplicate handling is not enforced. No repository duplicate checks here.
+            
+            existingUser.setUsername(userRequest.getUsername());
+            existingUser.setPassword(password);
+            existingUser.setEmail(userRequest.getEmail());
+            
+            User saved = flushConditionally(id, expectedVersion, () -> userRepository.saveAndFlush(existingUser));
+            invalidateCachedResponses(id);
+            return saved;
+        });
+        log.info("User updated successfully: {}", updatedUser.getUsername());
         
-        // Requirement: Duplicate handling is not enforced. No repository duplicate checks here.
+        return mapToUserResponse(updatedUser);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserResponse patchUser(Long id, UserPatchRequest patchRequest, Long expectedVersion) {
+        log.info("Patching user with ID: {}", id);
         
-        existingUser.setUsername(userRequest.getUsername());
-        existingUser.setPassword(userRequest.getPassword());
-        existingUser.setEmail(userRequest.getEmail());
+        if (patchRequest == null) {
+            throw new ValidationException("User patch request cannot be null");
+        }
+        if (patchRequest.getUsername() == null && patchRequest.getPassword() == null && patchRequest.getEmail() == null) {
+            throw new ValidationException("At least one field must be supplied");
+        }
         
-        User updatedUser = userRepository.save(existingUser);
-        log.info("User updated successfully: {}", updatedUser.getUsername());
+        // Hashed before the transaction starts so no connection is held while BCrypt runs.
+        String password = patchRequest.getPassword() != null ? passwordHasher.hash(patchRequest.getPassword()) : null;
+        // A version in the body takes precedence over If-Match.
+        Long version = patchRequest.getVersion() != null ? patchRequest.getVersion() : expectedVersion;
+        User patchedUser = transactionTemplate.execute(status -> {
+            int updated = userRepository.patch(id, patchRequest.getUsername(), password, patchRequest.getEmail(), version);
+            if (updated == 0) {
+                // Nothing matched: either the user is gone or someone else updated it first.
+                if (!userRepository.existsById(id)) {
+                    throw new ResourceNotFoundException("User not found with ID: " + id);
+                }
+                if (patchRequest.getVersion() == null) {
+                    throw new PreconditionFailedException(versionMismatch(id, expectedVersion));
+                }
+                throw new ConflictException("User with ID " + id + " was modified concurrently; expected version "
+                        + patchRequest.getVersion());
+            }
+            
+            User patched = userRepository.findByIdFromTable(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+            // The bulk UPDATE bypasses the entity callbacks, so announce the change here.
+            eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.UPDATED, patched));
+            invalidateCachedResponses(id);
+            return patched;
+        });
+        log.info("User patched successfully to version {}", patchedUser.getVersion());
         
-        return mapToUserResponse(updatedUser);
+        return mapToUserResponse(patchedUser);
     }
 
     @Override
-    public void deleteUser(Long id) {
+    public void deleteUser(Long id, Long expectedVersion) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        checkExpectedVersion(id, expectedVersion, user.getVersion());
         
-        userRepository.deleteById(id);
+        // Deleting the loaded entity lets Hibernate evict it from the second-level cache.
+        flushConditionally(id, expectedVersion, () -> {
+            userRepository.delete(user);
+            userRepository.flush();
+            return user;
+        });
+        orderPurgeNotifier.recordDeletion(id);
+        invalidateCachedResponses(id);
         log.info("User deleted successfully with ID: {}", id);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean userExists(Long id) {
         log.debug("Checking if user exists with ID: {}", id);
-        return userRepository.existsById(id);
+        // Answered from memory; SUPPORTS keeps the call from opening a transaction of its own.
+        return userIdIndex.contains(id);
+    }
+
+    /**
+     * Store a current hash in place of a legacy or weaker stored password.
+     * 
+     * Runs on the hashing thread, outside the request's transaction. A failure
+     * is logged and retried on the next login rather than failing this one.
+     * 
+     * @param user the authenticated user
+     * @param hash the replacement hash
+     */
+    private void upgradePassword(User user, String hash) {
+        try {
+            Integer upgraded = transactionTemplate.execute(status ->
+                    userRepository.upgradePassword(user.getId(), user.getPassword(), hash));
+            log.info("Upgraded stored password hash for user {}: {}", user.getId(), upgraded == 1);
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade stored password hash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Load the users found through the lookup index.
+     * 
+     * Reads by ID are served from the second-level cache; a user deleted since
+     * the index was consulted is skipped.
+     * 
+     * @param ids the user IDs in ascending order
+     * @return the users that still exist
+     */
+    private List<UserResponse> loadIndexed(Set<Long> ids) {
+        List<UserResponse> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            userRepository.findById(id).map(this::mapToUserResponse).ifPresent(users::add);
+        }
+        return users;
+    }
+
+    private static void checkExpectedVersion(Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(versionMismatch(id, expectedVersion));
+        }
+    }
+
+    /**
+     * Run a versioned write that flushes, reporting a concurrent change as a failed
+     * precondition when the request named the version it expected.
+     */
+    private static <T> T flushConditionally(Long id, Long expectedVersion, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(versionMismatch(id, expectedVersion), e);
+        }
+    }
+
+    private static String versionMismatch(Long id, Long expectedVersion) {
+        return "User with ID " + id + " is no longer at version " + expectedVersion;
+    }
+
+    /**
+     * Drop cached serialized responses for a user once the current transaction commits.
+     * 
+     * @param id the user ID
+     */
+    private void invalidateCachedResponses(Long id) {
+        responseCache.invalidateAfterCommit(List.of(RESPONSE_TAG_PREFIX + id));
     }
 
     /**
@@ -139,7 +506,8 @@ public class UserServiceImpl implements UserService {
         return new UserResponse(
                 user.getId(),
                 user.getUsername(),
-                user.getEmail()
+                user.getEmail(),
+                user.getVersion()
         );
     }
 }
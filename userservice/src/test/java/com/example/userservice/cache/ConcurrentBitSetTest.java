@@ -0,0 +1,93 @@
+package com.example.userservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConcurrentBitSet.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("ConcurrentBitSet Tests")
+class ConcurrentBitSetTest {
+
+    private final ConcurrentBitSet bits = new ConcurrentBitSet();
+
+    @Test
+    @DisplayName("Should set, read and clear bits across chunks")
+    void shouldSetAndClearBits() {
+        bits.set(0);
+        bits.set(63);
+        bits.set(64);
+        bits.set(200_000);
+        bits.set(200_000);
+
+        assertTrue(bits.get(0));
+        assertTrue(bits.get(63));
+        assertTrue(bits.get(64));
+        assertTrue(bits.get(200_000));
+        assertFalse(bits.get(1));
+        assertFalse(bits.get(70_000));
+        assertEquals(4, bits.cardinality());
+
+        bits.clear(63);
+        bits.clear(63);
+        bits.clear(70_000);
+        bits.clear(5_000_000);
+        assertFalse(bits.get(63));
+        assertEquals(3, bits.cardinality());
+    }
+
+    @Test
+    @DisplayName("Should treat out-of-range indexes as unset and reject setting them")
+    void shouldHandleOutOfRangeIndexes() {
+        assertFalse(bits.get(-1));
+        assertFalse(bits.get(Long.MAX_VALUE));
+        bits.clear(-1);
+        assertThrows(IllegalArgumentException.class, () -> bits.set(-1));
+        assertThrows(IllegalArgumentException.class, () -> bits.set(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should visit set bits in ascending order")
+    void shouldVisitSetBitsInOrder() {
+        bits.set(200_000);
+        bits.set(5);
+        bits.set(130);
+        List<Long> visited = new ArrayList<>();
+
+        bits.forEach(visited::add);
+
+        assertEquals(List.of(5L, 130L, 200_000L), visited);
+    }
+
+    @Test
+    @DisplayName("Should not lose bits set concurrently while growing")
+    void shouldNotLoseConcurrentBits() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for (long i = offset; i < 1_000_000; i += 8) {
+                    bits.set(i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1_000_000, bits.cardinality());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserIdIndex.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdIndex Tests")
+class UserIdIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserIdIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserIdIndex(userRepository, new TransactionTemplate(transactionManager), meterRegistry);
+        when(userRepository.streamAllIds()).thenReturn(Stream.of(1L, 2L, 3L));
+        index.init();
+    }
+
+    @Test
+    @DisplayName("Should load existing IDs at startup")
+    void shouldLoadExistingIds() {
+        assertTrue(index.contains(1L));
+        assertTrue(index.contains(3L));
+        assertFalse(index.contains(4L));
+        assertFalse(index.contains(null));
+        assertEquals(3.0, meterRegistry.get("users.id.index.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should follow created and deleted users")
+    void shouldFollowUserChanges() {
+        index.onUserChanged(new UserChangedEvent(4L, UserChangedEvent.Type.CREATED, null, null, null));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.DELETED, null, null, null));
+        index.onUserChanged(new UserChangedEvent(3L, UserChangedEvent.Type.UPDATED, "jane", "jane@example.com", null));
+
+        assertTrue(index.contains(4L));
+        assertFalse(index.contains(1L));
+        assertTrue(index.contains(3L));
+    }
+
+    @Test
+    @DisplayName("Should repair drift after re-checking each differing ID")
+    void shouldRepairDrift() {
+        // 2 was deleted and 4 created behind the index's back; 5 was created after the table scan.
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, null, null, null));
+        when(userRepository.streamAllIds()).thenReturn(Stream.of(1L, 3L, 4L));
+        when(userRepository.existsById(4L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(false);
+        when(userRepository.existsById(5L)).thenReturn(true);
+
+        assertEquals(2, index.checkConsistency());
+
+        assertTrue(index.contains(4L));
+        assertFalse(index.contains(2L));
+        assertTrue(index.contains(5L));
+        assertEquals(2.0, meterRegistry.get("users.id.index.repairs").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should report no repairs when the index matches the table")
+    void shouldReportNoRepairsWhenConsistent() {
+        when(userRepository.streamAllIds()).thenReturn(Stream.of(1L, 2L, 3L));
+
+        assertEquals(0, index.checkConsistency());
+        verify(userRepository, never()).existsById(anyLong());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserLookupIndex.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLookupIndex Tests")
+class UserLookupIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserLookupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserLookupIndex(userRepository, new TransactionTemplate(transactionManager), meterRegistry);
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                new UserResponse(1L, "john_doe", "john@example.com", 0L),
+                new UserResponse(2L, "John_Doe", "johnny@example.com", 0L)));
+        index.init();
+    }
+
+    @Test
+    @DisplayName("Should find existing users by normalized username and email")
+    void shouldFindExistingUsers() {
+        assertEquals(Set.of(1L, 2L), index.findByUsername(" JOHN_DOE "));
+        assertEquals(Set.of(2L), index.findByEmail("Johnny@Example.com"));
+        assertTrue(index.findByUsername("jane").isEmpty());
+        assertTrue(index.findByEmail(null).isEmpty());
+        assertEquals(2.0, meterRegistry.get("users.lookup.index.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should follow created, updated and deleted users")
+    void shouldFollowUserChanges() {
+        index.onUserChanged(new UserChangedEvent(3L, UserChangedEvent.Type.CREATED, "jane", "jane@example.com", 0L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_doe", "jd@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.DELETED, "John_Doe", "johnny@example.com", 0L));
+
+        assertEquals(Set.of(3L), index.findByUsername("Jane"));
+        assertEquals(Set.of(1L), index.findByUsername("john_doe"));
+        assertTrue(index.findByEmail("john@example.com").isEmpty());
+        assertEquals(Set.of(1L), index.findByEmail("jd@example.com"));
+        assertTrue(index.findByEmail("johnny@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore deletes of users it never held")
+    void shouldIgnoreUnknownDeletes() {
+        index.onUserChanged(new UserChangedEvent(9L, UserChangedEvent.Type.DELETED, null, null, null));
+
+        assertEquals(Set.of(1L, 2L), index.findByUsername("john_doe"));
+    }
+
+    @Test
+    @DisplayName("Should ignore events older than the version it already holds")
+    void shouldIgnoreOutOfOrderUpdates() {
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_doe", "v2@example.com", 2L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_doe", "v1@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.DELETED, "john_doe", "v1@example.com", 1L));
+
+        assertEquals(Set.of(1L), index.findByEmail("v2@example.com"));
+        assertTrue(index.findByEmail("v1@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not resurrect a deleted user from an update delivered after the delete")
+    void shouldIgnoreUpdatesAfterDelete() {
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.DELETED, "john_doe", "john@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_doe", "jd@example.com", 1L));
+
+        assertEquals(Set.of(2L), index.findByUsername("john_doe"));
+        assertTrue(index.findByEmail("jd@example.com").isEmpty());
+    }
+}
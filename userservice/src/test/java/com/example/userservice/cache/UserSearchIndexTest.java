@@ -0,0 +1,211 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserResponse;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserSearchIndex.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchIndex Tests")
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(userRepository, new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofMegabytes(1));
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                new UserResponse(1L, "john_doe", "john@example.com", 0L),
+                new UserResponse(2L, "jane_smith", "jane@example.com", 0L),
+                new UserResponse(3L, "Bob_Wilson", "bob@test.org", 0L),
+                new UserResponse(4L, "jo", "x@y.z", 0L)));
+        index.init();
+    }
+
+    @Test
+    @DisplayName("Should find substrings of usernames and emails ignoring case")
+    void shouldFindSubstrings() {
+        assertTrue(index.isEnabled());
+        assertEquals(List.of(1L, 2L, 3L), index.search("_", 0L, 10));
+        assertEquals(List.of(1L, 2L), index.search("EXAMPLE", 0L, 10));
+        assertEquals(List.of(3L), index.search(" wils ", 0L, 10));
+        assertEquals(List.of(1L), index.search("n_d", 0L, 10));
+        assertTrue(index.search("nowhere", 0L, 10).isEmpty());
+        // Every gram is present but the grams are not adjacent anywhere.
+        assertTrue(index.search("john@test", 0L, 10).isEmpty());
+        assertEquals(4.0, meterRegistry.get("users.search.index.users").gauge().value());
+        assertTrue(meterRegistry.get("users.search.index.bytes").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Should page short and long queries with a keyset cursor")
+    void shouldPageWithCursor() {
+        assertEquals(List.of(1L, 4L), index.search("jo", 0L, 2));
+        assertEquals(List.of(4L), index.search("jo", 1L, 2));
+        assertEquals(List.of(1L), index.search("o", 0L, 1));
+        assertEquals(List.of(1L), index.search("example", 0L, 1));
+        assertEquals(List.of(2L), index.search("example", 1L, 1));
+        assertTrue(index.search("example", 2L, 1).isEmpty());
+        assertEquals(List.of(2L), index.search("example", 0L, 10).subList(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should follow created, updated and deleted users and release their memory")
+    void shouldFollowUserChanges() {
+        long before = index.estimatedBytes();
+
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, "Alice", "alice@example.com", null));
+        for (long id = 10; id < 30; id++) {
+            index.onUserChanged(new UserChangedEvent(id, UserChangedEvent.Type.CREATED, "bulk" + id, "bulk@example.com", null));
+        }
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "johnny", "johnny@mail.org", null));
+        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.DELETED, "jane_smith", "jane@example.com", null));
+
+        assertEquals(List.of(5L), index.search("alic", 0L, 10));
+        assertEquals(List.of(1L), index.search("mail.org", 0L, 10));
+        assertTrue(index.search("jane", 0L, 10).isEmpty());
+        assertEquals(20, index.search("bulk", 0L, 100).size());
+
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.DELETED, null, null, null));
+        for (long id = 10; id < 30; id++) {
+            index.onUserChanged(new UserChangedEvent(id, UserChangedEvent.Type.DELETED, null, null, null));
+        }
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_doe", "john@example.com", null));
+        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.CREATED, "jane_smith", "jane@example.com", null));
+        index.onUserChanged(new UserChangedEvent(99L, UserChangedEvent.Type.DELETED, null, null, null));
+        assertEquals(before, index.estimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Should disable itself once it outgrows its memory budget")
+    void shouldDisableWhenOverBudget() {
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofBytes(index.estimatedBytes() + 10));
+
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, "alice", "alice@example.com", null));
+        index.onUserChanged(new UserChangedEvent(6L, UserChangedEvent.Type.CREATED, "carol", "carol@example.com", null));
+
+        assertFalse(index.isEnabled());
+        assertEquals(0, index.size());
+        assertEquals(0, index.estimatedBytes());
+
+        index.onUserChanged(new UserChangedEvent(7L, UserChangedEvent.Type.CREATED, "dave", "dave@example.com", null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore an update older than the indexed version")
+    void shouldIgnoreOutOfOrderUpdates() {
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_new", "new@example.com", 2L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_old", "old@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "john_dup", "dup@example.com", 2L));
+
+        assertEquals(List.of(1L), index.search("john_new", 0L, 10));
+        assertTrue(index.search("old@", 0L, 10).isEmpty());
+        assertTrue(index.search("dup@", 0L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not bring a deleted user back with a late update")
+    void shouldIgnoreUpdatesAfterDelete() {
+        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.DELETED, "jane_smith", "jane@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.UPDATED, "jane_late", "late@example.com", 1L));
+        index.onUserChanged(new UserChangedEvent(3L, UserChangedEvent.Type.DELETED, "bob_wilson", "bob@test.org", 0L));
+
+        assertTrue(index.search("jane", 0L, 10).isEmpty());
+        assertTrue(index.search("wilson", 0L, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a disabled index once the users fit the budget again")
+    void shouldRebuildWhenUsersFit() {
+        assertFalse(index.rebuild());
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofBytes(1));
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, "alice", "alice@example.com", null));
+        assertFalse(index.isEnabled());
+
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                new UserResponse(1L, "john_doe", "john@example.com", 0L),
+                new UserResponse(5L, "alice", "alice@example.com", 0L)));
+        assertFalse(index.rebuild());
+        assertFalse(index.isEnabled());
+        assertEquals(0, index.size());
+
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofMegabytes(1));
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                new UserResponse(1L, "john_doe", "john@example.com", 0L),
+                new UserResponse(5L, "alice", "alice@example.com", 0L)));
+        assertTrue(index.rebuild());
+        assertTrue(index.isEnabled());
+        assertEquals(List.of(5L), index.search("alic", 0L, 10));
+    }
+
+    @Test
+    @DisplayName("Should replay the changes committed while a rebuild loads")
+    void shouldReplayChangesDuringRebuild() {
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofBytes(1));
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, "alice", "alice@example.com", null));
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofMegabytes(1));
+
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                        new UserResponse(1L, "john_doe", "john@example.com", 0L),
+                        new UserResponse(2L, "jane_smith", "jane@example.com", 0L))
+                .peek(user -> {
+                    if (user.getId() == 1L) {
+                        index.onUserChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "johnny", "johnny@mail.org", 1L));
+                        index.onUserChanged(new UserChangedEvent(2L, UserChangedEvent.Type.DELETED, "jane_smith", "jane@example.com", 0L));
+                    }
+                }));
+
+        assertTrue(index.rebuild());
+
+        assertEquals(List.of(1L), index.search("johnny", 0L, 10));
+        assertTrue(index.search("jane", 0L, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should stay disabled when the changes replayed after a rebuild overflow the budget")
+    void shouldStayDisabledWhenReplayOverflows() {
+        ReflectionTestUtils.setField(index, "maxMemory", DataSize.ofBytes(1));
+        index.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.CREATED, "alice", "alice@example.com", null));
+
+        when(userRepository.streamAllResponses()).thenReturn(Stream.<UserResponse>empty()
+                .onClose(() -> index.onUserChanged(
+                        new UserChangedEvent(6L, UserChangedEvent.Type.CREATED, "carol", "carol@example.com", null))));
+
+        assertFalse(index.rebuild());
+        assertFalse(index.isEnabled());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.userservice.client;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.userservice.client.impl.OrderServiceClientImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderServiceClientImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("OrderServiceClientImpl Tests")
+class OrderServiceClientImplTest {
+
+    @Test
+    @DisplayName("Should post the deleted user IDs to OrderService")
+    void shouldPostDeletedUserIds() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        OrderServiceClientImpl client = client(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.ACCEPTED).build());
+        });
+
+        client.requestOrderPurge(List.of(1L, 2L));
+
+        assertEquals(HttpMethod.POST, sent.get().method());
+        assertEquals("http://localhost:8082/orders/purges", sent.get().url().toString());
+    }
+
+    @Test
+    @DisplayName("Should throw ServiceUnavailableException when OrderService rejects or is unreachable")
+    void shouldThrowWhenOrderServiceFails() {
+        OrderServiceClientImpl rejecting = client(request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build()));
+        OrderServiceClientImpl unreachable = client(request -> Mono.error(new IllegalStateException("Connection refused")));
+
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class,
+                () -> rejecting.requestOrderPurge(List.of(1L)));
+        ServiceUnavailableException refused = assertThrows(ServiceUnavailableException.class,
+                () -> unreachable.requestOrderPurge(List.of(1L)));
+        assertTrue(rejected.getMessage().startsWith("Error requesting order purge: 502"));
+        assertEquals("Error requesting order purge: Connection refused", refused.getMessage());
+    }
+
+    private OrderServiceClientImpl client(ExchangeFunction exchange) {
+        OrderServiceClientImpl client = new OrderServiceClientImpl(WebClient.builder().exchangeFunction(exchange).build());
+        ReflectionTestUtils.setField(client, "orderServiceBaseUrl", "http://localhost:8082");
+        ReflectionTestUtils.setField(client, "timeout", 5000);
+        return client;
+    }
+}
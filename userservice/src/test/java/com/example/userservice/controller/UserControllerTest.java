@@ -1,9 +1,24 @@
 package com.example.userservice.controller;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.web.ETagFilter;
+import com.example.userservice.dto.AuthenticationRequest;
+import com.example.userservice.dto.BulkImportResponse;
+import com.example.userservice.dto.ChangeFeedResponse;
+import com.example.userservice.dto.UserChangeResponse;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.dto.UserPatchRequest;
 import com.example.userservice.dto.UserRequest;
 import com.example.userservice.dto.UserResponse;
+import com.example.common.exception.ConflictException;
+import com.example.common.exception.AuthenticationFailedException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
+import com.example.common.exception.ServiceUnavailableException;
 import com.example.common.exception.ValidationException;
+import com.example.userservice.service.UserChangeFeedService;
+import com.example.userservice.service.UserImportService;
 import com.example.userservice.service.UserService;
 import com.example.userservice.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,11 +32,22 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,6 +73,12 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private UserChangeFeedService userChangeFeedService;
+
     // Ensure @WebMvcTest can instantiate the application context without data layer
     @MockBean
     private UserRepository userRepository;
@@ -54,6 +86,9 @@ class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserController userController;
+
     private UserRequest testUserRequest;
     private UserResponse testUserResponse;
 
@@ -116,6 +151,93 @@ class UserControllerTest {
         verify(userService).getUserById(1L);
     }
 
+    @Test
+    @DisplayName("Should read the change feed asynchronously")
+    void shouldReadChangeFeed() throws Exception {
+        ChangeFeedResponse page = new ChangeFeedResponse(List.of(new UserChangeResponse(4L, 1L,
+                UserChangedEvent.Type.CREATED, "testuser", "test@example.com", Instant.parse("2025-08-07T21:00:00Z"))), "4", false);
+        when(userChangeFeedService.getChanges(3L, 100, 1000L)).thenReturn(CompletableFuture.completedFuture(page));
+
+        MvcResult result = mockMvc.perform(get("/users/changes").param("since", "3").param("waitMs", "1000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.nextCursor").value("4"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("Should authenticate asynchronously")
+    void shouldAuthenticate() throws Exception {
+        when(userService.authenticate(new AuthenticationRequest("testuser", "password123")))
+                .thenReturn(CompletableFuture.completedFuture(testUserResponse));
+
+        MvcResult result = mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"password123\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 401 for bad credentials, 503 when saturated and 400 for missing fields")
+    void shouldRejectAuthentication() throws Exception {
+        when(userService.authenticate(new AuthenticationRequest("testuser", "wrong")))
+                .thenReturn(CompletableFuture.failedFuture(new AuthenticationFailedException("Invalid username or password")));
+        when(userService.authenticate(new AuthenticationRequest("testuser", "busy")))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated, please retry"));
+
+        MvcResult result = mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"wrong\"}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid username or password"));
+        mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"busy\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503));
+        mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should get users by username")
+    void shouldGetUsersByUsername() throws Exception {
+        when(userService.getUsersByUsername("TestUser")).thenReturn(List.of(testUserResponse));
+
+        mockMvc.perform(get("/users/by-username/TestUser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].username").value("testuser"));
+    }
+
+    @Test
+    @DisplayName("Should get users by email and return 404 when none match")
+    void shouldGetUsersByEmail() throws Exception {
+        when(userService.getUsersByEmail("test@example.com")).thenReturn(List.of(testUserResponse));
+        when(userService.getUsersByEmail("nobody@example.com"))
+                .thenThrow(new ResourceNotFoundException("User not found with email: nobody@example.com"));
+
+        mockMvc.perform(get("/users/by-email/test@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("test@example.com"));
+        mockMvc.perform(get("/users/by-email/nobody@example.com"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found with email: nobody@example.com"));
+    }
+
     @Test
     @DisplayName("Should return 404 when user not found by ID")
     void shouldReturn404WhenUserNotFoundById() throws Exception {
@@ -153,7 +275,7 @@ class UserControllerTest {
     @Test
     @DisplayName("Should update user successfully")
     void shouldUpdateUserSuccessfully() throws Exception {
-        when(userService.updateUser(eq(1L), any(UserRequest.class))).thenReturn(testUserResponse);
+        when(userService.updateUser(eq(1L), any(UserRequest.class), isNull())).thenReturn(testUserResponse);
 
         mockMvc.perform(put("/users/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -163,13 +285,13 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"));
 
-        verify(userService).updateUser(eq(1L), any(UserRequest.class));
+        verify(userService).updateUser(eq(1L), any(UserRequest.class), isNull());
     }
 
     @Test
     @DisplayName("Should return 404 when updating non-existent user")
     void shouldReturn404WhenUpdatingNonExistentUser() throws Exception {
-        when(userService.updateUser(eq(1L), any(UserRequest.class)))
+        when(userService.updateUser(eq(1L), any(UserRequest.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("User not found with ID: 1"));
 
         mockMvc.perform(put("/users/1")
@@ -179,7 +301,7 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.error").value("User not found with ID: 1"));
 
-        verify(userService).updateUser(eq(1L), any(UserRequest.class));
+        verify(userService).updateUser(eq(1L), any(UserRequest.class), isNull());
     }
 
     @Test
@@ -195,32 +317,275 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService, never()).updateUser(any(Long.class), any(UserRequest.class));
+        verify(userService, never()).updateUser(any(Long.class), any(UserRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("Should get users by ID list")
+    void shouldGetUsersByIds() throws Exception {
+        when(userService.getUsersByIds(List.of(1L, 5L)))
+                .thenReturn(new MultiGetResponse<>(List.of(testUserResponse), List.of(5L)));
+
+        mockMvc.perform(get("/users").param("ids", "1,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(5));
+
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    @DisplayName("Should create users in bulk from a JSON array")
+    void shouldCreateUsersInBulk() throws Exception {
+        when(userImportService.importUsers(any(), eq(UserImportService.Format.JSON_ARRAY))).thenReturn(
+                new BulkImportResponse(1, 1, List.of(new BulkImportResponse.RowError(2, "Email should be valid"))));
+
+        mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testUserRequest, testUserRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    @DisplayName("Should import users from NDJSON and CSV files")
+    void shouldImportUsersFromFiles() throws Exception {
+        when(userImportService.importUsers(any(), any())).thenReturn(new BulkImportResponse(1, 0, List.of()));
+
+        mockMvc.perform(post("/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(testUserRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+        mockMvc.perform(post("/users/import")
+                .contentType("text/csv")
+                .content("username,password,email\ntestuser,password123,test@example.com\n"))
+                .andExpect(status().isOk());
+
+        verify(userImportService).importUsers(any(), eq(UserImportService.Format.NDJSON));
+        verify(userImportService).importUsers(any(), eq(UserImportService.Format.CSV));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an import without the CSV header")
+    void shouldReturn400ForInvalidImport() throws Exception {
+        when(userImportService.importUsers(any(), eq(UserImportService.Format.CSV)))
+                .thenThrow(new ValidationException("CSV header must name the columns username, password, email"));
+
+        mockMvc.perform(post("/users/import")
+                .contentType("text/csv")
+                .content("name\nbob\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("CSV header must name the columns username, password, email"));
+    }
+
+    @Test
+    @DisplayName("Should return a page of users with the next cursor")
+    void shouldGetUsersPage() throws Exception {
+        when(userService.getUsersPage(1L, 1)).thenReturn(new PageResponse<>(List.of(testUserResponse), "1"));
+
+        mockMvc.perform(get("/users").param("limit", "1").param("after", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("1"));
+
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields")
+    void shouldReturnRequestedFields() throws Exception {
+        when(userService.getUserById(eq(1L), argThat(fields -> fields.names().equals(List.of("id", "username")))))
+                .thenReturn(Map.of("id", 1L, "username", "testuser"));
+        when(userService.getAllUsers(argThat(fields -> fields.names().equals(List.of("id", "email")))))
+                .thenReturn(List.of(Map.of("id", 1L, "email", "test@example.com")));
+        when(userService.getUsersPage(eq(null), eq(1), argThat(fields -> fields.names().equals(List.of("id")))))
+                .thenReturn(new PageResponse<>(List.of(Map.of("id", 1L)), "1"));
+
+        mockMvc.perform(get("/users/1").param("fields", "username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.email").doesNotExist());
+        mockMvc.perform(get("/users").param("fields", "email,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("test@example.com"))
+                .andExpect(jsonPath("$[0].username").doesNotExist());
+        mockMvc.perform(get("/users").param("limit", "1").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("1"));
+
+        verify(userService, never()).getUserById(1L);
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void shouldReturn400ForUnknownField() throws Exception {
+        mockMvc.perform(get("/users/1").param("fields", "username,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field 'password', expected any of id, username, email, version"));
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should search users with the default limit")
+    void shouldSearchUsers() throws Exception {
+        when(userService.searchUsers("test", null, 20)).thenReturn(new PageResponse<>(List.of(testUserResponse), null));
+        when(userService.searchUsers(null, null, 20)).thenThrow(new ValidationException("Search query is required"));
+
+        mockMvc.perform(get("/users/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/users/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Search query is required"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an out-of-range page limit")
+    void shouldReturn400ForInvalidPageLimit() throws Exception {
+        when(userService.getUsersPage(null, 0)).thenThrow(new ValidationException("Limit must be between 1 and 1000"));
+
+        mockMvc.perform(get("/users").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 1000"));
+    }
+
+    @Test
+    @DisplayName("Should stream users as newline-delimited JSON")
+    void shouldStreamUsersAsNdjson() throws Exception {
+        UserResponse second = new UserResponse(2L, "testuser2", "test2@example.com", 0L);
+        doAnswer(invocation -> {
+            Consumer<UserResponse> action = invocation.getArgument(0);
+            action.accept(testUserResponse);
+            action.accept(second);
+            return null;
+        }).when(userService).streamUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(testUserResponse) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n"));
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    @DisplayName("Should surface write failures while streaming users")
+    void shouldSurfaceStreamingWriteFailures() {
+        doAnswer(invocation -> {
+            Consumer<UserResponse> action = invocation.getArgument(0);
+            action.accept(testUserResponse);
+            return null;
+        }).when(userService).streamUsers(any());
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        StreamingResponseBody body = userController.streamUsers().getBody();
+
+        assertThrows(UncheckedIOException.class, () -> body.writeTo(failing));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty ID list")
+    void shouldReturn400ForEmptyIdList() throws Exception {
+        when(userService.getUsersByIds(any())).thenThrow(new ValidationException("At least one user ID is required"));
+
+        mockMvc.perform(get("/users").param("ids", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At least one user ID is required"));
+    }
+
+    @Test
+    @DisplayName("Should patch user successfully")
+    void shouldPatchUserSuccessfully() throws Exception {
+        testUserResponse.setVersion(1L);
+        when(userService.patchUser(eq(1L), any(UserPatchRequest.class), isNull())).thenReturn(testUserResponse);
+
+        mockMvc.perform(patch("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"test@example.com\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("test@example.com"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        verify(userService).patchUser(1L, new UserPatchRequest(null, null, "test@example.com", 0L), null);
+    }
+
+    @Test
+    @DisplayName("Should return 409 when patching a concurrently modified user")
+    void shouldReturn409WhenPatchingConcurrentlyModifiedUser() throws Exception {
+        when(userService.patchUser(eq(1L), any(UserPatchRequest.class), isNull()))
+                .thenThrow(new ConflictException("User with ID 1 was modified concurrently; expected version 0"));
+
+        mockMvc.perform(patch("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"renamed\",\"version\":0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when patching user with invalid data")
+    void shouldReturn400WhenPatchingUserWithInvalidData() throws Exception {
+        mockMvc.perform(patch("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).patchUser(any(Long.class), any(UserPatchRequest.class), any());
     }
 
     @Test
     @DisplayName("Should delete user successfully")
     void shouldDeleteUserSuccessfully() throws Exception {
-        doNothing().when(userService).deleteUser(1L);
+        doNothing().when(userService).deleteUser(1L, null);
 
         mockMvc.perform(delete("/users/1"))
                 .andExpect(status().isNoContent());
 
-        verify(userService).deleteUser(1L);
+        verify(userService).deleteUser(1L, null);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the service and return 412 when it is stale")
+    void shouldReturn412WhenIfMatchVersionIsStale() throws Exception {
+        doThrow(new PreconditionFailedException("User with ID 1 is no longer at version 2"))
+                .when(userService).deleteUser(1L, 2L);
+
+        mockMvc.perform(delete("/users/1").requestAttr(ETagFilter.EXPECTED_VERSION_ATTRIBUTE, 2L))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412))
+                .andExpect(jsonPath("$.error").value("User with ID 1 is no longer at version 2"));
+
+        verify(userService).deleteUser(1L, 2L);
     }
 
     @Test
     @DisplayName("Should return 404 when deleting non-existent user")
     void shouldReturn404WhenDeletingNonExistentUser() throws Exception {
         doThrow(new ResourceNotFoundException("User not found with ID: 1"))
-                .when(userService).deleteUser(1L);
+                .when(userService).deleteUser(1L, null);
 
         mockMvc.perform(delete("/users/1"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.error").value("User not found with ID: 1"));
 
-        verify(userService).deleteUser(1L);
+        verify(userService).deleteUser(1L, null);
     }
 
     @Test
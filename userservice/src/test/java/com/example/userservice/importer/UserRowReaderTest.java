@@ -0,0 +1,109 @@
+package com.example.userservice.importer;
+
+import com.example.common.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserRowReader.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("UserRowReader Tests")
+class UserRowReaderTest {
+
+    private final UserRowReader reader = new UserRowReader(new ObjectMapper());
+    private final List<ImportRow> rows = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should read a JSON array element by element")
+    void shouldReadJsonArray() throws Exception {
+        reader.readJsonArray(input("""
+                [{"username":"alice","password":"secret1","email":"a@example.com"}, null,
+                 {"username":"bob","password":"secret2","email":"b@example.com"}]"""), rows::add);
+
+        assertEquals(3, rows.size());
+        assertEquals("alice", rows.get(0).request().getUsername());
+        assertNull(rows.get(1).request());
+        assertNull(rows.get(1).error());
+        assertEquals(3, rows.get(2).row());
+    }
+
+    @Test
+    @DisplayName("Should stop at a malformed JSON array element")
+    void shouldStopAtMalformedJsonElement() throws Exception {
+        reader.readJsonArray(input("""
+                [{"username":"alice","password":"secret1","email":"a@example.com"}, 42, {"username":"bob"}]"""), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(1).row());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON, import stopped"));
+    }
+
+    @Test
+    @DisplayName("Should reject JSON bodies that are not arrays")
+    void shouldRejectNonArrayJson() {
+        assertEquals("Request body must be a JSON array of users",
+                assertThrows(ValidationException.class, () -> reader.readJsonArray(input("{}"), rows::add)).getMessage());
+        assertThrows(ValidationException.class, () -> reader.readJsonArray(input("<users/>"), rows::add));
+        assertThrows(ValidationException.class, () -> reader.readJsonArray(input(""), rows::add));
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON lines and report malformed ones")
+    void shouldReadNdjson() throws Exception {
+        reader.readNdjson(input("""
+                {"username":"alice","password":"secret1","email":"a@example.com"}
+
+                not json
+                {"username":"bob","password":"secret2","email":"b@example.com"}
+                """), rows::add);
+
+        assertEquals(3, rows.size());
+        assertEquals("alice", rows.get(0).request().getUsername());
+        assertEquals(2, rows.get(1).row());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON"));
+        assertEquals("bob", rows.get(2).request().getUsername());
+    }
+
+    @Test
+    @DisplayName("Should read CSV columns by header name, with quoted fields")
+    void shouldReadCsv() throws Exception {
+        reader.readCsv(input("Email,username,password\n"
+                + "a@example.com,alice,secret1\n"
+                + "\n"
+                + "\"b@example.com\",\"bob, jr\",\"say \"\"hi\"\"\"\n"
+                + "c@example.com,carol\n"), rows::add);
+
+        assertEquals(3, rows.size());
+        assertEquals("alice", rows.get(0).request().getUsername());
+        assertEquals("a@example.com", rows.get(0).request().getEmail());
+        assertEquals("bob, jr", rows.get(1).request().getUsername());
+        assertEquals("say \"hi\"", rows.get(1).request().getPassword());
+        assertEquals(3, rows.get(2).row());
+        assertEquals("Expected 3 fields but found 2", rows.get(2).error());
+    }
+
+    @Test
+    @DisplayName("Should reject CSV input without the required header")
+    void shouldRejectCsvWithoutHeader() {
+        assertEquals("CSV header must name the columns username, password, email",
+                assertThrows(ValidationException.class,
+                        () -> reader.readCsv(input("username,email\nalice,a@example.com\n"), rows::add)).getMessage());
+        assertThrows(ValidationException.class, () -> reader.readCsv(input(""), rows::add));
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
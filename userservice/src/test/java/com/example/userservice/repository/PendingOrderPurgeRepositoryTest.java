@@ -0,0 +1,42 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.entity.PendingOrderPurge;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PendingOrderPurgeRepository.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@DisplayName("PendingOrderPurgeRepository Tests")
+class PendingOrderPurgeRepositoryTest {
+
+    @Autowired
+    private PendingOrderPurgeRepository pendingOrderPurgeRepository;
+
+    @Test
+    @DisplayName("Should find only due notifications, in user ID order")
+    void shouldFindDueNotifications() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        pendingOrderPurgeRepository.save(new PendingOrderPurge(3L, now, 0, now));
+        pendingOrderPurgeRepository.save(new PendingOrderPurge(1L, now, 0, now.minus(1, ChronoUnit.MINUTES)));
+        pendingOrderPurgeRepository.save(new PendingOrderPurge(2L, now, 2, now.plus(1, ChronoUnit.MINUTES)));
+
+        List<PendingOrderPurge> due = pendingOrderPurgeRepository.findByNextAttemptAtLessThanEqualOrderByUserIdAsc(now, Limit.of(10));
+
+        assertEquals(List.of(1L, 3L), due.stream().map(PendingOrderPurge::getUserId).toList());
+        assertEquals(1, pendingOrderPurgeRepository.findByNextAttemptAtLessThanEqualOrderByUserIdAsc(now, Limit.of(1)).size());
+    }
+}
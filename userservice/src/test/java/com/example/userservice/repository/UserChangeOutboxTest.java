@@ -0,0 +1,204 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.entity.User;
+import com.example.userservice.entity.UserChange;
+import com.example.userservice.entity.UserEntityListener;
+import com.example.userservice.event.UserChangeOutbox;
+import com.example.userservice.event.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test that user changes are written to the outbox in their own transaction
+ * and that the watermark never passes an unfinished one.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@Import({UserChangeOutbox.class, UserEntityListener.class})
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserChangeOutbox Tests")
+class UserChangeOutboxTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserChangeRepository userChangeRepository;
+
+    @Autowired
+    private UserChangeOutbox userChangeOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        userChangeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should record inserts, updates and deletes in order")
+    void shouldRecordChanges() {
+        long start = userChangeOutbox.watermark();
+        User saved = userRepository.save(new User(null, "outboxed", "password123", "outboxed@example.com", null));
+        saved.setEmail("moved@example.com");
+        saved = userRepository.save(saved);
+        userRepository.delete(saved);
+
+        List<UserChange> changes = userChangeRepository.findChanges(start, userChangeOutbox.watermark(), Limit.of(10));
+
+        assertEquals(List.of(UserChangedEvent.Type.CREATED, UserChangedEvent.Type.UPDATED, UserChangedEvent.Type.DELETED),
+                changes.stream().map(UserChange::getType).toList());
+        assertEquals("moved@example.com", changes.get(1).getEmail());
+        assertTrue(changes.stream().allMatch(change -> change.getUserId().equals(changes.get(0).getUserId())));
+        assertEquals(changes.get(2).getId(), userChangeRepository.findMaxId());
+        assertEquals(1, userChangeRepository.findChanges(start, userChangeOutbox.watermark(), Limit.of(1)).size());
+    }
+
+    @Test
+    @DisplayName("Should hold the watermark below changes of unfinished transactions")
+    void shouldHoldWatermarkForUnfinishedTransactions() {
+        AtomicInteger notifications = new AtomicInteger();
+        userChangeOutbox.addListener(notifications::incrementAndGet);
+
+        long held = transactionTemplate.execute(status -> {
+            userRepository.saveAndFlush(new User(null, "pending", "password123", "pending@example.com", null));
+            assertEquals(0, userChangeRepository.count());
+            return userChangeOutbox.watermark();
+        });
+
+        long changeId = userChangeRepository.findMaxId();
+        assertTrue(held < changeId);
+        assertEquals(changeId, userChangeOutbox.watermark());
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    @DisplayName("Should drop changes that roll back and release their IDs")
+    void shouldDropRolledBackChanges() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(new User(null, "rolled", "password123", "rolled@example.com", null));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, userChangeRepository.count());
+        assertTrue(userChangeOutbox.watermark() > 0);
+    }
+
+    @Test
+    @DisplayName("Should record events raised outside a transaction and release IDs of failed inserts")
+    void shouldHandleEventsOutsideTransactions() {
+        userChangeOutbox.onUserChanged(new UserChangedEvent(5L, UserChangedEvent.Type.UPDATED, "direct", "direct@example.com", null));
+        long watermark = userChangeOutbox.watermark();
+        assertEquals(watermark, userChangeRepository.findMaxId());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userChangeOutbox.onUserChanged(new UserChangedEvent(null, UserChangedEvent.Type.UPDATED, "broken", null, null)));
+        assertTrue(userChangeOutbox.watermark() > watermark);
+    }
+
+    @Test
+    @DisplayName("Should insert at once when the transaction was begun without opening a batch")
+    void shouldInsertImmediatelyWithoutOpenBatch() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userChangeOutbox.onUserChanged(new UserChangedEvent(6L, UserChangedEvent.Type.CREATED, "unbatched", null, null));
+            long changeId = userChangeRepository.findMaxId();
+            assertEquals(changeId - 1, userChangeOutbox.watermark());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertEquals(changeId, userChangeOutbox.watermark());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the changes of a transaction together before it commits")
+    void shouldWriteTransactionChangesBeforeCommit() {
+        long start = userChangeOutbox.watermark();
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(List.of(
+                    new User(null, "first", "password123", "first@example.com", null),
+                    new User(null, "second", "password123", "second@example.com", null)));
+            // Raised after the batch is written, as by a flush during commit.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    userChangeOutbox.onUserChanged(
+                            new UserChangedEvent(7L, UserChangedEvent.Type.UPDATED, "late", "late@example.com", null));
+                }
+            });
+        });
+
+        List<UserChange> changes = userChangeRepository.findChanges(start, userChangeOutbox.watermark(), Limit.of(10));
+        assertEquals(List.of("first", "second", "late"), changes.stream().map(UserChange::getUsername).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep the changes of a nested transaction apart from the suspended one")
+    void shouldSeparateNestedTransactions() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(new User(null, "outer", "password123", "outer@example.com", null));
+            requiresNew.executeWithoutResult(inner ->
+                    userRepository.saveAndFlush(new User(null, "inner", "password123", "inner@example.com", null)));
+            assertEquals(List.of("inner"), userChangeRepository.findAll().stream().map(UserChange::getUsername).toList());
+            userRepository.saveAndFlush(new User(null, "outer2", "password123", "outer2@example.com", null));
+        });
+
+        assertEquals(List.of("inner", "outer", "outer2"),
+                userChangeRepository.findAll().stream().map(UserChange::getUsername).sorted().toList());
+        assertEquals(userChangeRepository.findMaxId(), userChangeOutbox.watermark());
+    }
+
+    @Test
+    @DisplayName("Should compact superseded changes and old deletes")
+    void shouldCompactOldChanges() {
+        Instant old = Instant.now().minus(10, ChronoUnit.DAYS);
+        userChangeRepository.saveAll(List.of(
+                new UserChange(null, 1L, UserChangedEvent.Type.CREATED, "a", "a@example.com", old),
+                new UserChange(null, 1L, UserChangedEvent.Type.UPDATED, "a", "b@example.com", old),
+                new UserChange(null, 2L, UserChangedEvent.Type.CREATED, "c", "c@example.com", old),
+                new UserChange(null, 3L, UserChangedEvent.Type.DELETED, "d", "d@example.com", old),
+                new UserChange(null, 2L, UserChangedEvent.Type.UPDATED, "c", "e@example.com", Instant.now())));
+        Instant cutoff = Instant.now().minus(7, ChronoUnit.DAYS);
+
+        assertEquals(2, userChangeRepository.deleteSupersededBefore(cutoff));
+        assertEquals(1, userChangeRepository.deleteByTypeBefore(UserChangedEvent.Type.DELETED, cutoff));
+        assertEquals(List.of("b@example.com", "e@example.com"),
+                userChangeRepository.findAll().stream().map(UserChange::getEmail).sorted().toList());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.cache.UserIdIndex;
+import com.example.userservice.cache.UserLookupIndex;
+import com.example.userservice.entity.User;
+import com.example.userservice.entity.UserEntityListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test that committed user changes reach the in-memory ID and lookup indexes.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@Import({UserIdIndex.class, UserLookupIndex.class, UserEntityListener.class, UserChangedEventTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserChangedEvent Tests")
+class UserChangedEventTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIdIndex userIdIndex;
+
+    @Autowired
+    private UserLookupIndex userLookupIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should add committed inserts and remove committed deletes")
+    void shouldTrackCommittedChanges() {
+        User saved = userRepository.save(new User(null, "indexed", "password123", "indexed@example.com", null));
+        assertTrue(userIdIndex.contains(saved.getId()));
+        assertEquals(Set.of(saved.getId()), userLookupIndex.findByUsername("Indexed"));
+
+        saved.setEmail("renamed@example.com");
+        saved = userRepository.save(saved);
+        assertTrue(userLookupIndex.findByEmail("indexed@example.com").isEmpty());
+        assertEquals(Set.of(saved.getId()), userLookupIndex.findByEmail("renamed@example.com"));
+
+        userRepository.delete(saved);
+        assertFalse(userIdIndex.contains(saved.getId()));
+        assertTrue(userLookupIndex.findByUsername("indexed").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore inserts that roll back")
+    void shouldIgnoreRolledBackInserts() {
+        Long id = transactionTemplate.execute(status -> {
+            User saved = userRepository.saveAndFlush(new User(null, "rolled", "password123", "rolled@example.com", null));
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+
+        assertFalse(userIdIndex.contains(id));
+        assertTrue(userLookupIndex.findByUsername("rolled").isEmpty());
+    }
+}
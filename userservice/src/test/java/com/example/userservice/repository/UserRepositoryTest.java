@@ -1,14 +1,19 @@
 package com.example.userservice.repository;
 
+import com.example.common.web.FieldSelection;
+import com.example.userservice.dto.UserResponse;
 import com.example.userservice.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -199,4 +204,95 @@ class UserRepositoryTest {
 
         assertEquals(0, userRepository.count());
     }
+
+    @Test
+    @DisplayName("Should patch only the supplied columns and bump the version")
+    void shouldPatchSuppliedColumns() {
+        User savedUser = userRepository.saveAndFlush(testUser1);
+        assertEquals(0L, savedUser.getVersion());
+
+        int updated = userRepository.patch(savedUser.getId(), null, null, "patched@example.com", null);
+
+        assertEquals(1, updated);
+        User patched = userRepository.findById(savedUser.getId()).orElseThrow();
+        assertEquals("patched@example.com", patched.getEmail());
+        assertEquals("testuser1", patched.getUsername());
+        assertEquals("password123", patched.getPassword());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should only patch when the expected version matches")
+    void shouldPatchOnlyMatchingVersion() {
+        User savedUser = userRepository.saveAndFlush(testUser1);
+
+        assertEquals(1, userRepository.patch(savedUser.getId(), "renamed", null, null, 0L));
+        assertEquals(0, userRepository.patch(savedUser.getId(), "again", null, null, 0L));
+        assertEquals(0, userRepository.patch(999L, "again", null, null, null));
+
+        User patched = userRepository.findById(savedUser.getId()).orElseThrow();
+        assertEquals("renamed", patched.getUsername());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should look up a user's version without loading it")
+    void shouldFindVersionById() {
+        User savedUser = userRepository.save(testUser1);
+
+        assertEquals(0L, userRepository.findVersionById(savedUser.getId()).orElseThrow());
+        assertTrue(userRepository.findVersionById(999L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should list, page and stream users as responses in ID order")
+    void shouldListPageAndStreamResponses() {
+        User saved1 = userRepository.save(testUser1);
+        User saved2 = userRepository.save(testUser2);
+
+        List<UserResponse> all = userRepository.findAllResponses();
+        assertEquals(List.of(saved1.getId(), saved2.getId()), all.stream().map(UserResponse::getId).toList());
+        assertEquals("testuser1", all.get(0).getUsername());
+        assertEquals("test1@example.com", all.get(0).getEmail());
+
+        List<UserResponse> page = userRepository.findResponsesAfter(saved1.getId(), Limit.of(5));
+        assertEquals(1, page.size());
+        assertEquals(saved2.getId(), page.get(0).getId());
+        assertEquals(1, userRepository.findResponsesAfter(0L, Limit.of(1)).size());
+
+        try (Stream<UserResponse> stream = userRepository.streamAllResponses()) {
+            assertEquals(List.of("testuser1", "testuser2"), stream.map(UserResponse::getUsername).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should read only the selected fields")
+    void shouldReadSelectedFields() {
+        User saved1 = userRepository.save(testUser1);
+        User saved2 = userRepository.save(testUser2);
+        FieldSelection fields = FieldSelection.parse("username", UserResponse.class);
+
+        List<Map<String, Object>> all = userRepository.findAllFields(fields);
+        assertEquals(List.of(Map.of("id", saved1.getId(), "username", "testuser1"), Map.of("id", saved2.getId(), "username", "testuser2")), all);
+        assertEquals(List.of("id", "username"), List.copyOf(all.get(0).keySet()));
+
+        assertEquals(List.of(Map.of("id", saved2.getId(), "username", "testuser2")), userRepository.findFieldsAfter(saved1.getId(), 5, fields));
+        assertEquals(1, userRepository.findFieldsAfter(0L, 1, fields).size());
+        assertEquals(Optional.of(Map.of("id", saved1.getId(), "email", "test1@example.com")),
+                userRepository.findFieldsById(saved1.getId(), FieldSelection.parse("email", UserResponse.class)));
+        assertTrue(userRepository.findFieldsById(999L, fields).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should search usernames and emails ignoring case, treating wildcards literally")
+    void shouldSearchResponses() {
+        User saved = userRepository.save(testUser1);
+        User percent = userRepository.save(new User(null, "100%_user", "password123", "Percent@Example.com", null));
+
+        assertEquals(List.of(saved.getId(), percent.getId()),
+                userRepository.searchResponsesAfter("example", 0L, Limit.of(5)).stream().map(UserResponse::getId).toList());
+        assertEquals(List.of(percent.getId()),
+                userRepository.searchResponsesAfter("0!%!_", 0L, Limit.of(5)).stream().map(UserResponse::getId).toList());
+        assertTrue(userRepository.searchResponsesAfter("!_", percent.getId(), Limit.of(5)).isEmpty());
+    }
 }
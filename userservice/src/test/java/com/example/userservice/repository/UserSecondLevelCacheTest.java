@@ -0,0 +1,126 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.config.SecondLevelCacheConfig;
+import com.example.userservice.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the User second-level and query caches.
+ * 
+ * Runs outside a test transaction so every repository call uses its own
+ * persistence context and can only be answered from the shared caches.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("User Second-Level Cache Tests")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        user = userRepository.save(new User(null, "cached", "password123", "cached@example.com", null));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads by ID from the second-level cache")
+    void shouldServeReadsByIdFromCache() {
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated username and email lookups from the query cache")
+    void shouldServeLookupsFromQueryCache() {
+        assertTrue(userRepository.findByUsername("cached").isPresent());
+        assertTrue(userRepository.findByUsername("cached").isPresent());
+        assertTrue(userRepository.existsByEmail("cached@example.com"));
+        assertTrue(userRepository.existsByEmail("cached@example.com"));
+
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getQueryCacheMissCount());
+    }
+
+    @Test
+    @DisplayName("Should see updates made through the entity and through bulk patches")
+    void shouldSeeUpdatesAfterWrites() {
+        userRepository.findById(user.getId());
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setEmail("saved@example.com");
+        userRepository.save(loaded);
+        assertEquals("saved@example.com", userRepository.findById(user.getId()).orElseThrow().getEmail());
+
+        assertTrue(userRepository.findByUsername("cached").isPresent());
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.patch(user.getId(), "renamed", null, null, null));
+
+        assertEquals("renamed", userRepository.findById(user.getId()).orElseThrow().getUsername());
+        assertTrue(userRepository.findByUsername("cached").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read the patched row within the patching transaction")
+    void shouldReadPatchedRowWithinTransaction() {
+        userRepository.findById(user.getId());
+
+        User patched = transactionTemplate.execute(status -> {
+            userRepository.patch(user.getId(), null, null, "patched@example.com", null);
+            return userRepository.findByIdFromTable(user.getId()).orElseThrow();
+        });
+
+        assertEquals("patched@example.com", patched.getEmail());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should not serve deleted users from the cache")
+    void shouldEvictDeletedUsers() {
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+
+        userRepository.delete(loaded);
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertFalse(userRepository.existsByUsername("cached"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.userservice.security;
+
+import com.example.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PasswordHasher.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        hasher = new PasswordHasher(meterRegistry);
+        ReflectionTestUtils.setField(hasher, "strength", 5);
+        ReflectionTestUtils.setField(hasher, "threads", 1);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 1);
+        hasher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        hasher.stop();
+    }
+
+    @Test
+    @DisplayName("Should hash passwords one at a time and in bulk")
+    void shouldHashPasswords() {
+        String hash = hasher.hash("password123");
+        List<String> hashes = hasher.hashAll(List.of("a-secret", "b-secret", "c-secret"));
+
+        assertTrue(PasswordHasher.isHashed(hash));
+        assertTrue(new BCryptPasswordEncoder().matches("password123", hash));
+        assertEquals(3, hashes.size());
+        assertTrue(new BCryptPasswordEncoder().matches("c-secret", hashes.get(2)));
+        assertEquals(4, meterRegistry.get("users.password.hashing.duration").tag("operation", "hash").timer().count());
+        assertEquals(4, meterRegistry.get("users.password.hashing.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should verify current hashes without upgrading them")
+    void shouldVerifyCurrentHashes() {
+        String hash = hasher.hash("password123");
+
+        PasswordHasher.Verification verification = hasher.verify("password123", List.of("other", hash)).join();
+
+        assertTrue(verification.matched());
+        assertEquals(1, verification.index());
+        assertNull(verification.upgradedHash());
+    }
+
+    @Test
+    @DisplayName("Should upgrade legacy plaintext and weaker hashes")
+    void shouldUpgradeLegacyAndWeakerPasswords() {
+        PasswordHasher.Verification plaintext = hasher.verify("password123", List.of("password123")).join();
+        String weak = new BCryptPasswordEncoder(4).encode("password123");
+        PasswordHasher.Verification weaker = hasher.verify("password123", List.of(weak)).join();
+
+        assertEquals(0, plaintext.index());
+        assertTrue(new BCryptPasswordEncoder().matches("password123", plaintext.upgradedHash()));
+        assertEquals(0, weaker.index());
+        assertTrue(weaker.upgradedHash().startsWith("$2a$05$"));
+    }
+
+    @Test
+    @DisplayName("Should reject wrong passwords and unknown users")
+    void shouldRejectWrongPasswords() {
+        assertFalse(hasher.verify("wrong", List.of("password123", hasher.hash("password123"))).join().matched());
+        assertFalse(hasher.verify("wrong", List.of()).join().matched());
+        assertFalse(PasswordHasher.isHashed(null));
+        assertFalse(PasswordHasher.isHashed("password123"));
+    }
+
+    @Test
+    @DisplayName("Should surface encoder failures to the caller")
+    void shouldSurfaceEncoderFailures() {
+        assertThrows(IllegalArgumentException.class, () -> hasher.hash(null));
+    }
+
+    @Test
+    @DisplayName("Should reject work once the queue is full")
+    void shouldRejectWhenSaturated() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        executor.execute(() -> await(release));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> hasher.hash("password123"));
+        assertEquals("Password hashing is saturated, please retry", ex.getMessage());
+        assertThrows(ServiceUnavailableException.class, () -> hasher.verify("password123", List.of()));
+        assertEquals(2.0, meterRegistry.get("users.password.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("users.password.hashing.queue.size").gauge().value());
+        assertEquals(1.0, meterRegistry.get("users.password.hashing.active").gauge().value());
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.userservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.userservice.client.OrderServiceClient;
+import com.example.userservice.entity.PendingOrderPurge;
+import com.example.userservice.repository.PendingOrderPurgeRepository;
+import com.example.userservice.service.impl.OrderPurgeNotifierImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OrderPurgeNotifierImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderPurgeNotifierImpl Tests")
+class OrderPurgeNotifierImplTest {
+
+    @Mock
+    private PendingOrderPurgeRepository pendingOrderPurgeRepository;
+
+    @Mock
+    private OrderServiceClient orderServiceClient;
+
+    @InjectMocks
+    private OrderPurgeNotifierImpl notifier;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notifier, "batchSize", 100);
+        ReflectionTestUtils.setField(notifier, "retryDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(notifier, "maxRetryDelay", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should record a deletion as due immediately")
+    void shouldRecordDeletion() {
+        notifier.recordDeletion(7L);
+
+        verify(pendingOrderPurgeRepository).save(argThat(pending -> pending.getUserId() == 7L
+                && pending.getAttempts() == 0 && pending.getNextAttemptAt().equals(pending.getDeletedAt())));
+    }
+
+    @Test
+    @DisplayName("Should send due deletions in one request and remove them")
+    void shouldSendDueDeletions() {
+        when(pendingOrderPurgeRepository.findByNextAttemptAtLessThanEqualOrderByUserIdAsc(any(Instant.class), eq(Limit.of(100))))
+                .thenReturn(List.of(pending(1L, 0), pending(2L, 0)));
+
+        assertEquals(2, notifier.sendPending());
+
+        verify(orderServiceClient).requestOrderPurge(List.of(1L, 2L));
+        verify(pendingOrderPurgeRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no deletion is due")
+    void shouldDoNothingWhenNothingIsDue() {
+        when(pendingOrderPurgeRepository.findByNextAttemptAtLessThanEqualOrderByUserIdAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, notifier.sendPending());
+
+        verifyNoInteractions(orderServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially, up to the maximum, when OrderService is unavailable")
+    void shouldBackOffWhenOrderServiceIsUnavailable() {
+        PendingOrderPurge first = pending(1L, 0);
+        PendingOrderPurge repeated = pending(2L, 5);
+        when(pendingOrderPurgeRepository.findByNextAttemptAtLessThanEqualOrderByUserIdAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(first, repeated));
+        doThrow(new ServiceUnavailableException("Error requesting order purge: Connection refused"))
+                .when(orderServiceClient).requestOrderPurge(anyList());
+
+        Instant before = Instant.now();
+        assertEquals(0, notifier.sendPending());
+
+        assertEquals(1, first.getAttempts());
+        assertEquals(6, repeated.getAttempts());
+        Duration firstDelay = Duration.between(before, first.getNextAttemptAt());
+        assertTrue(firstDelay.compareTo(Duration.ofSeconds(5)) >= 0 && firstDelay.compareTo(Duration.ofSeconds(6)) < 0);
+        assertEquals(Duration.ofSeconds(30), Duration.between(first.getNextAttemptAt(), repeated.getNextAttemptAt()).plusSeconds(5));
+        verify(pendingOrderPurgeRepository).saveAll(List.of(first, repeated));
+        verify(pendingOrderPurgeRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    private PendingOrderPurge pending(Long userId, int attempts) {
+        Instant deletedAt = Instant.now().minusSeconds(60);
+        return new PendingOrderPurge(userId, deletedAt, attempts, deletedAt);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.userservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.common.exception.ValidationException;
+import com.example.userservice.dto.ChangeFeedResponse;
+import com.example.userservice.entity.UserChange;
+import com.example.userservice.event.UserChangeOutbox;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.userservice.repository.UserChangeRepository;
+import com.example.userservice.service.impl.UserChangeFeedServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserChangeFeedServiceImpl.
+ *
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserChangeFeedServiceImpl Tests")
+class UserChangeFeedServiceImplTest {
+
+    @Mock
+    private UserChangeRepository userChangeRepository;
+
+    @Mock
+    private UserChangeOutbox userChangeOutbox;
+
+    private UserChangeFeedServiceImpl feedService;
+    private Runnable commitListener;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new UserChangeFeedServiceImpl(userChangeRepository, userChangeOutbox);
+        ReflectionTestUtils.setField(feedService, "maxLimit", 10);
+        ReflectionTestUtils.setField(feedService, "maxWaitMs", 5000L);
+        ReflectionTestUtils.setField(feedService, "maxWaiters", 1);
+        ReflectionTestUtils.setField(feedService, "retention", Duration.ofDays(7));
+        feedService.start();
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(userChangeOutbox).addListener(listener.capture());
+        commitListener = listener.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedService.stop();
+    }
+
+    @Test
+    @DisplayName("Should return changes up to the watermark with the next cursor")
+    void shouldReturnChangesUpToWatermark() {
+        when(userChangeOutbox.watermark()).thenReturn(9L);
+        when(userChangeRepository.findChanges(0L, 9L, Limit.of(3))).thenReturn(List.of(change(4L), change(5L), change(7L)));
+
+        ChangeFeedResponse page = feedService.getChanges(null, 2, 0).join();
+
+        assertEquals(List.of(4L, 5L), page.getItems().stream().map(item -> item.getId()).toList());
+        assertEquals("5", page.getNextCursor());
+        assertTrue(page.isHasMore());
+        assertEquals(UserChangedEvent.Type.UPDATED, page.getItems().get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Should move an empty read's cursor up to the watermark")
+    void shouldSkipEmptyRangeUpToWatermark() {
+        when(userChangeOutbox.watermark()).thenReturn(9L);
+        when(userChangeRepository.findChanges(3L, 9L, Limit.of(11))).thenReturn(List.of());
+
+        ChangeFeedResponse page = feedService.getChanges(3L, 10, 0).join();
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals("9", page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range cursors, limits and waits")
+    void shouldRejectInvalidArguments() {
+        assertEquals("Cursor cannot be negative",
+                assertThrows(ValidationException.class, () -> feedService.getChanges(-1L, 10, 0)).getMessage());
+        assertEquals("Limit must be between 1 and 10",
+                assertThrows(ValidationException.class, () -> feedService.getChanges(0L, 0, 0)).getMessage());
+        assertThrows(ValidationException.class, () -> feedService.getChanges(0L, 11, 0));
+        assertEquals("Wait must be between 0 and 5000 ms",
+                assertThrows(ValidationException.class, () -> feedService.getChanges(0L, 10, -1)).getMessage());
+        assertThrows(ValidationException.class, () -> feedService.getChanges(0L, 10, 5001));
+        verifyNoInteractions(userChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Should complete a waiting read when a change commits")
+    void shouldCompleteWaitingReadOnCommit() throws Exception {
+        when(userChangeOutbox.watermark()).thenReturn(5L, 5L, 6L);
+        when(userChangeRepository.findChanges(eq(5L), anyLong(), any(Limit.class)))
+                .thenReturn(List.of(), List.of(), List.of(change(6L)));
+
+        CompletableFuture<ChangeFeedResponse> result = feedService.getChanges(5L, 10, 5000);
+        // The check made on registering finds nothing yet.
+        verify(userChangeRepository, timeout(1000).times(2)).findChanges(eq(5L), anyLong(), any(Limit.class));
+        assertFalse(result.isDone());
+
+        commitListener.run();
+
+        ChangeFeedResponse page = result.get(5, TimeUnit.SECONDS);
+        assertEquals("6", page.getNextCursor());
+        assertEquals(1, page.getItems().size());
+    }
+
+    @Test
+    @DisplayName("Should answer a waiting read with an empty page once the wait is over")
+    void shouldTimeOutWaitingRead() throws Exception {
+        when(userChangeOutbox.watermark()).thenReturn(5L);
+        when(userChangeRepository.findChanges(eq(5L), eq(5L), any(Limit.class))).thenReturn(List.of());
+
+        ChangeFeedResponse page = feedService.getChanges(5L, 10, 50).get(5, TimeUnit.SECONDS);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals("5", page.getNextCursor());
+        // Once the read is answered, commits no longer trigger a check.
+        verify(userChangeRepository, timeout(1000).times(2)).findChanges(eq(5L), eq(5L), any(Limit.class));
+        clearInvocations(userChangeRepository);
+        commitListener.run();
+        verifyNoInteractions(userChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject waiting reads beyond the limit and release waiting reads on shutdown")
+    void shouldLimitWaitingReads() {
+        when(userChangeOutbox.watermark()).thenReturn(5L);
+        when(userChangeRepository.findChanges(eq(5L), eq(5L), any(Limit.class))).thenReturn(List.of());
+
+        CompletableFuture<ChangeFeedResponse> waiting = feedService.getChanges(5L, 10, 5000);
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> feedService.getChanges(5L, 10, 5000));
+        assertEquals("Too many clients are waiting for user changes, please retry", ex.getMessage());
+
+        feedService.stop();
+        assertTrue(waiting.join().getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should compact superseded changes and old deletes")
+    void shouldCompact() {
+        when(userChangeRepository.deleteSupersededBefore(any(Instant.class))).thenReturn(3);
+        when(userChangeRepository.deleteByTypeBefore(eq(UserChangedEvent.Type.DELETED), any(Instant.class))).thenReturn(1);
+
+        assertEquals(4, feedService.compact());
+    }
+
+    private UserChange change(Long id) {
+        return new UserChange(id, 1L, UserChangedEvent.Type.UPDATED, "john_doe", "john@example.com", Instant.now());
+    }
+}
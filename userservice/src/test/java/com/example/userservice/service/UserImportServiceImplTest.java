@@ -0,0 +1,171 @@
+package com.example.userservice.service;
+
+import com.example.common.exception.ServiceUnavailableException;
+import com.example.userservice.dto.BulkImportResponse;
+import com.example.userservice.entity.User;
+import com.example.userservice.importer.UserRowReader;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.PasswordHasher;
+import com.example.userservice.service.impl.UserImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserImportServiceImpl.
+ * 
+ * @author Naveen Vusa
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserImportServiceImpl Tests")
+class UserImportServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new UserImportServiceImpl(userRepository, new UserRowReader(new ObjectMapper()),
+                Validation.buildDefaultValidatorFactory().getValidator(), new TransactionTemplate(transactionManager), passwordHasher);
+        lenient().when(passwordHasher.hashAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                .map(password -> "hashed:" + password)
+                .toList());
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 10);
+    }
+
+    @Test
+    @DisplayName("Should insert valid JSON array rows in chunks and report invalid ones")
+    void shouldImportJsonArrayInChunks() throws Exception {
+        stubSaveAll();
+
+        BulkImportResponse response = importService.importUsers(input("""
+                [{"username":"alice","password":"secret1","email":"a@example.com"},
+                 {"username":"x","password":"secret2","email":"not-an-email"},
+                 null,
+                 {"username":"bob","password":"secret2","email":"b@example.com"},
+                 {"username":"carol","password":"secret3","email":"c@example.com"}]"""), UserImportService.Format.JSON_ARRAY);
+
+        assertEquals(3, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getRow());
+        assertEquals("Email should be valid; Username must be between 3 and 50 characters",
+                response.getErrors().get(0).getError());
+        assertEquals("User cannot be null", response.getErrors().get(1).getError());
+        assertEquals(List.of(2, 1), chunkSizes);
+        verify(transactionManager, times(2)).commit(any());
+        verify(passwordHasher).hashAll(List.of("secret1", "secret2"));
+        verify(passwordHasher).hashAll(List.of("secret3"));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON and CSV input")
+    void shouldImportNdjsonAndCsv() throws Exception {
+        stubSaveAll();
+
+        BulkImportResponse ndjson = importService.importUsers(input("""
+                {"username":"alice","password":"secret1","email":"a@example.com"}
+                broken
+                """), UserImportService.Format.NDJSON);
+        BulkImportResponse csv = importService.importUsers(input("""
+                username,password,email
+                bob,secret2,b@example.com
+                """), UserImportService.Format.CSV);
+
+        assertEquals(1, ndjson.getCreated());
+        assertEquals(1, ndjson.getFailed());
+        assertEquals(1, csv.getCreated());
+        assertEquals(0, csv.getFailed());
+    }
+
+    @Test
+    @DisplayName("Should reject every row of a chunk that cannot be inserted")
+    void shouldRejectFailedChunk() throws Exception {
+        when(userRepository.saveAll(anyList())).thenThrow(new RuntimeException("Database connection failed"));
+
+        BulkImportResponse response = importService.importUsers(input("""
+                {"username":"alice","password":"secret1","email":"a@example.com"}
+                """), UserImportService.Format.NDJSON);
+
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals("Could not insert user: Database connection failed", response.getErrors().get(0).getError());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should cap the number of reported errors but count them all")
+    void shouldCapReportedErrors() throws Exception {
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1);
+
+        BulkImportResponse response = importService.importUsers(input("a\nb\nc\n"), UserImportService.Format.NDJSON);
+
+        assertEquals(3, response.getFailed());
+        assertEquals(1, response.getErrors().size());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should store hashed passwords and reject the chunk when hashing is saturated")
+    void shouldHashPasswordsAndRejectChunkWhenSaturated() throws Exception {
+        List<String> stored = new ArrayList<>();
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            invocation.<List<User>>getArgument(0).forEach(user -> stored.add(user.getPassword()));
+            return invocation.getArgument(0);
+        });
+        when(passwordHasher.hashAll(List.of("secret3")))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated, please retry"));
+
+        BulkImportResponse response = importService.importUsers(input("""
+                {"username":"alice","password":"secret1","email":"a@example.com"}
+                {"username":"bob","password":"secret2","email":"b@example.com"}
+                {"username":"carol","password":"secret3","email":"c@example.com"}
+                """), UserImportService.Format.NDJSON);
+
+        assertEquals(List.of("hashed:secret1", "hashed:secret2"), stored);
+        assertEquals(2, response.getCreated());
+        assertEquals("Could not insert user: Password hashing is saturated, please retry",
+                response.getErrors().get(0).getError());
+    }
+
+    private void stubSaveAll() {
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            chunkSizes.add(users.size());
+            return users;
+        });
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
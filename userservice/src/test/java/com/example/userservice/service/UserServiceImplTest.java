@@ -1,26 +1,56 @@
 package com.example.userservice.service;
 
+import com.example.common.dto.MultiGetResponse;
+import com.example.common.dto.PageResponse;
+import com.example.common.cache.ResponseCache;
+import com.example.common.web.FieldSelection;
+import com.example.userservice.cache.UserIdIndex;
+import com.example.userservice.cache.UserLookupIndex;
+import com.example.userservice.cache.UserSearchIndex;
+import com.example.userservice.dto.AuthenticationRequest;
+import com.example.userservice.dto.UserPatchRequest;
 import com.example.userservice.dto.UserRequest;
 import com.example.userservice.dto.UserResponse;
 import com.example.userservice.entity.User;
+import com.example.userservice.event.UserChangedEvent;
+import com.example.common.exception.AuthenticationFailedException;
+import com.example.common.exception.ConflictException;
+import com.example.common.exception.PreconditionFailedException;
 import com.example.common.exception.ResourceNotFoundException;
 import com.example.common.exception.ValidationException;
 import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.PasswordHasher;
 import com.example.userservice.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +68,30 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private UserIdIndex userIdIndex;
+
+    @Mock
+    private UserLookupIndex userLookupIndex;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderPurgeNotifier orderPurgeNotifier;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -61,7 +115,9 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should create user successfully")
     void shouldCreateUserSuccessfully() {
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        stubTransactionTemplate();
+        when(passwordHasher.hash("password123")).thenReturn("$2a$hash");
+        when(userRepository.save(argThat(user -> "$2a$hash".equals(user.getPassword())))).thenReturn(testUser);
 
         UserResponse result = userService.createUser(testUserRequest);
 
@@ -71,6 +127,21 @@ class UserServiceImplTest {
         assertEquals(testUser.getEmail(), result.getEmail());
         
         verify(userRepository).save(any(User.class));
+        verifyNoInteractions(responseCache);
+    }
+
+    @Test
+    @DisplayName("Should hash the password before the write transaction starts")
+    void shouldHashPasswordOutsideTransaction() {
+        when(passwordHasher.hash("password123")).thenReturn("$2a$hash");
+        when(transactionTemplate.execute(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        assertThrows(CannotCreateTransactionException.class, () -> userService.createUser(testUserRequest));
+
+        InOrder inOrder = inOrder(passwordHasher, transactionTemplate);
+        inOrder.verify(passwordHasher).hash("password123");
+        inOrder.verify(transactionTemplate).execute(any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -130,75 +201,175 @@ class UserServiceImplTest {
         verify(userRepository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Should read only the selected fields of a user")
+    void shouldGetSelectedFieldsOfUser() {
+        FieldSelection fields = FieldSelection.parse("username", UserResponse.class);
+        when(userRepository.findFieldsById(1L, fields)).thenReturn(Optional.of(Map.of("id", 1L, "username", "testuser")));
+        when(userRepository.findFieldsById(2L, fields)).thenReturn(Optional.empty());
+
+        assertEquals(Map.of("id", 1L, "username", "testuser"), userService.getUserById(1L, fields));
+        assertEquals("User not found with ID: 2",
+                assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(2L, fields)).getMessage());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should read only the selected fields of all users")
+    void shouldGetSelectedFieldsOfAllUsers() {
+        FieldSelection fields = FieldSelection.parse("username", UserResponse.class);
+        when(userRepository.findAllFields(fields)).thenReturn(List.of(Map.of("id", 1L, "username", "testuser")));
+
+        assertEquals(List.of(Map.of("id", 1L, "username", "testuser")), userService.getAllUsers(fields));
+        verify(userRepository, never()).findAllResponses();
+    }
+
     @Test
     @DisplayName("Should get all users successfully")
     void shouldGetAllUsersSuccessfully() {
-        User user2 = new User();
-        user2.setId(2L);
-        user2.setUsername("testuser2");
-        user2.setPassword("password456");
-        user2.setEmail("test2@example.com");
-        
-        List<User> users = Arrays.asList(testUser, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllResponses()).thenReturn(List.of(
+                new UserResponse(1L, "testuser", "test@example.com", 0L),
+                new UserResponse(2L, "testuser2", "test2@example.com", 0L)));
 
         List<UserResponse> result = userService.getAllUsers();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(testUser.getId(), result.get(0).getId());
-        assertEquals(user2.getId(), result.get(1).getId());
+        assertEquals(2L, result.get(1).getId());
         
-        verify(userRepository).findAll();
+        verify(userRepository).findAllResponses();
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return a page of users with the cursor of the next page")
+    void shouldGetUsersPageWithNextCursor() {
+        ReflectionTestUtils.setField(userService, "maxPageLimit", 1000);
+        when(userRepository.findResponsesAfter(0L, Limit.of(3))).thenReturn(new ArrayList<>(List.of(
+                new UserResponse(1L, "a", "a@example.com", 0L),
+                new UserResponse(2L, "b", "b@example.com", 0L),
+                new UserResponse(5L, "c", "c@example.com", 0L))));
+
+        PageResponse<UserResponse> page = userService.getUsersPage(null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(UserResponse::getId).toList());
+        assertEquals("2", page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return the last page of users without a cursor")
+    void shouldGetLastUsersPage() {
+        ReflectionTestUtils.setField(userService, "maxPageLimit", 1000);
+        when(userRepository.findResponsesAfter(2L, Limit.of(3))).thenReturn(List.of(
+                new UserResponse(5L, "c", "c@example.com", 0L)));
+
+        PageResponse<UserResponse> page = userService.getUsersPage(2L, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return a page of selected fields with the cursor of the next page")
+    void shouldGetUsersFieldsPage() {
+        ReflectionTestUtils.setField(userService, "maxPageLimit", 1000);
+        FieldSelection fields = FieldSelection.parse("email", UserResponse.class);
+        when(userRepository.findFieldsAfter(0L, 3, fields)).thenReturn(List.of(
+                Map.of("id", 1L, "email", "a@example.com"),
+                Map.of("id", 2L, "email", "b@example.com"),
+                Map.of("id", 5L, "email", "c@example.com")));
+        when(userRepository.findFieldsAfter(2L, 3, fields)).thenReturn(List.of(Map.of("id", 5L, "email", "c@example.com")));
+
+        PageResponse<Map<String, Object>> page = userService.getUsersPage(null, 2, fields);
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(user -> user.get("id")).toList());
+        assertEquals("2", page.getNextCursor());
+
+        PageResponse<Map<String, Object>> last = userService.getUsersPage(2L, 2, fields);
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+
+        assertThrows(ValidationException.class, () -> userService.getUsersPage(null, 0, fields));
+    }
+
+    @Test
+    @DisplayName("Should reject page limits out of range")
+    void shouldRejectInvalidPageLimits() {
+        ReflectionTestUtils.setField(userService, "maxPageLimit", 1000);
+
+        assertEquals("Limit must be between 1 and 1000",
+                assertThrows(ValidationException.class, () -> userService.getUsersPage(null, 0)).getMessage());
+        assertThrows(ValidationException.class, () -> userService.getUsersPage(null, 1001));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream every user to the action and close the cursor")
+    void shouldStreamUsers() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(
+                new UserResponse(1L, "a", "a@example.com", 0L),
+                new UserResponse(2L, "b", "b@example.com", 0L)).onClose(() -> closed.set(true)));
+        List<Long> streamed = new ArrayList<>();
+
+        userService.streamUsers(user -> streamed.add(user.getId()));
+
+        assertEquals(List.of(1L, 2L), streamed);
+        assertTrue(closed.get());
     }
 
     @Test
     @DisplayName("Should update user successfully")
     void shouldUpdateUserSuccessfully() {
+        stubTransactionTemplate();
         UserRequest updateRequest = new UserRequest();
         updateRequest.setUsername("updateduser");
         updateRequest.setPassword("newpassword");
         updateRequest.setEmail("updated@example.com");
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
-        UserResponse result = userService.updateUser(1L, updateRequest);
+        UserResponse result = userService.updateUser(1L, updateRequest, null);
 
         assertNotNull(result);
         assertEquals(testUser.getId(), result.getId());
         
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(passwordHasher).hash("newpassword");
+        verify(responseCache).invalidateAfterCommit(List.of("user:1"));
     }
 
     @Test
     @DisplayName("Should throw ValidationException when updating with null request")
     void shouldThrowValidationExceptionWhenUpdatingWithNullRequest() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.updateUser(1L, null));
+                () -> userService.updateUser(1L, null, null));
         assertEquals("User request cannot be null", exception.getMessage());
 
         verify(userRepository, never()).findById(anyLong());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when updating non-existent user")
     void shouldThrowResourceNotFoundExceptionWhenUpdatingNonExistentUser() {
+        stubTransactionTemplate();
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> userService.updateUser(1L, testUserRequest));
+                () -> userService.updateUser(1L, testUserRequest, null));
         assertEquals("User not found with ID: 1", exception.getMessage());
         
         verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw ValidationException when updating with existing username")
     void shouldThrowValidationExceptionWhenUpdatingWithExistingUsername() {
+        stubTransactionTemplate();
         UserRequest updateRequest = new UserRequest();
         updateRequest.setUsername("existinguser");
         updateRequest.setPassword("password123");
@@ -206,17 +377,18 @@ class UserServiceImplTest {
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-        UserResponse result = userService.updateUser(1L, updateRequest);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+        UserResponse result = userService.updateUser(1L, updateRequest, null);
         assertNotNull(result);
         
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw ValidationException when updating with existing email")
     void shouldThrowValidationExceptionWhenUpdatingWithExistingEmail() {
+        stubTransactionTemplate();
         UserRequest updateRequest = new UserRequest();
         updateRequest.setUsername("testuser");
         updateRequest.setPassword("password123");
@@ -224,49 +396,357 @@ class UserServiceImplTest {
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-        UserResponse result2 = userService.updateUser(1L, updateRequest);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+        UserResponse result2 = userService.updateUser(1L, updateRequest, null);
         assertNotNull(result2);
         
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should patch only the supplied fields")
+    void shouldPatchUserSuccessfully() {
+        stubTransactionTemplate();
+        testUser.setEmail("new@example.com");
+        testUser.setVersion(1L);
+        when(userRepository.patch(1L, null, null, "new@example.com", 0L)).thenReturn(1);
+        when(userRepository.findByIdFromTable(1L)).thenReturn(Optional.of(testUser));
+
+        UserResponse result = userService.patchUser(1L, new UserPatchRequest(null, null, "new@example.com", 0L), null);
+
+        assertEquals("new@example.com", result.getEmail());
+        assertEquals(1L, result.getVersion());
+        verify(userRepository, never()).save(any(User.class));
+        verify(responseCache).invalidateAfterCommit(List.of("user:1"));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "testuser", "new@example.com", 1L));
+    }
+
+    @Test
+    @DisplayName("Should search through the index and page with a cursor")
+    void shouldSearchUsersThroughIndex() {
+        ReflectionTestUtils.setField(userService, "maxSearchLimit", 100);
+        User third = new User(3L, "tester", "password123", "tester@example.com", 0L);
+        User fourth = new User(4L, "testing", "password123", "testing@example.com", 0L);
+        when(userSearchIndex.isEnabled()).thenReturn(true);
+        when(userSearchIndex.search("test", 0L, 3)).thenReturn(List.of(1L, 2L, 3L));
+        when(userRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(third, testUser));
+        when(userSearchIndex.search("test", 3L, 3)).thenReturn(List.of(4L));
+        when(userRepository.findAllById(List.of(4L))).thenReturn(List.of(fourth));
+
+        PageResponse<UserResponse> first = userService.searchUsers("test", null, 2);
+        PageResponse<UserResponse> second = userService.searchUsers("test", 3L, 2);
+
+        assertEquals(List.of(1L, 3L), first.getItems().stream().map(UserResponse::getId).toList());
+        assertNull(first.getNextCursor());
+        assertEquals(List.of(4L), second.getItems().stream().map(UserResponse::getId).toList());
+        verify(userRepository, never()).searchResponsesAfter(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database with escaped wildcards when the index is disabled")
+    void shouldSearchUsersInDatabaseWhenIndexDisabled() {
+        ReflectionTestUtils.setField(userService, "maxSearchLimit", 100);
+        UserResponse a = new UserResponse(5L, "a_b%c!", "a@example.com", 0L);
+        UserResponse b = new UserResponse(6L, "a_b%c!d", "b@example.com", 0L);
+        when(userSearchIndex.isEnabled()).thenReturn(false);
+        when(userRepository.searchResponsesAfter("a!_b!%c!!", 0L, Limit.of(2))).thenReturn(List.of(a, b));
+
+        PageResponse<UserResponse> page = userService.searchUsers(" A_B%C! ", null, 1);
+
+        assertEquals(List.of(a), page.getItems());
+        assertEquals("5", page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject blank search queries and out-of-range limits")
+    void shouldRejectInvalidSearches() {
+        ReflectionTestUtils.setField(userService, "maxSearchLimit", 100);
+
+        assertEquals("Search query is required",
+                assertThrows(ValidationException.class, () -> userService.searchUsers(null, null, 10)).getMessage());
+        assertEquals("Search query is required",
+                assertThrows(ValidationException.class, () -> userService.searchUsers(" ", null, 10)).getMessage());
+        assertEquals("Limit must be between 1 and 100",
+                assertThrows(ValidationException.class, () -> userService.searchUsers("x", null, 101)).getMessage());
+        assertThrows(ValidationException.class, () -> userService.searchUsers("x", null, 0));
+        verifyNoInteractions(userSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should authenticate against the exact username and upgrade a legacy password")
+    void shouldAuthenticateAndUpgradeLegacyPassword() {
+        User differentCase = new User(2L, "TestUser", "$2a$other", "other@example.com", 0L);
+        when(userLookupIndex.findByUsername("testuser")).thenReturn(new TreeSet<>(List.of(1L, 2L)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(differentCase));
+        when(passwordHasher.verify("password123", List.of("password123")))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(0, "$2a$upgraded")));
+        stubTransactionTemplate();
+        when(userRepository.upgradePassword(1L, "password123", "$2a$upgraded")).thenReturn(1);
+
+        UserResponse result = userService.authenticate(new AuthenticationRequest("testuser", "password123")).join();
+
+        assertEquals(1L, result.getId());
+        verify(userRepository).upgradePassword(1L, "password123", "$2a$upgraded");
+    }
+
+    @Test
+    @DisplayName("Should authenticate without rewriting a current hash")
+    void shouldAuthenticateWithCurrentHash() {
+        testUser.setPassword("$2a$current");
+        when(userLookupIndex.findByUsername("testuser")).thenReturn(new TreeSet<>(List.of(1L)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordHasher.verify("password123", List.of("$2a$current")))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(0, null)));
+
+        assertEquals(1L, userService.authenticate(new AuthenticationRequest("testuser", "password123")).join().getId());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should still authenticate when the password upgrade fails")
+    void shouldAuthenticateWhenUpgradeFails() {
+        when(userLookupIndex.findByUsername("testuser")).thenReturn(new TreeSet<>(List.of(1L)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordHasher.verify("password123", List.of("password123")))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(0, "$2a$upgraded")));
+        stubTransactionTemplate();
+        when(userRepository.upgradePassword(1L, "password123", "$2a$upgraded"))
+                .thenThrow(new RuntimeException("Database connection failed"));
+
+        assertEquals(1L, userService.authenticate(new AuthenticationRequest("testuser", "password123")).join().getId());
+    }
+
+    @Test
+    @DisplayName("Should fail authentication for wrong passwords and unknown users")
+    void shouldFailAuthentication() {
+        when(userLookupIndex.findByUsername("ghost")).thenReturn(new TreeSet<>());
+        when(passwordHasher.verify("password123", List.of()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(-1, null)));
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> userService.authenticate(new AuthenticationRequest("ghost", "password123")).join());
+        assertInstanceOf(AuthenticationFailedException.class, ex.getCause());
+        assertEquals("Invalid username or password", ex.getCause().getMessage());
+        assertThrows(ValidationException.class, () -> userService.authenticate(null));
+    }
+
+    @Test
+    @DisplayName("Should get users by username through the lookup index")
+    void shouldGetUsersByUsername() {
+        User other = new User(3L, "TestUser", "password123", "other@example.com", 0L);
+        when(userLookupIndex.findByUsername("TESTUSER")).thenReturn(new TreeSet<>(List.of(1L, 2L, 3L)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        when(userRepository.findById(3L)).thenReturn(Optional.of(other));
+
+        List<UserResponse> result = userService.getUsersByUsername("TESTUSER");
+
+        assertEquals(List.of(1L, 3L), result.stream().map(UserResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when no user has the username")
+    void shouldThrowWhenUsernameNotFound() {
+        when(userLookupIndex.findByUsername("ghost")).thenReturn(new TreeSet<>());
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> userService.getUsersByUsername("ghost"));
+        assertEquals("User not found with username: ghost", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should get users by email through the lookup index")
+    void shouldGetUsersByEmail() {
+        when(userLookupIndex.findByEmail("test@example.com")).thenReturn(new TreeSet<>(List.of(1L)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        assertEquals("testuser", userService.getUsersByEmail("test@example.com").get(0).getUsername());
+
+        when(userLookupIndex.findByEmail("ghost@example.com")).thenReturn(new TreeSet<>());
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> userService.getUsersByEmail("ghost@example.com"));
+        assertEquals("User not found with email: ghost@example.com", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when patching non-existent user")
+    void shouldThrowResourceNotFoundExceptionWhenPatchingNonExistentUser() {
+        stubTransactionTemplate();
+        when(userRepository.patch(1L, "renamed", null, null, null)).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> userService.patchUser(1L, new UserPatchRequest("renamed", null, null, null), null));
+        assertEquals("User not found with ID: 1", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when patched user disappears before re-read")
+    void shouldThrowResourceNotFoundExceptionWhenPatchedUserIsDeleted() {
+        stubTransactionTemplate();
+        when(userRepository.patch(1L, "renamed", null, null, null)).thenReturn(1);
+        when(userRepository.findByIdFromTable(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> userService.patchUser(1L, new UserPatchRequest("renamed", null, null, null), null));
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the version has changed")
+    void shouldThrowConflictExceptionWhenVersionChanged() {
+        stubTransactionTemplate();
+        when(passwordHasher.hash("secret99")).thenReturn("$2a$secret99");
+        when(userRepository.patch(1L, null, "$2a$secret99", null, 2L)).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> userService.patchUser(1L, new UserPatchRequest(null, "secret99", null, 2L), null));
+        assertEquals("User with ID 1 was modified concurrently; expected version 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw PreconditionFailedException when the If-Match version has changed")
+    void shouldThrowPreconditionFailedWhenIfMatchVersionChangedOnPatch() {
+        stubTransactionTemplate();
+        when(userRepository.patch(1L, "renamed", null, null, 2L)).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> userService.patchUser(1L, new UserPatchRequest("renamed", null, null, null), 2L));
+        assertEquals("User with ID 1 is no longer at version 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a conditional update of a user that is no longer at the expected version")
+    void shouldRejectConditionalUpdateOfStaleUser() {
+        stubTransactionTemplate();
+        testUser.setVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUser(1L, testUserRequest, 2L));
+        assertEquals("User with ID 1 is no longer at version 2", exception.getMessage());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should report a concurrent change during a conditional update as a failed precondition")
+    void shouldReportConcurrentChangeDuringConditionalUpdate() {
+        stubTransactionTemplate();
+        testUser.setVersion(2L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(1L, testUserRequest, 2L));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> userService.updateUser(1L, testUserRequest, null));
+    }
+
+    @Test
+    @DisplayName("Should delete a user conditionally and reject a stale or concurrently changed version")
+    void shouldDeleteUserConditionally() {
+        testUser.setVersion(2L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.deleteUser(1L, 1L));
+        verify(userRepository, never()).delete(any(User.class));
+
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L)).when(userRepository).flush();
+        assertThrows(PreconditionFailedException.class, () -> userService.deleteUser(1L, 2L));
+        verifyNoInteractions(orderPurgeNotifier);
+    }
+
+    @Test
+    @DisplayName("Should reject null or empty patch requests")
+    void shouldRejectInvalidPatchRequests() {
+        assertEquals("User patch request cannot be null",
+                assertThrows(ValidationException.class, () -> userService.patchUser(1L, null, null)).getMessage());
+        assertEquals("At least one field must be supplied",
+                assertThrows(ValidationException.class,
+                        () -> userService.patchUser(1L, new UserPatchRequest(null, null, null, 0L), null)).getMessage());
+
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("Should delete user successfully")
     void shouldDeleteUserSuccessfully() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        doNothing().when(userRepository).delete(testUser);
 
-        userService.deleteUser(1L);
+        userService.deleteUser(1L, null);
 
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).findById(1L);
+        verify(userRepository).delete(testUser);
+        verify(orderPurgeNotifier).recordDeletion(1L);
+        verify(responseCache).invalidateAfterCommit(List.of("user:1"));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent user")
     void shouldThrowResourceNotFoundExceptionWhenDeletingNonExistentUser() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> userService.deleteUser(1L));
+                () -> userService.deleteUser(1L, null));
         assertEquals("User not found with ID: 1", exception.getMessage());
         
-        verify(userRepository).existsById(1L);
-        verify(userRepository, never()).deleteById(any(Long.class));
+        verify(userRepository).findById(1L);
+        verify(userRepository, never()).delete(any(User.class));
+        verifyNoInteractions(orderPurgeNotifier);
     }
 
     @Test
     @DisplayName("Should check if user exists successfully")
     void shouldCheckIfUserExistsSuccessfully() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(userRepository.existsById(2L)).thenReturn(false);
+        when(userIdIndex.contains(1L)).thenReturn(true);
+        when(userIdIndex.contains(2L)).thenReturn(false);
 
         assertTrue(userService.userExists(1L));
         assertFalse(userService.userExists(2L));
         
-        verify(userRepository).existsById(1L);
-        verify(userRepository).existsById(2L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should get users by ID list in request order and report missing IDs")
+    void shouldGetUsersByIds() {
+        ReflectionTestUtils.setField(userService, "maxMultiGetIds", 100);
+        User user2 = new User();
+        user2.setId(2L);
+        user2.setUsername("other");
+        user2.setPassword("password456");
+        user2.setEmail("other@example.com");
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(testUser, user2));
+
+        MultiGetResponse<UserResponse> result = userService.getUsersByIds(List.of(2L, 7L, 1L, 7L));
+
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(UserResponse::getId).toList());
+        assertEquals(List.of(7L), result.getMissingIds());
+    }
+
+    @Test
+    @DisplayName("Should reject empty, null-containing or oversized ID lists on multi-get")
+    void shouldRejectInvalidMultiGetIdLists() {
+        ReflectionTestUtils.setField(userService, "maxMultiGetIds", 2);
+
+        assertEquals("At least one user ID is required",
+                assertThrows(ValidationException.class, () -> userService.getUsersByIds(null)).getMessage());
+        assertEquals("At least one user ID is required",
+                assertThrows(ValidationException.class, () -> userService.getUsersByIds(List.of())).getMessage());
+        assertEquals("User IDs cannot be null",
+                assertThrows(ValidationException.class, () -> userService.getUsersByIds(Arrays.asList(1L, null))).getMessage());
+        assertEquals("Cannot fetch more than 2 users at once",
+                assertThrows(ValidationException.class, () -> userService.getUsersByIds(List.of(1L, 2L, 3L))).getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTransactionTemplate() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
     }
 }